@@ -8,11 +8,25 @@ import com.velocitypowered.api.plugin.Plugin;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.annotation.DataDirectory;
 import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
 
 import me.criseda.autostopper.commands.AutoStopperCommand;
 import me.criseda.autostopper.config.AutoStopperConfig;
+import me.criseda.autostopper.config.ConfigDiff;
+import me.criseda.autostopper.config.ConfigFileWatcher;
 import me.criseda.autostopper.config.ConfigLoadResult;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.ConfigWatchSettings;
+import me.criseda.autostopper.config.DiscoverySettings;
+import me.criseda.autostopper.config.EventLogSettings;
+import me.criseda.autostopper.config.ExecutorSettings;
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.TelemetryHistorySettings;
+import me.criseda.autostopper.coordination.ClusterCoordinator;
+import me.criseda.autostopper.coordination.FileClusterCoordinator;
+import me.criseda.autostopper.config.DockerTransport;
+import me.criseda.autostopper.docker.CommandRunner;
+import me.criseda.autostopper.docker.DialStdioCommandRunner;
 import me.criseda.autostopper.docker.DockerManager;
 import me.criseda.autostopper.docker.ProcessCommandRunner;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
@@ -20,17 +34,26 @@ import me.criseda.autostopper.listeners.ConnectionListener;
 import me.criseda.autostopper.listeners.ServerPreConnectListener;
 import me.criseda.autostopper.lifecycle.ServerHoldRegistry;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.operational.ConfigReload;
+import me.criseda.autostopper.operational.ConfigReloader;
+import me.criseda.autostopper.operational.MappingDiscovery;
 import me.criseda.autostopper.operational.OperationalStatusService;
 import me.criseda.autostopper.server.ActivityTracker;
 import me.criseda.autostopper.server.ServerManager;
+import me.criseda.autostopper.server.WarmPoolManager;
 import me.criseda.autostopper.telemetry.LifecycleTelemetry;
 import me.criseda.autostopper.telemetry.LifecycleTelemetryService;
+import me.criseda.autostopper.telemetry.TelemetryEventLog;
+import me.criseda.autostopper.telemetry.TelemetryHistoryStore;
 
 import org.slf4j.Logger;
 
 import com.google.inject.Inject;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Plugin(id = "autostopper", name = "AutoStopper", version = "2.1.0", authors = { "criseda" })
@@ -47,6 +70,19 @@ public class AutoStopperPlugin {
     private AutoStopperExecutor executor;
     private OperationalStatusService operationalStatus;
     private LifecycleTelemetryService telemetry;
+    private TelemetryEventLog eventLog;
+    private TelemetryHistoryStore telemetryHistory;
+    private ClusterCoordinator clusterCoordinator = ClusterCoordinator.standalone();
+    private Duration dockerQueryReuse = Duration.ZERO;
+    private DockerTransport dockerTransport = DockerTransport.CLI;
+    private ExecutorSettings executorSettings = ExecutorSettings.defaults();
+    private DialStdioCommandRunner dialStdioRunner;
+    private ConfigReloader configReloader;
+    private ConfigFileWatcher configWatcher;
+    private ConfigWatchSettings configWatchSettings;
+    private MappingDiscovery mappingDiscovery;
+    private ScheduledTask discoveryTask;
+    private DiscoverySettings discoverySettings;
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
     @Inject
@@ -71,18 +107,46 @@ public class AutoStopperPlugin {
 	
 		// Initialize server management
 		this.telemetry = createTelemetryService();
+		initialConfig.snapshot().eventLog().ifPresent(settings -> {
+			this.eventLog = createEventLog(settings);
+			telemetry.configureEventLog(eventLog);
+		});
+		initialConfig.snapshot().telemetryHistory().ifPresent(settings -> {
+			this.telemetryHistory = createTelemetryHistory(settings);
+			telemetry.configureHistory(telemetryHistory);
+		});
+		this.executorSettings = initialConfig.snapshot().executor().orElse(ExecutorSettings.defaults());
 		this.executor = createExecutor();
+		executor.configureStatsListener(telemetry::recordExecutorPool);
+		this.clusterCoordinator = createClusterCoordinator(initialConfig.snapshot());
+		this.dockerQueryReuse = Duration.ofMillis(initialConfig.snapshot().dockerQueryReuseMillis());
+		this.dockerTransport = initialConfig.snapshot().dockerTransport();
 		this.serverManager = createServerManager(config, executor);
 		this.lifecycleCoordinator = createLifecycleCoordinator(serverManager, executor, telemetry);
+		lifecycleCoordinator.configureStartAdmission(initialConfig.snapshot().maxConcurrentStarts());
+		lifecycleCoordinator.configureWakeDeadline(
+				Duration.ofSeconds(initialConfig.snapshot().wakeDeadlineSeconds()));
+		lifecycleCoordinator.configureRunningBackends(initialConfig.snapshot().maxRunningBackends());
+		lifecycleCoordinator.configureAbandonedStarts(initialConfig.snapshot().abandonedStarts().orElse(null));
+		lifecycleCoordinator.configureWakeBudget(initialConfig.snapshot().wakeBudget().orElse(null));
 		this.operationalStatus = createOperationalStatusService(serverManager, lifecycleCoordinator);
 		
 		// Initialize activity tracking but DON'T start the inactivity check yet
 		this.activityTracker = createActivityTracker(config, serverManager, executor, lifecycleCoordinator, telemetry);
+		lifecycleCoordinator.configureBackendEvictor(activityTracker::evictIdleBackends);
+		lifecycleCoordinator.configureAbandonedStartHandler(activityTracker::expireAbandonedStart);
+		this.configReloader = new ConfigReloader(config, lifecycleCoordinator, activityTracker, operationalStatus);
+		this.mappingDiscovery = new MappingDiscovery(logger, serverManager, configReloader, executor);
+		configReloader.configureAppliedListener(snapshot -> {
+			refreshConfigWatcher(snapshot);
+			refreshDiscovery(snapshot);
+		});
 	
 		// Register event listeners
 		server.getEventManager().register(this, new ConnectionListener(activityTracker, lifecycleCoordinator));
 		server.getEventManager().register(this,
-				new ServerPreConnectListener(serverManager, lifecycleCoordinator, activityTracker));
+				new ServerPreConnectListener(serverManager, lifecycleCoordinator, activityTracker,
+						new WarmPoolManager(serverManager, lifecycleCoordinator)));
 	
 		// Register commands with the new non-deprecated method
 		registerCommands();
@@ -90,6 +154,8 @@ public class AutoStopperPlugin {
 		// NOW start the inactivity check AFTER all registration is complete
 		activityTracker.startInactivityCheck();
 		operationalStatus.runPreflight(initialConfig.snapshot(), "startup");
+		refreshConfigWatcher(initialConfig.snapshot());
+		refreshDiscovery(initialConfig.snapshot());
 	
 		logger.info("AutoStopper plugin initialized!");
 	}
@@ -99,6 +165,8 @@ public class AutoStopperPlugin {
 		if (!shutdown.compareAndSet(false, true)) {
 			return;
 		}
+		closeConfigWatcher();
+		cancelDiscovery();
 		if (activityTracker != null) {
 			activityTracker.shutdown();
 		}
@@ -108,6 +176,9 @@ public class AutoStopperPlugin {
 		if (operationalStatus != null) {
 			operationalStatus.shutdown();
 		}
+		if (dialStdioRunner != null) {
+			dialStdioRunner.close();
+		}
 		if (telemetry != null) {
 			telemetry.clear();
 		}
@@ -123,6 +194,12 @@ public class AutoStopperPlugin {
                         timeoutSeconds);
             }
 		}
+		if (eventLog != null) {
+			eventLog.close();
+		}
+		if (telemetryHistory != null) {
+			telemetryHistory.close();
+		}
 	}
 
     public ProxyServer getServer() {
@@ -142,7 +219,22 @@ public class AutoStopperPlugin {
     }
 
     protected AutoStopperExecutor createExecutor() {
-        return new AutoStopperExecutor();
+        return new AutoStopperExecutor(executorSettings.minWorkers(), executorSettings.maxWorkers(),
+                executorSettings.queueCapacity(), executorSettings.targetWait());
+    }
+
+    protected TelemetryEventLog createEventLog(EventLogSettings settings) {
+        return TelemetryEventLog.start(logger, dataDirectory, settings);
+    }
+
+    /** Opens the history store, or returns null so startup continues without it when the directory fails. */
+    protected TelemetryHistoryStore createTelemetryHistory(TelemetryHistorySettings settings) {
+        try {
+            return TelemetryHistoryStore.start(logger, dataDirectory, settings);
+        } catch (IOException error) {
+            logger.warn("AutoStopper telemetry history is disabled: {}", error.toString());
+            return null;
+        }
     }
 
     protected LifecycleTelemetryService createTelemetryService() {
@@ -150,14 +242,38 @@ public class AutoStopperPlugin {
     }
 
     protected ServerManager createServerManager(AutoStopperConfig config, AutoStopperExecutor executor) {
-        DockerManager dockerManager = new DockerManager(logger, new ProcessCommandRunner());
-        return new ServerManager(server, logger, config, dockerManager, executor);
+        DockerManager dockerManager = new DockerManager(logger, createCommandRunner(), executor, dockerQueryReuse,
+                telemetry == null ? createTelemetryService() : telemetry);
+        dockerManager.configureServerNames(containerName -> config.snapshot().serverForContainer(containerName)
+                .map(ServerMapping::serverName)
+                .orElse(containerName));
+        return new ServerManager(server, logger, config, dockerManager, executor, clusterCoordinator);
+    }
+
+    protected CommandRunner createCommandRunner() {
+        if (dockerTransport == DockerTransport.DIAL_STDIO) {
+            dialStdioRunner = new DialStdioCommandRunner(logger, new ProcessCommandRunner());
+            return dialStdioRunner;
+        }
+        return new ProcessCommandRunner();
+    }
+
+    protected ClusterCoordinator createClusterCoordinator(ConfigSnapshot snapshot) {
+        return snapshot.coordination()
+                .<ClusterCoordinator>map(settings -> new FileClusterCoordinator(logger, settings))
+                .orElseGet(ClusterCoordinator::standalone);
+    }
+
+    protected ConfigFileWatcher createConfigWatcher(Path configFile, ConfigWatchSettings settings,
+            Runnable onChange) throws IOException {
+        return ConfigFileWatcher.start(logger, configFile, settings.debounce(), onChange);
     }
 
     protected ActivityTracker createActivityTracker(AutoStopperConfig config, ServerManager serverManager,
             AutoStopperExecutor executor, ServerLifecycleCoordinator lifecycleCoordinator,
             LifecycleTelemetry telemetry) {
-        return new ActivityTracker(server, logger, config, serverManager, executor, this, lifecycleCoordinator, telemetry);
+        return new ActivityTracker(server, logger, config, serverManager, executor, this, lifecycleCoordinator, telemetry,
+                clusterCoordinator);
     }
 
     protected ActivityTracker createActivityTracker(AutoStopperConfig config, ServerManager serverManager,
@@ -185,6 +301,68 @@ public class AutoStopperPlugin {
         return new OperationalStatusService(logger, serverManager, lifecycleCoordinator);
     }
 
+    /** Starts, restarts or stops the config file watcher to match the snapshot just applied. */
+    private synchronized void refreshConfigWatcher(ConfigSnapshot snapshot) {
+        ConfigWatchSettings settings = snapshot.configWatch().orElse(null);
+        if (shutdown.get() || Objects.equals(settings, configWatchSettings)) {
+            return;
+        }
+        closeConfigWatcher();
+        if (settings == null) {
+            return;
+        }
+        try {
+            configWatcher = createConfigWatcher(config.configFile(), settings, this::reloadChangedConfig);
+            configWatchSettings = settings;
+            logger.info("Watching {} for changes.", config.configFile().getFileName());
+        } catch (IOException | RuntimeException error) {
+            logger.warn("AutoStopper could not watch the configuration file ({}); use /autostopper reload "
+                    + "after editing it.", error.getClass().getSimpleName());
+        }
+    }
+
+    private synchronized void closeConfigWatcher() {
+        if (configWatcher != null) {
+            configWatcher.close();
+            configWatcher = null;
+        }
+        configWatchSettings = null;
+    }
+
+    /** Schedules, reschedules or cancels label discovery to match the snapshot just applied. */
+    private synchronized void refreshDiscovery(ConfigSnapshot snapshot) {
+        DiscoverySettings settings = snapshot.discovery().orElse(null);
+        if (shutdown.get() || Objects.equals(settings, discoverySettings)) {
+            return;
+        }
+        cancelDiscovery();
+        if (settings == null) {
+            return;
+        }
+        discoverySettings = settings;
+        discoveryTask = server.getScheduler().buildTask(this, () -> mappingDiscovery.relist(settings))
+                .repeat(settings.relistInterval().toSeconds(), TimeUnit.SECONDS)
+                .schedule();
+    }
+
+    private synchronized void cancelDiscovery() {
+        if (discoveryTask != null) {
+            discoveryTask.cancel();
+            discoveryTask = null;
+        }
+        discoverySettings = null;
+    }
+
+    private void reloadChangedConfig() {
+        ConfigReload reload = configReloader.reloadChanged("config watch");
+        if (!reload.result().successful()) {
+            return;
+        }
+        ConfigDiff changes = reload.changes();
+        logger.info("AutoStopper reloaded the changed configuration: {} added, {} changed, {} removed mapping(s).",
+                changes.added().size(), changes.changed().size(), changes.removed().size());
+    }
+
 	private void registerCommands() {
 		logger.info("Registering AutoStopper commands...");
 		
@@ -196,7 +374,8 @@ public class AutoStopperPlugin {
 			
 		server.getCommandManager().register(autoStopperMeta,
 			new AutoStopperCommand(config, activityTracker,
-					lifecycleCoordinator, operationalStatus, pluginContainer));
+					lifecycleCoordinator, operationalStatus, pluginContainer, configReloader, telemetryHistory,
+					executor));
 		logger.info("Registered command: /autostopper");
 		
 		logger.info("AutoStopper commands registered successfully!");
@@ -8,22 +8,33 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 
 import me.criseda.autostopper.config.AutoStopperConfig;
-import me.criseda.autostopper.config.ConfigLoadResult;
 import me.criseda.autostopper.config.ConfigProvider;
 import me.criseda.autostopper.config.ConfigSnapshot;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.executor.AutoStopperExecutor;
 import me.criseda.autostopper.messages.AutoStopperMessages;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.operational.ConfigReload;
+import me.criseda.autostopper.operational.ConfigReloader;
 import me.criseda.autostopper.operational.OperationalServerStatus;
 import me.criseda.autostopper.operational.OperationalStatusService;
 import me.criseda.autostopper.server.ActivityTracker;
 import me.criseda.autostopper.server.ActivityTrackerService;
+import me.criseda.autostopper.telemetry.TelemetryHistoryReport;
+import me.criseda.autostopper.telemetry.TelemetryHistoryStats;
+import me.criseda.autostopper.telemetry.TelemetryHistoryStore;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class AutoStopperCommand implements SimpleCommand {
     static final String ADMIN_PERMISSION = "autostopper.admin";
@@ -34,22 +45,51 @@ public class AutoStopperCommand implements SimpleCommand {
     static final String RESTART_PERMISSION = "autostopper.command.restart";
     static final String HOLD_PERMISSION = "autostopper.command.hold";
     static final String RELEASE_PERMISSION = "autostopper.command.release";
+    static final String STATS_PERMISSION = "autostopper.command.stats";
+    static final String DEFAULT_STATS_RANGE = "24h";
+    private static final Pattern STATS_RANGE = Pattern.compile("(\\d{1,6})([mhd])");
 
     private final ConfigProvider config;
     private final ActivityTrackerService activityTracker;
     private final ServerLifecycleCoordinator lifecycleCoordinator;
     private final OperationalStatusService operationalStatus;
     private final PluginContainer pluginContainer;
+    private final ConfigReloader reloader;
+    private final TelemetryHistoryStore history;
+    private final AutoStopperExecutor executor;
 
     public AutoStopperCommand(ConfigProvider config,
             ActivityTrackerService activityTracker,
             ServerLifecycleCoordinator lifecycleCoordinator, OperationalStatusService operationalStatus,
             PluginContainer pluginContainer) {
+        this(config, activityTracker, lifecycleCoordinator, operationalStatus, pluginContainer,
+                new ConfigReloader(config, lifecycleCoordinator, activityTracker, operationalStatus));
+    }
+
+    public AutoStopperCommand(ConfigProvider config,
+            ActivityTrackerService activityTracker,
+            ServerLifecycleCoordinator lifecycleCoordinator, OperationalStatusService operationalStatus,
+            PluginContainer pluginContainer, ConfigReloader reloader) {
+        this(config, activityTracker, lifecycleCoordinator, operationalStatus, pluginContainer, reloader, null, null);
+    }
+
+    /**
+     * {@code history} may be null when telemetry_history is not configured; stats then explains how to enable it.
+     * History reads run on {@code executor}, which is only required alongside a history store.
+     */
+    public AutoStopperCommand(ConfigProvider config,
+            ActivityTrackerService activityTracker,
+            ServerLifecycleCoordinator lifecycleCoordinator, OperationalStatusService operationalStatus,
+            PluginContainer pluginContainer, ConfigReloader reloader, TelemetryHistoryStore history,
+            AutoStopperExecutor executor) {
         this.config = config;
         this.activityTracker = activityTracker;
         this.lifecycleCoordinator = lifecycleCoordinator;
         this.operationalStatus = operationalStatus;
         this.pluginContainer = pluginContainer;
+        this.reloader = reloader;
+        this.history = history;
+        this.executor = executor;
     }
 
     @Override
@@ -173,6 +213,31 @@ public class AutoStopperCommand implements SimpleCommand {
                 }
                 releaseServer(source, mapping.get());
             }
+            case "stats" -> {
+                if (!hasAdministrativePermission(source, STATS_PERMISSION)) {
+                    sendPermissionDenied(source, "view lifecycle history");
+                    return;
+                }
+                if (args.length < 2) {
+                    source.sendMessage(AutoStopperMessages.commandUsage(
+                            "/autostopper stats <server> [range]", "Shows recorded lifecycle history for a server",
+                            isPlayer));
+                    return;
+                }
+                if (history == null) {
+                    source.sendMessage(AutoStopperMessages.statsUnavailable());
+                    return;
+                }
+                String range = args.length > 2 ? args[2].toLowerCase(Locale.ROOT) : DEFAULT_STATS_RANGE;
+                int retentionDays = history.settings().retentionDays();
+                Optional<Duration> window = parseStatsRange(range)
+                        .filter(duration -> duration.compareTo(Duration.ofDays(retentionDays)) <= 0);
+                if (window.isEmpty()) {
+                    source.sendMessage(AutoStopperMessages.statsInvalidRange(range, retentionDays));
+                    return;
+                }
+                showStats(source, args[1], range, window.get());
+            }
             default -> {
                 List<String> permitted = getPermittedSubcommands(source);
                 Optional<String> closest = findClosestSubcommand(args[0], permitted);
@@ -217,10 +282,66 @@ public class AutoStopperCommand implements SimpleCommand {
             source.sendMessage(AutoStopperMessages.helpEntry(
                     "/autostopper release <server>", "Removes automatic shutdown suppression for a server", isPlayer));
         }
+        if (hasAdministrativePermission(source, STATS_PERMISSION)) {
+            source.sendMessage(AutoStopperMessages.helpEntry(
+                    "/autostopper stats <server> [range]", "Shows recorded lifecycle history for a server", isPlayer));
+        }
+    }
+
+    /** Reads the segments off the command thread; history for servers no longer mapped is still shown. */
+    private void showStats(CommandSource source, String serverName, String range, Duration window) {
+        Instant now = Instant.now();
+        executor.supply(() -> history.query(serverName, now.minus(window), now))
+                .whenComplete((report, error) -> {
+                    if (error != null || report.isEmpty()) {
+                        source.sendMessage(AutoStopperMessages.statsEmpty(serverName, range));
+                        return;
+                    }
+                    sendStats(source, report, range);
+                });
+    }
+
+    private void sendStats(CommandSource source, TelemetryHistoryReport report, String range) {
+        source.sendMessage(AutoStopperMessages.statsHeader(report.serverName(), range));
+        boolean daily = report.days().size() > 1;
+        for (TelemetryHistoryStats total : report.totals()) {
+            source.sendMessage(AutoStopperMessages.statsOperation(total.operation().name().toLowerCase(Locale.ROOT),
+                    total.count(), total.failures(), total.average(), total.max()));
+            if (!daily) {
+                continue;
+            }
+            for (Map.Entry<LocalDate, List<TelemetryHistoryStats>> day : report.days().entrySet()) {
+                for (TelemetryHistoryStats stats : day.getValue()) {
+                    if (stats.operation() == total.operation()) {
+                        source.sendMessage(AutoStopperMessages.statsDay(day.getKey().toString(), stats.count(),
+                                stats.failures(), stats.average(), stats.max()));
+                    }
+                }
+            }
+        }
+    }
+
+    /** A positive count of minutes, hours, or days such as {@code 90m}, {@code 24h}, or {@code 7d}. */
+    static Optional<Duration> parseStatsRange(String range) {
+        Matcher matcher = STATS_RANGE.matcher(range);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        if (amount == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(switch (matcher.group(2)) {
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        });
     }
 
     private void showStatus(CommandSource source) {
         source.sendMessage(AutoStopperMessages.statusHeader());
+        operationalStatus.openDockerCircuit().ifPresent(circuit ->
+                source.sendMessage(AutoStopperMessages.dockerCircuitOpen(circuit)));
 
         ConfigSnapshot snapshot = config.snapshot();
         List<String> serverNames = snapshot.serverNames().stream().sorted().toList();
@@ -244,18 +365,14 @@ public class AutoStopperCommand implements SimpleCommand {
 
     private void reloadConfig(CommandSource source) {
         source.sendMessage(AutoStopperMessages.reloadStarted());
-        ConfigSnapshot previous = config.snapshot();
-        ConfigLoadResult result = config.loadConfig();
-        if (!result.successful()) {
-            source.sendMessage(AutoStopperMessages.reloadFailed(result.errorSummary()));
+        ConfigReload reload = reloader.reload("reload");
+        if (!reload.result().successful()) {
+            source.sendMessage(AutoStopperMessages.reloadFailed(reload.result().errorSummary()));
             return;
         }
 
-        lifecycleCoordinator.reconcileConfig(previous, result.snapshot());
-        activityTracker.reconcileConfig(previous, result.snapshot());
-        operationalStatus.reconcileConfig(result.snapshot());
         source.sendMessage(AutoStopperMessages.reloadSucceeded());
-        operationalStatus.runPreflight(result.snapshot(), "reload")
+        reload.preflight()
                 .thenAccept(summary -> source.sendMessage(AutoStopperMessages.preflightCompleted(
                         summary.healthyMappings(), summary.degradedMappings())));
     }
@@ -444,6 +561,9 @@ public class AutoStopperCommand implements SimpleCommand {
             if (hasAdministrativePermission(source, RELEASE_PERMISSION) && "release".startsWith(input)) {
                 suggestions.add("release");
             }
+            if (hasAdministrativePermission(source, STATS_PERMISSION) && "stats".startsWith(input)) {
+                suggestions.add("stats");
+            }
 
             return suggestions;
         }
@@ -458,8 +578,9 @@ public class AutoStopperCommand implements SimpleCommand {
             boolean isRestart = subcommand.equals("restart") && hasAdministrativePermission(source, RESTART_PERMISSION);
             boolean isHold = subcommand.equals("hold") && hasAdministrativePermission(source, HOLD_PERMISSION);
             boolean isRelease = subcommand.equals("release") && hasAdministrativePermission(source, RELEASE_PERMISSION);
+            boolean isStats = subcommand.equals("stats") && hasAdministrativePermission(source, STATS_PERMISSION);
 
-            if (isStart || isStop || isRestart || isHold || isRelease) {
+            if (isStart || isStop || isRestart || isHold || isRelease || isStats) {
                 return config.snapshot().serverNames().stream()
                         .filter(name -> name.toLowerCase().startsWith(input))
                         .sorted()
@@ -467,6 +588,14 @@ public class AutoStopperCommand implements SimpleCommand {
             }
         }
 
+        if (args.length == 3 && args[0].equalsIgnoreCase("stats")
+                && hasAdministrativePermission(source, STATS_PERMISSION)) {
+            String input = args[2].toLowerCase();
+            return List.of("1h", DEFAULT_STATS_RANGE, "7d").stream()
+                    .filter(range -> range.startsWith(input))
+                    .toList();
+        }
+
         return Collections.emptyList();
     }
 
@@ -501,6 +630,9 @@ public class AutoStopperCommand implements SimpleCommand {
         if (hasAdministrativePermission(source, RELEASE_PERMISSION)) {
             permitted.add("release");
         }
+        if (hasAdministrativePermission(source, STATS_PERMISSION)) {
+            permitted.add("stats");
+        }
         return permitted;
     }
 
@@ -0,0 +1,24 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * When a player wake whose last waiter disconnected is cancelled, and how long a container it already
+ * started may then sit empty before the inactivity check stops it.
+ */
+public record AbandonedStartSettings(StartCommitPoint commitPoint, Duration idleTimeout) {
+    public static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+    public AbandonedStartSettings {
+        Objects.requireNonNull(commitPoint, "commitPoint");
+        if (idleTimeout.isZero() || idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+    }
+
+    public static AbandonedStartSettings defaults() {
+        return new AbandonedStartSettings(StartCommitPoint.CONTAINER_START,
+                Duration.ofSeconds(DEFAULT_IDLE_TIMEOUT_SECONDS));
+    }
+}
@@ -15,18 +15,45 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class AutoStopperConfig implements ConfigProvider {
     private static final String TIMEOUT_KEY = "inactivity_timeout_seconds";
     private static final String SHUTDOWN_TIMEOUT_KEY = "shutdown_timeout_seconds";
     private static final String STOP_RETRY_KEY = "stop_retry";
+    private static final String MAX_CONCURRENT_STARTS_KEY = "max_concurrent_starts";
+    private static final String DOCKER_QUERY_REUSE_KEY = "docker_query_reuse_millis";
+    private static final String WAKE_DEADLINE_KEY = "wake_deadline_seconds";
+    private static final String DOCKER_TRANSPORT_KEY = "docker_transport";
+    private static final String MAX_RUNNING_BACKENDS_KEY = "max_running_backends";
+    private static final String MEMORY_PRESSURE_KEY = "memory_pressure";
+    private static final String ABANDONED_STARTS_KEY = "abandoned_starts";
+    private static final String CONFIG_WATCH_KEY = "config_watch";
+    private static final String DISCOVERY_KEY = "discovery";
+    private static final String EVENT_LOG_KEY = "event_log";
+    private static final String TELEMETRY_HISTORY_KEY = "telemetry_history";
+    private static final String WAKE_BUDGET_KEY = "wake_budget";
+    private static final String EXECUTOR_KEY = "executor";
     private static final String SERVERS_KEY = "monitored_servers";
+    private static final String POOLS_KEY = "server_pools";
+    private static final String DEPENDENCIES_KEY = "dependencies";
+    private static final String COORDINATION_KEY = "coordination";
+    private static final Pattern PROXY_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final Pattern LABEL_PREFIX_PATTERN = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final String STRATEGY_CHOICES =
+            "minecraft_status, docker_health, docker_health_or_status, log_pattern";
+    private static final String TRANSPORT_CHOICES = "cli, dial_stdio";
+    private static final String COMMIT_POINT_CHOICES = "container_start, ready";
 
     private final Path dataDirectory;
     private final Logger logger;
@@ -34,6 +61,10 @@ public class AutoStopperConfig implements ConfigProvider {
     private final Predicate<String> knownServer;
     private final AtomicReference<ConfigSnapshot> current =
             new AtomicReference<>(ConfigSnapshot.emptyDefault());
+    /** Last snapshot parsed from config.yml, before discovered mappings are merged in. Guarded by this. */
+    private ConfigSnapshot fileSnapshot = ConfigSnapshot.emptyDefault();
+    /** Labels of the containers the last discovery listed, keyed by container name. Guarded by this. */
+    private Map<String, Map<String, String>> discoveredLabels = Map.of();
 
     public AutoStopperConfig(Path dataDirectory, Logger logger, Predicate<String> knownServer) {
         this.dataDirectory = dataDirectory;
@@ -56,10 +87,9 @@ public class AutoStopperConfig implements ConfigProvider {
                 logger.info("Default configuration created at: {}", configFile.toAbsolutePath());
             }
 
-            ConfigSnapshot candidate = parseAndValidate();
-            current.set(candidate);
-            logAppliedConfig(candidate);
-            return ConfigLoadResult.success(candidate);
+            ConfigSnapshot applied = applyFileSnapshot(parseAndValidate());
+            logAppliedConfig(applied);
+            return ConfigLoadResult.success(applied);
         } catch (ConfigValidationException e) {
             logRejectedConfig(e.errors());
             return ConfigLoadResult.failure(retained, e.errors());
@@ -87,6 +117,77 @@ public class AutoStopperConfig implements ConfigProvider {
         }
     }
 
+    /**
+     * Replaces the mappings discovered from container labels and atomically updates the active
+     * snapshot. File mappings always win: a discovered container whose server or container name is
+     * already mapped, or whose labels fail validation, is skipped and logged once per label change.
+     * Ignored while the loaded file has no discovery block.
+     */
+    @Override
+    public synchronized ConfigSnapshot applyDiscoveredContainers(Map<String, Map<String, String>> labelsByContainer) {
+        if (fileSnapshot.discovery().isEmpty()) {
+            return current.get();
+        }
+        Map<String, Map<String, String>> previous = discoveredLabels;
+        discoveredLabels = Map.copyOf(labelsByContainer);
+        ConfigSnapshot merged = mergeDiscovered(fileSnapshot, discoveredLabels, previous);
+        current.set(merged);
+        return merged;
+    }
+
+    private synchronized ConfigSnapshot applyFileSnapshot(ConfigSnapshot candidate) {
+        Optional<String> prefix = candidate.discovery().map(DiscoverySettings::labelPrefix);
+        if (prefix.isEmpty() || !prefix.equals(fileSnapshot.discovery().map(DiscoverySettings::labelPrefix))) {
+            discoveredLabels = Map.of();
+        }
+        fileSnapshot = candidate;
+        ConfigSnapshot merged = mergeDiscovered(candidate, discoveredLabels, Map.of());
+        current.set(merged);
+        return merged;
+    }
+
+    /** Appends valid discovered mappings; rejections are logged unless {@code alreadySeen} had the same labels. */
+    private ConfigSnapshot mergeDiscovered(ConfigSnapshot file, Map<String, Map<String, String>> labels,
+            Map<String, Map<String, String>> alreadySeen) {
+        if (labels.isEmpty()) {
+            return file;
+        }
+        String prefix = file.discovery().orElseThrow().labelPrefix();
+        Set<String> dependencyNames = new HashSet<>();
+        Set<String> containerNames = new HashSet<>(file.serverToContainer().values());
+        for (ContainerDependency dependency : file.dependencies()) {
+            dependencyNames.add(dependency.name());
+            containerNames.add(dependency.containerName());
+        }
+        Set<String> serverNames = new HashSet<>(file.serverNames());
+        List<ServerMapping> mappings = new ArrayList<>(file.servers());
+        for (String containerName : labels.keySet().stream().sorted().toList()) {
+            Map<String, String> containerLabels = labels.get(containerName);
+            String path = "container " + containerName + " label " + prefix;
+            List<String> errors = new ArrayList<>();
+            ServerMapping mapping = parseMapping(ContainerLabels.toEntry(containerName, containerLabels, prefix),
+                    path, dependencyNames, errors);
+            if (mapping != null && errors.isEmpty()) {
+                if (serverNames.contains(mapping.serverName())) {
+                    errors.add(path + "." + ContainerLabels.SERVER_KEY + ": server '" + mapping.serverName()
+                            + "' is already mapped");
+                } else if (containerNames.contains(containerName)) {
+                    errors.add(path + ": container '" + containerName + "' is already mapped");
+                }
+            }
+            if (mapping == null || !errors.isEmpty()) {
+                if (!containerLabels.equals(alreadySeen.get(containerName))) {
+                    logger.warn("Ignoring discovered container {}: {}", containerName, String.join("; ", errors));
+                }
+                continue;
+            }
+            serverNames.add(mapping.serverName());
+            containerNames.add(containerName);
+            mappings.add(mapping);
+        }
+        return file.withServers(mappings);
+    }
+
     private ConfigSnapshot parseAndValidate() throws IOException, ConfigValidationException {
         LoaderOptions options = new LoaderOptions();
         options.setAllowDuplicateKeys(false);
@@ -110,11 +211,62 @@ public class AutoStopperConfig implements ConfigProvider {
                 SHUTDOWN_TIMEOUT_KEY, ConfigSnapshot.DEFAULT_SHUTDOWN_TIMEOUT_SECONDS,
                 Integer.MAX_VALUE, errors);
         StopRetrySettings stopRetry = parseStopRetry(root.get(STOP_RETRY_KEY), errors);
-        List<ServerMapping> mappings = parseMappings(root, errors);
+        int maxConcurrentStarts = parsePositiveInteger(root.get(MAX_CONCURRENT_STARTS_KEY),
+                MAX_CONCURRENT_STARTS_KEY, ConfigSnapshot.UNLIMITED_CONCURRENT_STARTS,
+                Integer.MAX_VALUE, errors);
+        int dockerQueryReuseMillis = parseNonNegativeInteger(root.get(DOCKER_QUERY_REUSE_KEY),
+                DOCKER_QUERY_REUSE_KEY, ConfigSnapshot.NO_DOCKER_QUERY_REUSE, 10_000, errors);
+        int wakeDeadlineSeconds = parsePositiveInteger(root.get(WAKE_DEADLINE_KEY),
+                WAKE_DEADLINE_KEY, ConfigSnapshot.NO_WAKE_DEADLINE, 3600, errors);
+        DockerTransport dockerTransport = parseDockerTransport(root.get(DOCKER_TRANSPORT_KEY), errors);
+        int maxRunningBackends = parsePositiveInteger(root.get(MAX_RUNNING_BACKENDS_KEY),
+                MAX_RUNNING_BACKENDS_KEY, ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS, Integer.MAX_VALUE, errors);
+        MemoryPressureSettings memoryPressure = parseMemoryPressure(root.get(MEMORY_PRESSURE_KEY), errors);
+        AbandonedStartSettings abandonedStarts = parseAbandonedStarts(root.get(ABANDONED_STARTS_KEY), errors);
+        ConfigWatchSettings configWatch = parseConfigWatch(root.get(CONFIG_WATCH_KEY), errors);
+        DiscoverySettings discovery = parseDiscovery(root.get(DISCOVERY_KEY), errors);
+        EventLogSettings eventLog = parseEventLog(root.get(EVENT_LOG_KEY), errors);
+        TelemetryHistorySettings telemetryHistory = parseTelemetryHistory(root.get(TELEMETRY_HISTORY_KEY), errors);
+        WakeBudgetSettings wakeBudget = parseWakeBudget(root.get(WAKE_BUDGET_KEY), errors);
+        ExecutorSettings executor = parseExecutor(root.get(EXECUTOR_KEY), errors);
+        List<ContainerDependency> dependencies = parseDependencies(root.get(DEPENDENCIES_KEY), errors);
+        List<ServerMapping> mappings = parseMappings(root, dependencies, errors);
+        List<ServerPool> pools = parsePools(root.get(POOLS_KEY), mappings, errors);
+        CoordinationSettings coordination = parseCoordination(root.get(COORDINATION_KEY), errors);
         if (!errors.isEmpty()) {
             throw new ConfigValidationException(errors);
         }
-        return new ConfigSnapshot(timeout, shutdownTimeout, stopRetry, mappings);
+        return new ConfigSnapshot(timeout, shutdownTimeout, stopRetry, maxConcurrentStarts, mappings, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, configWatch, discovery, eventLog,
+                telemetryHistory, wakeBudget, executor);
+    }
+
+    private CoordinationSettings parseCoordination(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> coordination)) {
+            errors.add(COORDINATION_KEY + ": expected a mapping");
+            return null;
+        }
+        String proxyId = parseName(coordination.get("proxy_id"), COORDINATION_KEY + ".proxy_id", errors);
+        if (proxyId != null && !PROXY_ID_PATTERN.matcher(proxyId).matches()) {
+            errors.add(COORDINATION_KEY + ".proxy_id: may only contain letters, digits, '.', '_' and '-'");
+            proxyId = null;
+        }
+        String directory = parseName(coordination.get("directory"), COORDINATION_KEY + ".directory", errors);
+        int leaseSeconds = parsePositiveInteger(coordination.get("lease_seconds"),
+                COORDINATION_KEY + ".lease_seconds", CoordinationSettings.DEFAULT_LEASE_SECONDS,
+                Integer.MAX_VALUE, errors);
+        int heartbeatTtlSeconds = parsePositiveInteger(coordination.get("heartbeat_ttl_seconds"),
+                COORDINATION_KEY + ".heartbeat_ttl_seconds", CoordinationSettings.DEFAULT_HEARTBEAT_TTL_SECONDS,
+                Integer.MAX_VALUE, errors);
+        if (proxyId == null || directory == null) {
+            return null;
+        }
+        return new CoordinationSettings(proxyId, dataDirectory.resolve(directory),
+                Duration.ofSeconds(leaseSeconds), Duration.ofSeconds(heartbeatTtlSeconds));
     }
 
     private StopRetrySettings parseStopRetry(Object value, List<String> errors) {
@@ -143,6 +295,184 @@ public class AutoStopperConfig implements ConfigProvider {
                 Duration.ofSeconds(maxBackoffSeconds));
     }
 
+    private MemoryPressureSettings parseMemoryPressure(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> pressure)) {
+            errors.add(MEMORY_PRESSURE_KEY + ": expected a mapping");
+            return null;
+        }
+        MemoryPressureSettings defaults = MemoryPressureSettings.defaults();
+        int psiPercent = parsePositiveInteger(pressure.get("psi_some_avg10_percent"),
+                MEMORY_PRESSURE_KEY + ".psi_some_avg10_percent", defaults.psiSomeAvg10Percent(), 100, errors);
+        int availablePercent = parsePositiveInteger(pressure.get("min_available_percent"),
+                MEMORY_PRESSURE_KEY + ".min_available_percent", defaults.minAvailablePercent(), 100, errors);
+        int timeoutSeconds = parsePositiveInteger(pressure.get("inactivity_timeout_seconds"),
+                MEMORY_PRESSURE_KEY + ".inactivity_timeout_seconds",
+                (int) defaults.inactivityTimeout().toSeconds(), Integer.MAX_VALUE, errors);
+        return new MemoryPressureSettings(psiPercent, availablePercent, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    private AbandonedStartSettings parseAbandonedStarts(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> abandoned)) {
+            errors.add(ABANDONED_STARTS_KEY + ": expected a mapping");
+            return null;
+        }
+        AbandonedStartSettings defaults = AbandonedStartSettings.defaults();
+        StartCommitPoint commitPoint = defaults.commitPoint();
+        Object commitValue = abandoned.get("commit_point");
+        if (commitValue != null) {
+            Optional<StartCommitPoint> parsed = commitValue instanceof String name
+                    ? StartCommitPoint.fromConfigValue(name)
+                    : Optional.empty();
+            if (parsed.isEmpty()) {
+                errors.add(ABANDONED_STARTS_KEY + ".commit_point: expected one of " + COMMIT_POINT_CHOICES);
+            } else {
+                commitPoint = parsed.get();
+            }
+        }
+        int idleSeconds = parsePositiveInteger(abandoned.get("idle_timeout_seconds"),
+                ABANDONED_STARTS_KEY + ".idle_timeout_seconds",
+                (int) defaults.idleTimeout().toSeconds(), Integer.MAX_VALUE, errors);
+        return new AbandonedStartSettings(commitPoint, Duration.ofSeconds(idleSeconds));
+    }
+
+    private ConfigWatchSettings parseConfigWatch(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> watch)) {
+            errors.add(CONFIG_WATCH_KEY + ": expected a mapping");
+            return null;
+        }
+        int debounceMillis = parsePositiveInteger(watch.get("debounce_millis"),
+                CONFIG_WATCH_KEY + ".debounce_millis", ConfigWatchSettings.DEFAULT_DEBOUNCE_MILLIS, 60_000, errors);
+        return new ConfigWatchSettings(Duration.ofMillis(debounceMillis));
+    }
+
+    private DiscoverySettings parseDiscovery(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> discovery)) {
+            errors.add(DISCOVERY_KEY + ": expected a mapping");
+            return null;
+        }
+        DiscoverySettings defaults = DiscoverySettings.defaults();
+        String labelPrefix = defaults.labelPrefix();
+        if (discovery.get("label_prefix") != null) {
+            labelPrefix = parseName(discovery.get("label_prefix"), DISCOVERY_KEY + ".label_prefix", errors);
+            if (labelPrefix != null && !LABEL_PREFIX_PATTERN.matcher(labelPrefix).matches()) {
+                errors.add(DISCOVERY_KEY + ".label_prefix: may only contain letters, digits, '.', '_' and '-'");
+                labelPrefix = null;
+            }
+        }
+        int relistSeconds = parsePositiveInteger(discovery.get("relist_interval_seconds"),
+                DISCOVERY_KEY + ".relist_interval_seconds", DiscoverySettings.DEFAULT_RELIST_INTERVAL_SECONDS,
+                86_400, errors);
+        if (labelPrefix == null) {
+            return null;
+        }
+        return new DiscoverySettings(labelPrefix, Duration.ofSeconds(relistSeconds));
+    }
+
+    private EventLogSettings parseEventLog(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> eventLog)) {
+            errors.add(EVENT_LOG_KEY + ": expected a mapping");
+            return null;
+        }
+        int maxFileMegabytes = parsePositiveInteger(eventLog.get("max_file_megabytes"),
+                EVENT_LOG_KEY + ".max_file_megabytes", EventLogSettings.DEFAULT_MAX_FILE_MEGABYTES, 1_024, errors);
+        int maxFiles = parsePositiveInteger(eventLog.get("max_files"), EVENT_LOG_KEY + ".max_files",
+                EventLogSettings.DEFAULT_MAX_FILES, 100, errors);
+        int bufferCapacity = parsePositiveInteger(eventLog.get("buffer_capacity"), EVENT_LOG_KEY + ".buffer_capacity",
+                EventLogSettings.DEFAULT_BUFFER_CAPACITY, 1_048_576, errors);
+        int flushIntervalMillis = parsePositiveInteger(eventLog.get("flush_interval_millis"),
+                EVENT_LOG_KEY + ".flush_interval_millis", EventLogSettings.DEFAULT_FLUSH_INTERVAL_MILLIS, 60_000,
+                errors);
+        int slowThresholdMillis = parsePositiveInteger(eventLog.get("slow_threshold_millis"),
+                EVENT_LOG_KEY + ".slow_threshold_millis", EventLogSettings.DEFAULT_SLOW_THRESHOLD_MILLIS,
+                Integer.MAX_VALUE, errors);
+        Map<String, Integer> samplePercent = new HashMap<>();
+        Object sampling = eventLog.get("sample_percent");
+        if (sampling instanceof Map<?, ?> outcomes) {
+            for (Map.Entry<?, ?> entry : outcomes.entrySet()) {
+                String path = EVENT_LOG_KEY + ".sample_percent." + entry.getKey();
+                if (!(entry.getKey() instanceof String outcome)
+                        || !EventLogSettings.SAMPLEABLE_OUTCOMES.contains(outcome)) {
+                    errors.add(path + ": only successful outcomes can be sampled: "
+                            + String.join(", ", EventLogSettings.SAMPLEABLE_OUTCOMES.stream().sorted().toList()));
+                    continue;
+                }
+                samplePercent.put(outcome, parsePositiveInteger(entry.getValue(), path, 100, 100, errors));
+            }
+        } else if (sampling != null) {
+            errors.add(EVENT_LOG_KEY + ".sample_percent: expected a mapping of outcome to percent");
+        }
+        return new EventLogSettings(maxFileMegabytes * 1024L * 1024L, maxFiles, bufferCapacity,
+                Duration.ofMillis(flushIntervalMillis), Duration.ofMillis(slowThresholdMillis), samplePercent);
+    }
+
+    private TelemetryHistorySettings parseTelemetryHistory(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> history)) {
+            errors.add(TELEMETRY_HISTORY_KEY + ": expected a mapping");
+            return null;
+        }
+        int retentionDays = parsePositiveInteger(history.get("retention_days"), TELEMETRY_HISTORY_KEY
+                + ".retention_days", TelemetryHistorySettings.DEFAULT_RETENTION_DAYS, 365, errors);
+        int maxRecordsPerDay = parsePositiveInteger(history.get("max_records_per_day"), TELEMETRY_HISTORY_KEY
+                + ".max_records_per_day", TelemetryHistorySettings.DEFAULT_MAX_RECORDS_PER_DAY, 4_194_304, errors);
+        return new TelemetryHistorySettings(retentionDays, maxRecordsPerDay);
+    }
+
+    private WakeBudgetSettings parseWakeBudget(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> budget)) {
+            errors.add(WAKE_BUDGET_KEY + ": expected a mapping");
+            return null;
+        }
+        int burst = parsePositiveInteger(budget.get("burst"), WAKE_BUDGET_KEY + ".burst",
+                WakeBudgetSettings.DEFAULT_BURST, 1_000, errors);
+        int refillSeconds = parsePositiveInteger(budget.get("refill_seconds"), WAKE_BUDGET_KEY + ".refill_seconds",
+                WakeBudgetSettings.DEFAULT_REFILL_SECONDS, 86_400, errors);
+        return new WakeBudgetSettings(burst, Duration.ofSeconds(refillSeconds));
+    }
+
+    private ExecutorSettings parseExecutor(Object value, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> executor)) {
+            errors.add(EXECUTOR_KEY + ": expected a mapping");
+            return null;
+        }
+        int minWorkers = parsePositiveInteger(executor.get("min_workers"), EXECUTOR_KEY + ".min_workers",
+                ExecutorSettings.DEFAULT_MIN_WORKERS, 64, errors);
+        int maxWorkers = parsePositiveInteger(executor.get("max_workers"), EXECUTOR_KEY + ".max_workers",
+                Math.max(minWorkers, ExecutorSettings.DEFAULT_MAX_WORKERS), 256, errors);
+        int queueCapacity = parsePositiveInteger(executor.get("queue_capacity"), EXECUTOR_KEY + ".queue_capacity",
+                ExecutorSettings.DEFAULT_QUEUE_CAPACITY, 10_000, errors);
+        int targetWaitMillis = parsePositiveInteger(executor.get("target_wait_millis"),
+                EXECUTOR_KEY + ".target_wait_millis", ExecutorSettings.DEFAULT_TARGET_WAIT_MILLIS, 60_000, errors);
+        if (maxWorkers < minWorkers) {
+            errors.add(EXECUTOR_KEY + ".max_workers: must not be less than min_workers");
+            return null;
+        }
+        return new ExecutorSettings(minWorkers, maxWorkers, queueCapacity, Duration.ofMillis(targetWaitMillis));
+    }
+
     private int parseTimeout(Map<?, ?> root, List<String> errors) {
         if (!root.containsKey(TIMEOUT_KEY)) {
             return ConfigSnapshot.DEFAULT_INACTIVITY_TIMEOUT_SECONDS;
@@ -160,7 +490,8 @@ public class AutoStopperConfig implements ConfigProvider {
         return (int) timeout;
     }
 
-    private List<ServerMapping> parseMappings(Map<?, ?> root, List<String> errors) {
+    private List<ServerMapping> parseMappings(Map<?, ?> root, List<ContainerDependency> dependencies,
+            List<String> errors) {
         if (!root.containsKey(SERVERS_KEY)) {
             return List.of();
         }
@@ -170,6 +501,12 @@ public class AutoStopperConfig implements ConfigProvider {
             return List.of();
         }
 
+        Set<String> dependencyNames = new HashSet<>();
+        Set<String> dependencyContainers = new HashSet<>();
+        for (ContainerDependency dependency : dependencies) {
+            dependencyNames.add(dependency.name());
+            dependencyContainers.add(dependency.containerName());
+        }
         List<ServerMapping> mappings = new ArrayList<>();
         Set<String> serverNames = new HashSet<>();
         Set<String> containerNames = new HashSet<>();
@@ -181,26 +518,245 @@ public class AutoStopperConfig implements ConfigProvider {
                 continue;
             }
 
-            String serverName = parseName(mapping.get("server_name"), path + ".server_name", errors);
-            String containerName = parseName(mapping.get("container_name"), path + ".container_name", errors);
-            ReadinessSettings readiness = parseReadiness(mapping.get("readiness"), path + ".readiness", errors);
-            if (serverName == null || containerName == null) {
+            ServerMapping parsed = parseMapping(mapping, path, dependencyNames, errors);
+            if (parsed == null) {
                 continue;
             }
-            if (!knownServer.test(serverName)) {
-                errors.add(path + ".server_name: unknown Velocity server '" + serverName + "'");
-            }
+            String serverName = parsed.serverName();
+            String containerName = parsed.containerName();
             if (!serverNames.add(serverName)) {
                 errors.add(path + ".server_name: duplicate server mapping '" + serverName + "'");
             }
             if (!containerNames.add(containerName)) {
                 errors.add(path + ".container_name: duplicate container mapping '" + containerName + "'");
             }
-            mappings.add(new ServerMapping(serverName, containerName, readiness));
+            if (dependencyContainers.contains(containerName)) {
+                errors.add(path + ".container_name: '" + containerName + "' is already a dependency container");
+            }
+            mappings.add(parsed);
         }
         return mappings;
     }
 
+    /** Parses one monitored_servers entry, whether written in the file or rebuilt from container labels. */
+    private ServerMapping parseMapping(Map<?, ?> mapping, String path, Set<String> dependencyNames,
+            List<String> errors) {
+        String serverName = parseName(mapping.get("server_name"), path + ".server_name", errors);
+        String containerName = parseName(mapping.get("container_name"), path + ".container_name", errors);
+        ReadinessSettings readiness = parseReadiness(mapping.get("readiness"), path + ".readiness", errors);
+        int startWeight = parsePositiveInteger(mapping.get("start_weight"), path + ".start_weight",
+                ServerMapping.DEFAULT_START_WEIGHT, Integer.MAX_VALUE, errors);
+        List<String> dependsOn = parseDependsOn(mapping.get("depends_on"), path + ".depends_on",
+                dependencyNames, errors);
+        SleepSettings sleep = parseSleep(mapping.get("sleep"), path + ".sleep", errors);
+        int memoryCost = parsePositiveInteger(mapping.get("memory_cost"), path + ".memory_cost",
+                ServerMapping.DEFAULT_MEMORY_COST, Integer.MAX_VALUE, errors);
+        ConnectionReleaseSettings release = parseRelease(mapping.get("release"), path + ".release", errors);
+        if (serverName == null || containerName == null) {
+            return null;
+        }
+        if (!knownServer.test(serverName)) {
+            errors.add(path + ".server_name: unknown Velocity server '" + serverName + "'");
+        }
+        return new ServerMapping(serverName, containerName, readiness, startWeight, dependsOn, sleep,
+                memoryCost, release);
+    }
+
+    private List<ContainerDependency> parseDependencies(Object value, List<String> errors) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> entries)) {
+            errors.add(DEPENDENCIES_KEY + ": expected a list");
+            return List.of();
+        }
+
+        // Collect names up front so a dependency may reference one declared later in the list.
+        Set<String> declared = new HashSet<>();
+        for (Object entry : entries) {
+            if (entry instanceof Map<?, ?> dependency && dependency.get("name") instanceof String name) {
+                declared.add(name);
+            }
+        }
+        List<ContainerDependency> dependencies = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<String> containerNames = new HashSet<>();
+        for (int index = 0; index < entries.size(); index++) {
+            String path = DEPENDENCIES_KEY + "[" + index + "]";
+            if (!(entries.get(index) instanceof Map<?, ?> dependency)) {
+                errors.add(path + ": expected a mapping");
+                continue;
+            }
+
+            String name = parseName(dependency.get("name"), path + ".name", errors);
+            String containerName = parseName(dependency.get("container_name"), path + ".container_name", errors);
+            List<String> dependsOn = parseDependsOn(dependency.get("depends_on"), path + ".depends_on",
+                    declared, errors);
+            int readyTimeoutSeconds = parsePositiveInteger(dependency.get("ready_timeout_seconds"),
+                    path + ".ready_timeout_seconds", ContainerDependency.DEFAULT_READY_TIMEOUT_SECONDS,
+                    Integer.MAX_VALUE, errors);
+            if (name == null || containerName == null) {
+                continue;
+            }
+            if (!names.add(name)) {
+                errors.add(path + ".name: duplicate dependency '" + name + "'");
+            }
+            if (!containerNames.add(containerName)) {
+                errors.add(path + ".container_name: duplicate dependency container '" + containerName + "'");
+            }
+            if (dependsOn.contains(name)) {
+                errors.add(path + ".depends_on: '" + name + "' must not depend on itself");
+                continue;
+            }
+            dependencies.add(new ContainerDependency(name, containerName, dependsOn,
+                    Duration.ofSeconds(readyTimeoutSeconds)));
+        }
+        String cycle = findDependencyCycle(dependencies);
+        if (cycle != null) {
+            errors.add(DEPENDENCIES_KEY + ": dependency cycle " + cycle);
+        }
+        return dependencies;
+    }
+
+    private List<String> parseDependsOn(Object value, String path, Set<String> declared, List<String> errors) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> entries)) {
+            errors.add(path + ": expected a list of dependency names");
+            return List.of();
+        }
+        Set<String> dependsOn = new LinkedHashSet<>();
+        for (int index = 0; index < entries.size(); index++) {
+            String entryPath = path + "[" + index + "]";
+            String name = parseName(entries.get(index), entryPath, errors);
+            if (name == null) {
+                continue;
+            }
+            if (!declared.contains(name)) {
+                errors.add(entryPath + ": unknown dependency '" + name + "'");
+            } else if (!dependsOn.add(name)) {
+                errors.add(entryPath + ": duplicate dependency '" + name + "'");
+            }
+        }
+        return List.copyOf(dependsOn);
+    }
+
+    private String findDependencyCycle(List<ContainerDependency> dependencies) {
+        Map<String, ContainerDependency> byName = new HashMap<>();
+        for (ContainerDependency dependency : dependencies) {
+            byName.putIfAbsent(dependency.name(), dependency);
+        }
+        Set<String> finished = new HashSet<>();
+        for (ContainerDependency dependency : dependencies) {
+            List<String> trail = new ArrayList<>();
+            String cycle = findDependencyCycle(dependency.name(), byName, trail, finished);
+            if (cycle != null) {
+                return cycle;
+            }
+        }
+        return null;
+    }
+
+    private String findDependencyCycle(String name, Map<String, ContainerDependency> byName, List<String> trail,
+            Set<String> finished) {
+        int seen = trail.indexOf(name);
+        if (seen >= 0) {
+            List<String> cycle = new ArrayList<>(trail.subList(seen, trail.size()));
+            cycle.add(name);
+            return String.join(" -> ", cycle);
+        }
+        ContainerDependency dependency = byName.get(name);
+        if (dependency == null || finished.contains(name)) {
+            return null;
+        }
+        trail.add(name);
+        for (String upstream : dependency.dependsOn()) {
+            String cycle = findDependencyCycle(upstream, byName, trail, finished);
+            if (cycle != null) {
+                return cycle;
+            }
+        }
+        trail.remove(trail.size() - 1);
+        finished.add(name);
+        return null;
+    }
+
+    private List<ServerPool> parsePools(Object value, List<ServerMapping> mappings, List<String> errors) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> entries)) {
+            errors.add(POOLS_KEY + ": expected a list");
+            return List.of();
+        }
+
+        Set<String> monitoredNames = new HashSet<>();
+        for (ServerMapping mapping : mappings) {
+            monitoredNames.add(mapping.serverName());
+        }
+        List<ServerPool> pools = new ArrayList<>();
+        Set<String> poolNames = new HashSet<>();
+        Set<String> pooledMembers = new HashSet<>();
+        for (int index = 0; index < entries.size(); index++) {
+            String path = POOLS_KEY + "[" + index + "]";
+            if (!(entries.get(index) instanceof Map<?, ?> pool)) {
+                errors.add(path + ": expected a mapping");
+                continue;
+            }
+
+            String poolName = parseName(pool.get("pool_name"), path + ".pool_name", errors);
+            List<String> members = parsePoolMembers(pool.get("members"), path + ".members",
+                    monitoredNames, pooledMembers, errors);
+            int warmInstances = parsePositiveInteger(pool.get("warm_instances"), path + ".warm_instances",
+                    ServerPool.DEFAULT_WARM_INSTANCES, Integer.MAX_VALUE, errors);
+            if (poolName == null || members == null) {
+                continue;
+            }
+            if (!knownServer.test(poolName)) {
+                errors.add(path + ".pool_name: unknown Velocity server '" + poolName + "'");
+            }
+            if (monitoredNames.contains(poolName)) {
+                errors.add(path + ".pool_name: '" + poolName + "' is already a monitored server");
+            }
+            if (!poolNames.add(poolName)) {
+                errors.add(path + ".pool_name: duplicate pool '" + poolName + "'");
+            }
+            if (warmInstances > members.size()) {
+                errors.add(path + ".warm_instances: must not exceed the number of members");
+                continue;
+            }
+            pools.add(new ServerPool(poolName, members, warmInstances));
+        }
+        return pools;
+    }
+
+    private List<String> parsePoolMembers(Object value, String path, Set<String> monitoredNames,
+            Set<String> pooledMembers, List<String> errors) {
+        if (!(value instanceof List<?> entries) || entries.isEmpty()) {
+            errors.add(path + ": expected a non-empty list of monitored server names");
+            return null;
+        }
+        List<String> members = new ArrayList<>();
+        for (int index = 0; index < entries.size(); index++) {
+            String memberPath = path + "[" + index + "]";
+            String member = parseName(entries.get(index), memberPath, errors);
+            if (member == null) {
+                return null;
+            }
+            if (!monitoredNames.contains(member)) {
+                errors.add(memberPath + ": '" + member + "' is not a monitored server");
+                return null;
+            }
+            if (!pooledMembers.add(member)) {
+                errors.add(memberPath + ": '" + member + "' already belongs to a pool");
+                return null;
+            }
+            members.add(member);
+        }
+        return members;
+    }
+
     private ReadinessSettings parseReadiness(Object value, String path, List<String> errors) {
         ReadinessSettings defaults = ReadinessSettings.defaults();
         if (value == null) {
@@ -245,6 +801,7 @@ public class AutoStopperConfig implements ConfigProvider {
                 ReadinessSettings.DEFAULT_READ_TIMEOUT_MILLIS,
                 Integer.MAX_VALUE,
                 errors);
+        String logPattern = parseLogPattern(readiness.get("log_pattern"), path + ".log_pattern", errors);
 
         return new ReadinessSettings(
                 strategy,
@@ -253,7 +810,88 @@ public class AutoStopperConfig implements ConfigProvider {
                 Duration.ofMillis(intervalMillis),
                 Duration.ofSeconds(timeoutSeconds),
                 Duration.ofMillis(connectTimeoutMillis),
-                Duration.ofMillis(readTimeoutMillis));
+                Duration.ofMillis(readTimeoutMillis),
+                logPattern);
+    }
+
+    private SleepSettings parseSleep(Object value, String path, List<String> errors) {
+        SleepSettings defaults = SleepSettings.defaults();
+        if (value == null) {
+            return defaults;
+        }
+        if (!(value instanceof Map<?, ?> sleep)) {
+            errors.add(path + ": expected a mapping");
+            return defaults;
+        }
+
+        SleepMode mode = SleepMode.STOP;
+        Object modeValue = sleep.get("mode");
+        if (modeValue != null) {
+            Optional<SleepMode> parsed = modeValue instanceof String name
+                    ? SleepMode.fromConfigValue(name)
+                    : Optional.empty();
+            if (parsed.isEmpty()) {
+                errors.add(path + ".mode: expected one of stop, checkpoint");
+            } else {
+                mode = parsed.get();
+            }
+        }
+        String checkpointDirectory = parseOptionalName(sleep.get("checkpoint_dir"), path + ".checkpoint_dir", errors);
+        if (checkpointDirectory != null && mode != SleepMode.CHECKPOINT) {
+            errors.add(path + ".checkpoint_dir: only used with mode: checkpoint");
+            checkpointDirectory = null;
+        }
+        if (checkpointDirectory != null && !Path.of(checkpointDirectory).isAbsolute()) {
+            errors.add(path + ".checkpoint_dir: expected an absolute path");
+            checkpointDirectory = null;
+        }
+        int timeoutSeconds = parsePositiveInteger(sleep.get("timeout_seconds"), path + ".timeout_seconds",
+                SleepSettings.DEFAULT_TIMEOUT_SECONDS, 3600, errors);
+        return new SleepSettings(mode, checkpointDirectory, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    private ConnectionReleaseSettings parseRelease(Object value, String path, List<String> errors) {
+        ConnectionReleaseSettings defaults = ConnectionReleaseSettings.defaults();
+        if (value == null) {
+            return defaults;
+        }
+        if (!(value instanceof Map<?, ?> release)) {
+            errors.add(path + ": expected a mapping");
+            return defaults;
+        }
+        if (release.get("wave_size") == null) {
+            errors.add(path + ".wave_size: required when release is set");
+            return defaults;
+        }
+        int waveSize = parsePositiveInteger(release.get("wave_size"), path + ".wave_size",
+                1, Integer.MAX_VALUE, errors);
+        int intervalMillis = parsePositiveInteger(release.get("wave_interval_millis"), path + ".wave_interval_millis",
+                ConnectionReleaseSettings.DEFAULT_WAVE_INTERVAL_MILLIS, 60_000, errors);
+        boolean adaptive = false;
+        Object adaptiveValue = release.get("adaptive");
+        if (adaptiveValue instanceof Boolean flag) {
+            adaptive = flag;
+        } else if (adaptiveValue != null) {
+            errors.add(path + ".adaptive: expected true or false");
+        }
+        return new ConnectionReleaseSettings(waveSize, Duration.ofMillis(intervalMillis), adaptive);
+    }
+
+    private String parseLogPattern(Object value, String path, List<String> errors) {
+        if (value == null) {
+            return ReadinessSettings.DEFAULT_LOG_PATTERN;
+        }
+        if (!(value instanceof String pattern) || pattern.isBlank()) {
+            errors.add(path + ": expected a non-blank regular expression");
+            return ReadinessSettings.DEFAULT_LOG_PATTERN;
+        }
+        try {
+            Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            errors.add(path + ": invalid regular expression: " + e.getDescription());
+            return ReadinessSettings.DEFAULT_LOG_PATTERN;
+        }
+        return pattern;
     }
 
     private ReadinessStrategy parseReadinessStrategy(Object value, String path, List<String> errors) {
@@ -261,15 +899,29 @@ public class AutoStopperConfig implements ConfigProvider {
             return ReadinessStrategy.MINECRAFT_STATUS;
         }
         if (!(value instanceof String name)) {
-            errors.add(path + ": expected one of minecraft_status, docker_health, docker_health_or_status");
+            errors.add(path + ": expected one of " + STRATEGY_CHOICES);
             return ReadinessStrategy.MINECRAFT_STATUS;
         }
         return ReadinessStrategy.fromConfigValue(name).orElseGet(() -> {
-            errors.add(path + ": expected one of minecraft_status, docker_health, docker_health_or_status");
+            errors.add(path + ": expected one of " + STRATEGY_CHOICES);
             return ReadinessStrategy.MINECRAFT_STATUS;
         });
     }
 
+    private DockerTransport parseDockerTransport(Object value, List<String> errors) {
+        if (value == null) {
+            return DockerTransport.CLI;
+        }
+        if (!(value instanceof String name)) {
+            errors.add(DOCKER_TRANSPORT_KEY + ": expected one of " + TRANSPORT_CHOICES);
+            return DockerTransport.CLI;
+        }
+        return DockerTransport.fromConfigValue(name).orElseGet(() -> {
+            errors.add(DOCKER_TRANSPORT_KEY + ": expected one of " + TRANSPORT_CHOICES);
+            return DockerTransport.CLI;
+        });
+    }
+
     private String parseOptionalName(Object value, String path, List<String> errors) {
         return value == null ? null : parseName(value, path, errors);
     }
@@ -306,6 +958,23 @@ public class AutoStopperConfig implements ConfigProvider {
         return (int) number;
     }
 
+    private int parseNonNegativeInteger(Object value, String path, int defaultValue, int maximum,
+            List<String> errors) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long)) {
+            errors.add(path + ": expected a non-negative integer");
+            return defaultValue;
+        }
+        long number = ((Number) value).longValue();
+        if (number < 0 || number > maximum) {
+            errors.add(path + ": expected a non-negative integer no greater than " + maximum);
+            return defaultValue;
+        }
+        return (int) number;
+    }
+
     private String parseName(Object value, String path, List<String> errors) {
         if (!(value instanceof String name)) {
             errors.add(path + ": expected a string");
@@ -337,12 +1006,60 @@ public class AutoStopperConfig implements ConfigProvider {
             writer.write("  initial_backoff_seconds: "
                     + StopRetrySettings.DEFAULT_INITIAL_BACKOFF_SECONDS + "\n");
             writer.write("  max_backoff_seconds: " + StopRetrySettings.DEFAULT_MAX_BACKOFF_SECONDS + "\n\n");
+            writer.write("# Optional cap on simultaneous container starts; omit to start every server immediately.\n");
+            writer.write("# " + MAX_CONCURRENT_STARTS_KEY + ": 2\n\n");
+            writer.write("# Optional cap on running servers, weighted by memory_cost; idle ones are evicted.\n");
+            writer.write("# " + MAX_RUNNING_BACKENDS_KEY + ": 12\n\n");
+            writer.write("# Optional early stops for empty servers while host memory runs short.\n");
+            writer.write("# " + MEMORY_PRESSURE_KEY + ":\n");
+            writer.write("#   psi_some_avg10_percent: " + MemoryPressureSettings.DEFAULT_PSI_SOME_AVG10_PERCENT + "\n");
+            writer.write("#   min_available_percent: " + MemoryPressureSettings.DEFAULT_MIN_AVAILABLE_PERCENT + "\n");
+            writer.write("#   inactivity_timeout_seconds: "
+                    + MemoryPressureSettings.DEFAULT_INACTIVITY_TIMEOUT_SECONDS + "\n\n");
+            writer.write("# Optional cancellation of player wakes once every waiting player has left.\n");
+            writer.write("# " + ABANDONED_STARTS_KEY + ":\n");
+            writer.write("#   commit_point: " + StartCommitPoint.CONTAINER_START.configValue() + "\n");
+            writer.write("#   idle_timeout_seconds: " + AbandonedStartSettings.DEFAULT_IDLE_TIMEOUT_SECONDS + "\n\n");
+            writer.write("# Optional per-player limit on waking stopped servers; joining running ones is free.\n");
+            writer.write("# " + WAKE_BUDGET_KEY + ":\n");
+            writer.write("#   burst: " + WakeBudgetSettings.DEFAULT_BURST + "\n");
+            writer.write("#   refill_seconds: " + WakeBudgetSettings.DEFAULT_REFILL_SECONDS + "\n\n");
+            writer.write("# Optional reload whenever this file is saved; only added or changed servers are checked.\n");
+            writer.write("# " + CONFIG_WATCH_KEY + ":\n");
+            writer.write("#   debounce_millis: " + ConfigWatchSettings.DEFAULT_DEBOUNCE_MILLIS + "\n\n");
+            writer.write("# Optional mappings discovered from container labels such as autostopper.server=<name>.\n");
+            writer.write("# " + DISCOVERY_KEY + ":\n");
+            writer.write("#   label_prefix: " + DiscoverySettings.DEFAULT_LABEL_PREFIX + "\n");
+            writer.write("#   relist_interval_seconds: " + DiscoverySettings.DEFAULT_RELIST_INTERVAL_SECONDS + "\n\n");
+            writer.write("# Optional JSON Lines file of completed operations; fast successes can be sampled.\n");
+            writer.write("# Read at startup only.\n");
+            writer.write("# " + EVENT_LOG_KEY + ":\n");
+            writer.write("#   max_file_megabytes: " + EventLogSettings.DEFAULT_MAX_FILE_MEGABYTES + "\n");
+            writer.write("#   max_files: " + EventLogSettings.DEFAULT_MAX_FILES + "\n");
+            writer.write("#   sample_percent:\n");
+            writer.write("#     connected: 10\n\n");
+            writer.write("# Optional per-minute operation history for /autostopper stats; read at startup only.\n");
+            writer.write("# " + TELEMETRY_HISTORY_KEY + ":\n");
+            writer.write("#   retention_days: " + TelemetryHistorySettings.DEFAULT_RETENTION_DAYS + "\n\n");
+            writer.write("# Optional worker pool bounds; the pool grows while tasks queue longer than the target.\n");
+            writer.write("# Read at startup only.\n");
+            writer.write("# " + EXECUTOR_KEY + ":\n");
+            writer.write("#   min_workers: " + ExecutorSettings.DEFAULT_MIN_WORKERS + "\n");
+            writer.write("#   max_workers: " + ExecutorSettings.DEFAULT_MAX_WORKERS + "\n");
+            writer.write("#   target_wait_millis: " + ExecutorSettings.DEFAULT_TARGET_WAIT_MILLIS + "\n\n");
+            writer.write("# Optional window for reusing a finished docker inspect result; read at startup only.\n");
+            writer.write("# " + DOCKER_QUERY_REUSE_KEY + ": 250\n\n");
+            writer.write("# Optional Docker transport: cli forks the CLI per command, dial_stdio keeps one\n");
+            writer.write("# docker system dial-stdio connection open. Read at startup only.\n");
+            writer.write("# " + DOCKER_TRANSPORT_KEY + ": " + DockerTransport.DIAL_STDIO.configValue() + "\n\n");
             writer.write("# Add only server names already registered in Velocity.\n");
             writer.write(SERVERS_KEY + ": []\n\n");
             writer.write("# Example:\n");
             writer.write("# monitored_servers:\n");
             writer.write("#   - server_name: purpur\n");
             writer.write("#     container_name: purpur-server\n");
+            writer.write("#     start_weight: 1\n");
+            writer.write("#     memory_cost: 1\n");
             writer.write("#     readiness:\n");
             writer.write("#       strategy: minecraft_status\n");
             writer.write("#       target_host: purpur\n");
@@ -351,6 +1068,42 @@ public class AutoStopperConfig implements ConfigProvider {
             writer.write("#       timeout_seconds: 120\n");
             writer.write("#       connect_timeout_millis: 1000\n");
             writer.write("#       read_timeout_millis: 1000\n");
+            writer.write("#       # Only used by strategy: log_pattern\n");
+            writer.write("#       log_pattern: 'Done \\(\\d+(?:[.,]\\d+)?s\\)! For help, type \"help\"'\n");
+            writer.write("#     # Optional CRIU sleep; requires Docker experimental features and CRIU on the host.\n");
+            writer.write("#     sleep:\n");
+            writer.write("#       mode: checkpoint\n");
+            writer.write("#       checkpoint_dir: /var/lib/autostopper/checkpoints\n");
+            writer.write("#       timeout_seconds: " + SleepSettings.DEFAULT_TIMEOUT_SECONDS + "\n");
+            writer.write("#     # Optional paced hand-off of queued players once the server is ready.\n");
+            writer.write("#     release:\n");
+            writer.write("#       wave_size: 10\n");
+            writer.write("#       wave_interval_millis: "
+                    + ConnectionReleaseSettings.DEFAULT_WAVE_INTERVAL_MILLIS + "\n");
+            writer.write("#       adaptive: true\n");
+            writer.write("\n");
+            writer.write("# Optional pools route one registered entry server to interchangeable monitored servers.\n");
+            writer.write("# " + POOLS_KEY + ":\n");
+            writer.write("#   - pool_name: bedwars\n");
+            writer.write("#     warm_instances: 1\n");
+            writer.write("#     members: [bedwars-1, bedwars-2, bedwars-3]\n");
+            writer.write("\n");
+            writer.write("# Optional sidecar containers started before servers that list them under depends_on.\n");
+            writer.write("# " + DEPENDENCIES_KEY + ":\n");
+            writer.write("#   - name: bedwars-db\n");
+            writer.write("#     container_name: bedwars-postgres\n");
+            writer.write("#     ready_timeout_seconds: 60\n");
+            writer.write("#   - name: cache\n");
+            writer.write("#     container_name: bedwars-redis\n");
+            writer.write("#     depends_on: [bedwars-db]\n");
+            writer.write("\n");
+            writer.write("# Optional shared lease store for several proxies managing the same servers.\n");
+            writer.write("# Read at startup only; restart the proxy after changing it.\n");
+            writer.write("# " + COORDINATION_KEY + ":\n");
+            writer.write("#   proxy_id: proxy-1\n");
+            writer.write("#   directory: /shared/autostopper\n");
+            writer.write("#   lease_seconds: " + CoordinationSettings.DEFAULT_LEASE_SECONDS + "\n");
+            writer.write("#   heartbeat_ttl_seconds: " + CoordinationSettings.DEFAULT_HEARTBEAT_TTL_SECONDS + "\n");
         }
     }
 
@@ -362,7 +1115,56 @@ public class AutoStopperConfig implements ConfigProvider {
         logger.info("- Stop retries: {} attempts, {}-{} second backoff",
                 snapshot.stopRetry().maxAttempts(), snapshot.stopRetry().initialBackoff().toSeconds(),
                 snapshot.stopRetry().maxBackoff().toSeconds());
+        if (snapshot.maxConcurrentStarts() != ConfigSnapshot.UNLIMITED_CONCURRENT_STARTS) {
+            logger.info("- Concurrent start limit: {}", snapshot.maxConcurrentStarts());
+        }
+        if (snapshot.dockerQueryReuseMillis() != ConfigSnapshot.NO_DOCKER_QUERY_REUSE) {
+            logger.info("- Docker query reuse: {} ms", snapshot.dockerQueryReuseMillis());
+        }
+        if (snapshot.maxRunningBackends() != ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS) {
+            logger.info("- Running backend budget: {}", snapshot.maxRunningBackends());
+        }
+        snapshot.memoryPressure().ifPresent(pressure -> logger.info(
+                "- Memory pressure early stops: PSI some avg10 >= {}% or available < {}%, timeout {} seconds",
+                pressure.psiSomeAvg10Percent(), pressure.minAvailablePercent(),
+                pressure.inactivityTimeout().toSeconds()));
+        snapshot.abandonedStarts().ifPresent(abandoned -> logger.info(
+                "- Abandoned wakes: cancelled before {}, started containers idle {} seconds",
+                abandoned.commitPoint().configValue(), abandoned.idleTimeout().toSeconds()));
+        snapshot.wakeBudget().ifPresent(budget -> logger.info(
+                "- Wake budget: {} wakes per player, one more every {} seconds",
+                budget.burst(), budget.refillInterval().toSeconds()));
+        snapshot.discovery().ifPresent(discovery -> logger.info(
+                "- Label discovery: containers labeled {}, relisted every {} seconds",
+                discovery.serverLabel(), discovery.relistInterval().toSeconds()));
+        snapshot.eventLog().ifPresent(eventLog -> logger.info(
+                "- Lifecycle event log: {}, {} MiB x {} files", EventLogSettings.FILE_NAME,
+                eventLog.maxFileBytes() / (1024 * 1024), eventLog.maxFiles()));
+        snapshot.telemetryHistory().ifPresent(history -> logger.info(
+                "- Telemetry history: {}/, kept {} days", TelemetryHistorySettings.DIRECTORY_NAME,
+                history.retentionDays()));
+        snapshot.executor().ifPresent(executor -> logger.info(
+                "- Worker pool: {} to {} workers, queue {}, target wait {} ms", executor.minWorkers(),
+                executor.maxWorkers(), executor.queueCapacity(), executor.targetWait().toMillis()));
+        snapshot.configWatch().ifPresent(watch -> logger.info(
+                "- Config file watch: reload after {} ms without changes", watch.debounce().toMillis()));
+        if (snapshot.wakeDeadlineSeconds() != ConfigSnapshot.NO_WAKE_DEADLINE) {
+            logger.info("- Wake deadline: {} seconds", snapshot.wakeDeadlineSeconds());
+        }
+        if (snapshot.dockerTransport() != DockerTransport.CLI) {
+            logger.info("- Docker transport: {}", snapshot.dockerTransport().configValue());
+        }
         logger.info("- Monitored servers: {}", String.join(", ", snapshot.serverNames()));
+        for (ContainerDependency dependency : snapshot.dependencies()) {
+            logger.info("- Dependency {} (container: {}){}", dependency.name(), dependency.containerName(),
+                    dependency.dependsOn().isEmpty() ? "" : " after " + String.join(", ", dependency.dependsOn()));
+        }
+        for (ServerPool pool : snapshot.pools()) {
+            logger.info("- Pool {}: {} warm of {}", pool.poolName(), pool.warmInstances(),
+                    String.join(", ", pool.members()));
+        }
+        snapshot.coordination().ifPresent(coordination -> logger.info(
+                "- Coordination: proxy {} sharing leases in {}", coordination.proxyId(), coordination.directory()));
     }
 
     private void logRejectedConfig(List<String> errors) {
@@ -376,6 +1178,11 @@ public class AutoStopperConfig implements ConfigProvider {
         return error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
     }
 
+    /** The config.yml this provider loads, so a file watcher can reload it when it changes. */
+    public Path configFile() {
+        return configFile;
+    }
+
     public ConfigSnapshot snapshot() {
         return current.get();
     }
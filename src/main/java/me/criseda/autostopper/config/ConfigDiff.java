@@ -0,0 +1,60 @@
+package me.criseda.autostopper.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mapping-level difference between two configuration snapshots. Only added and changed mappings need
+ * their containers inspected again; removed ones are simply forgotten, and unchanged ones keep the
+ * observations already collected for them.
+ */
+public record ConfigDiff(List<String> added, List<String> removed, List<String> changed) {
+    public ConfigDiff {
+        added = List.copyOf(added);
+        removed = List.copyOf(removed);
+        changed = List.copyOf(changed);
+    }
+
+    public static ConfigDiff between(ConfigSnapshot previous, ConfigSnapshot current) {
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(current, "current");
+        Map<String, ServerMapping> before = byName(previous);
+        Map<String, ServerMapping> after = byName(current);
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (ServerMapping mapping : current.servers()) {
+            ServerMapping old = before.get(mapping.serverName());
+            if (old == null) {
+                added.add(mapping.serverName());
+            } else if (!old.equals(mapping)) {
+                changed.add(mapping.serverName());
+            }
+        }
+        List<String> removed = previous.serverNames().stream()
+                .filter(serverName -> !after.containsKey(serverName))
+                .toList();
+        return new ConfigDiff(added, removed, changed);
+    }
+
+    /** Added mappings followed by changed ones; the servers a reload must inspect again. */
+    public List<String> affectedServers() {
+        List<String> affected = new ArrayList<>(added);
+        affected.addAll(changed);
+        return List.copyOf(affected);
+    }
+
+    public boolean mappingsUnchanged() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    private static Map<String, ServerMapping> byName(ConfigSnapshot snapshot) {
+        Map<String, ServerMapping> result = new HashMap<>();
+        for (ServerMapping mapping : snapshot.servers()) {
+            result.put(mapping.serverName(), mapping);
+        }
+        return result;
+    }
+}
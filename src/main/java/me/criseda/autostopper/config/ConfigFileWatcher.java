@@ -0,0 +1,106 @@
+package me.criseda.autostopper.config;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a reload once config.yml has stopped changing for the debounce window. The parent directory is
+ * watched because editors often save through a temporary file and a rename; events for other files in
+ * it neither trigger nor postpone a reload. Reloads run on the watcher's own daemon thread, one at a
+ * time.
+ */
+public final class ConfigFileWatcher implements AutoCloseable {
+    private final Logger logger;
+    private final Path fileName;
+    private final long debounceNanos;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private ConfigFileWatcher(Logger logger, Path configFile, Duration debounce, Runnable onChange)
+            throws IOException {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        Path directory = configFile.toAbsolutePath().getParent();
+        this.fileName = configFile.getFileName();
+        this.debounceNanos = debounce.toNanos();
+        this.onChange = Objects.requireNonNull(onChange, "onChange");
+        this.watchService = directory.getFileSystem().newWatchService();
+        try {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException error) {
+            watchService.close();
+            throw error;
+        }
+        this.thread = new Thread(this::watchLoop, "AutoStopper config watcher");
+        thread.setDaemon(true);
+    }
+
+    public static ConfigFileWatcher start(Logger logger, Path configFile, Duration debounce, Runnable onChange)
+            throws IOException {
+        ConfigFileWatcher watcher = new ConfigFileWatcher(logger, configFile, debounce, onChange);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                if (!drain(watchService.take())) {
+                    continue;
+                }
+                long deadline = System.nanoTime() + debounceNanos;
+                for (long remaining = debounceNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+                    WatchKey next = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null && drain(next)) {
+                        deadline = System.nanoTime() + debounceNanos;
+                    }
+                }
+                try {
+                    onChange.run();
+                } catch (RuntimeException error) {
+                    logger.warn("AutoStopper could not reload {} after it changed; use /autostopper reload.",
+                            fileName, error);
+                }
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // close() ends the loop
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    /**
+     * Stops watching. A blocked watcher thread wakes immediately; a reload already running is not
+     * interrupted, so this is safe to call from the reload itself.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException error) {
+            logger.debug("Config watch service did not close cleanly", error);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package me.criseda.autostopper.config;
 
+import java.util.Map;
+
 /**
  * Service contract for accessing and loading plugin configuration snapshots.
  */
@@ -14,4 +16,10 @@ public interface ConfigProvider {
      * Loads the configuration from disk, validating values and atomically updating the active snapshot.
      */
     ConfigLoadResult loadConfig();
+
+    /**
+     * Replaces the mappings discovered from container labels, keyed by container name, merges them
+     * after the file's own mappings, and atomically updates the active snapshot.
+     */
+    ConfigSnapshot applyDiscoveredContainers(Map<String, Map<String, String>> labelsByContainer);
 }
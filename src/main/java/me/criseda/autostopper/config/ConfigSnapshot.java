@@ -4,16 +4,41 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 public final class ConfigSnapshot {
     public static final int DEFAULT_INACTIVITY_TIMEOUT_SECONDS = 300;
     public static final int DEFAULT_SHUTDOWN_TIMEOUT_SECONDS = 10;
+    /** Concurrent-start limit meaning every startup is admitted immediately. */
+    public static final int UNLIMITED_CONCURRENT_STARTS = 0;
+    /** Docker query reuse window meaning only queries still in flight are shared. */
+    public static final int NO_DOCKER_QUERY_REUSE = 0;
+    /** Wake deadline meaning every startup stage only applies its own timeout. */
+    public static final int NO_WAKE_DEADLINE = 0;
+    /** Running-backend budget meaning any number of servers may run at once. */
+    public static final int UNLIMITED_RUNNING_BACKENDS = 0;
 
     private final int inactivityTimeoutSeconds;
     private final int shutdownTimeoutSeconds;
     private final StopRetrySettings stopRetry;
+    private final int maxConcurrentStarts;
     private final List<ServerMapping> servers;
+    private final List<ServerPool> pools;
+    private final List<ContainerDependency> dependencies;
+    private final CoordinationSettings coordination;
+    private final int dockerQueryReuseMillis;
+    private final int wakeDeadlineSeconds;
+    private final DockerTransport dockerTransport;
+    private final int maxRunningBackends;
+    private final MemoryPressureSettings memoryPressure;
+    private final AbandonedStartSettings abandonedStarts;
+    private final ConfigWatchSettings configWatch;
+    private final DiscoverySettings discovery;
+    private final EventLogSettings eventLog;
+    private final TelemetryHistorySettings telemetryHistory;
+    private final WakeBudgetSettings wakeBudget;
+    private final ExecutorSettings executor;
     private final Map<String, String> serverToContainer;
 
     public ConfigSnapshot(int inactivityTimeoutSeconds, List<ServerMapping> servers) {
@@ -27,10 +52,188 @@ public final class ConfigSnapshot {
 
     public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
             StopRetrySettings stopRetry, List<ServerMapping> servers) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, UNLIMITED_CONCURRENT_STARTS, servers);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, List.of());
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                List.of());
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, NO_DOCKER_QUERY_REUSE);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, NO_WAKE_DEADLINE);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, DockerTransport.CLI);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                UNLIMITED_RUNNING_BACKENDS);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts,
+            ConfigWatchSettings configWatch) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, configWatch, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts,
+            ConfigWatchSettings configWatch, DiscoverySettings discovery) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, configWatch, discovery, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts,
+            ConfigWatchSettings configWatch, DiscoverySettings discovery, EventLogSettings eventLog) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, configWatch, discovery, eventLog, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts,
+            ConfigWatchSettings configWatch, DiscoverySettings discovery, EventLogSettings eventLog,
+            TelemetryHistorySettings telemetryHistory) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, configWatch, discovery, eventLog,
+                telemetryHistory, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts,
+            ConfigWatchSettings configWatch, DiscoverySettings discovery, EventLogSettings eventLog,
+            TelemetryHistorySettings telemetryHistory, WakeBudgetSettings wakeBudget) {
+        this(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts, servers, pools,
+                dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds, dockerTransport,
+                maxRunningBackends, memoryPressure, abandonedStarts, configWatch, discovery, eventLog,
+                telemetryHistory, wakeBudget, null);
+    }
+
+    public ConfigSnapshot(int inactivityTimeoutSeconds, int shutdownTimeoutSeconds,
+            StopRetrySettings stopRetry, int maxConcurrentStarts, List<ServerMapping> servers,
+            List<ServerPool> pools, List<ContainerDependency> dependencies, CoordinationSettings coordination,
+            int dockerQueryReuseMillis, int wakeDeadlineSeconds, DockerTransport dockerTransport,
+            int maxRunningBackends, MemoryPressureSettings memoryPressure, AbandonedStartSettings abandonedStarts,
+            ConfigWatchSettings configWatch, DiscoverySettings discovery, EventLogSettings eventLog,
+            TelemetryHistorySettings telemetryHistory, WakeBudgetSettings wakeBudget, ExecutorSettings executor) {
+        if (maxConcurrentStarts < 0) {
+            throw new IllegalArgumentException("maxConcurrentStarts must not be negative");
+        }
+        if (dockerQueryReuseMillis < 0) {
+            throw new IllegalArgumentException("dockerQueryReuseMillis must not be negative");
+        }
+        if (wakeDeadlineSeconds < 0) {
+            throw new IllegalArgumentException("wakeDeadlineSeconds must not be negative");
+        }
+        if (maxRunningBackends < 0) {
+            throw new IllegalArgumentException("maxRunningBackends must not be negative");
+        }
         this.inactivityTimeoutSeconds = inactivityTimeoutSeconds;
         this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
         this.stopRetry = stopRetry;
+        this.maxConcurrentStarts = maxConcurrentStarts;
         this.servers = List.copyOf(servers);
+        this.pools = List.copyOf(pools);
+        this.dependencies = List.copyOf(dependencies);
+        this.coordination = coordination;
+        this.dockerQueryReuseMillis = dockerQueryReuseMillis;
+        this.wakeDeadlineSeconds = wakeDeadlineSeconds;
+        this.dockerTransport = Objects.requireNonNull(dockerTransport, "dockerTransport");
+        this.maxRunningBackends = maxRunningBackends;
+        this.memoryPressure = memoryPressure;
+        this.abandonedStarts = abandonedStarts;
+        this.configWatch = configWatch;
+        this.discovery = discovery;
+        this.eventLog = eventLog;
+        this.telemetryHistory = telemetryHistory;
+        this.wakeBudget = wakeBudget;
+        this.executor = executor;
 
         Map<String, String> mapping = new LinkedHashMap<>();
         for (ServerMapping server : this.servers) {
@@ -39,6 +242,14 @@ public final class ConfigSnapshot {
         this.serverToContainer = Collections.unmodifiableMap(mapping);
     }
 
+    /** This snapshot with a different mapping list, used to merge in mappings discovered from labels. */
+    ConfigSnapshot withServers(List<ServerMapping> servers) {
+        return new ConfigSnapshot(inactivityTimeoutSeconds, shutdownTimeoutSeconds, stopRetry, maxConcurrentStarts,
+                servers, pools, dependencies, coordination, dockerQueryReuseMillis, wakeDeadlineSeconds,
+                dockerTransport, maxRunningBackends, memoryPressure, abandonedStarts, configWatch, discovery,
+                eventLog, telemetryHistory, wakeBudget, executor);
+    }
+
     public static ConfigSnapshot emptyDefault() {
         return new ConfigSnapshot(DEFAULT_INACTIVITY_TIMEOUT_SECONDS, List.of());
     }
@@ -55,10 +266,96 @@ public final class ConfigSnapshot {
         return stopRetry;
     }
 
+    public int maxConcurrentStarts() {
+        return maxConcurrentStarts;
+    }
+
+    public int dockerQueryReuseMillis() {
+        return dockerQueryReuseMillis;
+    }
+
+    public int wakeDeadlineSeconds() {
+        return wakeDeadlineSeconds;
+    }
+
+    public DockerTransport dockerTransport() {
+        return dockerTransport;
+    }
+
+    /** Sum of mapping memory costs allowed to run at once; {@link #UNLIMITED_RUNNING_BACKENDS} disables the cap. */
+    public int maxRunningBackends() {
+        return maxRunningBackends;
+    }
+
+    /** Early-stop thresholds for host memory pressure, or empty when the monitor is off. */
+    public Optional<MemoryPressureSettings> memoryPressure() {
+        return Optional.ofNullable(memoryPressure);
+    }
+
+    /** When player wakes nobody waits for are abandoned, or empty when every wake runs to completion. */
+    public Optional<AbandonedStartSettings> abandonedStarts() {
+        return Optional.ofNullable(abandonedStarts);
+    }
+
+    /** Debounce for reloading config.yml when it changes on disk, or empty when only the command reloads. */
+    public Optional<ConfigWatchSettings> configWatch() {
+        return Optional.ofNullable(configWatch);
+    }
+
+    /** Label-based mapping discovery, or empty when only monitored_servers declares mappings. */
+    public Optional<DiscoverySettings> discovery() {
+        return Optional.ofNullable(discovery);
+    }
+
+    /** Batched JSON Lines lifecycle event log, or empty when completions go only to the proxy log. */
+    public Optional<EventLogSettings> eventLog() {
+        return Optional.ofNullable(eventLog);
+    }
+
+    /** Persistent per-minute telemetry history, or empty when aggregates last only until the proxy stops. */
+    public Optional<TelemetryHistorySettings> telemetryHistory() {
+        return Optional.ofNullable(telemetryHistory);
+    }
+
+    /** Per-player limit on waking stopped servers, or empty when players may wake servers freely. */
+    public Optional<WakeBudgetSettings> wakeBudget() {
+        return Optional.ofNullable(wakeBudget);
+    }
+
+    /** Worker pool bounds, or empty when the built-in defaults apply. */
+    public Optional<ExecutorSettings> executor() {
+        return Optional.ofNullable(executor);
+    }
+
     public List<ServerMapping> servers() {
         return servers;
     }
 
+    public List<ServerPool> pools() {
+        return pools;
+    }
+
+    public Optional<ServerPool> pool(String poolName) {
+        return pools.stream().filter(pool -> pool.poolName().equals(poolName)).findFirst();
+    }
+
+    public Optional<ServerPool> poolForMember(String serverName) {
+        return pools.stream().filter(pool -> pool.hasMember(serverName)).findFirst();
+    }
+
+    public List<ContainerDependency> dependencies() {
+        return dependencies;
+    }
+
+    public Optional<ContainerDependency> dependency(String name) {
+        return dependencies.stream().filter(dependency -> dependency.name().equals(name)).findFirst();
+    }
+
+    /** Shared lease store settings, or empty when this proxy coordinates only with itself. */
+    public Optional<CoordinationSettings> coordination() {
+        return Optional.ofNullable(coordination);
+    }
+
     public Map<String, String> serverToContainer() {
         return serverToContainer;
     }
@@ -71,6 +368,11 @@ public final class ConfigSnapshot {
         return servers.stream().filter(mapping -> mapping.serverName().equals(serverName)).findFirst();
     }
 
+    /** The mapping that manages the container; container names are unique across mappings. */
+    public Optional<ServerMapping> serverForContainer(String containerName) {
+        return servers.stream().filter(mapping -> mapping.containerName().equals(containerName)).findFirst();
+    }
+
     public boolean containsServer(String serverName) {
         return serverToContainer.containsKey(serverName);
     }
@@ -0,0 +1,21 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+
+/**
+ * Reloads config.yml when it changes on disk, once the file has been quiet for the debounce window so
+ * an editor's save burst produces a single reload.
+ */
+public record ConfigWatchSettings(Duration debounce) {
+    public static final int DEFAULT_DEBOUNCE_MILLIS = 500;
+
+    public ConfigWatchSettings {
+        if (debounce.isZero() || debounce.isNegative()) {
+            throw new IllegalArgumentException("debounce must be positive");
+        }
+    }
+
+    public static ConfigWatchSettings defaults() {
+        return new ConfigWatchSettings(Duration.ofMillis(DEFAULT_DEBOUNCE_MILLIS));
+    }
+}
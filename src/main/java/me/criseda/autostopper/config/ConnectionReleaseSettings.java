@@ -0,0 +1,34 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How players queued on a waking server are handed to it once it is ready.
+ *
+ * @param waveSize players connected per wave, or {@link #ALL_AT_ONCE} to connect everyone together
+ * @param waveInterval pause between waves
+ * @param adaptive whether waves double in size while the previous wave connected within the interval
+ */
+public record ConnectionReleaseSettings(int waveSize, Duration waveInterval, boolean adaptive) {
+    public static final int ALL_AT_ONCE = 0;
+    public static final int DEFAULT_WAVE_INTERVAL_MILLIS = 2000;
+
+    public ConnectionReleaseSettings {
+        if (waveSize < 0) {
+            throw new IllegalArgumentException("waveSize must not be negative");
+        }
+        Objects.requireNonNull(waveInterval, "waveInterval");
+        if (waveInterval.isNegative() || waveInterval.isZero()) {
+            throw new IllegalArgumentException("waveInterval must be positive");
+        }
+    }
+
+    public static ConnectionReleaseSettings defaults() {
+        return new ConnectionReleaseSettings(ALL_AT_ONCE, Duration.ofMillis(DEFAULT_WAVE_INTERVAL_MILLIS), false);
+    }
+
+    public boolean staggered() {
+        return waveSize != ALL_AT_ONCE;
+    }
+}
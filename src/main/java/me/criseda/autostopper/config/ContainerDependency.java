@@ -0,0 +1,32 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sidecar container, such as a database or cache, that monitored servers need running first.
+ *
+ * <p>A dependency may itself depend on other dependencies. It is started on demand, shared by every
+ * dependent server, and stopped once no running server needs it.
+ */
+public record ContainerDependency(String name, String containerName, List<String> dependsOn, Duration readyTimeout) {
+    public static final int DEFAULT_READY_TIMEOUT_SECONDS = 60;
+
+    public ContainerDependency {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(containerName, "containerName");
+        dependsOn = List.copyOf(dependsOn);
+        Objects.requireNonNull(readyTimeout, "readyTimeout");
+        if (readyTimeout.isZero() || readyTimeout.isNegative()) {
+            throw new IllegalArgumentException("readyTimeout must be positive");
+        }
+        if (dependsOn.contains(name)) {
+            throw new IllegalArgumentException("dependency must not depend on itself");
+        }
+    }
+
+    public ContainerDependency(String name, String containerName, List<String> dependsOn) {
+        this(name, containerName, dependsOn, Duration.ofSeconds(DEFAULT_READY_TIMEOUT_SECONDS));
+    }
+}
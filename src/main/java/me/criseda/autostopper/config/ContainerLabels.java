@@ -0,0 +1,66 @@
+package me.criseda.autostopper.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a discovered container's labels back into a {@code monitored_servers} entry so it is
+ * validated by exactly the rules a hand-written entry is. Label names are the entry's keys under the
+ * discovery prefix, with dots for nesting: {@code autostopper.server} names the Velocity server and
+ * {@code autostopper.readiness.strategy} sets {@code readiness.strategy}.
+ */
+final class ContainerLabels {
+    static final String SERVER_KEY = "server";
+    static final String DEPENDS_ON_KEY = "depends_on";
+    /** Entry keys that may be set through labels, relative to the discovery prefix. */
+    static final List<String> ENTRY_KEYS = List.of(SERVER_KEY, "start_weight", "memory_cost", DEPENDS_ON_KEY,
+            "readiness.strategy", "readiness.target_host", "readiness.target_port",
+            "readiness.probe_interval_millis", "readiness.timeout_seconds", "readiness.connect_timeout_millis",
+            "readiness.read_timeout_millis", "readiness.log_pattern");
+    private static final Pattern INTEGER = Pattern.compile("[0-9]{1,18}");
+
+    private ContainerLabels() {
+    }
+
+    /**
+     * Label values are always strings, so whole numbers become integers and {@code depends_on} a
+     * comma-separated list; anything else is left as a string for the entry parser to judge.
+     */
+    static Map<String, Object> toEntry(String containerName, Map<String, String> labels, String labelPrefix) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("container_name", containerName);
+        for (String key : ENTRY_KEYS) {
+            String value = labels.get(labelPrefix + "." + key);
+            if (value == null) {
+                continue;
+            }
+            if (key.equals(SERVER_KEY)) {
+                entry.put("server_name", value);
+            } else if (key.equals(DEPENDS_ON_KEY)) {
+                List<String> names = new ArrayList<>();
+                for (String name : value.split(",")) {
+                    names.add(name.trim());
+                }
+                entry.put(DEPENDS_ON_KEY, names);
+            } else {
+                put(entry, key, INTEGER.matcher(value).matches() ? Long.valueOf(value) : value);
+            }
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> entry, String key, Object value) {
+        int dot = key.indexOf('.');
+        if (dot < 0) {
+            entry.put(key, value);
+            return;
+        }
+        Map<String, Object> nested = (Map<String, Object>) entry.computeIfAbsent(key.substring(0, dot),
+                ignored -> new LinkedHashMap<String, Object>());
+        nested.put(key.substring(dot + 1), value);
+    }
+}
@@ -0,0 +1,31 @@
+package me.criseda.autostopper.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Shared lease store that lets several proxies manage the same backends.
+ *
+ * <p>{@code proxyId} must be unique per proxy. Leases expire after {@code leaseDuration} so a
+ * crashed proxy cannot block other proxies, and activity heartbeats older than
+ * {@code heartbeatTtl} are ignored.
+ */
+public record CoordinationSettings(String proxyId, Path directory, Duration leaseDuration, Duration heartbeatTtl) {
+    public static final int DEFAULT_LEASE_SECONDS = 30;
+    public static final int DEFAULT_HEARTBEAT_TTL_SECONDS = 180;
+
+    public CoordinationSettings {
+        Objects.requireNonNull(proxyId, "proxyId");
+        Objects.requireNonNull(directory, "directory");
+        requirePositive(leaseDuration, "leaseDuration");
+        requirePositive(heartbeatTtl, "heartbeatTtl");
+    }
+
+    private static void requirePositive(Duration value, String name) {
+        Objects.requireNonNull(value, name);
+        if (value.isZero() || value.isNegative()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Discovery of server mappings from Docker container labels: the label namespace containers opt in
+ * with, and how often the labeled containers are listed again.
+ */
+public record DiscoverySettings(String labelPrefix, Duration relistInterval) {
+    public static final String DEFAULT_LABEL_PREFIX = "autostopper";
+    public static final int DEFAULT_RELIST_INTERVAL_SECONDS = 60;
+
+    public DiscoverySettings {
+        Objects.requireNonNull(labelPrefix, "labelPrefix");
+        if (relistInterval.isZero() || relistInterval.isNegative()) {
+            throw new IllegalArgumentException("relistInterval must be positive");
+        }
+    }
+
+    public static DiscoverySettings defaults() {
+        return new DiscoverySettings(DEFAULT_LABEL_PREFIX, Duration.ofSeconds(DEFAULT_RELIST_INTERVAL_SECONDS));
+    }
+
+    /** Label every discovered container must carry; its value is the Velocity server name. */
+    public String serverLabel() {
+        return labelPrefix + "." + ContainerLabels.SERVER_KEY;
+    }
+
+    /** Full names of the labels read from each discovered container, in {@link ContainerLabels#ENTRY_KEYS} order. */
+    public List<String> labelKeys() {
+        return ContainerLabels.ENTRY_KEYS.stream().map(key -> labelPrefix + "." + key).toList();
+    }
+}
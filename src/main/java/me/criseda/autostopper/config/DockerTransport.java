@@ -0,0 +1,32 @@
+package me.criseda.autostopper.config;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** How Docker commands reach the daemon. */
+public enum DockerTransport {
+    /** Forks one Docker CLI process per command. */
+    CLI("cli"),
+    /** Pipelines Engine API requests over one long-lived {@code docker system dial-stdio} child. */
+    DIAL_STDIO("dial_stdio");
+
+    private final String configValue;
+
+    DockerTransport(String configValue) {
+        this.configValue = configValue;
+    }
+
+    public String configValue() {
+        return configValue;
+    }
+
+    public static Optional<DockerTransport> fromConfigValue(String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        for (DockerTransport transport : values()) {
+            if (transport.configValue.equals(normalized)) {
+                return Optional.of(transport);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,62 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes completed lifecycle operations as JSON Lines to a size-rotated file in the data directory.
+ * Successful outcomes named in {@code samplePercent} are kept at that rate unless they took at least
+ * {@code slowThreshold}; every other outcome is always written.
+ */
+public record EventLogSettings(long maxFileBytes, int maxFiles, int bufferCapacity, Duration flushInterval,
+        Duration slowThreshold, Map<String, Integer> samplePercent) {
+    public static final String FILE_NAME = "lifecycle-events.jsonl";
+    public static final int DEFAULT_MAX_FILE_MEGABYTES = 10;
+    public static final int DEFAULT_MAX_FILES = 5;
+    public static final int DEFAULT_BUFFER_CAPACITY = 8_192;
+    public static final int DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+    public static final int DEFAULT_SLOW_THRESHOLD_MILLIS = 1_000;
+    /** Outcomes that may be sampled, as written in config.yml; failures are never sampled away. */
+    public static final Set<String> SAMPLEABLE_OUTCOMES = Set.of(
+            "connected", "already_connected", "ready", "already_ready", "running", "stopped", "already_stopped",
+            "restarted_and_ready", "admitted", "query_executed", "query_shared", "checkpointed", "restored");
+
+    public EventLogSettings {
+        if (maxFileBytes <= 0) {
+            throw new IllegalArgumentException("maxFileBytes must be positive");
+        }
+        if (maxFiles <= 0) {
+            throw new IllegalArgumentException("maxFiles must be positive");
+        }
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("bufferCapacity must be positive");
+        }
+        if (flushInterval.isZero() || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        if (slowThreshold.isZero() || slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("slowThreshold must be positive");
+        }
+        samplePercent = Map.copyOf(samplePercent);
+        for (Map.Entry<String, Integer> entry : samplePercent.entrySet()) {
+            if (!SAMPLEABLE_OUTCOMES.contains(entry.getKey())) {
+                throw new IllegalArgumentException("outcome '" + entry.getKey() + "' cannot be sampled");
+            }
+            if (entry.getValue() <= 0 || entry.getValue() > 100) {
+                throw new IllegalArgumentException("sample percent must be between 1 and 100");
+            }
+        }
+    }
+
+    public static EventLogSettings defaults() {
+        return new EventLogSettings(DEFAULT_MAX_FILE_MEGABYTES * 1024L * 1024L, DEFAULT_MAX_FILES,
+                DEFAULT_BUFFER_CAPACITY, Duration.ofMillis(DEFAULT_FLUSH_INTERVAL_MILLIS),
+                Duration.ofMillis(DEFAULT_SLOW_THRESHOLD_MILLIS), Map.of());
+    }
+
+    /** Percentage of fast records with this config-style outcome name that are written. */
+    public int samplePercent(String outcome) {
+        return samplePercent.getOrDefault(outcome, 100);
+    }
+}
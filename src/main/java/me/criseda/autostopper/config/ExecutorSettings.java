@@ -0,0 +1,35 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the worker pool that runs Docker commands and readiness checks. The pool grows while the
+ * 95th percentile queue wait exceeds {@code targetWait} and shrinks toward {@code minWorkers} when it
+ * is idle; setting both bounds to the same value keeps a fixed pool.
+ */
+public record ExecutorSettings(int minWorkers, int maxWorkers, int queueCapacity, Duration targetWait) {
+    public static final int DEFAULT_MIN_WORKERS = 2;
+    public static final int DEFAULT_MAX_WORKERS = 8;
+    public static final int DEFAULT_QUEUE_CAPACITY = 32;
+    public static final int DEFAULT_TARGET_WAIT_MILLIS = 250;
+
+    public ExecutorSettings {
+        if (minWorkers <= 0) {
+            throw new IllegalArgumentException("minWorkers must be positive");
+        }
+        if (maxWorkers < minWorkers) {
+            throw new IllegalArgumentException("maxWorkers must not be less than minWorkers");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        if (targetWait.isZero() || targetWait.isNegative()) {
+            throw new IllegalArgumentException("targetWait must be positive");
+        }
+    }
+
+    public static ExecutorSettings defaults() {
+        return new ExecutorSettings(DEFAULT_MIN_WORKERS, DEFAULT_MAX_WORKERS, DEFAULT_QUEUE_CAPACITY,
+                Duration.ofMillis(DEFAULT_TARGET_WAIT_MILLIS));
+    }
+}
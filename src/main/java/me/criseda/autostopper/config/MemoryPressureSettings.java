@@ -0,0 +1,33 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+
+/**
+ * Thresholds for stopping idle servers early while the host is short on memory. Either signal on
+ * its own puts the host under pressure.
+ */
+public record MemoryPressureSettings(int psiSomeAvg10Percent, int minAvailablePercent,
+        Duration inactivityTimeout) {
+    public static final int DEFAULT_PSI_SOME_AVG10_PERCENT = 10;
+    public static final int DEFAULT_MIN_AVAILABLE_PERCENT = 10;
+    public static final int DEFAULT_INACTIVITY_TIMEOUT_SECONDS = 60;
+
+    public MemoryPressureSettings {
+        if (psiSomeAvg10Percent <= 0 || psiSomeAvg10Percent > 100) {
+            throw new IllegalArgumentException("psiSomeAvg10Percent must be between 1 and 100");
+        }
+        if (minAvailablePercent <= 0 || minAvailablePercent > 100) {
+            throw new IllegalArgumentException("minAvailablePercent must be between 1 and 100");
+        }
+        if (inactivityTimeout.isZero() || inactivityTimeout.isNegative()) {
+            throw new IllegalArgumentException("inactivityTimeout must be positive");
+        }
+    }
+
+    public static MemoryPressureSettings defaults() {
+        return new MemoryPressureSettings(
+                DEFAULT_PSI_SOME_AVG10_PERCENT,
+                DEFAULT_MIN_AVAILABLE_PERCENT,
+                Duration.ofSeconds(DEFAULT_INACTIVITY_TIMEOUT_SECONDS));
+    }
+}
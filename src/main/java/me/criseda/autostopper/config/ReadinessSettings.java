@@ -3,6 +3,8 @@ package me.criseda.autostopper.config;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public record ReadinessSettings(
         ReadinessStrategy strategy,
@@ -11,12 +13,14 @@ public record ReadinessSettings(
         Duration probeInterval,
         Duration timeout,
         Duration connectTimeout,
-        Duration readTimeout) {
+        Duration readTimeout,
+        String logPattern) {
 
     public static final int DEFAULT_PROBE_INTERVAL_MILLIS = 1_000;
     public static final int DEFAULT_TIMEOUT_SECONDS = 120;
     public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 1_000;
     public static final int DEFAULT_READ_TIMEOUT_MILLIS = 1_000;
+    public static final String DEFAULT_LOG_PATTERN = "Done \\(\\d+(?:[.,]\\d+)?s\\)! For help, type \"help\"";
 
     public ReadinessSettings {
         Objects.requireNonNull(strategy, "strategy");
@@ -33,6 +37,18 @@ public record ReadinessSettings(
         if (targetPort != null && (targetPort < 1 || targetPort > 65_535)) {
             throw new IllegalArgumentException("targetPort must be between 1 and 65535");
         }
+        Objects.requireNonNull(logPattern, "logPattern");
+        try {
+            Pattern.compile(logPattern);
+        } catch (PatternSyntaxException error) {
+            throw new IllegalArgumentException("logPattern is not a valid regular expression", error);
+        }
+    }
+
+    public ReadinessSettings(ReadinessStrategy strategy, String targetHost, Integer targetPort,
+            Duration probeInterval, Duration timeout, Duration connectTimeout, Duration readTimeout) {
+        this(strategy, targetHost, targetPort, probeInterval, timeout, connectTimeout, readTimeout,
+                DEFAULT_LOG_PATTERN);
     }
 
     public static ReadinessSettings defaults() {
@@ -50,6 +66,10 @@ public record ReadinessSettings(
         return targetHost == null ? Optional.empty() : Optional.of(new Target(targetHost, targetPort));
     }
 
+    public Pattern compiledLogPattern() {
+        return Pattern.compile(logPattern);
+    }
+
     private static void requirePositive(Duration value, String name) {
         Objects.requireNonNull(value, name);
         if (value.isZero() || value.isNegative()) {
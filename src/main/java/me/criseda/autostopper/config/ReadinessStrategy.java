@@ -6,7 +6,8 @@ import java.util.Optional;
 public enum ReadinessStrategy {
     MINECRAFT_STATUS("minecraft_status"),
     DOCKER_HEALTH("docker_health"),
-    DOCKER_HEALTH_OR_STATUS("docker_health_or_status");
+    DOCKER_HEALTH_OR_STATUS("docker_health_or_status"),
+    LOG_PATTERN("log_pattern");
 
     private final String configValue;
 
@@ -19,13 +20,17 @@ public enum ReadinessStrategy {
     }
 
     public boolean usesDockerHealth() {
-        return this != MINECRAFT_STATUS;
+        return this == DOCKER_HEALTH || this == DOCKER_HEALTH_OR_STATUS;
     }
 
     public boolean usesMinecraftStatus() {
         return this != DOCKER_HEALTH;
     }
 
+    public boolean usesLogPattern() {
+        return this == LOG_PATTERN;
+    }
+
     public static Optional<ReadinessStrategy> fromConfigValue(String value) {
         String normalized = value.toLowerCase(Locale.ROOT);
         for (ReadinessStrategy strategy : values()) {
@@ -1,12 +1,50 @@
 package me.criseda.autostopper.config;
 
+import java.util.List;
 import java.util.Objects;
 
-public record ServerMapping(String serverName, String containerName, ReadinessSettings readiness) {
+public record ServerMapping(String serverName, String containerName, ReadinessSettings readiness, int startWeight,
+        List<String> dependsOn, SleepSettings sleep, int memoryCost, ConnectionReleaseSettings release) {
+    public static final int DEFAULT_START_WEIGHT = 1;
+    public static final int DEFAULT_MEMORY_COST = 1;
+
     public ServerMapping {
         Objects.requireNonNull(serverName, "serverName");
         Objects.requireNonNull(containerName, "containerName");
         Objects.requireNonNull(readiness, "readiness");
+        if (startWeight <= 0) {
+            throw new IllegalArgumentException("startWeight must be positive");
+        }
+        dependsOn = List.copyOf(dependsOn);
+        Objects.requireNonNull(sleep, "sleep");
+        if (memoryCost <= 0) {
+            throw new IllegalArgumentException("memoryCost must be positive");
+        }
+        Objects.requireNonNull(release, "release");
+    }
+
+    public ServerMapping(String serverName, String containerName, ReadinessSettings readiness, int startWeight,
+            List<String> dependsOn, SleepSettings sleep, int memoryCost) {
+        this(serverName, containerName, readiness, startWeight, dependsOn, sleep, memoryCost,
+                ConnectionReleaseSettings.defaults());
+    }
+
+    public ServerMapping(String serverName, String containerName, ReadinessSettings readiness, int startWeight,
+            List<String> dependsOn, SleepSettings sleep) {
+        this(serverName, containerName, readiness, startWeight, dependsOn, sleep, DEFAULT_MEMORY_COST);
+    }
+
+    public ServerMapping(String serverName, String containerName, ReadinessSettings readiness, int startWeight,
+            List<String> dependsOn) {
+        this(serverName, containerName, readiness, startWeight, dependsOn, SleepSettings.defaults());
+    }
+
+    public ServerMapping(String serverName, String containerName, ReadinessSettings readiness, int startWeight) {
+        this(serverName, containerName, readiness, startWeight, List.of());
+    }
+
+    public ServerMapping(String serverName, String containerName, ReadinessSettings readiness) {
+        this(serverName, containerName, readiness, DEFAULT_START_WEIGHT);
     }
 
     public ServerMapping(String serverName, String containerName) {
@@ -0,0 +1,29 @@
+package me.criseda.autostopper.config;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Interchangeable monitored servers reached through one registered Velocity server name.
+ *
+ * <p>Connections to {@code poolName} are routed to a member, and {@code warmInstances} idle members
+ * are kept running so a pooled connection rarely waits for a cold start.
+ */
+public record ServerPool(String poolName, List<String> members, int warmInstances) {
+    public static final int DEFAULT_WARM_INSTANCES = 1;
+
+    public ServerPool {
+        Objects.requireNonNull(poolName, "poolName");
+        members = List.copyOf(members);
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("members must not be empty");
+        }
+        if (warmInstances <= 0 || warmInstances > members.size()) {
+            throw new IllegalArgumentException("warmInstances must be between 1 and the member count");
+        }
+    }
+
+    public boolean hasMember(String serverName) {
+        return members.contains(serverName);
+    }
+}
@@ -0,0 +1,32 @@
+package me.criseda.autostopper.config;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** What an inactivity stop does to a backend container. */
+public enum SleepMode {
+    /** Stops the container; the next wake is a cold start. */
+    STOP("stop"),
+    /** Checkpoints the running process with CRIU; the next wake restores it from disk. */
+    CHECKPOINT("checkpoint");
+
+    private final String configValue;
+
+    SleepMode(String configValue) {
+        this.configValue = configValue;
+    }
+
+    public String configValue() {
+        return configValue;
+    }
+
+    public static Optional<SleepMode> fromConfigValue(String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        for (SleepMode mode : values()) {
+            if (mode.configValue.equals(normalized)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
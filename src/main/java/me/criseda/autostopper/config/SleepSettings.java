@@ -0,0 +1,45 @@
+package me.criseda.autostopper.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * How a monitored server sleeps when it goes idle.
+ *
+ * @param checkpointDirectory host directory passed to {@code --checkpoint-dir}, or {@code null} for
+ *        Docker's own checkpoint storage; only a configured directory lets AutoStopper measure checkpoint size
+ * @param timeout limit for creating or restoring one checkpoint
+ */
+public record SleepSettings(SleepMode mode, String checkpointDirectory, Duration timeout) {
+    public static final int DEFAULT_TIMEOUT_SECONDS = 120;
+
+    public SleepSettings {
+        Objects.requireNonNull(mode, "mode");
+        Objects.requireNonNull(timeout, "timeout");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        if (checkpointDirectory != null) {
+            if (mode != SleepMode.CHECKPOINT) {
+                throw new IllegalArgumentException("checkpointDirectory requires checkpoint mode");
+            }
+            if (!Path.of(checkpointDirectory).isAbsolute()) {
+                throw new IllegalArgumentException("checkpointDirectory must be absolute");
+            }
+        }
+    }
+
+    public static SleepSettings defaults() {
+        return new SleepSettings(SleepMode.STOP, null, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
+    }
+
+    public boolean checkpoints() {
+        return mode == SleepMode.CHECKPOINT;
+    }
+
+    public Optional<String> checkpointDirectoryIfSet() {
+        return Optional.ofNullable(checkpointDirectory);
+    }
+}
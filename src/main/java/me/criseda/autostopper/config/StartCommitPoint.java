@@ -0,0 +1,32 @@
+package me.criseda.autostopper.config;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** Last point at which a player wake that nobody waits for any more is abandoned. */
+public enum StartCommitPoint {
+    /** Abandon until the container start is issued or a running container's readiness check begins. */
+    CONTAINER_START("container_start"),
+    /** Abandon at any point until the server is ready; a started container is left on a short idle timer. */
+    READY("ready");
+
+    private final String configValue;
+
+    StartCommitPoint(String configValue) {
+        this.configValue = configValue;
+    }
+
+    public String configValue() {
+        return configValue;
+    }
+
+    public static Optional<StartCommitPoint> fromConfigValue(String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        for (StartCommitPoint point : values()) {
+            if (point.configValue.equals(normalized)) {
+                return Optional.of(point);
+            }
+        }
+        return Optional.empty();
+    }
+}
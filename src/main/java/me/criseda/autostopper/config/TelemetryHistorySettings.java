@@ -0,0 +1,25 @@
+package me.criseda.autostopper.config;
+
+/**
+ * Keeps per-minute lifecycle totals for each server and operation in day-sized segment files in the
+ * data directory. Segments older than {@code retentionDays} are deleted, and a day stops accepting
+ * buckets once it holds {@code maxRecordsPerDay} of them.
+ */
+public record TelemetryHistorySettings(int retentionDays, int maxRecordsPerDay) {
+    public static final String DIRECTORY_NAME = "history";
+    public static final int DEFAULT_RETENTION_DAYS = 14;
+    public static final int DEFAULT_MAX_RECORDS_PER_DAY = 65_536;
+
+    public TelemetryHistorySettings {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("retentionDays must be positive");
+        }
+        if (maxRecordsPerDay <= 0) {
+            throw new IllegalArgumentException("maxRecordsPerDay must be positive");
+        }
+    }
+
+    public static TelemetryHistorySettings defaults() {
+        return new TelemetryHistorySettings(DEFAULT_RETENTION_DAYS, DEFAULT_MAX_RECORDS_PER_DAY);
+    }
+}
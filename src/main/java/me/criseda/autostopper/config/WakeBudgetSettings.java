@@ -0,0 +1,26 @@
+package me.criseda.autostopper.config;
+
+import java.time.Duration;
+
+/**
+ * Limits how many stopped servers one player can wake. Each player may wake {@code burst} servers back
+ * to back and earns one more wake every {@code refillInterval}; joining a server that is already ready
+ * or starting never counts.
+ */
+public record WakeBudgetSettings(int burst, Duration refillInterval) {
+    public static final int DEFAULT_BURST = 3;
+    public static final int DEFAULT_REFILL_SECONDS = 120;
+
+    public WakeBudgetSettings {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        if (refillInterval.isZero() || refillInterval.isNegative()) {
+            throw new IllegalArgumentException("refillInterval must be positive");
+        }
+    }
+
+    public static WakeBudgetSettings defaults() {
+        return new WakeBudgetSettings(DEFAULT_BURST, Duration.ofSeconds(DEFAULT_REFILL_SECONDS));
+    }
+}
@@ -0,0 +1,33 @@
+package me.criseda.autostopper.coordination;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Coordination backend shared by every proxy that manages the same backends.
+ *
+ * <p>Container starts and stops are performed under a per-server lease so two proxies never mutate
+ * the same container at once, and each proxy publishes activity heartbeats so inactivity stops
+ * consider players connected through any proxy. Implementations must be thread-safe and may block
+ * on I/O; callers invoke them from AutoStopper worker threads.
+ */
+public interface ClusterCoordinator {
+    /** Takes or renews this proxy's lease on the server, unless another proxy holds it. */
+    LeaseResult tryAcquire(String serverName, LeaseOperation operation);
+
+    /** Releases this proxy's lease on the server; a lease held by another proxy is left alone. */
+    void release(String serverName);
+
+    /** Publishes this proxy's player count and last activity for the server. */
+    void publishActivity(String serverName, int connectedPlayers, Instant lastActivity);
+
+    /** Aggregates fresh heartbeats that other proxies published for the server. */
+    RemoteActivity remoteActivity(String serverName);
+
+    /** Upper bound a caller should wait for a lease held by another proxy to be released or expire. */
+    Duration leaseDuration();
+
+    static ClusterCoordinator standalone() {
+        return StandaloneClusterCoordinator.INSTANCE;
+    }
+}
@@ -0,0 +1,237 @@
+package me.criseda.autostopper.coordination;
+
+import me.criseda.autostopper.config.CoordinationSettings;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * File-based coordination backend for proxies sharing a volume.
+ *
+ * <p>Each server has one state file in the shared directory holding at most one lease line and one
+ * heartbeat line per proxy. Every read-modify-write runs under an exclusive {@link FileChannel}
+ * lock, so proxies on different hosts serialize on the file itself. Locks are also serialized
+ * inside this JVM because {@code FileChannel} locks are held per process. When the store cannot be
+ * read, starts proceed without a lease while stops and inactivity decisions fail safe.
+ */
+public final class FileClusterCoordinator implements ClusterCoordinator {
+    private static final String STATE_SUFFIX = ".state";
+
+    private final Logger logger;
+    private final String proxyId;
+    private final Path directory;
+    private final Duration leaseDuration;
+    private final Duration heartbeatTtl;
+    private final Clock clock;
+
+    public FileClusterCoordinator(Logger logger, CoordinationSettings settings) {
+        this(logger, settings, Clock.systemUTC());
+    }
+
+    FileClusterCoordinator(Logger logger, CoordinationSettings settings, Clock clock) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.proxyId = settings.proxyId();
+        this.directory = settings.directory();
+        this.leaseDuration = settings.leaseDuration();
+        this.heartbeatTtl = settings.heartbeatTtl();
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    @Override
+    public LeaseResult tryAcquire(String serverName, LeaseOperation operation) {
+        Objects.requireNonNull(operation, "operation");
+        try {
+            return update(serverName, state -> {
+                Instant now = clock.instant();
+                Lease lease = state.lease;
+                if (lease != null && !lease.proxyId.equals(proxyId) && now.isBefore(lease.expiresAt)) {
+                    return LeaseResult.heldBy(lease.proxyId, lease.operation);
+                }
+                state.lease = new Lease(proxyId, operation, now.plus(leaseDuration));
+                return LeaseResult.granted();
+            });
+        } catch (IOException error) {
+            logger.warn("Could not take the {} lease for server {} from {}: {}",
+                    operation.name().toLowerCase(Locale.ROOT), serverName, directory, error.getMessage());
+            return operation == LeaseOperation.START ? LeaseResult.granted() : LeaseResult.unavailable();
+        }
+    }
+
+    @Override
+    public void release(String serverName) {
+        try {
+            update(serverName, state -> {
+                if (state.lease != null && state.lease.proxyId.equals(proxyId)) {
+                    state.lease = null;
+                }
+                return null;
+            });
+        } catch (IOException error) {
+            logger.warn("Could not release the lease for server {} in {}: {}",
+                    serverName, directory, error.getMessage());
+        }
+    }
+
+    @Override
+    public void publishActivity(String serverName, int connectedPlayers, Instant lastActivity) {
+        try {
+            update(serverName, state -> {
+                Instant now = clock.instant();
+                state.heartbeats.removeIf(heartbeat -> heartbeat.proxyId.equals(proxyId) || isStale(heartbeat, now));
+                state.heartbeats.add(new Heartbeat(proxyId, connectedPlayers, lastActivity, now));
+                return null;
+            });
+        } catch (IOException error) {
+            logger.warn("Could not publish activity for server {} to {}: {}",
+                    serverName, directory, error.getMessage());
+        }
+    }
+
+    @Override
+    public RemoteActivity remoteActivity(String serverName) {
+        try {
+            return update(serverName, state -> {
+                Instant now = clock.instant();
+                int players = 0;
+                Instant latest = null;
+                for (Heartbeat heartbeat : state.heartbeats) {
+                    if (heartbeat.proxyId.equals(proxyId) || isStale(heartbeat, now)) {
+                        continue;
+                    }
+                    players += heartbeat.connectedPlayers;
+                    if (latest == null || heartbeat.lastActivity.isAfter(latest)) {
+                        latest = heartbeat.lastActivity;
+                    }
+                }
+                return new RemoteActivity(true, players, Optional.ofNullable(latest));
+            });
+        } catch (IOException error) {
+            logger.warn("Could not read activity for server {} from {}: {}",
+                    serverName, directory, error.getMessage());
+            return RemoteActivity.unavailable();
+        }
+    }
+
+    @Override
+    public Duration leaseDuration() {
+        return leaseDuration;
+    }
+
+    private boolean isStale(Heartbeat heartbeat, Instant now) {
+        return heartbeat.publishedAt.plus(heartbeatTtl).isBefore(now);
+    }
+
+    private synchronized <T> T update(String serverName, StateUpdate<T> update) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName(serverName));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock()) {
+            State state = State.parse(read(channel));
+            String before = state.format();
+            T result = update.apply(state);
+            String after = state.format();
+            if (!after.equals(before)) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(after.getBytes(StandardCharsets.UTF_8)), 0);
+                channel.force(false);
+            }
+            return result;
+        }
+    }
+
+    private static String read(FileChannel channel) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        long position = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            content.write(buffer.array(), 0, read);
+            position += read;
+            buffer.clear();
+        }
+        return content.toString(StandardCharsets.UTF_8);
+    }
+
+    static String fileName(String serverName) {
+        StringBuilder name = new StringBuilder();
+        for (char character : serverName.toCharArray()) {
+            if ((character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                    || (character >= '0' && character <= '9') || character == '-' || character == '.') {
+                name.append(character);
+            } else {
+                name.append('_').append(String.format(Locale.ROOT, "%04x", (int) character));
+            }
+        }
+        return name + STATE_SUFFIX;
+    }
+
+    @FunctionalInterface
+    private interface StateUpdate<T> {
+        T apply(State state);
+    }
+
+    private record Lease(String proxyId, LeaseOperation operation, Instant expiresAt) {
+    }
+
+    private record Heartbeat(String proxyId, int connectedPlayers, Instant lastActivity, Instant publishedAt) {
+    }
+
+    private static final class State {
+        private Lease lease;
+        private final List<Heartbeat> heartbeats = new ArrayList<>();
+
+        // Lines: "lease <proxy> <operation> <expiresAtMillis>" and
+        // "activity <proxy> <players> <lastActivityMillis> <publishedAtMillis>". Unknown lines are dropped.
+        private static State parse(String content) {
+            State state = new State();
+            for (String line : content.split("\n")) {
+                String[] fields = line.trim().split(" ");
+                try {
+                    if (fields.length == 4 && fields[0].equals("lease")) {
+                        state.lease = new Lease(fields[1], LeaseOperation.valueOf(fields[2]),
+                                Instant.ofEpochMilli(Long.parseLong(fields[3])));
+                    } else if (fields.length == 5 && fields[0].equals("activity")) {
+                        state.heartbeats.add(new Heartbeat(fields[1], Math.max(0, Integer.parseInt(fields[2])),
+                                Instant.ofEpochMilli(Long.parseLong(fields[3])),
+                                Instant.ofEpochMilli(Long.parseLong(fields[4]))));
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // A partially written or foreign line is ignored rather than failing every proxy.
+                }
+            }
+            return state;
+        }
+
+        private String format() {
+            StringBuilder content = new StringBuilder();
+            if (lease != null) {
+                content.append("lease ").append(lease.proxyId).append(' ').append(lease.operation.name())
+                        .append(' ').append(lease.expiresAt.toEpochMilli()).append('\n');
+            }
+            for (Heartbeat heartbeat : heartbeats) {
+                content.append("activity ").append(heartbeat.proxyId).append(' ')
+                        .append(heartbeat.connectedPlayers).append(' ')
+                        .append(heartbeat.lastActivity.toEpochMilli()).append(' ')
+                        .append(heartbeat.publishedAt.toEpochMilli()).append('\n');
+            }
+            return content.toString();
+        }
+    }
+}
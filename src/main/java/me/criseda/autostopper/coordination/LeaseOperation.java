@@ -0,0 +1,7 @@
+package me.criseda.autostopper.coordination;
+
+/** Lifecycle mutation a proxy holds a server lease for. */
+public enum LeaseOperation {
+    START,
+    STOP
+}
@@ -0,0 +1,25 @@
+package me.criseda.autostopper.coordination;
+
+import java.util.Objects;
+
+/**
+ * Result of asking for a server lease. When the lease is held elsewhere, {@code holder} and
+ * {@code operation} describe the proxy holding it; both are null when the store was unavailable.
+ */
+public record LeaseResult(boolean acquired, String holder, LeaseOperation operation) {
+    private static final LeaseResult ACQUIRED = new LeaseResult(true, null, null);
+    private static final LeaseResult UNAVAILABLE = new LeaseResult(false, null, null);
+
+    public static LeaseResult granted() {
+        return ACQUIRED;
+    }
+
+    public static LeaseResult heldBy(String holder, LeaseOperation operation) {
+        return new LeaseResult(false, Objects.requireNonNull(holder, "holder"),
+                Objects.requireNonNull(operation, "operation"));
+    }
+
+    public static LeaseResult unavailable() {
+        return UNAVAILABLE;
+    }
+}
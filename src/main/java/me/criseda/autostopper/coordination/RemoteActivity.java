@@ -0,0 +1,31 @@
+package me.criseda.autostopper.coordination;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Activity other proxies reported for one server through fresh heartbeats.
+ *
+ * <p>{@code available} is false when the shared store could not be read; callers must then assume
+ * the server may be in use elsewhere.
+ */
+public record RemoteActivity(boolean available, int connectedPlayers, Optional<Instant> lastActivity) {
+    private static final RemoteActivity NONE = new RemoteActivity(true, 0, Optional.empty());
+    private static final RemoteActivity UNAVAILABLE = new RemoteActivity(false, 0, Optional.empty());
+
+    public RemoteActivity {
+        Objects.requireNonNull(lastActivity, "lastActivity");
+        if (connectedPlayers < 0) {
+            throw new IllegalArgumentException("connectedPlayers must not be negative");
+        }
+    }
+
+    public static RemoteActivity none() {
+        return NONE;
+    }
+
+    public static RemoteActivity unavailable() {
+        return UNAVAILABLE;
+    }
+}
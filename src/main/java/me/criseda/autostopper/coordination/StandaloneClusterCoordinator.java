@@ -0,0 +1,35 @@
+package me.criseda.autostopper.coordination;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** Single-proxy backend: every lease is granted and no other proxy reports activity. */
+final class StandaloneClusterCoordinator implements ClusterCoordinator {
+    static final StandaloneClusterCoordinator INSTANCE = new StandaloneClusterCoordinator();
+
+    private StandaloneClusterCoordinator() {
+    }
+
+    @Override
+    public LeaseResult tryAcquire(String serverName, LeaseOperation operation) {
+        return LeaseResult.granted();
+    }
+
+    @Override
+    public void release(String serverName) {
+    }
+
+    @Override
+    public void publishActivity(String serverName, int connectedPlayers, Instant lastActivity) {
+    }
+
+    @Override
+    public RemoteActivity remoteActivity(String serverName) {
+        return RemoteActivity.none();
+    }
+
+    @Override
+    public Duration leaseDuration() {
+        return Duration.ZERO;
+    }
+}
@@ -1,10 +1,19 @@
 package me.criseda.autostopper.docker;
 
-public record CommandOutput(Outcome outcome, int exitCode, String stdout, String stderr) {
+/**
+ * @param truncated whether the runner cut the output at its length limit, so it may be incomplete
+ */
+public record CommandOutput(Outcome outcome, int exitCode, String stdout, String stderr, boolean truncated) {
+
+    public CommandOutput(Outcome outcome, int exitCode, String stdout, String stderr) {
+        this(outcome, exitCode, stdout, stderr, false);
+    }
 
     public enum Outcome {
         COMPLETED,
         TIMED_OUT,
-        SPAWN_FAILED
+        SPAWN_FAILED,
+        /** The connection to the daemon broke after the request was sent; its effect is unknown. */
+        TRANSPORT_FAILED
     }
 }
\ No newline at end of file
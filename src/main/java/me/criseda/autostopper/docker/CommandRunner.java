@@ -1,8 +1,30 @@
 package me.criseda.autostopper.docker;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface CommandRunner {
     CommandOutput run(List<String> command, Duration timeout);
-}
\ No newline at end of file
+
+    /** Runs the command without blocking the caller; runners without native support run it inline. */
+    default CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout) {
+        return CompletableFuture.completedFuture(run(command, timeout));
+    }
+
+    /**
+     * Like {@link #runAsync(List, Duration)}, but keeps up to {@code maxOutputBytes} of output, for
+     * listings that grow with the host. Runners with a fixed limit apply their own and report
+     * {@link CommandOutput#truncated()}.
+     */
+    default CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout, int maxOutputBytes) {
+        return runAsync(command, timeout);
+    }
+
+    /** Starts a long-running command and delivers each bounded output line until it is closed. */
+    default StreamingCommand stream(List<String> command, Consumer<String> lineConsumer) throws IOException {
+        throw new IOException("Streaming commands are not supported by " + getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,669 @@
+package me.criseda.autostopper.docker;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Sends the Docker commands issued by {@link DockerManager} to the Engine API over one long-lived
+ * {@code docker system dial-stdio} child instead of forking the CLI for every call.
+ *
+ * <p>Status, health and version queries are written as HTTP/1.1 and pipelined: each is sent as soon
+ * as it is issued and responses are matched in order by a single reader thread. A request's timeout
+ * starts only once the responses ahead of it have arrived, so it measures the request's own daemon
+ * time rather than its place in the queue. Starts and stops can take much longer than a query, so
+ * each runs alone on a connection of its own; idle action connections are kept for reuse. Commands
+ * the Engine API translation does not cover, such as following logs, go to the fallback runner.
+ *
+ * <p>When a child exits, its stream breaks or a request times out, the child is discarded and the
+ * next request starts a new one. A query, or an action that never reached the stream, is retried
+ * once on a fresh child; an action lost after it was sent reports
+ * {@link CommandOutput.Outcome#TRANSPORT_FAILED}, since the daemon may have carried it out.
+ */
+public final class DialStdioCommandRunner implements CommandRunner, AutoCloseable {
+    private static final List<String> DIAL_COMMAND = List.of("docker", "system", "dial-stdio");
+    private static final int MAX_HEADER_LENGTH = 8192;
+    private static final int MAX_BODY_LENGTH = 1 << 20;
+    private static final int MAX_IDLE_ACTION_CONNECTIONS = 2;
+
+    /** Opens the byte stream requests are pipelined over. */
+    interface Connector {
+        Connection open() throws IOException;
+    }
+
+    /** One open stream to the Docker daemon. */
+    interface Connection extends Closeable {
+        InputStream input();
+
+        OutputStream output();
+
+        /** Whatever the transport reported about why it failed, or empty. */
+        default String errorText() {
+            return "";
+        }
+
+        @Override
+        void close();
+    }
+
+    private final Logger logger;
+    private final CommandRunner fallback;
+    private final Connector connector;
+
+    // Guarded by this.
+    private Pipeline pipeline;
+    private final ArrayDeque<Pipeline> idleActions = new ArrayDeque<>();
+    private final Set<Pipeline> actions = new HashSet<>();
+    private boolean closed;
+    private boolean queriesConnected;
+    private int connectionsOpened;
+
+    public DialStdioCommandRunner(Logger logger, CommandRunner fallback) {
+        this(logger, fallback, () -> ProcessConnection.start(DIAL_COMMAND));
+    }
+
+    DialStdioCommandRunner(Logger logger, CommandRunner fallback, Connector connector) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+        this.connector = Objects.requireNonNull(connector, "connector");
+    }
+
+    @Override
+    public CommandOutput run(List<String> command, Duration timeout) {
+        Optional<EngineCall> call = EngineCall.translate(command);
+        if (call.isEmpty()) {
+            return fallback.run(command, timeout);
+        }
+        try {
+            return exchange(call.get(), timeout).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", "interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Engine API response could not be collected", e.getCause());
+        }
+    }
+
+    /**
+     * Pipelines the request without holding a thread while it is in flight. The future completes on
+     * the connection's reader thread, so blocking follow-up work must use an async stage.
+     */
+    @Override
+    public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout) {
+        Optional<EngineCall> call = EngineCall.translate(command);
+        if (call.isEmpty()) {
+            return fallback.runAsync(command, timeout);
+        }
+        return exchange(call.get(), timeout);
+    }
+
+    /** Listings are not translated, so a larger output limit only matters to the fallback runner. */
+    @Override
+    public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout, int maxOutputBytes) {
+        if (EngineCall.translate(command).isPresent()) {
+            return runAsync(command, timeout);
+        }
+        return fallback.runAsync(command, timeout, maxOutputBytes);
+    }
+
+    @Override
+    public StreamingCommand stream(List<String> command, Consumer<String> lineConsumer) throws IOException {
+        return fallback.stream(command, lineConsumer);
+    }
+
+    /** Number of dial-stdio children started so far, including restarts. */
+    synchronized int connectionsOpened() {
+        return connectionsOpened;
+    }
+
+    @Override
+    public void close() {
+        List<Pipeline> open;
+        synchronized (this) {
+            closed = true;
+            open = new ArrayList<>(actions);
+            if (pipeline != null) {
+                open.add(pipeline);
+            }
+            pipeline = null;
+            idleActions.clear();
+            actions.clear();
+        }
+        for (Pipeline current : open) {
+            current.fail(new IOException("Docker transport closed"));
+        }
+    }
+
+    private CompletableFuture<CommandOutput> exchange(EngineCall call, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        return attempt(call, timeout.toNanos(), true);
+    }
+
+    private CompletableFuture<CommandOutput> attempt(EngineCall call, long timeoutNanos, boolean mayRetry) {
+        Pipeline current;
+        try {
+            current = call.action() ? actionPipeline() : queryPipeline();
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(
+                    new CommandOutput(CommandOutput.Outcome.SPAWN_FAILED, -1, "", String.valueOf(e.getMessage())));
+        }
+        Exchange exchange = current.send(call.request(), timeoutNanos);
+        return exchange.response.handle((result, error) -> {
+            if (error == null) {
+                if (call.action()) {
+                    releaseAction(current);
+                }
+                return CompletableFuture.completedFuture(call.output(result));
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof TimeoutException) {
+                // The response may never come; a new child keeps later requests from queuing behind it.
+                discard(current, new TimeoutException("Docker request timed out"));
+                return CompletableFuture.completedFuture(
+                        new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", "Docker request timed out"));
+            }
+            discard(current, cause instanceof Exception exception ? exception : new IOException(cause));
+            long remainingNanos = timeoutNanos - exchange.wireNanos();
+            if (mayRetry && remainingNanos > 0 && (!call.action() || !exchange.sent())) {
+                logger.debug("Retrying {} {} on a new dial-stdio connection: {}",
+                        call.method(), call.path(), cause.getMessage());
+                return attempt(call, remainingNanos, false);
+            }
+            return CompletableFuture.completedFuture(new CommandOutput(CommandOutput.Outcome.TRANSPORT_FAILED, -1,
+                    "", "Docker connection lost: " + cause.getMessage()));
+        }).thenCompose(Function.identity());
+    }
+
+    private synchronized Pipeline queryPipeline() throws IOException {
+        if (closed) {
+            throw new IOException("Docker transport closed");
+        }
+        if (pipeline != null && !pipeline.broken()) {
+            return pipeline;
+        }
+        if (queriesConnected) {
+            logger.info("Restarting docker system dial-stdio after the previous connection ended");
+        }
+        pipeline = open();
+        queriesConnected = true;
+        return pipeline;
+    }
+
+    /** Takes an idle action connection, or opens one, for the caller's exclusive use. */
+    private synchronized Pipeline actionPipeline() throws IOException {
+        if (closed) {
+            throw new IOException("Docker transport closed");
+        }
+        Pipeline idle;
+        while ((idle = idleActions.pollFirst()) != null) {
+            if (!idle.broken()) {
+                return idle;
+            }
+            actions.remove(idle);
+        }
+        Pipeline opened = open();
+        actions.add(opened);
+        return opened;
+    }
+
+    private void releaseAction(Pipeline action) {
+        synchronized (this) {
+            if (!closed && !action.broken() && idleActions.size() < MAX_IDLE_ACTION_CONNECTIONS) {
+                idleActions.addLast(action);
+                return;
+            }
+            actions.remove(action);
+        }
+        action.fail(new IOException("Docker action connection released"));
+    }
+
+    // Guarded by this.
+    private Pipeline open() throws IOException {
+        Connection connection = connector.open();
+        connectionsOpened++;
+        Pipeline opened = new Pipeline(connection);
+        opened.start();
+        return opened;
+    }
+
+    private void discard(Pipeline target, Exception cause) {
+        synchronized (this) {
+            if (pipeline == target) {
+                pipeline = null;
+            }
+            idleActions.remove(target);
+            actions.remove(target);
+        }
+        target.fail(cause);
+    }
+
+    /** A parsed Engine API response. */
+    record HttpResponse(int status, String body) {
+    }
+
+    /** Docker CLI commands the Engine API can answer, and how to render the answer as CLI output. */
+    record EngineCall(String method, String path, Render render, String containerName) {
+        enum Render {
+            RUNNING,
+            HEALTH,
+            VERSION,
+            ACTION
+        }
+
+        static Optional<EngineCall> translate(List<String> command) {
+            if (command.size() == 5 && command.get(0).equals("docker") && command.get(1).equals("inspect")
+                    && command.get(2).equals("-f")) {
+                String template = command.get(3);
+                String name = command.get(4);
+                if (template.equals(DockerManager.RUNNING_TEMPLATE)) {
+                    return Optional.of(new EngineCall("GET", containerPath(name, "json"), Render.RUNNING, name));
+                }
+                if (template.equals(DockerManager.HEALTH_TEMPLATE)) {
+                    return Optional.of(new EngineCall("GET", containerPath(name, "json"), Render.HEALTH, name));
+                }
+                return Optional.empty();
+            }
+            if (command.size() == 3 && command.get(0).equals("docker")
+                    && (command.get(1).equals("start") || command.get(1).equals("stop"))) {
+                String name = command.get(2);
+                return Optional.of(new EngineCall("POST", containerPath(name, command.get(1)), Render.ACTION, name));
+            }
+            if (command.equals(List.of("docker", "version", "--format", DockerManager.VERSION_TEMPLATE))) {
+                return Optional.of(new EngineCall("GET", "/version", Render.VERSION, null));
+            }
+            return Optional.empty();
+        }
+
+        private static String containerPath(String name, String action) {
+            return "/containers/" + URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20") + "/" + action;
+        }
+
+        /** Whether the call changes container state and so must not queue behind, or be repeated like, a query. */
+        boolean action() {
+            return render == Render.ACTION;
+        }
+
+        byte[] request() {
+            String head = method + " " + path + " HTTP/1.1\r\n"
+                    + "Host: docker\r\n"
+                    + "User-Agent: AutoStopper\r\n"
+                    + (method.equals("POST") ? "Content-Length: 0\r\n" : "")
+                    + "\r\n";
+            return head.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        CommandOutput output(HttpResponse response) {
+            if (response.status() == 404 && containerName != null) {
+                return failed("Error: No such container: " + containerName);
+            }
+            if (response.status() == 304 && render == Render.ACTION) {
+                return completed(containerName);
+            }
+            if (response.status() < 200 || response.status() >= 300) {
+                return failed("Error response from daemon: " + errorMessage(response));
+            }
+            if (render == Render.ACTION) {
+                return completed(containerName);
+            }
+            Map<?, ?> document;
+            try {
+                document = EngineJson.parseObject(response.body());
+            } catch (EngineJson.MalformedJsonException e) {
+                return failed("unreadable Engine API response: " + e.getMessage());
+            }
+            return switch (render) {
+                case RUNNING -> completed(String.valueOf(Boolean.TRUE.equals(state(document).get("Running"))));
+                case HEALTH -> completed(health(state(document)));
+                case VERSION -> completed(String.valueOf(document.get("Version")));
+                case ACTION -> completed(containerName);
+            };
+        }
+
+        private static String health(Map<?, ?> state) {
+            if (!Boolean.TRUE.equals(state.get("Running"))) {
+                return "stopped";
+            }
+            return state.get("Health") instanceof Map<?, ?> health && health.get("Status") != null
+                    ? String.valueOf(health.get("Status"))
+                    : "none";
+        }
+
+        private static Map<?, ?> state(Map<?, ?> document) {
+            return document.get("State") instanceof Map<?, ?> state ? state : Map.of();
+        }
+
+        private static String errorMessage(HttpResponse response) {
+            try {
+                Object message = EngineJson.parseObject(response.body()).get("message");
+                if (message != null) {
+                    return String.valueOf(message);
+                }
+            } catch (EngineJson.MalformedJsonException e) {
+                // Not JSON; report the status code alone.
+            }
+            return "HTTP " + response.status();
+        }
+
+        private static CommandOutput completed(String stdout) {
+            return new CommandOutput(CommandOutput.Outcome.COMPLETED, 0, stdout + "\n", "");
+        }
+
+        private static CommandOutput failed(String stderr) {
+            return new CommandOutput(CommandOutput.Outcome.COMPLETED, 1, "", stderr + "\n");
+        }
+    }
+
+    /** One request on a pipeline; its timer runs only while its response is the next one due. */
+    private static final class Exchange {
+        private final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        private final long timeoutNanos;
+        private volatile boolean sent;
+        private volatile long dueSinceNanos;
+
+        private Exchange(long timeoutNanos) {
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        /** Whether the whole request was written to the stream. */
+        boolean sent() {
+            return sent;
+        }
+
+        /** Time the request has spent at the head of the pipeline waiting for its own response. */
+        long wireNanos() {
+            long since = dueSinceNanos;
+            return since == 0 ? 0 : System.nanoTime() - since;
+        }
+
+        private void arm() {
+            dueSinceNanos = System.nanoTime();
+            response.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Writes requests in issue order and completes their futures as responses arrive in the same order. */
+    private static final class Pipeline {
+        private final Connection connection;
+        private final InputStream input;
+        private final Object lock = new Object();
+        // Guarded by lock.
+        private final ArrayDeque<Exchange> pending = new ArrayDeque<>();
+        private Exception failure;
+
+        Pipeline(Connection connection) {
+            this.connection = connection;
+            this.input = connection.input();
+        }
+
+        void start() {
+            Thread reader = new Thread(this::readResponses, "AutoStopper Docker dial-stdio");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        boolean broken() {
+            synchronized (lock) {
+                return failure != null;
+            }
+        }
+
+        Exchange send(byte[] request, long timeoutNanos) {
+            Exchange exchange = new Exchange(timeoutNanos);
+            IOException writeFailure = null;
+            synchronized (lock) {
+                if (failure != null) {
+                    exchange.response.completeExceptionally(failure);
+                    return exchange;
+                }
+                pending.addLast(exchange);
+                try {
+                    OutputStream output = connection.output();
+                    output.write(request);
+                    output.flush();
+                    exchange.sent = true;
+                } catch (IOException e) {
+                    writeFailure = e;
+                }
+                if (exchange.sent && pending.peekFirst() == exchange) {
+                    exchange.arm();
+                }
+            }
+            if (writeFailure != null) {
+                fail(writeFailure);
+            }
+            return exchange;
+        }
+
+        void fail(Exception cause) {
+            List<Exchange> abandoned;
+            synchronized (lock) {
+                if (failure != null) {
+                    return;
+                }
+                String detail = connection.errorText();
+                failure = cause instanceof IOException && !detail.isBlank()
+                        ? new IOException(cause.getMessage() + ": " + detail.trim(), cause)
+                        : cause;
+                abandoned = List.copyOf(pending);
+                pending.clear();
+            }
+            connection.close();
+            for (Exchange exchange : abandoned) {
+                exchange.response.completeExceptionally(failure);
+            }
+        }
+
+        private void readResponses() {
+            try {
+                while (true) {
+                    HttpResponse response = readResponse();
+                    Exchange next;
+                    synchronized (lock) {
+                        next = pending.pollFirst();
+                        Exchange due = pending.peekFirst();
+                        if (due != null && due.sent) {
+                            due.arm();
+                        }
+                    }
+                    if (next == null) {
+                        throw new IOException("Docker sent a response nobody asked for");
+                    }
+                    next.response.complete(response);
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private HttpResponse readResponse() throws IOException {
+            String statusLine = readLine();
+            String[] parts = statusLine.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/1.")) {
+                throw new IOException("malformed Engine API status line");
+            }
+            int status;
+            try {
+                status = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IOException("malformed Engine API status code");
+            }
+            long contentLength = -1;
+            boolean chunked = false;
+            int headerBytes = 0;
+            String header;
+            while (!(header = readLine()).isEmpty()) {
+                headerBytes += header.length();
+                if (headerBytes > MAX_HEADER_LENGTH) {
+                    throw new IOException("Engine API response headers are too large");
+                }
+                int colon = header.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String name = header.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                String value = header.substring(colon + 1).trim();
+                if (name.equals("content-length")) {
+                    try {
+                        contentLength = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("malformed Content-Length");
+                    }
+                } else if (name.equals("transfer-encoding")) {
+                    chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+                }
+            }
+            if (status == 204 || status == 304 || (status >= 100 && status < 200)) {
+                return new HttpResponse(status, "");
+            }
+            if (chunked) {
+                return new HttpResponse(status, readChunkedBody());
+            }
+            if (contentLength < 0) {
+                throw new IOException("Engine API response has no length");
+            }
+            return new HttpResponse(status, new String(readBytes(contentLength), StandardCharsets.UTF_8));
+        }
+
+        private String readChunkedBody() throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                String sizeLine = readLine();
+                int extension = sizeLine.indexOf(';');
+                long size;
+                try {
+                    size = Long.parseLong((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("malformed chunk size");
+                }
+                if (size == 0) {
+                    while (!readLine().isEmpty()) {
+                        // Trailers are not used by the Engine API.
+                    }
+                    return body.toString(StandardCharsets.UTF_8);
+                }
+                if (body.size() + size > MAX_BODY_LENGTH) {
+                    throw new IOException("Engine API response is too large");
+                }
+                body.write(readBytes(size));
+                if (!readLine().isEmpty()) {
+                    throw new IOException("malformed chunk terminator");
+                }
+            }
+        }
+
+        private byte[] readBytes(long length) throws IOException {
+            if (length > MAX_BODY_LENGTH) {
+                throw new IOException("Engine API response is too large");
+            }
+            byte[] bytes = input.readNBytes((int) length);
+            if (bytes.length < length) {
+                throw new EOFException("Docker closed the connection mid-response");
+            }
+            return bytes;
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int next;
+            while ((next = input.read()) != -1) {
+                if (next == '\n') {
+                    int end = line.length();
+                    if (end > 0 && line.charAt(end - 1) == '\r') {
+                        line.setLength(end - 1);
+                    }
+                    return line.toString();
+                }
+                if (line.length() >= MAX_HEADER_LENGTH) {
+                    throw new IOException("Engine API response line is too long");
+                }
+                line.append((char) next);
+            }
+            throw new EOFException("docker system dial-stdio exited");
+        }
+    }
+
+    /** The dial-stdio child process; its stderr is kept so failures can be classified. */
+    private static final class ProcessConnection implements Connection {
+        private static final int MAX_ERROR_LENGTH = 4096;
+
+        private final Process process;
+        private final InputStream input;
+        private final StringBuffer errors = new StringBuffer();
+
+        private ProcessConnection(Process process) {
+            this.process = process;
+            this.input = new BufferedInputStream(process.getInputStream());
+        }
+
+        static ProcessConnection start(List<String> command) throws IOException {
+            ProcessConnection connection = new ProcessConnection(new ProcessBuilder(command).start());
+            Thread stderr = new Thread(connection::collectErrors, "AutoStopper Docker dial-stdio stderr");
+            stderr.setDaemon(true);
+            stderr.start();
+            return connection;
+        }
+
+        @Override
+        public InputStream input() {
+            return input;
+        }
+
+        @Override
+        public OutputStream output() {
+            return process.getOutputStream();
+        }
+
+        @Override
+        public String errorText() {
+            return errors.toString();
+        }
+
+        @Override
+        public void close() {
+            process.destroy();
+        }
+
+        private void collectErrors() {
+            byte[] buffer = new byte[512];
+            try (InputStream stream = process.getErrorStream()) {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    if (errors.length() < MAX_ERROR_LENGTH) {
+                        errors.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (IOException e) {
+                // The child exited; whatever it wrote so far is kept.
+            }
+        }
+    }
+}
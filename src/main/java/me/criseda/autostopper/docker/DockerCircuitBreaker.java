@@ -0,0 +1,163 @@
+package me.criseda.autostopper.docker;
+
+import me.criseda.autostopper.executor.AutoStopperExecutor;
+import org.slf4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Fails Docker calls fast while the daemon is unreachable.
+ *
+ * <p>The breaker opens after {@link Policy#failureThreshold()} consecutive daemon-level failures
+ * ({@link DockerDiagnostic#DAEMON_UNAVAILABLE}, {@link DockerDiagnostic#PERMISSION_DENIED} or
+ * {@link DockerDiagnostic#TIMED_OUT}). While it is open no Docker command is issued on behalf of
+ * callers; a single background probe checks the daemon with exponential backoff and closes the
+ * breaker as soon as the daemon answers. Probes are timers on the plugin executor, so they stop when
+ * it shuts down.
+ */
+final class DockerCircuitBreaker {
+    /** Trip threshold and probe backoff bounds. */
+    record Policy(int failureThreshold, Duration initialProbeDelay, Duration maxProbeDelay) {
+        static final Policy DEFAULT = new Policy(3, Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+        Policy {
+            if (failureThreshold < 1) {
+                throw new IllegalArgumentException("failureThreshold must be at least 1");
+            }
+            if (initialProbeDelay.isNegative() || initialProbeDelay.isZero()
+                    || maxProbeDelay.compareTo(initialProbeDelay) < 0) {
+                throw new IllegalArgumentException("probe delays must be positive and ordered");
+            }
+        }
+    }
+
+    private final Logger logger;
+    private final Supplier<DockerDiagnostic> probe;
+    private final Policy policy;
+    private final AutoStopperExecutor probes;
+    private final Clock clock;
+
+    // Guarded by this.
+    private int consecutiveFailures;
+    private long generation;
+    private DockerCircuitStatus openStatus;
+    private Duration probeDelay;
+
+    DockerCircuitBreaker(Logger logger, Supplier<DockerDiagnostic> probe, Policy policy,
+            AutoStopperExecutor probes) {
+        this(logger, probe, policy, probes, Clock.systemUTC());
+    }
+
+    DockerCircuitBreaker(Logger logger, Supplier<DockerDiagnostic> probe, Policy policy,
+            AutoStopperExecutor probes, Clock clock) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.probe = Objects.requireNonNull(probe, "probe");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.probes = Objects.requireNonNull(probes, "probes");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    synchronized Optional<DockerCircuitStatus> openStatus() {
+        return Optional.ofNullable(openStatus);
+    }
+
+    /** The inspection returned to callers while the breaker is open. */
+    static ContainerInspection rejection(DockerCircuitStatus status) {
+        if (status.cause() == DockerDiagnostic.PERMISSION_DENIED) {
+            return new ContainerInspection(ContainerStatus.INACCESSIBLE, DockerDiagnostic.PERMISSION_DENIED,
+                    "permission denied accessing Docker; calls are paused until access is restored",
+                    "Grant the proxy process access to the Docker socket or endpoint.");
+        }
+        return new ContainerInspection(ContainerStatus.INACCESSIBLE, DockerDiagnostic.DAEMON_UNAVAILABLE,
+                "Docker daemon is unavailable; calls are paused until it responds again",
+                "Start Docker and verify the configured Docker endpoint is reachable.");
+    }
+
+    /** Records the outcome of a Docker command issued on behalf of a caller. */
+    void record(DockerDiagnostic diagnostic) {
+        if (trips(diagnostic)) {
+            recordFailure(diagnostic);
+        } else if (diagnostic != DockerDiagnostic.CLI_MISSING) {
+            recordSuccess();
+        }
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (openStatus != null) {
+            close();
+        }
+    }
+
+    synchronized void recordFailure(DockerDiagnostic cause) {
+        if (!trips(cause) || openStatus != null) {
+            return;
+        }
+        consecutiveFailures++;
+        if (consecutiveFailures < policy.failureThreshold()) {
+            return;
+        }
+        generation++;
+        probeDelay = policy.initialProbeDelay();
+        Instant now = clock.instant();
+        openStatus = new DockerCircuitStatus(cause, now, 0, now.plus(probeDelay));
+        logger.warn("Docker circuit breaker opened after {} consecutive {} failure(s); Docker calls "
+                        + "fail fast until a background probe succeeds.",
+                consecutiveFailures, cause);
+        scheduleProbe(generation);
+    }
+
+    private void scheduleProbe(long expectedGeneration) {
+        probes.runAfter(probeDelay, () -> runProbe(expectedGeneration));
+    }
+
+    private void runProbe(long expectedGeneration) {
+        synchronized (this) {
+            if (openStatus == null || generation != expectedGeneration) {
+                return;
+            }
+        }
+        DockerDiagnostic result;
+        try {
+            result = probe.get();
+        } catch (RuntimeException e) {
+            result = DockerDiagnostic.INDETERMINATE;
+        }
+        synchronized (this) {
+            if (openStatus == null || generation != expectedGeneration) {
+                return;
+            }
+            if (result == DockerDiagnostic.HEALTHY) {
+                consecutiveFailures = 0;
+                close();
+                return;
+            }
+            long doubled = Math.min(probeDelay.toNanos() * 2, policy.maxProbeDelay().toNanos());
+            probeDelay = Duration.ofNanos(doubled);
+            DockerDiagnostic cause = trips(result) ? result : openStatus.cause();
+            openStatus = new DockerCircuitStatus(cause, openStatus.openedAt(),
+                    openStatus.failedProbes() + 1, clock.instant().plus(probeDelay));
+            logger.debug("Docker recovery probe failed with {}; next probe in {}ms.",
+                    result, probeDelay.toMillis());
+            scheduleProbe(expectedGeneration);
+        }
+    }
+
+    private void close() {
+        Duration open = Duration.between(openStatus.openedAt(), clock.instant());
+        logger.info("Docker is reachable again; circuit breaker closed after {}s.", open.toSeconds());
+        openStatus = null;
+        generation++;
+    }
+
+    private static boolean trips(DockerDiagnostic diagnostic) {
+        return diagnostic == DockerDiagnostic.DAEMON_UNAVAILABLE
+                || diagnostic == DockerDiagnostic.PERMISSION_DENIED
+                || diagnostic == DockerDiagnostic.TIMED_OUT;
+    }
+}
@@ -0,0 +1,21 @@
+package me.criseda.autostopper.docker;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Snapshot of an open Docker circuit breaker: Docker calls fail fast until the background probe
+ * scheduled for {@code nextProbeAt} reaches the daemon again.
+ */
+public record DockerCircuitStatus(DockerDiagnostic cause, Instant openedAt, int failedProbes,
+        Instant nextProbeAt) {
+
+    public DockerCircuitStatus {
+        Objects.requireNonNull(cause, "cause");
+        Objects.requireNonNull(openedAt, "openedAt");
+        Objects.requireNonNull(nextProbeAt, "nextProbeAt");
+        if (failedProbes < 0) {
+            throw new IllegalArgumentException("failedProbes must not be negative");
+        }
+    }
+}
@@ -1,28 +1,115 @@
 package me.criseda.autostopper.docker;
 
+import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.telemetry.LifecycleTelemetry;
+import me.criseda.autostopper.telemetry.LifecycleTelemetryService;
+import me.criseda.autostopper.telemetry.TelemetryOperationType;
+import me.criseda.autostopper.telemetry.TelemetryOutcome;
+
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public final class DockerManager {
     private static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofSeconds(10);
+    /** Slack past a command's timeout for the runner to kill it and report; a blocked caller waits no longer. */
+    private static final Duration AWAIT_MARGIN = Duration.ofSeconds(5);
+    static final String RUNNING_TEMPLATE = "{{.State.Running}}";
+    static final String HEALTH_TEMPLATE =
+            "{{if .State.Running}}{{if .State.Health}}{{.State.Health.Status}}{{else}}none{{end}}{{else}}stopped{{end}}";
+    static final String VERSION_TEMPLATE = "{{.Server.Version}}";
+    static final String STATS_TEMPLATE = "{{.Name}}\t{{.MemUsage}}";
+    private static final Pattern BYTE_SIZE = Pattern.compile("([0-9]+(?:\\.[0-9]+)?)\\s*([A-Za-z]*)");
+    private static final Pattern NO_SUCH_CONTAINER = Pattern.compile("(?i)no such container:\\s*(\\S+)");
+    /** Output kept for host-wide listings; a listing cut at this size fails rather than look partial. */
+    static final int LISTING_OUTPUT_LIMIT = 1 << 20;
+    /** Each container keeps at most one checkpoint, replaced on every sleep. */
+    static final String CHECKPOINT_NAME = "autostopper";
     private final Logger logger;
     private final CommandRunner commandRunner;
     private final Duration commandTimeout;
+    private final DockerQueryCache queries;
+    private final DockerCircuitBreaker circuit;
+    private final LifecycleTelemetry telemetry;
+    private volatile Function<String, String> serverNames = Function.identity();
+
+    public DockerManager(Logger logger, CommandRunner commandRunner, AutoStopperExecutor executor) {
+        this(logger, commandRunner, executor, DEFAULT_COMMAND_TIMEOUT);
+    }
 
-    public DockerManager(Logger logger, CommandRunner commandRunner) {
-        this(logger, commandRunner, DEFAULT_COMMAND_TIMEOUT);
+    public DockerManager(Logger logger, CommandRunner commandRunner, AutoStopperExecutor executor,
+            Duration commandTimeout) {
+        this(logger, commandRunner, executor, commandTimeout, Duration.ZERO, new LifecycleTelemetryService(logger));
     }
 
-    public DockerManager(Logger logger, CommandRunner commandRunner, Duration commandTimeout) {
+    /**
+     * @param executor runs the background probes of the Docker circuit breaker
+     * @param queryReuseWindow how long a completed status or health query is reused; zero only
+     *        shares queries that are still in flight
+     */
+    public DockerManager(Logger logger, CommandRunner commandRunner, AutoStopperExecutor executor,
+            Duration queryReuseWindow, LifecycleTelemetry telemetry) {
+        this(logger, commandRunner, executor, DEFAULT_COMMAND_TIMEOUT, queryReuseWindow, telemetry);
+    }
+
+    public DockerManager(Logger logger, CommandRunner commandRunner, AutoStopperExecutor executor,
+            Duration commandTimeout, Duration queryReuseWindow, LifecycleTelemetry telemetry) {
+        this(logger, commandRunner, executor, commandTimeout, queryReuseWindow, telemetry,
+                DockerCircuitBreaker.Policy.DEFAULT);
+    }
+
+    DockerManager(Logger logger, CommandRunner commandRunner, AutoStopperExecutor executor, Duration commandTimeout,
+            Duration queryReuseWindow, LifecycleTelemetry telemetry, DockerCircuitBreaker.Policy circuitPolicy) {
         if (commandTimeout.isNegative() || commandTimeout.isZero()) {
             throw new IllegalArgumentException("commandTimeout must be positive");
         }
         this.logger = logger;
         this.commandRunner = commandRunner;
         this.commandTimeout = commandTimeout;
+        this.queries = new DockerQueryCache(queryReuseWindow, telemetry,
+                containerName -> serverNames.apply(containerName));
+        this.telemetry = telemetry;
+        this.circuit = new DockerCircuitBreaker(logger, this::probeDaemon, circuitPolicy, executor);
+    }
+
+    /**
+     * Names the server that owns a container, so per-query telemetry is recorded under the server
+     * name like every other lifecycle stage. Until configured, the container name is used.
+     */
+    public void configureServerNames(Function<String, String> containerToServer) {
+        serverNames = Objects.requireNonNull(containerToServer, "containerToServer");
+    }
+
+    /** Present while the Docker circuit breaker is open and calls fail fast. */
+    public Optional<DockerCircuitStatus> openCircuit() {
+        return circuit.openStatus();
     }
 
     public ContainerStatus getContainerStatus(String containerName) {
@@ -33,16 +120,62 @@ public final class DockerManager {
         return inspectContainer(containerName, timeout).status();
     }
 
+    /** Checks the container status without holding the caller's thread while Docker answers. */
+    public CompletableFuture<ContainerStatus> getContainerStatusAsync(String containerName) {
+        return inspectContainerAsync(containerName, commandTimeout).thenApply(ContainerInspection::status);
+    }
+
     public ContainerInspection inspectContainer(String containerName) {
         return inspectContainer(containerName, commandTimeout);
     }
 
     public ContainerInspection inspectContainer(String containerName, Duration timeout) {
+        return await(inspectContainerAsync(containerName, timeout), boundedCommandTimeout(timeout),
+                () -> statusTimedOut(containerName, timeout));
+    }
+
+    public CompletableFuture<ContainerInspection> inspectContainerAsync(String containerName) {
+        return inspectContainerAsync(containerName, commandTimeout);
+    }
+
+    /**
+     * Concurrent inspections of the same container share one {@code docker inspect} command. While
+     * the circuit breaker is open the inspection fails fast as {@link ContainerStatus#INACCESSIBLE}.
+     * The future completes on the runner's output thread, so blocking follow-up work must use an
+     * async stage.
+     */
+    public CompletableFuture<ContainerInspection> inspectContainerAsync(String containerName, Duration timeout) {
         requirePositive(timeout, "timeout");
+        Optional<DockerCircuitStatus> open = circuit.openStatus();
+        if (open.isPresent()) {
+            return CompletableFuture.completedFuture(DockerCircuitBreaker.rejection(open.get()));
+        }
+        return queries.queryAsync(DockerQueryCache.Query.STATUS, containerName, boundedCommandTimeout(timeout),
+                budget -> runInspect(containerName, budget).thenApply(inspection -> {
+                    if (inspection.status() != ContainerStatus.TIMED_OUT || !callerBounded(budget)) {
+                        circuit.record(inspection.diagnostic());
+                    }
+                    return inspection;
+                }),
+                inspection -> inspection.status() == ContainerStatus.TIMED_OUT,
+                () -> statusTimedOut(containerName, timeout));
+    }
+
+    private ContainerInspection statusTimedOut(String containerName, Duration timeout) {
+        logger.warn("Timed out after {}ms waiting for a shared status check of container {}",
+                boundedCommandTimeout(timeout).toMillis(), containerName);
+        return diagnostic(ContainerStatus.TIMED_OUT, DockerDiagnostic.TIMED_OUT,
+                "Docker status check timed out",
+                "Check Docker daemon responsiveness and host load, then retry.");
+    }
+
+    private CompletableFuture<ContainerInspection> runInspect(String containerName, Duration timeout) {
         Duration effectiveTimeout = boundedCommandTimeout(timeout);
-        CommandOutput output = commandRunner.run(List.of(
-                "docker", "inspect", "-f", "{{.State.Running}}", containerName), effectiveTimeout);
+        return execute(List.of("docker", "inspect", "-f", RUNNING_TEMPLATE, containerName), effectiveTimeout)
+                .thenApply(output -> inspection(containerName, effectiveTimeout, output));
+    }
 
+    private ContainerInspection inspection(String containerName, Duration effectiveTimeout, CommandOutput output) {
         switch (output.outcome()) {
             case TIMED_OUT:
                 logger.warn("Timed out after {}ms checking status for container {}: {}",
@@ -61,6 +194,12 @@ public final class DockerManager {
                 return diagnostic(ContainerStatus.FAILED, DockerDiagnostic.INDETERMINATE,
                         "Docker CLI could not be started",
                         "Verify the Docker executable and proxy process permissions, then retry.");
+            case TRANSPORT_FAILED:
+                logger.warn("Lost the Docker connection checking status for container {}: {}",
+                        containerName, output.stderr().trim());
+                return diagnostic(ContainerStatus.FAILED, DockerDiagnostic.INDETERMINATE,
+                        "Docker connection was lost during the status check",
+                        "Check the connection to the Docker daemon, then retry.");
             default:
                 break;
         }
@@ -108,28 +247,57 @@ public final class DockerManager {
                 "Run docker inspect for the configured container and review proxy logs.");
     }
 
+    /** Concurrent health checks of the same container share one {@code docker inspect} command. */
+    public ContainerHealth getContainerHealth(String containerName) {
+        return getContainerHealth(containerName, commandTimeout);
+    }
+
     public ContainerHealth getContainerHealth(String containerName, Duration timeout) {
+        return await(getContainerHealthAsync(containerName, timeout), boundedCommandTimeout(timeout),
+                () -> ContainerHealth.TIMED_OUT);
+    }
+
+    /** Checks container health without holding the caller's thread while Docker answers. */
+    public CompletableFuture<ContainerHealth> getContainerHealthAsync(String containerName, Duration timeout) {
         requirePositive(timeout, "timeout");
+        if (circuit.openStatus().isPresent()) {
+            return CompletableFuture.completedFuture(ContainerHealth.INACCESSIBLE);
+        }
+        return queries.queryAsync(DockerQueryCache.Query.HEALTH, containerName, boundedCommandTimeout(timeout),
+                budget -> runHealthInspect(containerName, budget),
+                health -> health == ContainerHealth.TIMED_OUT,
+                () -> ContainerHealth.TIMED_OUT);
+    }
+
+    private CompletableFuture<ContainerHealth> runHealthInspect(String containerName, Duration timeout) {
         Duration effectiveTimeout = boundedCommandTimeout(timeout);
-        CommandOutput output = commandRunner.run(List.of(
-                "docker", "inspect", "-f",
-                "{{if .State.Running}}{{if .State.Health}}{{.State.Health.Status}}{{else}}none{{end}}{{else}}stopped{{end}}",
-                containerName), effectiveTimeout);
+        return execute(List.of("docker", "inspect", "-f", HEALTH_TEMPLATE, containerName), effectiveTimeout)
+                .thenApply(output -> health(containerName, effectiveTimeout, output));
+    }
 
+    private ContainerHealth health(String containerName, Duration effectiveTimeout, CommandOutput output) {
         switch (output.outcome()) {
             case TIMED_OUT:
                 logger.warn("Timed out after {}ms checking health for container {}: {}",
                         effectiveTimeout.toMillis(), containerName, output.stderr().trim());
+                if (!callerBounded(effectiveTimeout)) {
+                    circuit.recordFailure(DockerDiagnostic.TIMED_OUT);
+                }
                 return ContainerHealth.TIMED_OUT;
             case SPAWN_FAILED:
                 logger.error("Could not execute docker health inspect for container {}: {}",
                         containerName, output.stderr());
                 return ContainerHealth.FAILED;
+            case TRANSPORT_FAILED:
+                logger.warn("Lost the Docker connection checking health for container {}: {}",
+                        containerName, output.stderr().trim());
+                return ContainerHealth.FAILED;
             default:
                 break;
         }
 
         if (output.exitCode() == 0) {
+            circuit.recordSuccess();
             return switch (output.stdout().trim().toLowerCase(Locale.ROOT)) {
                 case "healthy" -> ContainerHealth.HEALTHY;
                 case "starting" -> ContainerHealth.STARTING;
@@ -145,19 +313,48 @@ public final class DockerManager {
         }
 
         String stderr = output.stderr().trim().toLowerCase(Locale.ROOT);
+        DockerDiagnostic inaccessible = inaccessibleDiagnostic(stderr);
+        if (inaccessible != null) {
+            circuit.recordFailure(inaccessible);
+            return ContainerHealth.INACCESSIBLE;
+        }
+        circuit.recordSuccess();
         if (stderr.contains("no such object") || stderr.contains("no such container")) {
             return ContainerHealth.MISSING;
         }
-        if (isInaccessibleError(stderr)) {
-            return ContainerHealth.INACCESSIBLE;
-        }
         logger.warn("Could not inspect health for container {}: {} (Exit Code: {})",
                 containerName, output.stderr().trim(), output.exitCode());
         return ContainerHealth.FAILED;
     }
 
+    public Optional<StreamingCommand> followContainerLogs(String containerName, Instant since,
+            Consumer<String> lineConsumer) {
+        if (circuit.openStatus().isPresent()) {
+            return Optional.empty();
+        }
+        String sinceTimestamp = since.getEpochSecond() + "." + String.format(Locale.ROOT, "%09d", since.getNano());
+        try {
+            return Optional.of(commandRunner.stream(List.of(
+                    "docker", "logs", "--follow", "--since", sinceTimestamp, containerName), lineConsumer));
+        } catch (IOException e) {
+            logger.warn("Could not follow logs for container {}: {}", containerName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     public ContainerStatus startContainer(String containerName) {
-        ContainerStatus status = getContainerStatus(containerName);
+        return startContainer(containerName, commandTimeout);
+    }
+
+    /**
+     * Starts the container with both the status check and {@code docker start} bounded by the given
+     * timeout as well as the configured command timeout.
+     */
+    public ContainerStatus startContainer(String containerName, Duration timeout) {
+        requirePositive(timeout, "timeout");
+        Duration effectiveTimeout = boundedCommandTimeout(timeout);
+        queries.invalidate(containerName);
+        ContainerStatus status = getContainerStatus(containerName, effectiveTimeout);
 
         switch (status) {
             case RUNNING:
@@ -180,28 +377,39 @@ public final class DockerManager {
         }
 
         logger.info("Starting container: {}", containerName);
-        CommandOutput output = commandRunner.run(List.of("docker", "start", containerName), commandTimeout);
+        CommandOutput output;
+        try {
+            output = run(List.of("docker", "start", containerName), effectiveTimeout);
+        } finally {
+            queries.invalidate(containerName);
+        }
 
         switch (output.outcome()) {
             case TIMED_OUT:
                 logger.error("Timed out after {}ms starting container {}: {}",
-                        commandTimeout.toMillis(), containerName, output.stderr().trim());
+                        effectiveTimeout.toMillis(), containerName, output.stderr().trim());
                 return ContainerStatus.TIMED_OUT;
             case SPAWN_FAILED:
                 logger.error("Could not execute docker start for container {}: {}",
                         containerName, output.stderr());
                 return ContainerStatus.FAILED;
+            case TRANSPORT_FAILED:
+                logger.error("Lost the Docker connection starting container {}; it may have started: {}",
+                        containerName, output.stderr().trim());
+                return ContainerStatus.FAILED;
             default:
                 break;
         }
 
         if (output.exitCode() == 0) {
+            circuit.recordSuccess();
             logger.info("Started container: {}", containerName);
             return ContainerStatus.RUNNING;
         }
 
-        String stderr = output.stderr().trim().toLowerCase(Locale.ROOT);
-        if (isInaccessibleError(stderr)) {
+        DockerDiagnostic inaccessible = inaccessibleDiagnostic(output.stderr().trim().toLowerCase(Locale.ROOT));
+        if (inaccessible != null) {
+            circuit.recordFailure(inaccessible);
             logger.error("Permission denied starting container {}: {}", containerName, output.stderr().trim());
             return ContainerStatus.INACCESSIBLE;
         }
@@ -211,7 +419,17 @@ public final class DockerManager {
     }
 
     public ContainerStatus stopContainer(String containerName) {
-        CommandOutput output = commandRunner.run(List.of("docker", "stop", containerName), commandTimeout);
+        if (circuit.openStatus().isPresent()) {
+            logger.error("Cannot stop container {}: Docker daemon is inaccessible.", containerName);
+            return ContainerStatus.INACCESSIBLE;
+        }
+        queries.invalidate(containerName);
+        CommandOutput output;
+        try {
+            output = run(List.of("docker", "stop", containerName), commandTimeout);
+        } finally {
+            queries.invalidate(containerName);
+        }
 
         switch (output.outcome()) {
             case TIMED_OUT:
@@ -222,17 +440,23 @@ public final class DockerManager {
                 logger.error("Could not execute docker stop for container {}: {}",
                         containerName, output.stderr());
                 return ContainerStatus.FAILED;
+            case TRANSPORT_FAILED:
+                logger.error("Lost the Docker connection stopping container {}; it may have stopped: {}",
+                        containerName, output.stderr().trim());
+                return ContainerStatus.FAILED;
             default:
                 break;
         }
 
         if (output.exitCode() == 0) {
+            circuit.recordSuccess();
             logger.info("Stopped container: {}", containerName);
             return ContainerStatus.STOPPED;
         }
 
-        String stderr = output.stderr().trim().toLowerCase(Locale.ROOT);
-        if (isInaccessibleError(stderr)) {
+        DockerDiagnostic inaccessible = inaccessibleDiagnostic(output.stderr().trim().toLowerCase(Locale.ROOT));
+        if (inaccessible != null) {
+            circuit.recordFailure(inaccessible);
             logger.error("Permission denied stopping container {}: {}", containerName, output.stderr().trim());
             return ContainerStatus.INACCESSIBLE;
         }
@@ -241,8 +465,393 @@ public final class DockerManager {
         return ContainerStatus.FAILED;
     }
 
-    private boolean isInaccessibleError(String stderr) {
-        return isPermissionDeniedError(stderr) || isDaemonUnavailableError(stderr);
+    /**
+     * Checkpoints the running container with CRIU, which also stops it. Any earlier checkpoint is
+     * replaced. With a checkpoint directory, each container gets its own subdirectory and the
+     * checkpoint size is recorded.
+     */
+    public ContainerStatus checkpointContainer(String containerName, Optional<String> checkpointDirectory,
+            Duration timeout) {
+        requirePositive(timeout, "timeout");
+        if (circuit.openStatus().isPresent()) {
+            logger.error("Cannot checkpoint container {}: Docker daemon is inaccessible.", containerName);
+            return ContainerStatus.INACCESSIBLE;
+        }
+        Optional<Path> directory = checkpointDirectory.map(root -> Path.of(root, containerName));
+        long startNanos = telemetry.currentNanos();
+        queries.invalidate(containerName);
+        CommandOutput output;
+        try {
+            run(checkpointCommand("rm", containerName, directory), timeout);
+            output = run(checkpointCommand("create", containerName, directory), timeout);
+        } finally {
+            queries.invalidate(containerName);
+        }
+        ContainerStatus result = actionResult("checkpoint", containerName, output, timeout, ContainerStatus.STOPPED);
+        telemetry.recordStage(TelemetryOperationType.CHECKPOINT_CREATE, containerName,
+                result == ContainerStatus.STOPPED ? TelemetryOutcome.CHECKPOINTED : TelemetryOutcome.CHECKPOINT_FAILED,
+                telemetry.elapsedSince(startNanos));
+        if (result == ContainerStatus.STOPPED) {
+            directory.ifPresent(root -> recordCheckpointSize(containerName, root.resolve(CHECKPOINT_NAME)));
+        }
+        return result;
+    }
+
+    /** Starts the container from its checkpoint; callers fall back to {@link #startContainer} on failure. */
+    public ContainerStatus restoreContainer(String containerName, Optional<String> checkpointDirectory,
+            Duration timeout) {
+        requirePositive(timeout, "timeout");
+        if (circuit.openStatus().isPresent()) {
+            return ContainerStatus.INACCESSIBLE;
+        }
+        List<String> command = new ArrayList<>(List.of("docker", "start", "--checkpoint", CHECKPOINT_NAME));
+        checkpointDirectory.ifPresent(root -> {
+            command.add("--checkpoint-dir");
+            command.add(Path.of(root, containerName).toString());
+        });
+        command.add(containerName);
+        long startNanos = telemetry.currentNanos();
+        queries.invalidate(containerName);
+        CommandOutput output;
+        try {
+            output = run(command, timeout);
+        } finally {
+            queries.invalidate(containerName);
+        }
+        ContainerStatus result = actionResult("restore", containerName, output, timeout, ContainerStatus.RUNNING);
+        telemetry.recordStage(TelemetryOperationType.CHECKPOINT_RESTORE, containerName,
+                result == ContainerStatus.RUNNING ? TelemetryOutcome.RESTORED : TelemetryOutcome.RESTORE_FAILED,
+                telemetry.elapsedSince(startNanos));
+        return result;
+    }
+
+    private List<String> checkpointCommand(String action, String containerName, Optional<Path> directory) {
+        List<String> command = new ArrayList<>(List.of("docker", "checkpoint", action));
+        directory.ifPresent(root -> {
+            command.add("--checkpoint-dir");
+            command.add(root.toString());
+        });
+        command.add(containerName);
+        command.add(CHECKPOINT_NAME);
+        return command;
+    }
+
+    private ContainerStatus actionResult(String action, String containerName, CommandOutput output,
+            Duration timeout, ContainerStatus success) {
+        switch (output.outcome()) {
+            case TIMED_OUT:
+                logger.error("Timed out after {}ms trying to {} container {}: {}",
+                        timeout.toMillis(), action, containerName, output.stderr().trim());
+                return ContainerStatus.TIMED_OUT;
+            case SPAWN_FAILED:
+                logger.error("Could not execute docker {} for container {}: {}", action, containerName, output.stderr());
+                return ContainerStatus.FAILED;
+            case TRANSPORT_FAILED:
+                logger.error("Lost the Docker connection trying to {} container {}: {}",
+                        action, containerName, output.stderr().trim());
+                return ContainerStatus.FAILED;
+            default:
+                break;
+        }
+        if (output.exitCode() == 0) {
+            circuit.recordSuccess();
+            return success;
+        }
+        String stderr = output.stderr().trim().toLowerCase(Locale.ROOT);
+        DockerDiagnostic inaccessible = inaccessibleDiagnostic(stderr);
+        if (inaccessible != null) {
+            circuit.recordFailure(inaccessible);
+            logger.error("Docker refused to {} container {}: {}", action, containerName, output.stderr().trim());
+            return ContainerStatus.INACCESSIBLE;
+        }
+        if (stderr.contains("no such container")) {
+            return ContainerStatus.MISSING;
+        }
+        logger.warn("Could not {} container {}: {} (Exit Code: {})",
+                action, containerName, output.stderr().trim(), output.exitCode());
+        return ContainerStatus.FAILED;
+    }
+
+    private void recordCheckpointSize(String containerName, Path checkpoint) {
+        try (Stream<Path> files = Files.walk(checkpoint)) {
+            long bytes = files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0L;
+                }
+            }).sum();
+            telemetry.recordCheckpointSize(containerName, bytes);
+        } catch (IOException | UncheckedIOException e) {
+            logger.debug("Could not measure checkpoint of container {}: {}", containerName, e.getMessage());
+        }
+    }
+
+    /**
+     * Memory currently used by each of the named containers, keyed by container name, from one
+     * {@code docker stats --no-stream} call. Docker fails the whole call for a container that does
+     * not exist, so such containers are dropped and the rest sampled again once. Empty when Docker
+     * cannot be queried or the output was cut short.
+     */
+    public Map<String, Long> containerMemoryUsage(Collection<String> containerNames) {
+        List<String> names = List.copyOf(new LinkedHashSet<>(containerNames));
+        if (names.isEmpty() || circuit.openStatus().isPresent()) {
+            return Map.of();
+        }
+        CommandOutput output = runStats(names);
+        if (output.outcome() == CommandOutput.Outcome.COMPLETED && output.exitCode() != 0) {
+            List<String> present = new ArrayList<>(names);
+            present.removeAll(missingContainers(output.stderr()));
+            if (!present.isEmpty() && present.size() < names.size()) {
+                output = runStats(present);
+            }
+        }
+        switch (output.outcome()) {
+            case TIMED_OUT:
+                logger.warn("Timed out after {}ms reading container memory usage: {}",
+                        commandTimeout.toMillis(), output.stderr().trim());
+                circuit.recordFailure(DockerDiagnostic.TIMED_OUT);
+                return Map.of();
+            case SPAWN_FAILED:
+                logger.error("Could not execute docker stats: {}", output.stderr());
+                return Map.of();
+            case TRANSPORT_FAILED:
+                logger.warn("Lost the Docker connection reading container memory usage: {}", output.stderr().trim());
+                return Map.of();
+            default:
+                break;
+        }
+
+        if (output.exitCode() != 0) {
+            DockerDiagnostic inaccessible = inaccessibleDiagnostic(output.stderr().trim().toLowerCase(Locale.ROOT));
+            if (inaccessible != null) {
+                circuit.recordFailure(inaccessible);
+            } else {
+                circuit.recordSuccess();
+                logger.warn("Could not read container memory usage: {} (Exit Code: {})",
+                        output.stderr().trim(), output.exitCode());
+            }
+            return Map.of();
+        }
+        circuit.recordSuccess();
+        if (output.truncated()) {
+            logger.warn("Container memory usage exceeded {} bytes and was ignored", LISTING_OUTPUT_LIMIT);
+            return Map.of();
+        }
+        return parseMemoryUsage(output.stdout());
+    }
+
+    private CommandOutput runStats(List<String> containerNames) {
+        List<String> command = new ArrayList<>(List.of(
+                "docker", "stats", "--no-stream", "--format", STATS_TEMPLATE));
+        command.addAll(containerNames);
+        return run(command, commandTimeout, LISTING_OUTPUT_LIMIT);
+    }
+
+    /** Names from {@code No such container: <name>} errors, which Docker reports one per line. */
+    static List<String> missingContainers(String stderr) {
+        List<String> missing = new ArrayList<>();
+        Matcher matcher = NO_SUCH_CONTAINER.matcher(stderr);
+        while (matcher.find()) {
+            missing.add(matcher.group(1));
+        }
+        return missing;
+    }
+
+    /** Parses {@link #STATS_TEMPLATE} lines such as {@code survival\t1.5GiB / 7.7GiB}; bad lines are skipped. */
+    static Map<String, Long> parseMemoryUsage(String stdout) {
+        Map<String, Long> usage = new HashMap<>();
+        for (String line : stdout.split("\\R")) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) {
+                continue;
+            }
+            String memUsage = line.substring(tab + 1);
+            int slash = memUsage.indexOf('/');
+            OptionalLong bytes = parseByteSize(slash < 0 ? memUsage : memUsage.substring(0, slash));
+            if (bytes.isPresent()) {
+                usage.put(line.substring(0, tab).trim(), bytes.getAsLong());
+            }
+        }
+        return Map.copyOf(usage);
+    }
+
+    /** Parses Docker's human-readable sizes, both binary ({@code MiB}) and decimal ({@code MB}). */
+    static OptionalLong parseByteSize(String text) {
+        Matcher matcher = BYTE_SIZE.matcher(text.trim());
+        if (!matcher.matches()) {
+            return OptionalLong.empty();
+        }
+        long unit = switch (matcher.group(2).toLowerCase(Locale.ROOT)) {
+            case "", "b" -> 1L;
+            case "kib" -> 1L << 10;
+            case "mib" -> 1L << 20;
+            case "gib" -> 1L << 30;
+            case "tib" -> 1L << 40;
+            case "kb" -> 1_000L;
+            case "mb" -> 1_000_000L;
+            case "gb" -> 1_000_000_000L;
+            case "tb" -> 1_000_000_000_000L;
+            default -> 0L;
+        };
+        if (unit == 0L) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of((long) (Double.parseDouble(matcher.group(1)) * unit));
+    }
+
+    /**
+     * Lists every container, running or not, that carries {@code selectorLabel}, with the values of
+     * {@code labelKeys} read in the same {@code docker ps} call. Labels a container does not set are
+     * left out of its map. Empty when Docker cannot be queried or the listing was cut short, so
+     * callers keep what they last saw instead of dropping containers missing from a partial list.
+     */
+    public Optional<Map<String, Map<String, String>>> listLabeledContainers(String selectorLabel,
+            List<String> labelKeys) {
+        if (circuit.openStatus().isPresent()) {
+            return Optional.empty();
+        }
+        StringBuilder template = new StringBuilder("{{.Names}}");
+        for (String key : labelKeys) {
+            template.append("\t{{.Label \"").append(key).append("\"}}");
+        }
+        CommandOutput output = run(List.of("docker", "ps", "--all", "--no-trunc",
+                "--filter", "label=" + selectorLabel, "--format", template.toString()), commandTimeout,
+                LISTING_OUTPUT_LIMIT);
+        switch (output.outcome()) {
+            case TIMED_OUT:
+                logger.warn("Timed out after {}ms listing labeled containers: {}",
+                        commandTimeout.toMillis(), output.stderr().trim());
+                circuit.recordFailure(DockerDiagnostic.TIMED_OUT);
+                return Optional.empty();
+            case SPAWN_FAILED:
+                logger.error("Could not execute docker ps: {}", output.stderr());
+                return Optional.empty();
+            case TRANSPORT_FAILED:
+                logger.warn("Lost the Docker connection listing labeled containers: {}", output.stderr().trim());
+                return Optional.empty();
+            default:
+                break;
+        }
+
+        if (output.exitCode() != 0) {
+            DockerDiagnostic inaccessible = inaccessibleDiagnostic(output.stderr().trim().toLowerCase(Locale.ROOT));
+            if (inaccessible != null) {
+                circuit.recordFailure(inaccessible);
+            } else {
+                circuit.recordSuccess();
+                logger.warn("Could not list labeled containers: {} (Exit Code: {})",
+                        output.stderr().trim(), output.exitCode());
+            }
+            return Optional.empty();
+        }
+        circuit.recordSuccess();
+        if (output.truncated()) {
+            logger.warn("Labeled container listing exceeded {} bytes and was ignored", LISTING_OUTPUT_LIMIT);
+            return Optional.empty();
+        }
+        return Optional.of(parseLabeledContainers(output.stdout(), labelKeys));
+    }
+
+    /** Parses tab-separated {@code name\tvalue...} lines in {@code labelKeys} order; blank values are omitted. */
+    static Map<String, Map<String, String>> parseLabeledContainers(String stdout, List<String> labelKeys) {
+        Map<String, Map<String, String>> containers = new LinkedHashMap<>();
+        for (String line : stdout.split("\\R")) {
+            String[] fields = line.split("\t", -1);
+            // Legacy links can give a container several comma-separated names; the first is its own.
+            String name = fields[0].split(",", 2)[0].trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            Map<String, String> labels = new LinkedHashMap<>();
+            for (int index = 0; index < labelKeys.size() && index + 1 < fields.length; index++) {
+                String value = fields[index + 1];
+                if (!value.isBlank()) {
+                    labels.put(labelKeys.get(index), value);
+                }
+            }
+            containers.put(name, Map.copyOf(labels));
+        }
+        return Map.copyOf(containers);
+    }
+
+    /** Checks daemon reachability for the circuit breaker's background recovery probe. */
+    private DockerDiagnostic probeDaemon() {
+        CommandOutput output = run(List.of(
+                "docker", "version", "--format", VERSION_TEMPLATE), commandTimeout);
+        return switch (output.outcome()) {
+            case TIMED_OUT -> DockerDiagnostic.TIMED_OUT;
+            case SPAWN_FAILED -> DockerDiagnostic.CLI_MISSING;
+            case TRANSPORT_FAILED -> DockerDiagnostic.INDETERMINATE;
+            default -> {
+                if (output.exitCode() == 0) {
+                    yield DockerDiagnostic.HEALTHY;
+                }
+                DockerDiagnostic inaccessible = inaccessibleDiagnostic(output.stderr().trim().toLowerCase(Locale.ROOT));
+                yield inaccessible == null ? DockerDiagnostic.INDETERMINATE : inaccessible;
+            }
+        };
+    }
+
+    /**
+     * Issues the command through the runner's async path. A runner that failed to collect the output
+     * leaves the command's effect unknown, like a broken connection does.
+     */
+    private CompletableFuture<CommandOutput> execute(List<String> command, Duration timeout) {
+        return lostAsTransportFailure(commandRunner.runAsync(command, timeout));
+    }
+
+    private static CompletableFuture<CommandOutput> lostAsTransportFailure(CompletableFuture<CommandOutput> output) {
+        return output.exceptionally(failure -> new CommandOutput(
+                CommandOutput.Outcome.TRANSPORT_FAILED, -1, "", "Command output was lost: " + rootCause(failure)));
+    }
+
+    /** Runs the command for a caller that needs its result before going on, such as a lane step. */
+    private CommandOutput run(List<String> command, Duration timeout) {
+        return await(execute(command, timeout), timeout, DockerManager::notReported);
+    }
+
+    private CommandOutput run(List<String> command, Duration timeout, int maxOutputBytes) {
+        return await(lostAsTransportFailure(commandRunner.runAsync(command, timeout, maxOutputBytes)), timeout,
+                DockerManager::notReported);
+    }
+
+    private static CommandOutput notReported() {
+        return new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", "Docker command did not report in time");
+    }
+
+    /**
+     * Blocks a synchronous caller on an async call. Runners bound every command by its timeout, so the
+     * margin only guards against a runner that never reports; the caller then gets {@code timedOut}.
+     */
+    private static <T> T await(CompletableFuture<T> pending, Duration timeout, Supplier<T> timedOut) {
+        try {
+            return pending.get(timeout.plus(AWAIT_MARGIN).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return timedOut.get();
+        } catch (TimeoutException e) {
+            return timedOut.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Docker call failed", e.getCause());
+        }
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private DockerDiagnostic inaccessibleDiagnostic(String stderr) {
+        if (isPermissionDeniedError(stderr)) {
+            return DockerDiagnostic.PERMISSION_DENIED;
+        }
+        return isDaemonUnavailableError(stderr) ? DockerDiagnostic.DAEMON_UNAVAILABLE : null;
     }
 
     private boolean isPermissionDeniedError(String stderr) {
@@ -276,6 +885,14 @@ public final class DockerManager {
         }
     }
 
+    /**
+     * Whether the caller cut the command short of the configured command timeout. Such a timeout says
+     * the caller ran out of budget, not that the daemon is unresponsive, so it never trips the breaker.
+     */
+    private boolean callerBounded(Duration timeout) {
+        return timeout.compareTo(commandTimeout) < 0;
+    }
+
     private Duration boundedCommandTimeout(Duration requested) {
         return requested.compareTo(commandTimeout) < 0 ? requested : commandTimeout;
     }
@@ -0,0 +1,208 @@
+package me.criseda.autostopper.docker;
+
+import me.criseda.autostopper.telemetry.LifecycleTelemetry;
+import me.criseda.autostopper.telemetry.TelemetryOperationType;
+import me.criseda.autostopper.telemetry.TelemetryOutcome;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer for read-only Docker queries.
+ *
+ * <p>Concurrent identical queries for a container share the one command already in flight. A
+ * completed result is reused for the optional reuse window; with a zero window only in-flight
+ * queries are shared. Invalidating a container detaches its entries, so queries issued after a
+ * start or stop never see a result from before it. Every query is recorded as a
+ * {@link TelemetryOperationType#DOCKER_QUERY} stage that either ran or shared a command.
+ *
+ * <p>A bounded query never waits on a shared command longer than its own timeout, and a timed-out
+ * result is neither reused nor handed to a caller whose budget was longer than the one it ran with;
+ * such a caller runs the query again with what remains of its budget.
+ */
+final class DockerQueryCache {
+    enum Query {
+        STATUS,
+        HEALTH
+    }
+
+    private static final Object WAIT_TIMED_OUT = new Object();
+    private static final long AWAIT_MARGIN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Duration reuseWindow;
+    private final LifecycleTelemetry telemetry;
+    private final Function<String, String> serverNames;
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    DockerQueryCache(Duration reuseWindow, LifecycleTelemetry telemetry) {
+        this(reuseWindow, telemetry, Function.identity());
+    }
+
+    /** @param serverNames names the server a container belongs to, for the telemetry of its queries */
+    DockerQueryCache(Duration reuseWindow, LifecycleTelemetry telemetry, Function<String, String> serverNames) {
+        if (reuseWindow.isNegative()) {
+            throw new IllegalArgumentException("reuseWindow must not be negative");
+        }
+        this.reuseWindow = reuseWindow;
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry");
+        this.serverNames = Objects.requireNonNull(serverNames, "serverNames");
+    }
+
+    <T> T query(Query query, String containerName, Supplier<T> command) {
+        return query(query, containerName, Long.MAX_VALUE, ignored -> command.get(), result -> false, null);
+    }
+
+    /**
+     * Runs or joins the query within {@code timeout}. The command receives the timeout it must run
+     * with; {@code timedOut} recognises a result that ran out of time, and {@code waitTimedOut}
+     * supplies the result for a caller whose wait on a shared command ran out first.
+     */
+    <T> T query(Query query, String containerName, Duration timeout, Function<Duration, T> command,
+            Predicate<? super T> timedOut, Supplier<T> waitTimedOut) {
+        return query(query, containerName, timeout.toNanos(), command, timedOut, waitTimedOut);
+    }
+
+    /**
+     * Like {@link #query(Query, String, Duration, Function, Predicate, Supplier)} for a command that
+     * completes asynchronously, so neither the caller nor a joiner holds a thread while it runs.
+     * Stages that depend on the result run on whichever thread completes the command.
+     */
+    <T> CompletableFuture<T> queryAsync(Query query, String containerName, Duration timeout,
+            Function<Duration, CompletableFuture<T>> command, Predicate<? super T> timedOut, Supplier<T> waitTimedOut) {
+        return queryAsync(query, containerName, timeout.toNanos(), command, timedOut, waitTimedOut);
+    }
+
+    private <T> T query(Query query, String containerName, long timeoutNanos, Function<Duration, T> command,
+            Predicate<? super T> timedOut, Supplier<T> waitTimedOut) {
+        CompletableFuture<T> result = queryAsync(query, containerName, timeoutNanos,
+                budget -> CompletableFuture.completedFuture(command.apply(budget)), timedOut, waitTimedOut);
+        return await(result, timeoutNanos, waitTimedOut);
+    }
+
+    private <T> CompletableFuture<T> queryAsync(Query query, String containerName, long timeoutNanos,
+            Function<Duration, CompletableFuture<T>> command, Predicate<? super T> timedOut, Supplier<T> waitTimedOut) {
+        long startNanos = telemetry.currentNanos();
+        Key key = new Key(query, containerName);
+        Entry created = new Entry(timeoutNanos);
+        Entry entry = entries.compute(key, (ignored, current) ->
+                current != null && current.reusableAt(startNanos) ? current : created);
+        if (entry != created) {
+            return join(entry, timeoutNanos).thenCompose(awaited -> {
+                T shared;
+                if (awaited == WAIT_TIMED_OUT) {
+                    shared = waitTimedOut.get();
+                } else {
+                    @SuppressWarnings("unchecked")
+                    T completed = (T) awaited;
+                    if (timedOut.test(completed) && entry.timeoutNanos < timeoutNanos) {
+                        long remaining = timeoutNanos - telemetry.elapsedSince(startNanos).toNanos();
+                        if (remaining > 0) {
+                            return queryAsync(query, containerName, remaining, command, timedOut, waitTimedOut);
+                        }
+                    }
+                    shared = completed;
+                }
+                telemetry.recordStage(TelemetryOperationType.DOCKER_QUERY, serverNames.apply(containerName),
+                        TelemetryOutcome.QUERY_SHARED, telemetry.elapsedSince(startNanos));
+                return CompletableFuture.completedFuture(shared);
+            });
+        }
+        CompletableFuture<T> running;
+        try {
+            running = command.apply(Duration.ofNanos(timeoutNanos));
+        } catch (RuntimeException | Error error) {
+            running = CompletableFuture.failedFuture(error);
+        }
+        return running.whenComplete((result, error) -> {
+            if (error != null) {
+                entries.remove(key, created);
+                created.result.completeExceptionally(error);
+                return;
+            }
+            created.completedAtNanos = telemetry.currentNanos();
+            // Detach first: joiners that run again from the completion must not find this entry.
+            if (reuseWindow.isZero() || timedOut.test(result)) {
+                entries.remove(key, created);
+            }
+            created.result.complete(result);
+            telemetry.recordStage(TelemetryOperationType.DOCKER_QUERY, serverNames.apply(containerName),
+                    TelemetryOutcome.QUERY_EXECUTED, telemetry.elapsedSince(startNanos));
+        });
+    }
+
+    /** Forgets every cached or in-flight query for the container. */
+    void invalidate(String containerName) {
+        for (Query query : Query.values()) {
+            entries.remove(new Key(query, containerName));
+        }
+    }
+
+    /**
+     * The shared command's result, or {@link #WAIT_TIMED_OUT} once the caller's own timeout runs out.
+     * The wait reads a copy of the shared future, so one caller running out of time never fails the
+     * others.
+     */
+    private static CompletableFuture<Object> join(Entry entry, long timeoutNanos) {
+        CompletableFuture<Object> awaited = entry.result.copy();
+        return timeoutNanos == Long.MAX_VALUE
+                ? awaited
+                : awaited.completeOnTimeout(WAIT_TIMED_OUT, timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Blocks a synchronous caller on the query. The query bounds itself, so the margin past the
+     * caller's timeout only covers a retried query that ran with the remaining budget.
+     */
+    private static <T> T await(CompletableFuture<T> result, long timeoutNanos, Supplier<T> waitTimedOut) {
+        try {
+            if (timeoutNanos == Long.MAX_VALUE) {
+                return result.join();
+            }
+            long waitNanos = timeoutNanos > Long.MAX_VALUE - AWAIT_MARGIN_NANOS
+                    ? Long.MAX_VALUE
+                    : timeoutNanos + AWAIT_MARGIN_NANOS;
+            return result.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            return waitTimedOut.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return waitTimedOut.get();
+        }
+    }
+
+    private record Key(Query query, String containerName) {
+    }
+
+    private final class Entry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        /** The timeout the command runs with; a timed-out result only answers callers with no more. */
+        private final long timeoutNanos;
+        private volatile long completedAtNanos;
+
+        private Entry(long timeoutNanos) {
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        private boolean reusableAt(long nowNanos) {
+            return !result.isDone() || nowNanos - completedAtNanos < reuseWindow.toNanos();
+        }
+    }
+}
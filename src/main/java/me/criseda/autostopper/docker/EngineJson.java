@@ -0,0 +1,222 @@
+package me.criseda.autostopper.docker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for Engine API responses. Objects become maps, arrays lists, numbers
+ * {@link Long} or {@link Double}, and {@code null} a null value. Nesting is bounded so a hostile
+ * response cannot exhaust the reader thread's stack.
+ */
+final class EngineJson {
+    private static final int MAX_DEPTH = 64;
+
+    private final String text;
+    private int position;
+
+    private EngineJson(String text) {
+        this.text = text;
+    }
+
+    /** Parses one JSON document; anything other than an object yields an empty map. */
+    static Map<?, ?> parseObject(String json) {
+        Object parsed = parse(json);
+        return parsed instanceof Map<?, ?> map ? map : Map.of();
+    }
+
+    static Object parse(String json) {
+        EngineJson reader = new EngineJson(json);
+        reader.skipWhitespace();
+        Object value = reader.readValue(0);
+        reader.skipWhitespace();
+        if (reader.position != json.length()) {
+            throw reader.error("unexpected trailing content");
+        }
+        return value;
+    }
+
+    private Object readValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("nesting is too deep");
+        }
+        if (position >= text.length()) {
+            throw error("unexpected end of input");
+        }
+        char next = text.charAt(position);
+        return switch (next) {
+            case '{' -> readObject(depth);
+            case '[' -> readArray(depth);
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> {
+                if (next == '-' || (next >= '0' && next <= '9')) {
+                    yield readNumber();
+                }
+                throw error("unexpected character '" + next + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> readObject(int depth) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+        if (consume('}')) {
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw error("expected an object key");
+            }
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            object.put(key, readValue(depth + 1));
+            skipWhitespace();
+            if (consume('}')) {
+                return object;
+            }
+            expect(',');
+        }
+    }
+
+    private List<Object> readArray(int depth) {
+        List<Object> array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if (consume(']')) {
+            return array;
+        }
+        while (true) {
+            skipWhitespace();
+            array.add(readValue(depth + 1));
+            skipWhitespace();
+            if (consume(']')) {
+                return array;
+            }
+            expect(',');
+        }
+    }
+
+    private String readString() {
+        position++;
+        StringBuilder value = new StringBuilder();
+        while (position < text.length()) {
+            char next = text.charAt(position++);
+            if (next == '"') {
+                return value.toString();
+            }
+            if (next < 0x20) {
+                throw error("unescaped control character in string");
+            }
+            if (next != '\\') {
+                value.append(next);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case '"', '\\', '/' -> value.append(escaped);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> value.append(readUnicodeEscape());
+                default -> throw error("invalid escape '\\" + escaped + "'");
+            }
+        }
+        throw error("unterminated string");
+    }
+
+    private char readUnicodeEscape() {
+        if (position + 4 > text.length()) {
+            throw error("truncated unicode escape");
+        }
+        try {
+            char decoded = (char) Integer.parseInt(text.substring(position, position + 4), 16);
+            position += 4;
+            return decoded;
+        } catch (NumberFormatException e) {
+            throw error("invalid unicode escape");
+        }
+    }
+
+    private Object readNumber() {
+        int start = position;
+        boolean integral = true;
+        while (position < text.length()) {
+            char next = text.charAt(position);
+            if (next == '.' || next == 'e' || next == 'E') {
+                integral = false;
+            } else if (next != '-' && next != '+' && (next < '0' || next > '9')) {
+                break;
+            }
+            position++;
+        }
+        String number = text.substring(start, position);
+        try {
+            if (integral) {
+                try {
+                    return Long.parseLong(number);
+                } catch (NumberFormatException tooLarge) {
+                    return Double.parseDouble(number);
+                }
+            }
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw error("invalid number '" + number + "'");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, position)) {
+            throw error("invalid literal");
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length()) {
+            char next = text.charAt(position);
+            if (next != ' ' && next != '\t' && next != '\n' && next != '\r') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private boolean consume(char expected) {
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private MalformedJsonException error(String detail) {
+        return new MalformedJsonException(detail + " at offset " + position);
+    }
+
+    /** The response body is not well-formed JSON. */
+    static final class MalformedJsonException extends IllegalArgumentException {
+        MalformedJsonException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package me.criseda.autostopper.docker;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 public final class ProcessCommandRunner implements CommandRunner {
     private static final int MAX_OUTPUT_LENGTH = 4096;
     private static final Duration KILL_GRACE_PERIOD = Duration.ofSeconds(2);
+    /** Slack past the timeout and kill grace period for the reader to collect a killed command's output. */
+    private static final Duration COLLECTION_MARGIN = Duration.ofSeconds(1);
 
     private final Duration killGracePeriod;
 
@@ -28,45 +34,100 @@ public final class ProcessCommandRunner implements CommandRunner {
 
     @Override
     public CommandOutput run(List<String> command, Duration timeout) {
-        if (timeout.isNegative() || timeout.isZero()) {
-            throw new IllegalArgumentException("timeout must be positive");
-        }
-
-        Process process;
+        requirePositive(timeout);
+        ProcessOutputReaper.TrackedProcess tracked;
         try {
-            process = new ProcessBuilder(command).start();
+            tracked = ProcessOutputReaper.SHARED.track(new ProcessBuilder(command).start(), timeout, killGracePeriod);
         } catch (IOException e) {
             return new CommandOutput(CommandOutput.Outcome.SPAWN_FAILED, -1, "", e.getMessage());
         }
-
-        StreamGobbler stdoutGobbler = new StreamGobbler(process.getInputStream());
-        StreamGobbler stderrGobbler = new StreamGobbler(process.getErrorStream());
-        stdoutGobbler.start();
-        stderrGobbler.start();
-
-        boolean exited;
         try {
-            exited = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return tracked.result().get(timeout.plus(killGracePeriod).plus(COLLECTION_MARGIN).toNanos(),
+                    TimeUnit.NANOSECONDS);
         } catch (InterruptedException e) {
+            tracked.terminate();
+            return awaitTerminated(tracked);
+        } catch (TimeoutException e) {
+            tracked.terminate();
+            return collectionTimedOut();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Command output could not be collected", e.getCause());
+        }
+    }
+
+    /** Waits out the kill grace period for an interrupted command, then restores the interrupt. */
+    private CommandOutput awaitTerminated(ProcessOutputReaper.TrackedProcess tracked) {
+        long deadline = System.nanoTime() + killGracePeriod.plus(COLLECTION_MARGIN).toNanos();
+        try {
+            while (true) {
+                try {
+                    return tracked.result().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    // Keep waiting for the killed process; the interrupt is restored below.
+                } catch (TimeoutException e) {
+                    return collectionTimedOut();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Command output could not be collected", e.getCause());
+                }
+            }
+        } finally {
             Thread.currentThread().interrupt();
-            terminate(process, stdoutGobbler, stderrGobbler);
-            return new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1,
-                    stdoutGobbler.getOutput(), stderrGobbler.getOutput());
         }
+    }
+
+    private static CommandOutput collectionTimedOut() {
+        return new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", "Command output was not collected in time");
+    }
 
-        if (!exited) {
-            terminate(process, stdoutGobbler, stderrGobbler);
-            return new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1,
-                    stdoutGobbler.getOutput(), stderrGobbler.getOutput());
+    /**
+     * Runs the command without holding a thread while it executes. The future completes on the
+     * shared output reader thread, so blocking follow-up work must use an async stage.
+     */
+    @Override
+    public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout) {
+        return runAsync(command, timeout, MAX_OUTPUT_LENGTH);
+    }
+
+    @Override
+    public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout, int maxOutputBytes) {
+        requirePositive(timeout);
+        if (maxOutputBytes < 1) {
+            throw new IllegalArgumentException("maxOutputBytes must be positive");
         }
+        try {
+            return ProcessOutputReaper.SHARED.track(new ProcessBuilder(command).start(), timeout, killGracePeriod,
+                    maxOutputBytes).result();
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(
+                    new CommandOutput(CommandOutput.Outcome.SPAWN_FAILED, -1, "", e.getMessage()));
+        }
+    }
+
+    @Override
+    public StreamingCommand stream(List<String> command, Consumer<String> lineConsumer) throws IOException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        LineStreamer streamer = new LineStreamer(process.getInputStream(), lineConsumer);
+        streamer.start();
+        return new StreamingCommand() {
+            @Override
+            public boolean isAlive() {
+                return process.isAlive();
+            }
 
-        joinQuietly(stdoutGobbler);
-        joinQuietly(stderrGobbler);
-        return new CommandOutput(CommandOutput.Outcome.COMPLETED, process.exitValue(),
-                stdoutGobbler.getOutput(), stderrGobbler.getOutput());
+            @Override
+            public void close() {
+                terminate(process, streamer);
+            }
+        };
     }
 
-    private void terminate(Process process, StreamGobbler... gobblers) {
+    private static void requirePositive(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+    }
+
+    private void terminate(Process process, Thread... gobblers) {
         process.destroy();
         if (!joinQuietly(gobblers)) {
             process.destroyForcibly();
@@ -88,46 +149,50 @@ public final class ProcessCommandRunner implements CommandRunner {
         return allJoined;
     }
 
-    private static class StreamGobbler extends Thread {
+    /** Splits followed output into lines without ever buffering more than one bounded line. */
+    private static class LineStreamer extends Thread {
         private final InputStream stream;
-        private final StringBuilder output = new StringBuilder();
+        private final Consumer<String> lineConsumer;
+        private final StringBuilder line = new StringBuilder();
 
-        StreamGobbler(InputStream stream) {
+        LineStreamer(InputStream stream, Consumer<String> lineConsumer) {
             this.stream = stream;
+            this.lineConsumer = lineConsumer;
             setDaemon(true);
+            setName("AutoStopper log stream");
         }
 
         @Override
         public void run() {
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(stream, StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    appendLine(line);
+            char[] buffer = new char[1024];
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    for (int index = 0; index < read; index++) {
+                        accept(buffer[index]);
+                    }
                 }
+                flush();
             } catch (IOException e) {
-                // Stream closed by process termination - output collected so far is retained.
+                // Stream closed by process termination - the follower simply stops delivering lines.
             }
         }
 
-        private void appendLine(String line) {
-            if (output.length() >= MAX_OUTPUT_LENGTH) {
-                return;
-            }
-            int remaining = MAX_OUTPUT_LENGTH - output.length();
-            if (remaining <= 0) {
-                output.append("[output truncated]");
-                return;
+        private void accept(char next) {
+            if (next == '\n') {
+                flush();
+            } else if (next != '\r' && line.length() < MAX_OUTPUT_LENGTH) {
+                line.append(next);
             }
-            if (line.length() > remaining) {
-                output.append(line, 0, remaining).append("[output truncated]");
-                return;
-            }
-            output.append(line).append(System.lineSeparator());
         }
 
-        String getOutput() {
-            return output.toString();
+        private void flush() {
+            if (line.isEmpty()) {
+                return;
+            }
+            String completed = line.toString();
+            line.setLength(0);
+            lineConsumer.accept(completed);
         }
     }
 }
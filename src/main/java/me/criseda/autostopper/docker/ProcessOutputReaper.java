@@ -0,0 +1,261 @@
+package me.criseda.autostopper.docker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the output of every running command on one shared thread and enforces command deadlines
+ * on one shared scheduler thread.
+ *
+ * <p>Pipes are only read when bytes are already available, so a quiet command never blocks the
+ * others. Output is copied into bounded buffers that are returned to a small pool once the command
+ * completes. Completion is driven by {@link Process#onExit()}: the exit wakes the reader, which
+ * drains what is left in both pipes and completes the command's future on the reader thread.
+ */
+final class ProcessOutputReaper {
+    static final ProcessOutputReaper SHARED = new ProcessOutputReaper();
+
+    private static final int MAX_OUTPUT_LENGTH = 4096;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final String TRUNCATED_MARKER = "[output truncated]";
+
+    private final Queue<TrackedProcess> registrations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final Thread reader;
+
+    // Owned by the reader thread.
+    private final List<TrackedProcess> active = new ArrayList<>();
+    private final ArrayDeque<byte[]> bufferPool = new ArrayDeque<>();
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+    private ProcessOutputReaper() {
+        deadlines = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "AutoStopper command deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlines.setRemoveOnCancelPolicy(true);
+        reader = new Thread(this::readLoop, "AutoStopper command output");
+        reader.setDaemon(true);
+    }
+
+    TrackedProcess track(Process process, Duration timeout, Duration killGracePeriod) {
+        return track(process, timeout, killGracePeriod, MAX_OUTPUT_LENGTH);
+    }
+
+    /**
+     * Starts draining the process and schedules its termination once the timeout elapses. Standard
+     * output is kept up to {@code maxOutputBytes}, growing past the pooled buffer size only when a
+     * command writes that much; standard error keeps the default limit.
+     */
+    TrackedProcess track(Process process, Duration timeout, Duration killGracePeriod, int maxOutputBytes) {
+        TrackedProcess tracked = new TrackedProcess(process, killGracePeriod, maxOutputBytes);
+        tracked.deadline = deadlines.schedule(tracked::terminate, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        registrations.add(tracked);
+        if (started.compareAndSet(false, true)) {
+            reader.start();
+        }
+        process.onExit().whenComplete((ignored, error) -> {
+            tracked.exited = true;
+            LockSupport.unpark(reader);
+        });
+        LockSupport.unpark(reader);
+        return tracked;
+    }
+
+    private void readLoop() {
+        while (true) {
+            try {
+                drain();
+            } catch (Throwable t) {
+                // A reader that died would leave every command pending forever; fail them and carry on.
+                failAll(t);
+            }
+        }
+    }
+
+    private void drain() {
+        TrackedProcess registered;
+        while ((registered = registrations.poll()) != null) {
+            registered.stdout = new BoundedOutput(borrowBuffer(), registered.maxOutputBytes);
+            registered.stderr = new BoundedOutput(borrowBuffer(), MAX_OUTPUT_LENGTH);
+            active.add(registered);
+        }
+        boolean progressed = false;
+        Iterator<TrackedProcess> iterator = active.iterator();
+        while (iterator.hasNext()) {
+            TrackedProcess tracked = iterator.next();
+            // Read the exit flag first so no output written before the exit can be missed.
+            boolean exited = tracked.exited;
+            progressed |= pump(tracked.process.getInputStream(), tracked.stdout);
+            progressed |= pump(tracked.process.getErrorStream(), tracked.stderr);
+            if (exited) {
+                finish(tracked);
+                iterator.remove();
+                progressed = true;
+            }
+        }
+        if (!progressed) {
+            if (active.isEmpty() && registrations.isEmpty()) {
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(this, POLL_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    /** Fails every command the reader holds and stops its process; their buffers are not reused. */
+    private void failAll(Throwable failure) {
+        List<TrackedProcess> failed = new ArrayList<>(active);
+        active.clear();
+        TrackedProcess registered;
+        while ((registered = registrations.poll()) != null) {
+            failed.add(registered);
+        }
+        IllegalStateException collectionFailure =
+                new IllegalStateException("Command output reader failed", failure);
+        for (TrackedProcess tracked : failed) {
+            tracked.result.completeExceptionally(collectionFailure);
+            try {
+                tracked.deadline.cancel(false);
+                tracked.terminate();
+            } catch (RuntimeException ignored) {
+                // The command is already failed; stopping its process is best effort.
+            }
+        }
+    }
+
+    private boolean pump(InputStream stream, BoundedOutput output) {
+        boolean read = false;
+        try {
+            int available;
+            while ((available = stream.available()) > 0) {
+                int count = stream.read(readBuffer, 0, Math.min(available, readBuffer.length));
+                if (count <= 0) {
+                    break;
+                }
+                output.append(readBuffer, count);
+                read = true;
+            }
+        } catch (IOException e) {
+            // Stream closed by process termination - output collected so far is retained.
+        }
+        return read;
+    }
+
+    private void finish(TrackedProcess tracked) {
+        tracked.deadline.cancel(false);
+        closeQuietly(tracked.process.getInputStream());
+        closeQuietly(tracked.process.getErrorStream());
+        boolean truncated = tracked.stdout.truncated || tracked.stderr.truncated;
+        CommandOutput output = tracked.timedOut
+                ? new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1,
+                        tracked.stdout.text(), tracked.stderr.text(), truncated)
+                : new CommandOutput(CommandOutput.Outcome.COMPLETED, tracked.process.exitValue(),
+                        tracked.stdout.text(), tracked.stderr.text(), truncated);
+        returnBuffer(tracked.stdout.buffer);
+        returnBuffer(tracked.stderr.buffer);
+        tracked.result.complete(output);
+    }
+
+    private byte[] borrowBuffer() {
+        byte[] buffer = bufferPool.poll();
+        return buffer == null ? new byte[MAX_OUTPUT_LENGTH] : buffer;
+    }
+
+    private void returnBuffer(byte[] buffer) {
+        if (buffer.length == MAX_OUTPUT_LENGTH && bufferPool.size() < MAX_POOLED_BUFFERS) {
+            bufferPool.push(buffer);
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing left to read.
+        }
+    }
+
+    /** A running command whose output is drained by the shared reader. */
+    final class TrackedProcess {
+        private final Process process;
+        private final Duration killGracePeriod;
+        private final int maxOutputBytes;
+        private final CompletableFuture<CommandOutput> result = new CompletableFuture<>();
+        private volatile boolean exited;
+        private volatile boolean timedOut;
+        private volatile ScheduledFuture<?> deadline;
+        private BoundedOutput stdout;
+        private BoundedOutput stderr;
+
+        private TrackedProcess(Process process, Duration killGracePeriod, int maxOutputBytes) {
+            this.process = process;
+            this.killGracePeriod = killGracePeriod;
+            this.maxOutputBytes = maxOutputBytes;
+        }
+
+        CompletableFuture<CommandOutput> result() {
+            return result;
+        }
+
+        /** Asks the process to exit and kills it if it is still running after the grace period. */
+        void terminate() {
+            if (exited || timedOut) {
+                return;
+            }
+            timedOut = true;
+            process.destroy();
+            deadlines.schedule(() -> {
+                if (process.isAlive()) {
+                    process.destroyForcibly();
+                }
+            }, killGracePeriod.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class BoundedOutput {
+        private byte[] buffer;
+        private final int limit;
+        private int length;
+        private boolean truncated;
+
+        private BoundedOutput(byte[] buffer, int limit) {
+            this.buffer = buffer;
+            this.limit = limit;
+        }
+
+        private void append(byte[] source, int count) {
+            int copied = Math.min(count, limit - length);
+            if (length + copied > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(limit, Math.max(buffer.length * 2, length + copied)));
+            }
+            System.arraycopy(source, 0, buffer, length, copied);
+            length += copied;
+            truncated |= copied < count;
+        }
+
+        private String text() {
+            String text = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            return truncated ? text + TRUNCATED_MARKER : text;
+        }
+    }
+}
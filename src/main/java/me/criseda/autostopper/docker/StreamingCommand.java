@@ -0,0 +1,9 @@
+package me.criseda.autostopper.docker;
+
+/** Handle for a followed command whose output is consumed line by line. */
+public interface StreamingCommand extends AutoCloseable {
+    boolean isAlive();
+
+    @Override
+    void close();
+}
@@ -1,46 +1,142 @@
 package me.criseda.autostopper.executor;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
-public final class AutoStopperExecutor implements AutoCloseable {
+/**
+ * Bounded worker pool for blocking Docker and readiness work.
+ *
+ * <p>The pool keeps between {@code minWorkers} and {@code maxWorkers} threads. Once per control
+ * interval it estimates the workers in use from the measured service time (Little's law) and
+ * compares the 95th percentile queue wait with the target: a slow queue adds at least one worker,
+ * and an over-provisioned pool halves toward the estimate. A full queue still gets extra threads up
+ * to the upper bound at once, so a task is rejected only when the queue is full at
+ * {@code maxWorkers}.
+ */
+public final class AutoStopperExecutor implements Executor, AutoCloseable {
     public static final int DEFAULT_WORKER_COUNT = 2;
+    public static final int DEFAULT_MAX_WORKER_COUNT = 8;
     public static final int DEFAULT_QUEUE_CAPACITY = 32;
+    public static final Duration DEFAULT_TARGET_WAIT = Duration.ofMillis(250);
     private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CONTROL_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration IDLE_WORKER_KEEP_ALIVE = Duration.ofSeconds(60);
+    private static final Duration IDLE_TIMER_KEEP_ALIVE = Duration.ofSeconds(30);
+    static final Duration SATURATED_TIMER_RETRY = Duration.ofMillis(50);
+    private static final double WORKER_HEADROOM = 1.25;
 
     private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timers = createTimerExecutor();
+    private final Set<CompletableFuture<Void>> pendingTimers = ConcurrentHashMap.newKeySet();
+    private final int queueCapacity;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final long targetWaitNanos;
+    private final LongSupplier nanoTime;
+    private final ExecutorLoadMonitor load;
+    private final ThreadLocal<long[]> serviceStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final AtomicLong nextControlNanos;
+    private final AtomicInteger laneTasks = new AtomicInteger();
     private final Set<ManagedTask<?>> outstandingTasks = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
     private final AtomicBoolean shutdownStarted = new AtomicBoolean();
+    private volatile Consumer<ExecutorStats> statsListener = stats -> { };
+    private volatile long[] recentWaits = new long[0];
 
     public AutoStopperExecutor() {
-        this(DEFAULT_WORKER_COUNT, DEFAULT_QUEUE_CAPACITY);
+        this(DEFAULT_WORKER_COUNT, DEFAULT_MAX_WORKER_COUNT, DEFAULT_QUEUE_CAPACITY, DEFAULT_TARGET_WAIT);
     }
 
+    /** A fixed pool of {@code workerCount} threads. */
     public AutoStopperExecutor(int workerCount, int queueCapacity) {
-        if (workerCount < 1) {
-            throw new IllegalArgumentException("workerCount must be positive");
+        this(workerCount, workerCount, queueCapacity, DEFAULT_TARGET_WAIT);
+    }
+
+    public AutoStopperExecutor(int minWorkers, int maxWorkers, int queueCapacity, Duration targetWait) {
+        this(minWorkers, maxWorkers, queueCapacity, targetWait, System::nanoTime);
+    }
+
+    AutoStopperExecutor(int minWorkers, int maxWorkers, int queueCapacity, Duration targetWait,
+            LongSupplier nanoTime) {
+        if (minWorkers < 1) {
+            throw new IllegalArgumentException("minWorkers must be positive");
+        }
+        if (maxWorkers < minWorkers) {
+            throw new IllegalArgumentException("maxWorkers must not be less than minWorkers");
         }
         if (queueCapacity < 1) {
             throw new IllegalArgumentException("queueCapacity must be positive");
         }
-        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+        if (targetWait.isZero() || targetWait.isNegative()) {
+            throw new IllegalArgumentException("targetWait must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.targetWaitNanos = targetWait.toNanos();
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime");
+        long now = nanoTime.getAsLong();
+        this.load = new ExecutorLoadMonitor(now);
+        this.nextControlNanos = new AtomicLong(now + CONTROL_INTERVAL.toNanos());
+        this.executor = new ThreadPoolExecutor(minWorkers, maxWorkers,
+                IDLE_WORKER_KEEP_ALIVE.toNanos(), TimeUnit.NANOSECONDS,
                 new ArrayBlockingQueue<>(queueCapacity),
                 new NamedThreadFactory(),
-                new ThreadPoolExecutor.AbortPolicy());
+                new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable runnable) {
+                long now = AutoStopperExecutor.this.nanoTime.getAsLong();
+                if (runnable instanceof PoolTask task) {
+                    load.recordWait(now - task.queuedNanos);
+                }
+                serviceStart.get()[0] = now;
+            }
+
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable failure) {
+                long now = AutoStopperExecutor.this.nanoTime.getAsLong();
+                load.recordService(now - serviceStart.get()[0]);
+                control(now);
+            }
+        };
         this.executor.prestartAllCoreThreads();
     }
 
+    /** Receives pool statistics after every control interval in which work ran. */
+    public void configureStatsListener(Consumer<ExecutorStats> listener) {
+        statsListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /** Current pool size, queue depths, and the queue-wait percentiles of the last control interval. */
+    public ExecutorStats stats() {
+        long[] waits = recentWaits;
+        return new ExecutorStats(executor.getCorePoolSize(), executor.getPoolSize(), executor.getActiveCount(),
+                minWorkers, maxWorkers, executor.getQueue().size(), laneTasks.get(),
+                executor.getCompletedTaskCount(), percentile(waits, 50), percentile(waits, 95),
+                percentile(waits, 99));
+    }
+
     public <T> CompletableFuture<T> supply(Supplier<T> task) {
         ManagedTask<T> managedTask = new ManagedTask<>(Objects.requireNonNull(task, "task"));
         outstandingTasks.add(managedTask);
@@ -49,7 +145,7 @@ public final class AutoStopperExecutor implements AutoCloseable {
             return managedTask.future;
         }
         try {
-            executor.execute(managedTask);
+            submit(managedTask);
         } catch (RejectedExecutionException e) {
             Throwable failure = executor.isShutdown()
                     ? new ShutdownException("AutoStopper executor is shut down", e)
@@ -59,6 +155,200 @@ public final class AutoStopperExecutor implements AutoCloseable {
         return managedTask.future;
     }
 
+    /**
+     * Runs the task only after every earlier task with the same key has finished. Each key is a FIFO
+     * lane that holds at most one worker at a time; after each task a lane with more work rejoins the
+     * back of the shared queue, so one slow key can neither occupy the pool nor starve other keys. A
+     * lane rejects tasks beyond the queue capacity, like the shared queue does.
+     */
+    public <T> CompletableFuture<T> supply(String key, Supplier<T> task) {
+        Objects.requireNonNull(key, "key");
+        ManagedTask<T> managedTask = new ManagedTask<>(Objects.requireNonNull(task, "task"));
+        outstandingTasks.add(managedTask);
+        if (shutdownStarted.get()) {
+            managedTask.fail(new ShutdownException("AutoStopper executor is shut down", null), false);
+            return managedTask.future;
+        }
+        boolean[] accepted = new boolean[1];
+        boolean[] schedule = new boolean[1];
+        Lane lane = lanes.compute(key, (ignored, current) -> {
+            Lane target = current == null ? new Lane(key) : current;
+            if (target.pending.size() < queueCapacity) {
+                target.pending.add(managedTask);
+                laneTasks.incrementAndGet();
+                managedTask.lane = target;
+                accepted[0] = true;
+                schedule[0] = !target.scheduled;
+                target.scheduled = true;
+            }
+            return target;
+        });
+        if (!accepted[0]) {
+            managedTask.fail(new SaturationException("AutoStopper executor lane " + key + " is saturated", null),
+                    false);
+            return managedTask.future;
+        }
+        if (schedule[0]) {
+            try {
+                submit(lane);
+            } catch (RejectedExecutionException e) {
+                lane.abandon(executor.isShutdown()
+                        ? new ShutdownException("AutoStopper executor is shut down", e)
+                        : new SaturationException("AutoStopper executor is saturated", e));
+            }
+        }
+        return managedTask.future;
+    }
+
+    /**
+     * Runs the task on the pool once {@code delay} has passed. Completing or cancelling the returned
+     * future first drops the timer. A timer that comes due while the pool is saturated retries
+     * shortly afterwards, so the timer thread itself never runs tasks.
+     */
+    public CompletableFuture<Void> runAfter(Duration delay, Runnable task) {
+        Objects.requireNonNull(delay, "delay");
+        Objects.requireNonNull(task, "task");
+        CompletableFuture<Void> timer = new CompletableFuture<>();
+        if (shutdownStarted.get()) {
+            timer.completeExceptionally(new ShutdownException("AutoStopper executor is shut down", null));
+            return timer;
+        }
+        pendingTimers.add(timer);
+        ScheduledFuture<?> scheduled;
+        try {
+            scheduled = timers.schedule(() -> fire(timer, task), Math.max(0, delay.toNanos()),
+                    TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            pendingTimers.remove(timer);
+            timer.completeExceptionally(new ShutdownException("AutoStopper executor is shut down", e));
+            return timer;
+        }
+        timer.whenComplete((ignored, failure) -> {
+            pendingTimers.remove(timer);
+            scheduled.cancel(false);
+        });
+        return timer;
+    }
+
+    private void fire(CompletableFuture<Void> timer, Runnable task) {
+        if (timer.isDone()) {
+            return;
+        }
+        CompletableFuture<Void> queued = supply(() -> {
+            runTimer(timer, task);
+            return null;
+        });
+        if (!saturated(queued)) {
+            return;
+        }
+        try {
+            ScheduledFuture<?> retry = timers.schedule(() -> fire(timer, task),
+                    SATURATED_TIMER_RETRY.toNanos(), TimeUnit.NANOSECONDS);
+            timer.whenComplete((ignored, failure) -> retry.cancel(false));
+        } catch (RejectedExecutionException closed) {
+            // The executor shut down meanwhile and fails the pending timer itself
+        }
+    }
+
+    /**
+     * Runs a short callback on the pool without ever dropping it for saturation: a full pool makes
+     * the submitting thread run it, which also slows that submitter down. Callbacks handed over after
+     * shutdown are discarded.
+     */
+    @Override
+    public void execute(Runnable callback) {
+        Objects.requireNonNull(callback, "callback");
+        CompletableFuture<Void> queued = supply(() -> {
+            callback.run();
+            return null;
+        });
+        if (saturated(queued)) {
+            callback.run();
+        }
+    }
+
+    /** Shared-queue rejections complete the task before {@code supply} returns, so this never waits. */
+    private static boolean saturated(CompletableFuture<?> queued) {
+        return queued.state() == Future.State.FAILED && queued.exceptionNow() instanceof SaturationException;
+    }
+
+    private static void runTimer(CompletableFuture<Void> timer, Runnable task) {
+        if (timer.isDone()) {
+            return;
+        }
+        try {
+            task.run();
+            timer.complete(null);
+        } catch (Throwable t) {
+            timer.completeExceptionally(t);
+        }
+    }
+
+    int laneCount() {
+        return lanes.size();
+    }
+
+    private void submit(PoolTask task) {
+        long now = nanoTime.getAsLong();
+        task.queuedNanos = now;
+        executor.execute(task);
+        control(now);
+    }
+
+    /** Resizes the pool at most once per control interval; callers race for the slot without blocking. */
+    private void control(long now) {
+        long due = nextControlNanos.get();
+        if (now - due < 0 || !nextControlNanos.compareAndSet(due, now + CONTROL_INTERVAL.toNanos())) {
+            return;
+        }
+        ExecutorLoadMonitor.Window window = load.drain(now);
+        if (window.isEmpty() || executor.isShutdown()) {
+            return;
+        }
+        recentWaits = window.sortedWaits();
+        int current = executor.getCorePoolSize();
+        double busyWorkers = Math.max(window.busyWorkers(), executor.getActiveCount());
+        int next = nextWorkerCount(current, minWorkers, maxWorkers, busyWorkers,
+                percentile(window.sortedWaits(), 95).toNanos(), targetWaitNanos, executor.getQueue().size());
+        if (next != current) {
+            try {
+                executor.setCorePoolSize(next);
+            } catch (IllegalArgumentException ignored) {
+                // The pool is shutting down; there is nothing left to size
+            }
+        }
+        try {
+            statsListener.accept(stats());
+        } catch (RuntimeException ignored) {
+            // Statistics are observational and must never fail a worker
+        }
+    }
+
+    /**
+     * The next core pool size. Little's law gives the workers in use as total service time over the
+     * window length; a slow or backed-up queue adds at least one worker, and a quiet pool halves
+     * toward that estimate plus headroom.
+     */
+    static int nextWorkerCount(int current, int minWorkers, int maxWorkers, double busyWorkers,
+            long waitP95Nanos, long targetWaitNanos, int queued) {
+        int needed = (int) Math.ceil(busyWorkers * WORKER_HEADROOM);
+        if (waitP95Nanos > targetWaitNanos || (queued > 0 && busyWorkers >= current)) {
+            return Math.min(maxWorkers, Math.max(current + 1, needed));
+        }
+        if (queued == 0 && needed < current) {
+            return Math.max(minWorkers, Math.max(needed, current / 2));
+        }
+        return current;
+    }
+
+    private static Duration percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return Duration.ofNanos(Math.max(0, sorted[Math.max(0, index)]));
+    }
+
     public boolean shutdown() {
         return shutdown(DEFAULT_SHUTDOWN_TIMEOUT);
     }
@@ -69,7 +359,13 @@ public final class AutoStopperExecutor implements AutoCloseable {
             throw new IllegalArgumentException("timeout must be positive");
         }
         shutdownStarted.set(true);
+        timers.shutdownNow();
+        for (CompletableFuture<Void> timer : pendingTimers) {
+            timer.completeExceptionally(new ShutdownException("AutoStopper executor was shut down", null));
+        }
         executor.shutdownNow();
+        lanes.clear();
+        laneTasks.set(0);
         failOutstandingTasks(new ShutdownException("AutoStopper executor was shut down", null));
         try {
             return executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
@@ -103,10 +399,16 @@ public final class AutoStopperExecutor implements AutoCloseable {
         }
     }
 
-    private final class ManagedTask<T> implements Runnable {
+    /** Work handed to the pool, stamped when queued so the wait before a worker picks it up is known. */
+    private abstract static class PoolTask implements Runnable {
+        volatile long queuedNanos;
+    }
+
+    private final class ManagedTask<T> extends PoolTask {
         private final Supplier<T> task;
         private final ManagedFuture<T> future;
         private volatile Thread runner;
+        private volatile Lane lane;
 
         private ManagedTask(Supplier<T> task) {
             this.task = task;
@@ -137,6 +439,7 @@ public final class AutoStopperExecutor implements AutoCloseable {
             boolean cancelled = future.cancelDirect(mayInterruptIfRunning);
             if (cancelled) {
                 executor.remove(this);
+                removeFromLane();
                 outstandingTasks.remove(this);
                 Thread runningThread = runner;
                 if (mayInterruptIfRunning && runningThread != null) {
@@ -146,6 +449,13 @@ public final class AutoStopperExecutor implements AutoCloseable {
             return cancelled;
         }
 
+        private void removeFromLane() {
+            Lane owner = lane;
+            if (owner != null) {
+                owner.remove(this);
+            }
+        }
+
         private synchronized void complete(T value) {
             if (shutdownStarted.get()) {
                 future.completeExceptionally(new ShutdownException("AutoStopper executor was shut down", null));
@@ -160,6 +470,7 @@ public final class AutoStopperExecutor implements AutoCloseable {
                     : failure;
             if (future.completeExceptionally(completionFailure)) {
                 executor.remove(this);
+                removeFromLane();
                 outstandingTasks.remove(this);
                 Thread runningThread = runner;
                 if (interruptIfRunning && runningThread != null) {
@@ -169,6 +480,101 @@ public final class AutoStopperExecutor implements AutoCloseable {
         }
     }
 
+    /**
+     * One key's FIFO queue. Its fields are only touched inside {@code lanes} compute calls for its key,
+     * which serialize them; tasks themselves run outside those calls.
+     */
+    private final class Lane extends PoolTask {
+        private final String key;
+        private final ArrayDeque<ManagedTask<?>> pending = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            ManagedTask<?> next = poll();
+            if (next != null) {
+                next.run();
+            }
+            if (retainIfPending()) {
+                rejoin();
+            }
+        }
+
+        /**
+         * Puts the lane back on the shared queue. When that queue is full the worker is released to
+         * drain it and the lane retries shortly from the timer, so a worker runs at most one lane
+         * task per turn instead of staying on a busy lane while the shared queue waits.
+         */
+        private void rejoin() {
+            try {
+                submit(this);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    return;
+                }
+                try {
+                    timers.schedule(this::rejoin, SATURATED_TIMER_RETRY.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException closed) {
+                    // The executor shut down meanwhile and fails the lane's tasks itself
+                }
+            }
+        }
+
+        private ManagedTask<?> poll() {
+            List<ManagedTask<?>> polled = new ArrayList<>(1);
+            lanes.computeIfPresent(key, (ignored, current) -> {
+                if (current == this && !pending.isEmpty()) {
+                    polled.add(pending.poll());
+                    laneTasks.decrementAndGet();
+                }
+                return current;
+            });
+            return polled.isEmpty() ? null : polled.get(0);
+        }
+
+        /** Removes the drained lane so idle keys hold no memory; returns whether tasks remain. */
+        private boolean retainIfPending() {
+            boolean[] remaining = new boolean[1];
+            lanes.computeIfPresent(key, (ignored, current) -> {
+                if (current != this) {
+                    return current;
+                }
+                remaining[0] = !pending.isEmpty();
+                return remaining[0] ? current : null;
+            });
+            return remaining[0];
+        }
+
+        private void remove(ManagedTask<?> task) {
+            lanes.computeIfPresent(key, (ignored, current) -> {
+                if (current == this && pending.remove(task)) {
+                    laneTasks.decrementAndGet();
+                }
+                return current;
+            });
+        }
+
+        private void abandon(RuntimeException failure) {
+            List<ManagedTask<?>> abandoned = new ArrayList<>();
+            lanes.computeIfPresent(key, (ignored, current) -> {
+                if (current != this) {
+                    return current;
+                }
+                abandoned.addAll(pending);
+                laneTasks.addAndGet(-pending.size());
+                pending.clear();
+                return null;
+            });
+            for (ManagedTask<?> task : abandoned) {
+                task.fail(failure, false);
+            }
+        }
+    }
+
     private final class ManagedFuture<T> extends CompletableFuture<T> {
         private final ManagedTask<T> managedTask;
 
@@ -186,6 +592,18 @@ public final class AutoStopperExecutor implements AutoCloseable {
         }
     }
 
+    private static ScheduledThreadPoolExecutor createTimerExecutor() {
+        ScheduledThreadPoolExecutor timers = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "autostopper-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timers.setKeepAliveTime(IDLE_TIMER_KEEP_ALIVE.toNanos(), TimeUnit.NANOSECONDS);
+        timers.allowCoreThreadTimeOut(true);
+        timers.setRemoveOnCancelPolicy(true);
+        return timers;
+    }
+
     private static class NamedThreadFactory implements ThreadFactory {
         private final AtomicInteger counter = new AtomicInteger(1);
 
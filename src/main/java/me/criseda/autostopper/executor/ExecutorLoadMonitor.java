@@ -0,0 +1,62 @@
+package me.criseda.autostopper.executor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue waits and service times measured since the last control interval. Workers record without
+ * locking; the first {@value #MAX_WAIT_SAMPLES} waits of an interval are kept for percentiles, which
+ * is every wait at Docker-command rates. A sample written while the interval is drained may land in
+ * either interval.
+ */
+final class ExecutorLoadMonitor {
+    static final int MAX_WAIT_SAMPLES = 1_024;
+
+    private final AtomicLongArray waits = new AtomicLongArray(MAX_WAIT_SAMPLES);
+    private final AtomicInteger waitCount = new AtomicInteger();
+    private final LongAdder services = new LongAdder();
+    private final LongAdder serviceNanos = new LongAdder();
+    private long windowStartNanos;
+
+    ExecutorLoadMonitor(long startNanos) {
+        this.windowStartNanos = startNanos;
+    }
+
+    void recordWait(long nanos) {
+        int index = waitCount.getAndIncrement();
+        if (index < MAX_WAIT_SAMPLES) {
+            waits.set(index, Math.max(0, nanos));
+        }
+    }
+
+    void recordService(long nanos) {
+        services.increment();
+        serviceNanos.add(Math.max(0, nanos));
+    }
+
+    /** Returns the interval that ends now and starts the next one; one caller at a time. */
+    synchronized Window drain(long nowNanos) {
+        long elapsed = nowNanos - windowStartNanos;
+        windowStartNanos = nowNanos;
+        int count = Math.min(waitCount.getAndSet(0), MAX_WAIT_SAMPLES);
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = waits.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Window(elapsed, services.sumThenReset(), serviceNanos.sumThenReset(), sorted);
+    }
+
+    record Window(long elapsedNanos, long services, long serviceNanos, long[] sortedWaits) {
+        boolean isEmpty() {
+            return services == 0 && sortedWaits.length == 0;
+        }
+
+        /** Average number of workers that were running a task during the interval. */
+        double busyWorkers() {
+            return elapsedNanos <= 0 ? 0 : (double) serviceNanos / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package me.criseda.autostopper.executor;
+
+import java.time.Duration;
+
+/**
+ * One sample of the worker pool.
+ *
+ * @param targetWorkers core pool size the controller currently asks for
+ * @param liveWorkers threads that exist, including idle ones not yet reaped
+ * @param activeWorkers threads running a task
+ * @param minWorkers lower bound of the pool
+ * @param maxWorkers upper bound of the pool
+ * @param queueDepth tasks and lanes waiting in the shared queue
+ * @param laneDepth tasks waiting behind earlier work in their container lane
+ * @param completedTasks tasks and lane turns finished since the pool started
+ * @param waitP50 median queue wait over the last control interval
+ * @param waitP95 95th percentile queue wait over the last control interval
+ * @param waitP99 99th percentile queue wait over the last control interval
+ */
+public record ExecutorStats(
+        int targetWorkers,
+        int liveWorkers,
+        int activeWorkers,
+        int minWorkers,
+        int maxWorkers,
+        int queueDepth,
+        int laneDepth,
+        long completedTasks,
+        Duration waitP50,
+        Duration waitP95,
+        Duration waitP99) {
+}
@@ -0,0 +1,73 @@
+package me.criseda.autostopper.executor;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Time budget shared by every stage of one operation. Stages ask for the remaining budget when
+ * they begin work, so time spent queued or in an earlier stage is never granted twice.
+ */
+public final class OperationDeadline {
+    private static final OperationDeadline UNBOUNDED = new OperationDeadline(Long.MAX_VALUE, () -> 0L, false);
+
+    private final long deadlineNanos;
+    private final LongSupplier nanoTime;
+    private final boolean bounded;
+
+    private OperationDeadline(long deadlineNanos, LongSupplier nanoTime, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.nanoTime = nanoTime;
+        this.bounded = bounded;
+    }
+
+    /** A deadline that never expires; every stage keeps its own timeout. */
+    public static OperationDeadline unbounded() {
+        return UNBOUNDED;
+    }
+
+    public static OperationDeadline after(Duration budget) {
+        return after(budget, System::nanoTime);
+    }
+
+    public static OperationDeadline after(Duration budget, LongSupplier nanoTime) {
+        Objects.requireNonNull(budget, "budget");
+        Objects.requireNonNull(nanoTime, "nanoTime");
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+        long now = nanoTime.getAsLong();
+        long deadline = now + budget.toNanos();
+        if (deadline < now) {
+            deadline = Long.MAX_VALUE;
+        }
+        return new OperationDeadline(deadline, nanoTime, true);
+    }
+
+    public boolean bounded() {
+        return bounded;
+    }
+
+    public boolean expired() {
+        return bounded && deadlineNanos - nanoTime.getAsLong() <= 0;
+    }
+
+    /** Remaining budget, never negative; unbounded deadlines report {@code Long.MAX_VALUE} nanoseconds. */
+    public Duration remaining() {
+        if (!bounded) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, deadlineNanos - nanoTime.getAsLong()));
+    }
+
+    /**
+     * Caps a stage timeout to the remaining budget. The result stays positive so it can be handed to
+     * APIs that reject zero timeouts; callers check {@link #expired()} before starting a stage.
+     */
+    public Duration bound(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        Duration remaining = remaining();
+        Duration capped = remaining.compareTo(timeout) < 0 ? remaining : timeout;
+        return capped.isZero() ? Duration.ofNanos(1) : capped;
+    }
+}
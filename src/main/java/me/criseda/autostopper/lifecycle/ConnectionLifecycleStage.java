@@ -8,6 +8,7 @@ package me.criseda.autostopper.lifecycle;
  */
 public enum ConnectionLifecycleStage {
     INSPECTING,
+    QUEUED_FOR_START,
     STARTING,
     WAITING_FOR_READINESS,
     CONNECTING,
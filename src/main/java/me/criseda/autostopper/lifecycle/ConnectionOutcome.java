@@ -18,6 +18,7 @@ public enum ConnectionOutcome {
     DOCKER_INACCESSIBLE(false),
     SERVER_NOT_READY(false),
     OVERLOADED(false),
+    WAKE_LIMITED(false),
     PROXY_SHUTDOWN(false);
 
     private final boolean successful;
@@ -0,0 +1,60 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.ConnectionReleaseSettings;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sizes the waves in which queued players are connected to a freshly ready server.
+ *
+ * <p>With a fixed policy every wave has the configured size. In adaptive mode a wave whose players
+ * all finished connecting before the next wave is due doubles the following wave, a wave with a
+ * failed connection drops back to the configured size, and a wave still connecting keeps its size.
+ * Players who left or a proxy shutdown say nothing about the backend and are ignored.
+ */
+final class ConnectionReleasePacer {
+    private final ConnectionReleaseSettings settings;
+    private int waveSize;
+
+    ConnectionReleasePacer(ConnectionReleaseSettings settings) {
+        this.settings = Objects.requireNonNull(settings, "settings");
+        if (!settings.staggered()) {
+            throw new IllegalArgumentException("settings must release in waves");
+        }
+        this.waveSize = settings.waveSize();
+    }
+
+    /**
+     * @param previousWave connection outcomes of the wave released last; empty for the first wave
+     */
+    int nextWaveSize(List<CompletableFuture<ConnectionOutcome>> previousWave) {
+        if (!settings.adaptive() || previousWave.isEmpty()) {
+            return waveSize;
+        }
+        boolean settled = true;
+        for (CompletableFuture<ConnectionOutcome> connection : previousWave) {
+            if (!connection.isDone()) {
+                settled = false;
+            } else if (failed(connection)) {
+                waveSize = settings.waveSize();
+                return waveSize;
+            }
+        }
+        if (settled) {
+            waveSize = (int) Math.min(Integer.MAX_VALUE, waveSize * 2L);
+        }
+        return waveSize;
+    }
+
+    private static boolean failed(CompletableFuture<ConnectionOutcome> connection) {
+        if (connection.isCompletedExceptionally()) {
+            return true;
+        }
+        ConnectionOutcome outcome = connection.join();
+        return !outcome.isSuccessful()
+                && outcome != ConnectionOutcome.PLAYER_DISCONNECTED
+                && outcome != ConnectionOutcome.PROXY_SHUTDOWN;
+    }
+}
@@ -0,0 +1,273 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.ContainerDependency;
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.docker.ContainerStatus;
+import me.criseda.autostopper.readiness.ReadinessResult;
+import me.criseda.autostopper.server.ServerManager;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reference-counted bring-up and teardown of the sidecar containers monitored servers depend on.
+ *
+ * <p>Each server holds its whole dependency closure while it runs. A dependency starts as soon as
+ * its own dependencies are ready, so independent branches of the graph start in parallel, and a
+ * start already in flight is shared by every server that needs it. When the last holder releases a
+ * dependency it is stopped, dependents before the dependencies they need. A start requested while
+ * the same dependency is still stopping waits for that stop to finish first. A dependency that was
+ * made ready earlier is checked again before each reuse, since its container may have crashed or been
+ * stopped outside AutoStopper; one that is no longer ready is started again.
+ */
+final class DependencyCoordinator {
+    private final Logger logger;
+    private final ServerManager serverManager;
+    private final Map<String, Node> nodes = new HashMap<>();
+
+    DependencyCoordinator(Logger logger, ServerManager serverManager) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.serverManager = Objects.requireNonNull(serverManager, "serverManager");
+    }
+
+    /**
+     * Holds the mapping's dependencies on behalf of its server and starts whichever are not ready.
+     * Completes with the name of the first dependency that could not be made ready, or empty once
+     * all of them are ready; it never completes exceptionally.
+     */
+    CompletableFuture<Optional<String>> acquire(ServerMapping mapping) {
+        if (mapping.dependsOn().isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        List<CompletableFuture<Optional<String>>> roots = new ArrayList<>();
+        synchronized (this) {
+            for (String name : mapping.dependsOn()) {
+                hold(name, mapping.serverName());
+            }
+            for (String name : mapping.dependsOn()) {
+                roots.add(bringUp(name));
+            }
+        }
+        return firstFailure(roots);
+    }
+
+    /** Drops every hold owned by the server and stops dependencies nothing else holds. */
+    void release(String holder) {
+        synchronized (this) {
+            Map<String, Node> unused = new HashMap<>();
+            for (Node node : nodes.values()) {
+                if (node.holders.remove(holder) && node.holders.isEmpty()) {
+                    unused.put(node.name, node);
+                }
+            }
+            Map<String, CompletableFuture<Void>> stops = new HashMap<>();
+            for (Node node : unused.values()) {
+                stop(node, unused, stops);
+            }
+        }
+    }
+
+    synchronized Set<String> holders(String dependencyName) {
+        Node node = nodes.get(dependencyName);
+        return node == null ? Set.of() : Set.copyOf(node.holders);
+    }
+
+    private void hold(String name, String holder) {
+        Node node = nodes.computeIfAbsent(name, Node::new);
+        if (!node.holders.add(holder)) {
+            return;
+        }
+        serverManager.getDependency(name).ifPresent(dependency -> {
+            for (String upstream : dependency.dependsOn()) {
+                hold(upstream, holder);
+            }
+        });
+    }
+
+    private CompletableFuture<Optional<String>> bringUp(String name) {
+        Node node = nodes.get(name);
+        if (node.ready != null && !succeeded(node.ready)) {
+            return node.ready;
+        }
+        Optional<ContainerDependency> dependency = serverManager.getDependency(name);
+        if (dependency.isEmpty()) {
+            logger.warn("Dependency {} is no longer configured", name);
+            return CompletableFuture.completedFuture(Optional.of(name));
+        }
+        node.dependency = dependency.get();
+        List<CompletableFuture<Optional<String>>> upstream = new ArrayList<>();
+        for (String parent : dependency.get().dependsOn()) {
+            upstream.add(bringUp(parent));
+        }
+        CompletableFuture<Optional<String>> ready;
+        if (node.ready != null) {
+            ready = firstFailure(upstream).thenCompose(failed -> failed.isPresent()
+                    ? CompletableFuture.completedFuture(failed)
+                    : recheck(dependency.get()));
+        } else {
+            CompletableFuture<?> previousStop = node.stopping == null
+                    ? CompletableFuture.completedFuture(null)
+                    : node.stopping;
+            ready = previousStop
+                    .handle((ignored, error) -> null)
+                    .thenCompose(ignored -> firstFailure(upstream))
+                    .thenCompose(failed -> failed.isPresent()
+                            ? CompletableFuture.completedFuture(failed)
+                            : start(dependency.get()));
+        }
+        node.ready = ready;
+        ready.whenComplete((failed, error) -> {
+            synchronized (this) {
+                if (node.ready == ready && (error != null || failed.isPresent())) {
+                    node.ready = null;
+                }
+            }
+        });
+        return ready;
+    }
+
+    /** Confirms a dependency that was ready is still up, starting it again when it is not. */
+    private CompletableFuture<Optional<String>> recheck(ContainerDependency dependency) {
+        CompletableFuture<Boolean> check;
+        try {
+            check = serverManager.isDependencyReadyAsync(dependency);
+        } catch (RuntimeException error) {
+            logger.error("Could not check dependency {}", dependency.name(), error);
+            return CompletableFuture.completedFuture(Optional.of(dependency.name()));
+        }
+        if (check == null) {
+            return CompletableFuture.completedFuture(Optional.of(dependency.name()));
+        }
+        return check.handle((ready, error) -> {
+            if (error != null) {
+                logger.error("Could not check dependency {}", dependency.name(), error);
+            }
+            return error == null && Boolean.TRUE.equals(ready);
+        }).thenCompose(ready -> {
+            if (ready) {
+                return CompletableFuture.completedFuture(Optional.<String>empty());
+            }
+            logger.warn("Dependency {} is no longer ready; starting it again", dependency.name());
+            return start(dependency);
+        });
+    }
+
+    private CompletableFuture<Optional<String>> start(ContainerDependency dependency) {
+        CompletableFuture<ReadinessResult> startFuture;
+        try {
+            startFuture = serverManager.startDependencyAsync(dependency);
+        } catch (RuntimeException error) {
+            logger.error("Could not start dependency {}", dependency.name(), error);
+            return CompletableFuture.completedFuture(Optional.of(dependency.name()));
+        }
+        if (startFuture == null) {
+            return CompletableFuture.completedFuture(Optional.of(dependency.name()));
+        }
+        return startFuture.handle((result, error) -> {
+            if (error != null) {
+                logger.error("Could not start dependency {}", dependency.name(), error);
+                return Optional.of(dependency.name());
+            }
+            return result != null && result.ready() ? Optional.empty() : Optional.of(dependency.name());
+        });
+    }
+
+    private CompletableFuture<Void> stop(Node node, Map<String, Node> unused,
+            Map<String, CompletableFuture<Void>> stops) {
+        CompletableFuture<Void> existing = stops.get(node.name);
+        if (existing != null) {
+            return existing;
+        }
+        List<CompletableFuture<?>> before = new ArrayList<>();
+        for (Node other : unused.values()) {
+            if (other.dependency != null && other.dependency.dependsOn().contains(node.name)) {
+                before.add(stop(other, unused, stops));
+            }
+        }
+        if (node.ready != null) {
+            before.add(node.ready);
+            node.ready = null;
+        }
+        if (node.stopping != null) {
+            before.add(node.stopping);
+        }
+        ContainerDependency dependency = node.dependency;
+        CompletableFuture<Void> stop = CompletableFuture.allOf(before.toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> null)
+                .thenCompose(ignored -> dependency == null
+                        ? CompletableFuture.completedFuture(null)
+                        : stopContainer(dependency));
+        node.stopping = stop;
+        stops.put(node.name, stop);
+        stop.whenComplete((ignored, error) -> {
+            synchronized (this) {
+                if (node.stopping == stop) {
+                    node.stopping = null;
+                }
+                if (node.holders.isEmpty() && node.ready == null && node.stopping == null
+                        && nodes.get(node.name) == node) {
+                    nodes.remove(node.name);
+                }
+            }
+        });
+        return stop;
+    }
+
+    private CompletableFuture<Void> stopContainer(ContainerDependency dependency) {
+        CompletableFuture<ContainerStatus> stopFuture;
+        try {
+            stopFuture = serverManager.stopDependencyAsync(dependency);
+        } catch (RuntimeException error) {
+            logger.error("Could not stop dependency {}", dependency.name(), error);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (stopFuture == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return stopFuture.handle((result, error) -> {
+            if (error != null) {
+                logger.error("Could not stop dependency {}", dependency.name(), error);
+            }
+            return null;
+        });
+    }
+
+    private static boolean succeeded(CompletableFuture<Optional<String>> ready) {
+        return ready.isDone() && !ready.isCompletedExceptionally() && ready.join().isEmpty();
+    }
+
+    private static CompletableFuture<Optional<String>> firstFailure(List<CompletableFuture<Optional<String>>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> {
+                    for (CompletableFuture<Optional<String>> future : futures) {
+                        Optional<String> failed = future.isCompletedExceptionally()
+                                ? Optional.of("unknown")
+                                : future.join();
+                        if (failed.isPresent()) {
+                            return failed;
+                        }
+                    }
+                    return Optional.empty();
+                });
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Set<String> holders = new LinkedHashSet<>();
+        private ContainerDependency dependency;
+        private CompletableFuture<Optional<String>> ready;
+        private CompletableFuture<Void> stopping;
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+}
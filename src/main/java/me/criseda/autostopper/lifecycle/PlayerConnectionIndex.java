@@ -0,0 +1,87 @@
+package me.criseda.autostopper.lifecycle;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reverse index from a player to the servers they wait on and the servers they hold a reconnect
+ * permit for. Disconnect handling and permit checks look up only the player's own entries instead of
+ * walking every lifecycle. Each player's server set is replaced rather than mutated, so readers never
+ * see one mid-update; the sets stay tiny because a player waits on at most a handful of servers.
+ */
+final class PlayerConnectionIndex {
+    private final Map<UUID, Set<String>> waiting = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> permits = new ConcurrentHashMap<>();
+
+    /** Records a waiter; called under the entry lock that owns it. */
+    void addWaiter(UUID playerId, String serverName) {
+        add(waiting, playerId, serverName);
+    }
+
+    /** Forgets a waiter; called under the entry lock that owned it. */
+    void removeWaiter(UUID playerId, String serverName) {
+        remove(waiting, playerId, serverName);
+    }
+
+    /** Servers the player may be waiting on; a name can be stale but a live waiter is never missing. */
+    Set<String> waitingServers(UUID playerId) {
+        return waiting.getOrDefault(playerId, Set.of());
+    }
+
+    void addPermit(UUID playerId, String serverName) {
+        add(permits, playerId, serverName);
+    }
+
+    /** Removes the permit, returning whether it was held. */
+    boolean removePermit(UUID playerId, String serverName) {
+        return remove(permits, playerId, serverName);
+    }
+
+    void removePermits(UUID playerId) {
+        permits.remove(playerId);
+    }
+
+    boolean hasEntries(UUID playerId) {
+        return waiting.containsKey(playerId) || permits.containsKey(playerId);
+    }
+
+    void clear() {
+        waiting.clear();
+        permits.clear();
+    }
+
+    private static void add(Map<UUID, Set<String>> index, UUID playerId, String serverName) {
+        index.compute(playerId, (ignored, servers) -> {
+            if (servers == null) {
+                return Set.of(serverName);
+            }
+            if (servers.contains(serverName)) {
+                return servers;
+            }
+            Set<String> updated = new HashSet<>(servers);
+            updated.add(serverName);
+            return Set.copyOf(updated);
+        });
+    }
+
+    private static boolean remove(Map<UUID, Set<String>> index, UUID playerId, String serverName) {
+        AtomicBoolean removed = new AtomicBoolean(false);
+        index.computeIfPresent(playerId, (ignored, servers) -> {
+            if (!servers.contains(serverName)) {
+                return servers;
+            }
+            removed.set(true);
+            if (servers.size() == 1) {
+                return null;
+            }
+            Set<String> updated = new HashSet<>(servers);
+            updated.remove(serverName);
+            return Set.copyOf(updated);
+        });
+        return removed.get();
+    }
+}
@@ -0,0 +1,97 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.WakeBudgetSettings;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-player token bucket for waking stopped servers.
+ *
+ * <p>A bucket is stored as the single instant at which it will be full again, so taking a wake is
+ * one atomic update of that instant and refilling needs no timer. A bucket that has refilled says
+ * nothing a new one would not, so such buckets are swept whenever the map has doubled since the
+ * last sweep; only players who woke a server within the last {@code burst} refill intervals are kept.
+ */
+final class PlayerWakeBudget {
+    private static final int MIN_SWEEP_SIZE = 256;
+
+    private final LongSupplier nanoTime;
+    private final Map<UUID, Long> fullAt = new ConcurrentHashMap<>();
+    private volatile WakeBudgetSettings settings;
+    private volatile int sweepSize = MIN_SWEEP_SIZE;
+
+    PlayerWakeBudget(LongSupplier nanoTime) {
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime");
+    }
+
+    /** Applies new limits to existing buckets; {@code null} lets every player wake servers freely. */
+    void configure(WakeBudgetSettings settings) {
+        this.settings = settings;
+        if (settings == null) {
+            fullAt.clear();
+        }
+    }
+
+    /** Takes one wake from the player's bucket, or returns {@code false} when it is empty. */
+    boolean tryAcquire(UUID playerId) {
+        Objects.requireNonNull(playerId, "playerId");
+        WakeBudgetSettings current = settings;
+        if (current == null) {
+            return true;
+        }
+        long now = nanoTime.getAsLong();
+        long interval = current.refillInterval().toNanos();
+        long tolerance = (current.burst() - 1) * interval;
+        boolean[] acquired = new boolean[1];
+        fullAt.compute(playerId, (ignored, full) -> {
+            long base = full == null || full - now < 0 ? now : full;
+            if (base - now > tolerance) {
+                return full;
+            }
+            acquired[0] = true;
+            return base + interval;
+        });
+        if (fullAt.size() > sweepSize) {
+            sweep(now);
+        }
+        return acquired[0];
+    }
+
+    /** Puts back one wake taken by {@link #tryAcquire} that did not wake anything after all. */
+    void refund(UUID playerId) {
+        Objects.requireNonNull(playerId, "playerId");
+        WakeBudgetSettings current = settings;
+        if (current == null) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        long interval = current.refillInterval().toNanos();
+        fullAt.computeIfPresent(playerId, (ignored, full) -> full - interval - now <= 0 ? null : full - interval);
+    }
+
+    /** How long until the player's bucket holds a wake again; zero when it already does. */
+    Duration retryAfter(UUID playerId) {
+        WakeBudgetSettings current = settings;
+        Long full = fullAt.get(playerId);
+        if (current == null || full == null) {
+            return Duration.ZERO;
+        }
+        long tolerance = (current.burst() - 1) * current.refillInterval().toNanos();
+        return Duration.ofNanos(Math.max(0, full - nanoTime.getAsLong() - tolerance));
+    }
+
+    int trackedPlayers() {
+        return fullAt.size();
+    }
+
+    /** Drops refilled buckets; removal is conditional, so a bucket updated meanwhile is kept. */
+    private void sweep(long now) {
+        fullAt.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+        sweepSize = Math.max(MIN_SWEEP_SIZE, fullAt.size() * 2);
+    }
+}
@@ -0,0 +1,217 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+/**
+ * Host-wide budget on how many backends run at once, weighted by each mapping's memory cost.
+ *
+ * <p>A server occupies its cost from the moment its start is granted until the coordinator sees it
+ * stop. Starts that do not fit wait in arrival order while the coordinator evicts idle servers; the
+ * head of the queue is never overtaken, so a costly backend cannot be starved by cheaper ones. A
+ * backend costlier than the whole budget is admitted only when nothing else runs. Grant and position
+ * callbacks are handed to the callback executor because occupancy changes inside lifecycle entry
+ * locks.
+ */
+final class RunningBackendBudget {
+    private final Executor callbackExecutor;
+    private final Map<String, Integer> occupied = new HashMap<>();
+    private final LinkedList<Reservation> pending = new LinkedList<>();
+    private int capacity = ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS;
+    private int inUse;
+
+    RunningBackendBudget(Executor callbackExecutor) {
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor, "callbackExecutor");
+    }
+
+    Reservation reservation(String serverName, int cost, Runnable onGranted, IntConsumer onQueuePosition) {
+        return new Reservation(serverName, cost, onGranted, onQueuePosition);
+    }
+
+    /**
+     * Occupies the reservation's cost immediately when it fits; otherwise queues it and reports
+     * positions. A stale occupancy for the same server is dropped first, since a server only asks
+     * for a reservation after Docker reported it stopped.
+     */
+    boolean submit(Reservation reservation) {
+        Objects.requireNonNull(reservation, "reservation");
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (reservation.state != ReservationState.NEW) {
+                return false;
+            }
+            release(reservation.serverName);
+            if (pending.isEmpty() && fits(reservation.cost)) {
+                grant(reservation);
+                return true;
+            }
+            reservation.state = ReservationState.PENDING;
+            pending.add(reservation);
+            callbacks = dispatch();
+        }
+        run(callbacks);
+        return false;
+    }
+
+    /** Withdraws a pending reservation; a granted one stays occupied until {@link #vacate(String)}. */
+    void withdraw(Reservation reservation) {
+        if (reservation == null) {
+            return;
+        }
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (reservation.state != ReservationState.PENDING) {
+                return;
+            }
+            pending.remove(reservation);
+            reservation.state = ReservationState.RELEASED;
+            callbacks = dispatch();
+        }
+        run(callbacks);
+    }
+
+    /** Records a server observed running, whether or not its start went through this budget. */
+    synchronized void occupy(String serverName, int cost) {
+        Integer previous = occupied.put(serverName, cost);
+        inUse += cost - (previous == null ? 0 : previous);
+    }
+
+    /** Frees a stopped server's cost and grants whatever now fits. */
+    void vacate(String serverName) {
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (!release(serverName)) {
+                return;
+            }
+            callbacks = dispatch();
+        }
+        run(callbacks);
+    }
+
+    void configure(int maxRunningBackends) {
+        if (maxRunningBackends < 0) {
+            throw new IllegalArgumentException("maxRunningBackends must not be negative");
+        }
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (capacity == maxRunningBackends) {
+                return;
+            }
+            capacity = maxRunningBackends;
+            callbacks = dispatch();
+        }
+        run(callbacks);
+    }
+
+    /** Cost that must be evicted before the head of the queue fits; {@code 0} when nothing waits. */
+    synchronized int shortfall() {
+        if (pending.isEmpty() || capacity == ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS) {
+            return 0;
+        }
+        int headCost = pending.getFirst().cost;
+        return (int) Math.max(0, Math.min(inUse, inUse + (long) headCost - capacity));
+    }
+
+    synchronized boolean occupies(String serverName) {
+        return occupied.containsKey(serverName);
+    }
+
+    synchronized int inUse() {
+        return inUse;
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /** Drops every pending reservation without granting it; used during proxy shutdown. */
+    synchronized void clear() {
+        for (Reservation reservation : pending) {
+            reservation.state = ReservationState.RELEASED;
+        }
+        pending.clear();
+    }
+
+    private boolean release(String serverName) {
+        Integer cost = occupied.remove(serverName);
+        if (cost == null) {
+            return false;
+        }
+        inUse -= cost;
+        return true;
+    }
+
+    private List<Runnable> dispatch() {
+        List<Runnable> callbacks = new ArrayList<>();
+        while (!pending.isEmpty() && fits(pending.getFirst().cost)) {
+            Reservation next = pending.removeFirst();
+            grant(next);
+            callbacks.add(next.onGranted);
+        }
+        int position = 0;
+        for (Reservation reservation : pending) {
+            int reported = ++position;
+            if (reservation.reportedPosition != reported) {
+                reservation.reportedPosition = reported;
+                callbacks.add(() -> reservation.onQueuePosition.accept(reported));
+            }
+        }
+        return callbacks;
+    }
+
+    private void grant(Reservation reservation) {
+        reservation.state = ReservationState.GRANTED;
+        occupy(reservation.serverName, reservation.cost);
+    }
+
+    private boolean fits(int cost) {
+        return capacity == ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS
+                || inUse == 0
+                || inUse + (long) cost <= capacity;
+    }
+
+    private void run(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
+            callbackExecutor.execute(callback);
+        }
+    }
+
+    private enum ReservationState {
+        NEW,
+        PENDING,
+        GRANTED,
+        RELEASED
+    }
+
+    /** One startup's claim on running-backend capacity. */
+    static final class Reservation {
+        private final String serverName;
+        private final int cost;
+        private final Runnable onGranted;
+        private final IntConsumer onQueuePosition;
+        private ReservationState state = ReservationState.NEW;
+        private int reportedPosition;
+
+        private Reservation(String serverName, int cost, Runnable onGranted, IntConsumer onQueuePosition) {
+            if (cost <= 0) {
+                throw new IllegalArgumentException("cost must be positive");
+            }
+            this.serverName = Objects.requireNonNull(serverName, "serverName");
+            this.cost = cost;
+            this.onGranted = Objects.requireNonNull(onGranted, "onGranted");
+            this.onQueuePosition = Objects.requireNonNull(onQueuePosition, "onQueuePosition");
+        }
+
+        String serverName() {
+            return serverName;
+        }
+    }
+}
@@ -3,11 +3,17 @@ package me.criseda.autostopper.lifecycle;
 import com.velocitypowered.api.proxy.ConnectionRequestBuilder;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
+import me.criseda.autostopper.config.AbandonedStartSettings;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.ConnectionReleaseSettings;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.StartCommitPoint;
+import me.criseda.autostopper.config.WakeBudgetSettings;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.executor.OperationDeadline;
 import me.criseda.autostopper.messages.AutoStopperMessages;
+import me.criseda.autostopper.messages.LifecycleMessageCache;
 import me.criseda.autostopper.operational.OperationalFailure;
 import me.criseda.autostopper.readiness.ReadinessResult;
 import me.criseda.autostopper.server.ServerManager;
@@ -24,6 +30,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
@@ -41,6 +48,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.LongSupplier;
 
 /**
@@ -57,12 +67,23 @@ public final class ServerLifecycleCoordinator {
     private final ServerHoldRegistry holdRegistry;
     private final AutoStopperExecutor executor;
     private final LongSupplier nanoTime;
+    private final PlayerWakeBudget wakeBudget;
     private final LifecycleTelemetry telemetry;
     private final Map<String, LifecycleEntry> lifecycles = new ConcurrentHashMap<>();
-    private final Set<ReconnectPermit> reconnectPermits = ConcurrentHashMap.newKeySet();
+    private final PlayerConnectionIndex playerIndex = new PlayerConnectionIndex();
+    private final LifecycleMessageCache messages = new LifecycleMessageCache();
+    private final StartAdmissionController startAdmission = new StartAdmissionController();
+    private final RunningBackendBudget runningBackends;
+    private final AtomicBoolean evictionActive = new AtomicBoolean(false);
+    private volatile IntFunction<CompletableFuture<Integer>> backendEvictor =
+            needed -> CompletableFuture.completedFuture(0);
+    private volatile Consumer<String> abandonedStartHandler = serverName -> { };
+    private final DependencyCoordinator dependencies;
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
     private final AtomicLong lifecycleRevision = new AtomicLong();
     private final Object shutdownLock = new Object();
+    private volatile Duration wakeDeadline = Duration.ZERO;
+    private volatile AbandonedStartSettings abandonedStarts;
 
     public ServerLifecycleCoordinator(Logger logger, ServerManager serverManager,
             ServerHoldRegistry holdRegistry, AutoStopperExecutor executor,
@@ -71,8 +92,11 @@ public final class ServerLifecycleCoordinator {
         this.serverManager = Objects.requireNonNull(serverManager, "serverManager");
         this.holdRegistry = Objects.requireNonNull(holdRegistry, "holdRegistry");
         this.executor = Objects.requireNonNull(executor, "executor");
+        this.runningBackends = new RunningBackendBudget(executor);
         this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime");
+        this.wakeBudget = new PlayerWakeBudget(nanoTime);
         this.telemetry = Objects.requireNonNull(telemetry, "telemetry");
+        this.dependencies = new DependencyCoordinator(logger, serverManager);
     }
 
     public ServerLifecycleCoordinator(Logger logger, ServerManager serverManager,
@@ -116,11 +140,98 @@ public final class ServerLifecycleCoordinator {
                 .orElse(0);
     }
 
+    /**
+     * Applies the host-wide concurrent start limit; {@code 0} admits every start immediately.
+     */
+    public void configureStartAdmission(int maxConcurrentStarts) {
+        startAdmission.configure(maxConcurrentStarts);
+    }
+
+    /**
+     * Applies the host-wide running-backend budget, summed over mapping memory costs; {@code 0}
+     * lets every server run.
+     */
+    public void configureRunningBackends(int maxRunningBackends) {
+        runningBackends.configure(maxRunningBackends);
+    }
+
+    /**
+     * Installs the callback that stops idle servers when a start does not fit the running-backend
+     * budget. It receives the cost still missing and completes with the cost it freed; {@code 0}
+     * means no server could be evicted and the start stays queued.
+     */
+    public void configureBackendEvictor(IntFunction<CompletableFuture<Integer>> evictor) {
+        backendEvictor = Objects.requireNonNull(evictor, "evictor");
+    }
+
+    /**
+     * Cancels player wakes whose last waiter disconnects before the settings' commit point;
+     * {@code null} lets every wake run to completion.
+     */
+    public void configureAbandonedStarts(AbandonedStartSettings settings) {
+        abandonedStarts = settings;
+    }
+
+    /**
+     * Limits how many stopped servers each player may wake; {@code null} lets players wake servers
+     * freely. Joining a server that is already ready or starting is never limited.
+     */
+    public void configureWakeBudget(WakeBudgetSettings settings) {
+        wakeBudget.configure(settings);
+    }
+
+    /**
+     * Installs the callback told about a server whose container was started for players who have all
+     * left, so that it can be stopped after a short idle period instead of the full timeout.
+     */
+    public void configureAbandonedStartHandler(Consumer<String> handler) {
+        abandonedStartHandler = Objects.requireNonNull(handler, "handler");
+    }
+
+    /** Cost that must be evicted before the oldest queued start fits the running-backend budget. */
+    public int runningBackendShortfall() {
+        return runningBackends.shortfall();
+    }
+
+    /** Whether the server currently counts against the running-backend budget. */
+    public boolean occupiesRunningBackend(String serverName) {
+        return runningBackends.occupies(serverName);
+    }
+
+    /**
+     * Reconciles the running-backend budget with a container status seen outside a lifecycle
+     * operation, such as a server left running by a previous proxy process.
+     */
+    public void observeContainerStatus(ServerMapping mapping, ContainerStatus status) {
+        Objects.requireNonNull(mapping, "mapping");
+        if (shutdown.get()) {
+            return;
+        }
+        if (status == ContainerStatus.RUNNING) {
+            runningBackends.occupy(mapping.serverName(), mapping.memoryCost());
+        } else if (status == ContainerStatus.STOPPED || status == ContainerStatus.MISSING) {
+            if (state(mapping.serverName()).filter(current -> current == ServerLifecycleState.STARTING).isEmpty()) {
+                runningBackends.vacate(mapping.serverName());
+            }
+        }
+    }
+
+    /**
+     * Caps the whole player-driven startup, from admission to readiness, at one shared budget;
+     * {@link Duration#ZERO} leaves every stage with only its own timeout.
+     */
+    public void configureWakeDeadline(Duration budget) {
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("budget must not be negative");
+        }
+        wakeDeadline = budget;
+    }
+
     public boolean consumeReconnectPermit(Player player, String serverName) {
         if (shutdown.get()) {
             return false;
         }
-        return reconnectPermits.remove(new ReconnectPermit(player.getUniqueId(), serverName));
+        return playerIndex.removePermit(player.getUniqueId(), serverName);
     }
 
     public CompletableFuture<ConnectionOutcome> requestConnection(Player player, RegisteredServer targetServer,
@@ -154,7 +265,7 @@ public final class ServerLifecycleCoordinator {
                         }
                         entry = new LifecycleEntry(mapping, nextRevision());
                     } else if (entry.retired && !entry.isBusy()) {
-                        entry.retired = false;
+                        entry.setRetired(false);
                     }
 
                     UUID playerId = player.getUniqueId();
@@ -176,15 +287,21 @@ public final class ServerLifecycleCoordinator {
                         admitted.set(Admission.rejected(ConnectionOutcome.SERVER_STOPPING));
                         return entry;
                     }
+                    if (entry.state != ServerLifecycleState.STARTING && entry.state != ServerLifecycleState.READY
+                            && !wakeBudget.tryAcquire(playerId)) {
+                        admitted.set(Admission.rejected(ConnectionOutcome.WAKE_LIMITED));
+                        return entry;
+                    }
 
                     ConnectionWaiter waiter = new ConnectionWaiter(
                             playerId, player, targetServer, mapping.serverName(), nanoTime.getAsLong());
                     entry.waiters.put(playerId, waiter);
+                    playerIndex.addWaiter(playerId, mapping.serverName());
                     touch(entry);
                     if (entry.state == ServerLifecycleState.STARTING) {
                         entry.peakWaiterCount = Math.max(entry.peakWaiterCount, entry.waiters.size());
-                        queueStage(waiter, entry.progressStage,
-                                stageMessage(entry.progressStage, mapping.serverName()), false);
+                        updateStartPriority(entry);
+                        queueProgress(entry, waiter);
                         queueWaitingCount(waiter, entry.waiters.size());
                         admitted.set(Admission.queued(entry, waiter));
                         return entry;
@@ -192,7 +309,12 @@ public final class ServerLifecycleCoordinator {
                     if (entry.state == ServerLifecycleState.READY) {
                         queueStage(waiter, ConnectionLifecycleStage.CONNECTING,
                                 stageMessage(ConnectionLifecycleStage.CONNECTING, mapping.serverName()), false);
-                        admitted.set(Admission.connect(entry, waiter));
+                        if (entry.releaseQueue != null) {
+                            entry.releaseQueue.add(waiter);
+                            admitted.set(Admission.waiting(entry, waiter));
+                        } else {
+                            admitted.set(Admission.connect(entry, waiter));
+                        }
                         return entry;
                     }
 
@@ -201,6 +323,14 @@ public final class ServerLifecycleCoordinator {
                     entry.startupStartNanos = nanoTime.getAsLong();
                     entry.peakWaiterCount = 1;
                     entry.startupTelemetryRecorded = false;
+                    entry.abandonable = true;
+                    entry.startCommitted = false;
+                    entry.containerStarted = false;
+                    entry.wakeCharge = playerId;
+                    Duration budget = wakeDeadline;
+                    entry.startupDeadline = budget.isZero()
+                            ? OperationDeadline.unbounded()
+                            : OperationDeadline.after(budget, nanoTime);
                     queueStage(waiter, entry.progressStage,
                             stageMessage(entry.progressStage, mapping.serverName()), false);
                     CompletableFuture<StartupOutcome> operation = new CompletableFuture<>();
@@ -229,18 +359,33 @@ public final class ServerLifecycleCoordinator {
         if (admission.connectNow) {
             connectWaiter(admission.entry, admission.waiter);
         } else if (admission.launchStartup) {
+            scheduleDeadline(admission.entry, mapping, admission.startupFuture);
             launchStatusCheck(admission.entry, mapping, admission.startupFuture);
+        } else if (admission.queued) {
+            startAdmission.refresh();
         }
         drainNotifications(admission.waiter);
         return admission.waiter.future;
     }
 
     public CompletableFuture<ManualStartOutcome> requestManualStart(ServerMapping mapping) {
+        return requestStart(mapping, TelemetryOperationType.MANUAL_START, TelemetryOrigin.MANUAL_COMMAND);
+    }
+
+    /**
+     * Starts an idle pool member ahead of demand; it shares the manual start admission rules.
+     */
+    public CompletableFuture<ManualStartOutcome> requestWarmStart(ServerMapping mapping) {
+        return requestStart(mapping, TelemetryOperationType.WARM_START, TelemetryOrigin.WARM_POOL);
+    }
+
+    private CompletableFuture<ManualStartOutcome> requestStart(ServerMapping mapping,
+            TelemetryOperationType operationType, TelemetryOrigin origin) {
         Objects.requireNonNull(mapping, "mapping");
         long startNanos = nanoTime.getAsLong();
         if (shutdown.get()) {
-            telemetry.recordOperation(TelemetryOperationType.MANUAL_START, mapping.serverName(),
-                    TelemetryOrigin.MANUAL_COMMAND, TelemetryOutcome.PROXY_SHUTDOWN, Duration.ZERO, 0);
+            telemetry.recordOperation(operationType, mapping.serverName(),
+                    origin, TelemetryOutcome.PROXY_SHUTDOWN, Duration.ZERO, 0);
             return CompletableFuture.completedFuture(ManualStartOutcome.PROXY_SHUTDOWN);
         }
 
@@ -264,7 +409,7 @@ public final class ServerLifecycleCoordinator {
                         }
                         entry = new LifecycleEntry(mapping, nextRevision());
                     } else if (entry.retired && !entry.isBusy()) {
-                        entry.retired = false;
+                        entry.setRetired(false);
                     }
 
                     if (entry.retired) {
@@ -280,6 +425,7 @@ public final class ServerLifecycleCoordinator {
                         return entry;
                     }
                     if (entry.state == ServerLifecycleState.STARTING && entry.startupFuture != null) {
+                        entry.abandonable = false;
                         admitted.set(ManualStartAdmission.track(entry.startupFuture));
                         return entry;
                     }
@@ -289,6 +435,11 @@ public final class ServerLifecycleCoordinator {
                     entry.startupStartNanos = nanoTime.getAsLong();
                     entry.peakWaiterCount = 0;
                     entry.startupTelemetryRecorded = false;
+                    entry.abandonable = false;
+                    entry.startCommitted = false;
+                    entry.containerStarted = false;
+                    entry.wakeCharge = null;
+                    entry.startupDeadline = OperationDeadline.unbounded();
                     CompletableFuture<StartupOutcome> operation = new CompletableFuture<>();
                     entry.startupFuture = operation;
                     admitted.set(ManualStartAdmission.start(entry, operation));
@@ -299,20 +450,20 @@ public final class ServerLifecycleCoordinator {
 
         ManualStartAdmission admission = admitted.get();
         if (admission == null) {
-            telemetry.recordOperation(TelemetryOperationType.MANUAL_START, mapping.serverName(),
-                    TelemetryOrigin.MANUAL_COMMAND, TelemetryOutcome.START_FAILED,
+            telemetry.recordOperation(operationType, mapping.serverName(),
+                    origin, TelemetryOutcome.START_FAILED,
                     Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - startNanos)), 0);
             return CompletableFuture.completedFuture(ManualStartOutcome.START_FAILED);
         }
         if (admission.rejectedOutcome != null) {
-            telemetry.recordOperation(TelemetryOperationType.MANUAL_START, mapping.serverName(),
-                    TelemetryOrigin.MANUAL_COMMAND, TelemetryOutcome.from(admission.rejectedOutcome),
+            telemetry.recordOperation(operationType, mapping.serverName(),
+                    origin, TelemetryOutcome.from(admission.rejectedOutcome),
                     Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - startNanos)), 0);
             return CompletableFuture.completedFuture(admission.rejectedOutcome);
         }
         if (admission.completedOutcome != null) {
-            telemetry.recordOperation(TelemetryOperationType.MANUAL_START, mapping.serverName(),
-                    TelemetryOrigin.MANUAL_COMMAND, TelemetryOutcome.from(admission.completedOutcome),
+            telemetry.recordOperation(operationType, mapping.serverName(),
+                    origin, TelemetryOutcome.from(admission.completedOutcome),
                     Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - startNanos)), 0);
             return CompletableFuture.completedFuture(admission.completedOutcome);
         }
@@ -323,8 +474,8 @@ public final class ServerLifecycleCoordinator {
                 .exceptionally(this::exceptionalStartOutcome);
         resultFuture.whenComplete((outcome, error) -> {
             ManualStartOutcome result = outcome != null ? outcome : ManualStartOutcome.START_FAILED;
-            telemetry.recordOperation(TelemetryOperationType.MANUAL_START, mapping.serverName(),
-                    TelemetryOrigin.MANUAL_COMMAND, TelemetryOutcome.from(result),
+            telemetry.recordOperation(operationType, mapping.serverName(),
+                    origin, TelemetryOutcome.from(result),
                     Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - startNanos)), 0);
         });
         return resultFuture;
@@ -366,7 +517,7 @@ public final class ServerLifecycleCoordinator {
                         }
                         entry = new LifecycleEntry(mapping, nextRevision());
                     } else if (entry.retired && !entry.isBusy()) {
-                        entry.retired = false;
+                        entry.setRetired(false);
                     }
 
                     if (entry.retired) {
@@ -470,7 +621,7 @@ public final class ServerLifecycleCoordinator {
                         }
                         entry = new LifecycleEntry(mapping, nextRevision());
                     } else if (entry.retired && !entry.isBusy()) {
-                        entry.retired = false;
+                        entry.setRetired(false);
                     }
 
                     if (entry.retired) {
@@ -502,6 +653,11 @@ public final class ServerLifecycleCoordinator {
                         entry.startupStartNanos = nanoTime.getAsLong();
                         entry.peakWaiterCount = 0;
                         entry.startupTelemetryRecorded = false;
+                        entry.abandonable = false;
+                        entry.startCommitted = false;
+                        entry.containerStarted = false;
+                        entry.wakeCharge = null;
+                        entry.startupDeadline = OperationDeadline.unbounded();
                         CompletableFuture<StartupOutcome> startupFuture = new CompletableFuture<>();
                         entry.startupFuture = startupFuture;
                         admitted.set(ManualRestartAdmission.startOnly(entry, operation, startupFuture));
@@ -564,20 +720,33 @@ public final class ServerLifecycleCoordinator {
     public void discardPlayer(Player player) {
         UUID playerId = player.getUniqueId();
         List<ConnectionWaiter> discarded = new ArrayList<>();
-        for (String serverName : List.copyOf(lifecycles.keySet())) {
+        List<AbandonedStartup> abandoned = new ArrayList<>();
+        for (String serverName : playerIndex.waitingServers(playerId)) {
             lifecycles.computeIfPresent(serverName, (ignored, entry) -> {
                 synchronized (entry) {
                     ConnectionWaiter waiter = entry.waiters.remove(playerId);
+                    playerIndex.removeWaiter(playerId, serverName);
                     if (waiter != null) {
                         waiter.discarded = true;
                         discarded.add(waiter);
+                        updateStartPriority(entry);
                         touch(entry);
+                        AbandonedStartup abandonment = abandonUnwatchedStartup(entry);
+                        if (abandonment != null) {
+                            abandoned.add(abandonment);
+                        }
                     }
                     return entry.retired && !entry.isBusy() ? null : entry;
                 }
             });
         }
-        reconnectPermits.removeIf(permit -> permit.playerId.equals(playerId));
+        playerIndex.removePermits(playerId);
+        for (AbandonedStartup abandonment : abandoned) {
+            finishAbandonedStartup(abandonment);
+        }
+        if (!discarded.isEmpty()) {
+            startAdmission.refresh();
+        }
         for (ConnectionWaiter waiter : discarded) {
             telemetry.recordOperation(TelemetryOperationType.CONNECTION_WAIT,
                     waiter.serverName,
@@ -635,11 +804,12 @@ public final class ServerLifecycleCoordinator {
                         ? ServerLifecycleState.STOPPED
                         : ServerLifecycleState.FAILED);
                 if (result == ContainerStatus.STOPPED) {
-                    entry.lastFailure = null;
+                    entry.setLastFailure(null);
+                    dependencies.release(mapping.serverName());
                 } else {
-                    entry.lastFailure = failure("container stop",
+                    entry.setLastFailure(failure("container stop",
                             "container stop failed with " + result,
-                            "Check Docker access and container state, then allow the bounded retry or retry manually.");
+                            "Check Docker access and container state, then allow the bounded retry or retry manually."));
                 }
                 return entry.retired && !entry.isBusy() ? null : entry;
             }
@@ -670,7 +840,7 @@ public final class ServerLifecycleCoordinator {
                         || entry.state == ServerLifecycleState.FAILED) {
                     transition(entry, ServerLifecycleState.READY);
                 }
-                entry.lastFailure = null;
+                entry.setLastFailure(null);
                 entry.readyConnectionSucceeded = true;
                 touch(entry);
                 return entry;
@@ -700,8 +870,9 @@ public final class ServerLifecycleCoordinator {
                 if (entry.state == ServerLifecycleState.READY
                         || entry.state == ServerLifecycleState.FAILED) {
                     transition(entry, ServerLifecycleState.STOPPED);
-                    entry.lastFailure = null;
+                    entry.setLastFailure(null);
                     entry.readyConnectionSucceeded = false;
+                    dependencies.release(mapping.serverName());
                 }
                 accepted.set(snapshot(entry));
                 return entry;
@@ -715,16 +886,22 @@ public final class ServerLifecycleCoordinator {
             return;
         }
         holdRegistry.reconcileConfig(previous, current);
+        startAdmission.configure(current.maxConcurrentStarts());
+        runningBackends.configure(current.maxRunningBackends());
+        wakeDeadline = Duration.ofSeconds(current.wakeDeadlineSeconds());
+        abandonedStarts = current.abandonedStarts().orElse(null);
+        wakeBudget.configure(current.wakeBudget().orElse(null));
+        messages.retainServers(current.serverNames());
         for (String serverName : previous.serverNames()) {
             Optional<ServerMapping> currentMapping = current.server(serverName);
             lifecycles.computeIfPresent(serverName, (ignored, entry) -> {
                 synchronized (entry) {
                     if (currentMapping.isPresent() && entry.mapping.equals(currentMapping.get())) {
-                        entry.retired = false;
+                        entry.setRetired(false);
                         return entry;
                     }
                     if (entry.isBusy()) {
-                        entry.retired = true;
+                        entry.setRetired(true);
                         for (ConnectionWaiter waiter : entry.waiters.values()) {
                             suppressNotifications(waiter);
                         }
@@ -737,75 +914,48 @@ public final class ServerLifecycleCoordinator {
         }
     }
 
+    // Status readers below are wait-free: they read the entry's published view and never take its lock.
+
     public Optional<ServerLifecycleState> state(String serverName) {
-        LifecycleEntry entry = lifecycles.get(serverName);
-        if (entry == null) {
+        PublishedStatus published = published(serverName);
+        if (published == null || published.retired()) {
             return Optional.empty();
         }
-        synchronized (entry) {
-            if (entry.retired) {
-                return Optional.empty();
-            }
-            return Optional.of(entry.state);
-        }
+        return published.status().state();
     }
 
     public Optional<ServerLifecycleState> state(ServerMapping mapping) {
-        Objects.requireNonNull(mapping, "mapping");
-        LifecycleEntry entry = lifecycles.get(mapping.serverName());
-        if (entry == null) {
-            return Optional.empty();
-        }
-        synchronized (entry) {
-            if (entry.retired || !entry.mapping.equals(mapping)) {
-                return Optional.empty();
-            }
-            return Optional.of(entry.state);
-        }
+        return statusSnapshot(mapping).state();
     }
 
     public LifecycleStatusSnapshot statusSnapshot(ServerMapping mapping) {
         Objects.requireNonNull(mapping, "mapping");
         LifecycleEntry entry = lifecycles.get(mapping.serverName());
-        if (entry == null) {
+        if (entry == null || !entry.mapping.equals(mapping)) {
             return LifecycleStatusSnapshot.absent();
         }
-        synchronized (entry) {
-            if (entry.retired || !entry.mapping.equals(mapping)) {
-                return LifecycleStatusSnapshot.absent();
-            }
-            return snapshot(entry);
-        }
+        PublishedStatus published = entry.published;
+        return published.retired() ? LifecycleStatusSnapshot.absent() : published.status();
     }
 
     public int waitingCount(String serverName) {
-        LifecycleEntry entry = lifecycles.get(serverName);
-        if (entry == null) {
-            return 0;
-        }
-        synchronized (entry) {
-            return entry.waiters.size();
-        }
+        PublishedStatus published = published(serverName);
+        return published == null ? 0 : published.status().waitingPlayers();
     }
 
     public Optional<ConnectionOutcome> lastConnectionOutcome(String serverName) {
-        LifecycleEntry entry = lifecycles.get(serverName);
-        if (entry == null) {
-            return Optional.empty();
-        }
-        synchronized (entry) {
-            return Optional.ofNullable(entry.lastConnectionOutcome);
-        }
+        PublishedStatus published = published(serverName);
+        return published == null ? Optional.empty() : Optional.ofNullable(published.lastConnectionOutcome());
     }
 
     public Optional<OperationalFailure> lastFailure(String serverName) {
+        PublishedStatus published = published(serverName);
+        return published == null ? Optional.empty() : published.status().lastFailure();
+    }
+
+    private PublishedStatus published(String serverName) {
         LifecycleEntry entry = lifecycles.get(serverName);
-        if (entry == null) {
-            return Optional.empty();
-        }
-        synchronized (entry) {
-            return Optional.ofNullable(entry.lastFailure);
-        }
+        return entry == null ? null : entry.published;
     }
 
     public void shutdown() {
@@ -817,6 +967,8 @@ public final class ServerLifecycleCoordinator {
                 return;
             }
             holdRegistry.clear();
+            startAdmission.clear();
+            runningBackends.clear();
             for (LifecycleEntry entry : lifecycles.values()) {
                 synchronized (entry) {
                     if (entry.activeOperation != null) {
@@ -840,11 +992,11 @@ public final class ServerLifecycleCoordinator {
                         waiters.add(waiter);
                     }
                     entry.waiters.clear();
-                    entry.lastConnectionOutcome = ConnectionOutcome.PROXY_SHUTDOWN;
+                    entry.setLastConnectionOutcome(ConnectionOutcome.PROXY_SHUTDOWN);
                 }
             }
             lifecycles.clear();
-            reconnectPermits.clear();
+            playerIndex.clear();
         }
 
         for (Map.Entry<String, Long> startup : interruptedStartups) {
@@ -867,9 +1019,16 @@ public final class ServerLifecycleCoordinator {
     private void launchStatusCheck(LifecycleEntry entry, ServerMapping mapping,
             CompletableFuture<StartupOutcome> operation) {
         long stageStart = nanoTime.getAsLong();
+        OperationDeadline deadline = enterStage(entry, mapping, operation, TelemetryOperationType.STATUS_CHECK,
+                stageStart);
+        if (deadline == null) {
+            return;
+        }
         CompletableFuture<Optional<ContainerStatus>> statusFuture;
         try {
-            statusFuture = serverManager.getServerStatusAsync(mapping);
+            statusFuture = deadline.bounded()
+                    ? serverManager.getServerStatusAsync(mapping, deadline)
+                    : serverManager.getServerStatusAsync(mapping);
         } catch (RuntimeException error) {
             Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
             StartupOutcome outcome = exceptionalOutcome(error, StartupStage.STATUS, mapping.serverName());
@@ -889,7 +1048,7 @@ public final class ServerLifecycleCoordinator {
             return;
         }
         statusFuture.whenComplete((status, error) -> {
-            if (shutdown.get()) {
+            if (shutdown.get() || startupAborted(entry, operation)) {
                 return;
             }
             Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
@@ -916,19 +1075,215 @@ public final class ServerLifecycleCoordinator {
             telemetry.recordStage(TelemetryOperationType.STATUS_CHECK, mapping.serverName(),
                     TelemetryOutcome.from(containerStatus), stageElapsed);
             switch (containerStatus) {
-                case RUNNING -> launchReadiness(entry, mapping, operation, false);
+                case RUNNING -> {
+                    refundWake(entry);
+                    launchDependencies(entry, mapping, operation, false);
+                }
                 case STOPPED -> launchStart(entry, mapping, operation);
                 case MISSING -> completeStartup(entry, mapping, operation, StartupOutcome.STATUS_MISSING);
                 case INACCESSIBLE -> completeStartup(entry, mapping, operation, StartupOutcome.STATUS_INACCESSIBLE);
-                case TIMED_OUT -> completeStartup(entry, mapping, operation, StartupOutcome.STATUS_TIMED_OUT);
+                case TIMED_OUT -> completeStartup(entry, mapping, operation,
+                        deadline.expired() ? StartupOutcome.DEADLINE_EXCEEDED : StartupOutcome.STATUS_TIMED_OUT);
                 case FAILED -> completeStartup(entry, mapping, operation, StartupOutcome.STATUS_FAILED);
             }
         });
     }
 
+    /**
+     * Gives back the wake charged to the player whose connection began this startup: a container
+     * that was already running, typically after a proxy restart, is not woken by them.
+     */
+    private void refundWake(LifecycleEntry entry) {
+        UUID playerId;
+        synchronized (entry) {
+            playerId = entry.wakeCharge;
+            entry.wakeCharge = null;
+        }
+        if (playerId != null) {
+            wakeBudget.refund(playerId);
+        }
+    }
+
     private void launchStart(LifecycleEntry entry, ServerMapping mapping,
             CompletableFuture<StartupOutcome> operation) {
+        long queueStart = nanoTime.getAsLong();
+        if (enterStage(entry, mapping, operation, TelemetryOperationType.START_QUEUE, queueStart) == null) {
+            return;
+        }
+        RunningBackendBudget.Reservation reservation = runningBackends.reservation(mapping.serverName(),
+                mapping.memoryCost(),
+                () -> submitStart(entry, mapping, operation, queueStart),
+                position -> reportQueuePosition(entry, operation, position));
+        synchronized (entry) {
+            if (shutdown.get() || entry.startupFuture != operation
+                    || entry.state != ServerLifecycleState.STARTING) {
+                return;
+            }
+            entry.backendReservation = reservation;
+        }
+        if (runningBackends.submit(reservation)) {
+            submitStart(entry, mapping, operation, queueStart);
+        } else {
+            logger.info("Start of {} is queued until the running-backend budget has room", mapping.serverName());
+            requestEviction();
+        }
+    }
+
+    private void submitStart(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation, long queueStart) {
+        StartAdmissionController.Ticket ticket = startAdmission.ticket(mapping.serverName(), mapping.startWeight(),
+                () -> admitStart(entry, mapping, operation, queueStart),
+                position -> reportQueuePosition(entry, operation, position));
+        synchronized (entry) {
+            if (shutdown.get() || entry.startupFuture != operation
+                    || entry.state != ServerLifecycleState.STARTING) {
+                return;
+            }
+            entry.startTicket = ticket;
+            entry.queuePosition = 0;
+            entry.startAdmitted = false;
+            ticket.priority(entry.waiters.size());
+        }
+        if (startAdmission.submit(ticket)) {
+            admitStart(entry, mapping, operation, queueStart);
+        }
+    }
+
+    private void requestEviction() {
+        if (shutdown.get() || !evictionActive.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<Void> eviction;
+        try {
+            eviction = executor.supply(this::evictUntilSettled).thenCompose(Function.identity());
+        } catch (RuntimeException e) {
+            evictionActive.set(false);
+            logger.warn("Could not schedule idle server eviction: {}", e.toString());
+            return;
+        }
+        eviction.whenComplete((ignored, error) -> {
+            evictionActive.set(false);
+            if (error != null && !shutdown.get()) {
+                logger.warn("Idle server eviction failed: {}", error.toString());
+            }
+        });
+    }
+
+    private CompletableFuture<Void> evictUntilSettled() {
+        int needed = runningBackends.shortfall();
+        if (shutdown.get() || needed <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return backendEvictor.apply(needed).thenCompose(freed -> {
+            if (freed <= 0) {
+                logger.info("No idle server can be evicted; {} queued start(s) wait for a server to stop",
+                        runningBackends.pendingCount());
+                return CompletableFuture.completedFuture(null);
+            }
+            return evictUntilSettled();
+        });
+    }
+
+    private void admitStart(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation, long queueStart) {
+        synchronized (entry) {
+            if (shutdown.get() || entry.startupFuture != operation
+                    || entry.state != ServerLifecycleState.STARTING) {
+                return;
+            }
+            entry.startAdmitted = true;
+            entry.queuePosition = 0;
+        }
+        telemetry.recordStage(TelemetryOperationType.START_QUEUE, mapping.serverName(), TelemetryOutcome.ADMITTED,
+                Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - queueStart)));
+        launchDependencies(entry, mapping, operation, true);
+    }
+
+    private void reportQueuePosition(LifecycleEntry entry, CompletableFuture<StartupOutcome> operation,
+            int position) {
+        List<ConnectionWaiter> waiters;
+        synchronized (entry) {
+            if (shutdown.get() || entry.startupFuture != operation
+                    || entry.state != ServerLifecycleState.STARTING || entry.startAdmitted) {
+                return;
+            }
+            entry.progressStage = ConnectionLifecycleStage.QUEUED_FOR_START;
+            entry.queuePosition = position;
+            waiters = new ArrayList<>(entry.waiters.values());
+            for (ConnectionWaiter waiter : waiters) {
+                queueQueuePosition(waiter, entry.mapping.serverName(), position);
+            }
+        }
+        drainNotifications(waiters);
+    }
+
+    private void launchDependencies(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation, boolean startContainer) {
+        if (mapping.dependsOn().isEmpty()) {
+            continueAfterDependencies(entry, mapping, operation, startContainer);
+            return;
+        }
+        long stageStart = nanoTime.getAsLong();
+        if (enterStage(entry, mapping, operation, TelemetryOperationType.DEPENDENCY_START, stageStart) == null) {
+            return;
+        }
+        List<ConnectionWaiter> stageWaiters = recordSharedStage(
+                entry, operation, ConnectionLifecycleStage.STARTING);
+        if (stageWaiters == null) {
+            return;
+        }
+        CompletableFuture<Optional<String>> dependencyFuture = dependencies.acquire(mapping);
+        if (!ownOperation(entry, operation, dependencyFuture)) {
+            return;
+        }
+        dependencyFuture.whenComplete((failedDependency, error) -> {
+            if (shutdown.get()) {
+                return;
+            }
+            if (startupAborted(entry, operation)) {
+                dependencies.release(mapping.serverName());
+                return;
+            }
+            Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
+            if (error != null || failedDependency.isPresent()) {
+                StartupOutcome outcome = error != null
+                        ? exceptionalOutcome(error, StartupStage.DEPENDENCIES, mapping.serverName())
+                        : StartupOutcome.DEPENDENCY_FAILED;
+                if (failedDependency != null) {
+                    failedDependency.ifPresent(name -> logger.warn(
+                            "Server {} was not started because dependency {} is not ready",
+                            mapping.serverName(), name));
+                }
+                telemetry.recordStage(TelemetryOperationType.DEPENDENCY_START, mapping.serverName(),
+                        toTelemetryOutcome(outcome), stageElapsed);
+                dependencies.release(mapping.serverName());
+                completeStartup(entry, mapping, operation, outcome);
+                return;
+            }
+            telemetry.recordStage(TelemetryOperationType.DEPENDENCY_START, mapping.serverName(),
+                    TelemetryOutcome.READY, stageElapsed);
+            continueAfterDependencies(entry, mapping, operation, startContainer);
+        });
+        drainNotifications(stageWaiters);
+    }
+
+    private void continueAfterDependencies(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation, boolean startContainer) {
+        if (startContainer) {
+            launchContainerStart(entry, mapping, operation);
+        } else {
+            launchReadiness(entry, mapping, operation, false);
+        }
+    }
+
+    private void launchContainerStart(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation) {
         long stageStart = nanoTime.getAsLong();
+        OperationDeadline deadline = enterStage(entry, mapping, operation, TelemetryOperationType.CONTAINER_START,
+                stageStart);
+        if (deadline == null) {
+            return;
+        }
         List<ConnectionWaiter> stageWaiters = recordSharedStage(
                 entry, operation, ConnectionLifecycleStage.STARTING);
         if (stageWaiters == null) {
@@ -936,7 +1291,9 @@ public final class ServerLifecycleCoordinator {
         }
         CompletableFuture<ContainerStatus> startFuture;
         try {
-            startFuture = serverManager.startServerAsync(mapping);
+            startFuture = deadline.bounded()
+                    ? serverManager.startServerAsync(mapping, deadline)
+                    : serverManager.startServerAsync(mapping);
         } catch (RuntimeException error) {
             Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
             StartupOutcome outcome = exceptionalOutcome(error, StartupStage.START, mapping.serverName());
@@ -956,7 +1313,7 @@ public final class ServerLifecycleCoordinator {
             return;
         }
         startFuture.whenComplete((result, error) -> {
-            if (shutdown.get()) {
+            if (shutdown.get() || startupAborted(entry, operation)) {
                 return;
             }
             Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
@@ -979,7 +1336,8 @@ public final class ServerLifecycleCoordinator {
                 case RUNNING -> launchReadiness(entry, mapping, operation, true);
                 case MISSING -> completeStartup(entry, mapping, operation, StartupOutcome.START_MISSING);
                 case INACCESSIBLE -> completeStartup(entry, mapping, operation, StartupOutcome.START_INACCESSIBLE);
-                case TIMED_OUT -> completeStartup(entry, mapping, operation, StartupOutcome.START_TIMED_OUT);
+                case TIMED_OUT -> completeStartup(entry, mapping, operation,
+                        deadline.expired() ? StartupOutcome.DEADLINE_EXCEEDED : StartupOutcome.START_TIMED_OUT);
                 case STOPPED, FAILED -> completeStartup(entry, mapping, operation, StartupOutcome.START_FAILED);
             }
         });
@@ -989,6 +1347,11 @@ public final class ServerLifecycleCoordinator {
     private void launchReadiness(LifecycleEntry entry, ServerMapping mapping,
             CompletableFuture<StartupOutcome> operation, boolean startedContainer) {
         long stageStart = nanoTime.getAsLong();
+        OperationDeadline deadline = enterStage(entry, mapping, operation, TelemetryOperationType.READINESS_CHECK,
+                stageStart);
+        if (deadline == null) {
+            return;
+        }
         List<ConnectionWaiter> stageWaiters = recordSharedStage(
                 entry, operation, ConnectionLifecycleStage.WAITING_FOR_READINESS);
         if (stageWaiters == null) {
@@ -996,7 +1359,9 @@ public final class ServerLifecycleCoordinator {
         }
         CompletableFuture<ReadinessResult> readinessFuture;
         try {
-            readinessFuture = serverManager.waitForServerReadyAsync(mapping);
+            readinessFuture = deadline.bounded()
+                    ? serverManager.waitForServerReadyAsync(mapping, deadline)
+                    : serverManager.waitForServerReadyAsync(mapping);
         } catch (RuntimeException error) {
             Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
             StartupOutcome outcome = exceptionalOutcome(error, StartupStage.READINESS, mapping.serverName());
@@ -1016,7 +1381,7 @@ public final class ServerLifecycleCoordinator {
             return;
         }
         readinessFuture.whenComplete((ready, error) -> {
-            if (shutdown.get()) {
+            if (shutdown.get() || startupAborted(entry, operation)) {
                 return;
             }
             Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
@@ -1036,12 +1401,176 @@ public final class ServerLifecycleCoordinator {
                         : TelemetryOutcome.from(ready.outcome());
                 telemetry.recordStage(TelemetryOperationType.READINESS_CHECK, mapping.serverName(),
                         stageOutcome, stageElapsed);
-                completeStartup(entry, mapping, operation, StartupOutcome.NOT_READY, ready);
+                if (deadline.expired()) {
+                    completeStartup(entry, mapping, operation, StartupOutcome.DEADLINE_EXCEEDED);
+                } else {
+                    completeStartup(entry, mapping, operation, StartupOutcome.NOT_READY, ready);
+                }
             }
         });
         drainNotifications(stageWaiters);
     }
 
+    /**
+     * Records which stage now owns the startup and returns its deadline, or {@code null} when the
+     * startup is no longer current or the wake deadline already passed.
+     */
+    private OperationDeadline enterStage(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation, TelemetryOperationType stage, long stageStart) {
+        OperationDeadline deadline;
+        synchronized (entry) {
+            if (shutdown.get() || entry.startupFuture != operation
+                    || entry.state != ServerLifecycleState.STARTING) {
+                return null;
+            }
+            entry.deadlineStage = stage;
+            entry.deadlineStageStartNanos = stageStart;
+            if (stage == TelemetryOperationType.CONTAINER_START || stage == TelemetryOperationType.READINESS_CHECK) {
+                entry.startCommitted = true;
+            }
+            if (stage == TelemetryOperationType.CONTAINER_START) {
+                entry.containerStarted = true;
+            }
+            deadline = entry.startupDeadline;
+        }
+        if (deadline.expired()) {
+            expireStartup(entry, mapping, operation);
+            return null;
+        }
+        return deadline;
+    }
+
+    private void scheduleDeadline(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation) {
+        OperationDeadline deadline;
+        synchronized (entry) {
+            deadline = entry.startupDeadline;
+        }
+        if (!deadline.bounded()) {
+            return;
+        }
+        CompletableFuture<Void> timer = executor.runAfter(deadline.remaining(),
+                () -> expireStartup(entry, mapping, operation));
+        synchronized (entry) {
+            if (entry.startupFuture == operation) {
+                entry.deadlineTimer = timer;
+                return;
+            }
+        }
+        timer.cancel(false);
+    }
+
+    /**
+     * Fails a player startup whose wake deadline passed and cancels whatever stage is still running.
+     * Stage callbacks that complete afterwards see {@link #startupAborted} and stand down. A startup
+     * past its commit point keeps its running-backend slot, since its container carries on booting.
+     */
+    private void expireStartup(LifecycleEntry entry, ServerMapping mapping,
+            CompletableFuture<StartupOutcome> operation) {
+        TelemetryOperationType stage;
+        long stageStart;
+        CompletableFuture<?> active;
+        synchronized (entry) {
+            if (shutdown.get() || entry.startupFuture != operation
+                    || entry.state != ServerLifecycleState.STARTING || !entry.startupDeadline.expired()) {
+                return;
+            }
+            entry.abortedStartup = operation;
+            stage = entry.deadlineStage;
+            stageStart = entry.deadlineStageStartNanos;
+            active = entry.activeOperation;
+        }
+        Duration stageElapsed = Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - stageStart));
+        logger.warn("Startup of server {} exceeded its wake deadline during {} after {}ms",
+                mapping.serverName(), stage, stageElapsed.toMillis());
+        telemetry.recordStage(stage, mapping.serverName(), TelemetryOutcome.DEADLINE_EXCEEDED, stageElapsed);
+        completeStartup(entry, mapping, operation, StartupOutcome.DEADLINE_EXCEEDED);
+        if (active != null) {
+            active.cancel(true);
+        }
+    }
+
+    /**
+     * Abandons a player wake whose last waiter just left, unless the start is past the configured
+     * commit point or someone else asked for it. Runs under the entry lock and leaves the startup at
+     * once, so a player arriving next does not join a dying operation: a wake cancelled before
+     * {@code docker start} moves to {@code STOPPED}, while one whose container is already up moves to
+     * {@code READY} and keeps its running-backend occupancy until the container is stopped. A wake that
+     * found the container already running started nothing, so it is not recorded as an abandoned
+     * startup. {@link #finishAbandonedStartup} releases the rest outside the lock.
+     */
+    private AbandonedStartup abandonUnwatchedStartup(LifecycleEntry entry) {
+        AbandonedStartSettings settings = abandonedStarts;
+        if (settings == null || !entry.abandonable || !entry.waiters.isEmpty()
+                || entry.state != ServerLifecycleState.STARTING || entry.startupFuture == null
+                || (entry.startCommitted && settings.commitPoint() == StartCommitPoint.CONTAINER_START)) {
+            return null;
+        }
+        CompletableFuture<StartupOutcome> operation = entry.startupFuture;
+        AbandonedStartup abandonment = new AbandonedStartup(entry.mapping.serverName(), operation,
+                entry.activeOperation, entry.deadlineTimer, entry.startTicket, entry.backendReservation,
+                entry.deadlineStage, entry.deadlineStageStartNanos, entry.startCommitted, entry.containerStarted);
+        entry.abortedStartup = operation;
+        if (!entry.startupTelemetryRecorded && !abandonment.alreadyRunning()) {
+            entry.startupTelemetryRecorded = true;
+            telemetry.recordOperation(TelemetryOperationType.STARTUP, entry.mapping.serverName(),
+                    TelemetryOrigin.PLAYER_CONNECTION, TelemetryOutcome.ABANDONED,
+                    Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - entry.startupStartNanos)),
+                    entry.peakWaiterCount);
+        }
+        entry.startupFuture = null;
+        entry.activeOperation = null;
+        entry.deadlineTimer = null;
+        entry.startTicket = null;
+        entry.backendReservation = null;
+        entry.queuePosition = 0;
+        if (abandonment.committed()) {
+            transition(entry, ServerLifecycleState.READY);
+            entry.progressStage = ConnectionLifecycleStage.CONNECTING;
+            entry.readyConnectionSucceeded = false;
+        } else {
+            transition(entry, ServerLifecycleState.STOPPED);
+        }
+        entry.setLastConnectionOutcome(ConnectionOutcome.PLAYER_DISCONNECTED);
+        return abandonment;
+    }
+
+    private void finishAbandonedStartup(AbandonedStartup abandonment) {
+        String serverName = abandonment.serverName();
+        cancelDeadline(abandonment.deadlineTimer());
+        runningBackends.withdraw(abandonment.backendReservation());
+        startAdmission.release(abandonment.startTicket());
+        if (!abandonment.committed()) {
+            dependencies.release(serverName);
+        }
+        telemetry.recordStage(abandonment.stage(), serverName, TelemetryOutcome.ABANDONED,
+                Duration.ofNanos(Math.max(0, nanoTime.getAsLong() - abandonment.stageStartNanos())));
+        abandonment.operation().complete(StartupOutcome.ABANDONED);
+        if (abandonment.activeOperation() != null) {
+            abandonment.activeOperation().cancel(true);
+        }
+        if (abandonment.committed()) {
+            logger.info("Every player waiting for {} left after its container {}; stopping it once briefly idle",
+                    serverName, abandonment.alreadyRunning() ? "was found running" : "was started");
+            abandonedStartHandler.accept(serverName);
+        } else {
+            logger.info("Every player waiting for {} left during {}; cancelled the start",
+                    serverName, abandonment.stage());
+        }
+    }
+
+    private static void cancelDeadline(CompletableFuture<Void> deadlineTimer) {
+        if (deadlineTimer != null) {
+            deadlineTimer.cancel(false);
+        }
+    }
+
+    private boolean startupAborted(LifecycleEntry entry, CompletableFuture<StartupOutcome> operation) {
+        synchronized (entry) {
+            return entry.abortedStartup == operation;
+        }
+    }
+
     private void completeStartup(LifecycleEntry entry, ServerMapping mapping,
             CompletableFuture<StartupOutcome> operation, StartupOutcome outcome) {
         completeStartup(entry, mapping, operation, outcome, null);
@@ -1054,6 +1583,9 @@ public final class ServerLifecycleCoordinator {
         boolean accepted;
         long startupDurationNanos;
         int waiterCount;
+        StartAdmissionController.Ticket startTicket;
+        RunningBackendBudget.Reservation backendReservation;
+        CompletableFuture<Void> deadlineTimer;
         synchronized (entry) {
             if (shutdown.get()) {
                 return;
@@ -1073,17 +1605,27 @@ public final class ServerLifecycleCoordinator {
             }
             entry.startupFuture = null;
             entry.activeOperation = null;
-            transition(entry, outcome.ready ? ServerLifecycleState.READY : ServerLifecycleState.FAILED);
+            deadlineTimer = entry.deadlineTimer;
+            entry.deadlineTimer = null;
+            startTicket = entry.startTicket;
+            entry.startTicket = null;
+            backendReservation = entry.backendReservation;
+            entry.backendReservation = null;
+            entry.queuePosition = 0;
+            // A deadline that passes once the start is committed leaves the container booting
+            boolean containerRunning = outcome == StartupOutcome.DEADLINE_EXCEEDED && entry.startCommitted;
+            transition(entry, outcome.ready ? ServerLifecycleState.READY : ServerLifecycleState.FAILED,
+                    containerRunning);
             if (outcome.ready) {
                 entry.progressStage = ConnectionLifecycleStage.CONNECTING;
                 entry.readyConnectionSucceeded = false;
-                entry.lastFailure = null;
+                entry.setLastFailure(null);
             } else {
                 String detail = readinessFailure == null
                         ? startupFailureDetail(outcome)
                         : readinessFailure.playerDetail();
-                entry.lastFailure = failure("server startup", detail,
-                        startupRemediation(outcome));
+                entry.setLastFailure(failure("server startup", detail,
+                        startupRemediation(outcome)));
             }
             waiters = new ArrayList<>(entry.waiters.values());
             if (outcome.ready) {
@@ -1091,27 +1633,46 @@ public final class ServerLifecycleCoordinator {
                     queueStage(waiter, ConnectionLifecycleStage.CONNECTING,
                             stageMessage(ConnectionLifecycleStage.CONNECTING, mapping.serverName()), false);
                 }
+                ConnectionReleaseSettings release = mapping.release();
+                entry.releaseQueue = null;
+                if (release.staggered() && waiters.size() > release.waveSize()) {
+                    waiters.sort(Comparator.comparingLong(waiter -> waiter.startNanos));
+                    entry.releaseQueue = new ArrayDeque<>(waiters);
+                }
             }
             if (!outcome.ready) {
+                for (ConnectionWaiter waiter : waiters) {
+                    playerIndex.removeWaiter(waiter.playerId, waiter.serverName);
+                }
                 entry.waiters.clear();
-                entry.lastConnectionOutcome = outcome.connectionOutcome;
+                entry.setLastConnectionOutcome(outcome.connectionOutcome);
             }
         }
 
+        cancelDeadline(deadlineTimer);
+        runningBackends.withdraw(backendReservation);
+        startAdmission.release(startTicket);
         operation.complete(outcome);
         if (outcome.ready) {
-            for (ConnectionWaiter waiter : waiters) {
-                connectWaiter(entry, waiter);
-                drainNotifications(waiter);
+            ArrayDeque<ConnectionWaiter> releaseQueue;
+            synchronized (entry) {
+                releaseQueue = entry.releaseQueue;
+            }
+            if (releaseQueue != null) {
+                releaseWave(entry, releaseQueue, new ConnectionReleasePacer(mapping.release()), List.of());
+            } else {
+                for (ConnectionWaiter waiter : waiters) {
+                    connectWaiter(entry, waiter);
+                    drainNotifications(waiter);
+                }
             }
         } else {
+            Component failureReason = startupFailureMessage(mapping.serverName(), outcome, readinessFailure);
             for (ConnectionWaiter waiter : waiters) {
                 boolean active = isPlayerActive(waiter.player);
                 boolean initialConnection = active && isInitialConnection(waiter.player);
                 if (active) {
-                    Component failureMessage = AutoStopperMessages.lifecycleFailed(
-                            startupFailureMessage(mapping.serverName(), outcome, readinessFailure),
-                            elapsed(waiter));
+                    Component failureMessage = AutoStopperMessages.lifecycleFailed(failureReason, elapsed(waiter));
                     queueStage(waiter, ConnectionLifecycleStage.FAILED, failureMessage, initialConnection);
                 }
                 ConnectionOutcome waiterOutcome = active
@@ -1131,6 +1692,51 @@ public final class ServerLifecycleCoordinator {
         }
     }
 
+    /**
+     * Connects the next wave of players queued on a freshly ready server, longest waiting first, and
+     * schedules the following wave after the mapping's interval. Players arriving meanwhile join the
+     * back of the queue so the backend never sees more than one wave of logins at once.
+     */
+    private void releaseWave(LifecycleEntry entry, ArrayDeque<ConnectionWaiter> releaseQueue,
+            ConnectionReleasePacer pacer, List<ConnectionWaiter> previousWave) {
+        if (shutdown.get()) {
+            return;
+        }
+        List<CompletableFuture<ConnectionOutcome>> previousOutcomes = new ArrayList<>();
+        for (ConnectionWaiter waiter : previousWave) {
+            previousOutcomes.add(waiter.future);
+        }
+        int waveSize = pacer.nextWaveSize(previousOutcomes);
+        List<ConnectionWaiter> wave = new ArrayList<>();
+        int remaining;
+        synchronized (entry) {
+            if (entry.releaseQueue != releaseQueue) {
+                return;
+            }
+            while (wave.size() < waveSize && !releaseQueue.isEmpty()) {
+                ConnectionWaiter waiter = releaseQueue.poll();
+                if (!waiter.discarded && !waiter.future.isDone()) {
+                    wave.add(waiter);
+                }
+            }
+            remaining = releaseQueue.size();
+            if (remaining == 0) {
+                entry.releaseQueue = null;
+            }
+        }
+        for (ConnectionWaiter waiter : wave) {
+            connectWaiter(entry, waiter);
+            drainNotifications(waiter);
+        }
+        if (remaining == 0) {
+            return;
+        }
+        Duration interval = entry.mapping.release().waveInterval();
+        logger.debug("Connected a wave of {} players to {}; {} still queued for the next wave in {}ms",
+                wave.size(), entry.mapping.serverName(), remaining, interval.toMillis());
+        executor.runAfter(interval, () -> releaseWave(entry, releaseQueue, pacer, wave));
+    }
+
     private void connectWaiter(LifecycleEntry entry, ConnectionWaiter waiter) {
         if (shutdown.get() || waiter.discarded || waiter.future.isDone()) {
             return;
@@ -1141,27 +1747,26 @@ public final class ServerLifecycleCoordinator {
         }
 
         String serverName = entry.mapping.serverName();
-        ReconnectPermit permit = new ReconnectPermit(waiter.playerId, serverName);
-        reconnectPermits.add(permit);
+        playerIndex.addPermit(waiter.playerId, serverName);
         CompletableFuture<ConnectionRequestBuilder.Result> connection;
         try {
             connection = waiter.player.createConnectionRequest(waiter.targetServer).connect();
         } catch (RuntimeException error) {
-            reconnectPermits.remove(permit);
+            playerIndex.removePermit(waiter.playerId, serverName);
             logger.error("Error creating connection request for server {}", serverName, error);
             finishWaiter(entry, waiter, ConnectionOutcome.CONNECTION_FAILED);
             return;
         }
 
         if (connection == null) {
-            reconnectPermits.remove(permit);
+            playerIndex.removePermit(waiter.playerId, serverName);
             logger.error("Connection request for server {} returned no future", serverName);
             finishWaiter(entry, waiter, ConnectionOutcome.CONNECTION_FAILED);
             return;
         }
         synchronized (entry) {
             if (shutdown.get() || waiter.discarded || waiter.future.isDone()) {
-                reconnectPermits.remove(permit);
+                playerIndex.removePermit(waiter.playerId, serverName);
                 connection.cancel(true);
                 return;
             }
@@ -1169,7 +1774,7 @@ public final class ServerLifecycleCoordinator {
         }
 
         connection.whenComplete((result, error) -> {
-            reconnectPermits.remove(permit);
+            playerIndex.removePermit(waiter.playerId, serverName);
             if (shutdown.get()) {
                 return;
             }
@@ -1212,12 +1817,13 @@ public final class ServerLifecycleCoordinator {
             if (!owned) {
                 return;
             }
+            playerIndex.removeWaiter(waiter.playerId, waiter.serverName);
             remainingWaiters = entry.waiters.size();
             touch(entry);
-            entry.lastConnectionOutcome = outcome;
+            entry.setLastConnectionOutcome(outcome);
             waiter.connectionFuture = null;
             if (outcome.isSuccessful()) {
-                entry.lastFailure = null;
+                entry.setLastFailure(null);
                 entry.readyConnectionSucceeded = true;
                 if (entry.state == ServerLifecycleState.FAILED) {
                     transition(entry, ServerLifecycleState.READY);
@@ -1228,9 +1834,9 @@ public final class ServerLifecycleCoordinator {
                     && entry.waiters.isEmpty()
                     && !entry.readyConnectionSucceeded) {
                 transition(entry, ServerLifecycleState.FAILED);
-                entry.lastFailure = failure("player connection",
+                entry.setLastFailure(failure("player connection",
                         "Velocity could not complete the backend connection: " + outcome,
-                        "Check the backend listener and Velocity server address, then retry.");
+                        "Check the backend listener and Velocity server address, then retry."));
             }
         }
         telemetry.recordOperation(TelemetryOperationType.CONNECTION_WAIT, entry.mapping.serverName(),
@@ -1263,6 +1869,9 @@ public final class ServerLifecycleCoordinator {
     private void notifyRejected(Player player, String serverName, ConnectionOutcome outcome) {
         if (outcome == ConnectionOutcome.SERVER_STOPPING) {
             safeSend(player, AutoStopperMessages.serverStopping(serverName));
+        } else if (outcome == ConnectionOutcome.WAKE_LIMITED) {
+            safeSend(player, AutoStopperMessages.wakeLimited(serverName,
+                    wakeBudget.retryAfter(player.getUniqueId())));
         } else {
             safeSend(player, AutoStopperMessages.mappingChanged(serverName));
         }
@@ -1281,10 +1890,12 @@ public final class ServerLifecycleCoordinator {
             case START_TIMED_OUT -> AutoStopperMessages.startTimedOut(serverName);
             case START_FAILED -> AutoStopperMessages.startFailed(serverName);
             case START_ERROR -> AutoStopperMessages.startError(serverName);
+            case DEPENDENCY_FAILED -> AutoStopperMessages.dependencyFailed(serverName);
             case NOT_READY, READINESS_ERROR -> readinessFailure == null
                     ? AutoStopperMessages.serverNotReady(serverName)
                     : AutoStopperMessages.serverNotReady(serverName, readinessFailure.playerDetail());
-            case CANCELLED -> AutoStopperMessages.startCancelled(serverName);
+            case CANCELLED, ABANDONED -> AutoStopperMessages.startCancelled(serverName);
+            case DEADLINE_EXCEEDED -> AutoStopperMessages.startTimedOut(serverName);
             case OVERLOADED -> AutoStopperMessages.overloaded();
             case READY_RUNNING, READY_AFTER_START -> throw new IllegalArgumentException("ready outcome is not a failure");
         };
@@ -1318,10 +1929,11 @@ public final class ServerLifecycleCoordinator {
 
     private Component stageMessage(ConnectionLifecycleStage stage, String serverName) {
         return switch (stage) {
-            case INSPECTING -> AutoStopperMessages.lifecycleInspecting(serverName);
-            case STARTING -> AutoStopperMessages.lifecycleStarting(serverName);
-            case WAITING_FOR_READINESS -> AutoStopperMessages.lifecycleWaitingForReadiness(serverName);
-            case CONNECTING -> AutoStopperMessages.lifecycleConnecting(serverName);
+            case INSPECTING -> messages.inspecting(serverName);
+            case QUEUED_FOR_START -> throw new IllegalArgumentException("Queued stage requires a queue position");
+            case STARTING -> messages.starting(serverName);
+            case WAITING_FOR_READINESS -> messages.waitingForReadiness(serverName);
+            case CONNECTING -> messages.connecting(serverName);
             case SUCCEEDED, FAILED -> throw new IllegalArgumentException("Terminal stage requires an outcome message");
         };
     }
@@ -1339,6 +1951,38 @@ public final class ServerLifecycleCoordinator {
         }
     }
 
+    private void queueProgress(LifecycleEntry entry, ConnectionWaiter waiter) {
+        if (entry.progressStage == ConnectionLifecycleStage.QUEUED_FOR_START) {
+            queueQueuePosition(waiter, entry.mapping.serverName(), entry.queuePosition);
+        } else {
+            queueStage(waiter, entry.progressStage,
+                    stageMessage(entry.progressStage, entry.mapping.serverName()), false);
+        }
+    }
+
+    private void queueQueuePosition(ConnectionWaiter waiter, String serverName, int position) {
+        synchronized (waiter) {
+            if (waiter.discarded || waiter.notificationsSuppressed
+                    || waiter.lastQueuePositionReported == position) {
+                return;
+            }
+            boolean firstReport = waiter.lastQueuePositionReported == 0;
+            waiter.lastQueuePositionReported = position;
+            Component message = AutoStopperMessages.lifecycleQueued(serverName, position);
+            if (firstReport) {
+                queueStage(waiter, ConnectionLifecycleStage.QUEUED_FOR_START, message, false);
+            } else {
+                waiter.notifications.addLast(new WaiterNotification(Optional.empty(), message, false));
+            }
+        }
+    }
+
+    private void updateStartPriority(LifecycleEntry entry) {
+        if (entry.startTicket != null) {
+            entry.startTicket.priority(entry.waiters.size());
+        }
+    }
+
     private void queueWaitingCount(ConnectionWaiter waiter, int count) {
         synchronized (waiter) {
             if (count <= 1 || waiter.discarded || waiter.notificationsSuppressed
@@ -1347,7 +1991,7 @@ public final class ServerLifecycleCoordinator {
             }
             waiter.lastWaitingCountReported = count;
             waiter.notifications.addLast(new WaiterNotification(
-                    Optional.empty(), AutoStopperMessages.playersWaiting(count), false));
+                    Optional.empty(), messages.playersWaiting(count), false));
         }
     }
 
@@ -1453,6 +2097,7 @@ public final class ServerLifecycleCoordinator {
                 stage.name().toLowerCase(), serverName, cause);
         return switch (stage) {
             case STATUS -> StartupOutcome.STATUS_ERROR;
+            case DEPENDENCIES -> StartupOutcome.DEPENDENCY_FAILED;
             case START -> StartupOutcome.START_ERROR;
             case READINESS -> StartupOutcome.READINESS_ERROR;
         };
@@ -1479,7 +2124,10 @@ public final class ServerLifecycleCoordinator {
             case STATUS_TIMED_OUT, START_TIMED_OUT -> "Docker operation timed out";
             case OVERLOADED -> "AutoStopper worker queue is saturated";
             case CANCELLED -> "startup was cancelled";
+            case ABANDONED -> "every waiting player left before the server was ready";
+            case DEADLINE_EXCEEDED -> "startup did not finish within the wake deadline";
             case STATUS_FAILED, STATUS_ERROR, START_FAILED, START_ERROR -> "Docker operation failed";
+            case DEPENDENCY_FAILED -> "a startup dependency did not become ready";
             case NOT_READY, READINESS_ERROR -> "server readiness check failed";
             case READY_RUNNING, READY_AFTER_START -> throw new IllegalArgumentException("ready outcome is not a failure");
         };
@@ -1493,13 +2141,24 @@ public final class ServerLifecycleCoordinator {
             case STATUS_TIMED_OUT, START_TIMED_OUT -> "Check Docker daemon responsiveness and host load, then retry.";
             case OVERLOADED -> "Wait for current AutoStopper operations to finish, then retry.";
             case CANCELLED -> "Retry after the current reload or shutdown completes.";
+            case ABANDONED -> "Connect again to wake the server.";
+            case DEADLINE_EXCEEDED -> "Check which stage overran in telemetry, or raise wake_deadline_seconds.";
             case STATUS_FAILED, STATUS_ERROR, START_FAILED, START_ERROR -> "Review proxy logs and Docker state, then retry.";
+            case DEPENDENCY_FAILED -> "Check the dependency containers named in proxy logs, then retry.";
             case NOT_READY, READINESS_ERROR -> "Verify the configured readiness strategy and backend endpoint, then retry.";
             case READY_RUNNING, READY_AFTER_START -> throw new IllegalArgumentException("ready outcome is not a failure");
         };
     }
 
     private void transition(LifecycleEntry entry, ServerLifecycleState next) {
+        transition(entry, next, false);
+    }
+
+    /**
+     * @param containerRunning the container outlives a failed start, so it keeps its running-backend
+     *        occupancy until it is seen stopped
+     */
+    private void transition(LifecycleEntry entry, ServerLifecycleState next, boolean containerRunning) {
         if (entry.state == next) {
             return;
         }
@@ -1509,6 +2168,13 @@ public final class ServerLifecycleCoordinator {
         }
         logger.debug("Server {} lifecycle transitioned from {} to {}",
                 entry.mapping.serverName(), entry.state, next);
+        if (next == ServerLifecycleState.READY) {
+            runningBackends.occupy(entry.mapping.serverName(), entry.mapping.memoryCost());
+        } else if (next == ServerLifecycleState.STOPPED || (next == ServerLifecycleState.FAILED
+                && entry.state == ServerLifecycleState.STARTING && !containerRunning)) {
+            // A failed start is re-counted when the inactivity scan still finds the container running.
+            runningBackends.vacate(entry.mapping.serverName());
+        }
         entry.state = next;
         touch(entry);
     }
@@ -1519,11 +2185,11 @@ public final class ServerLifecycleCoordinator {
 
     private void touch(LifecycleEntry entry) {
         entry.revision = nextRevision();
+        entry.publish();
     }
 
     private LifecycleStatusSnapshot snapshot(LifecycleEntry entry) {
-        return new LifecycleStatusSnapshot(Optional.of(entry.state), entry.waiters.size(),
-                Optional.ofNullable(entry.lastFailure), entry.revision);
+        return entry.published.status();
     }
 
     private boolean ownOperation(LifecycleEntry entry, CompletableFuture<StartupOutcome> startup,
@@ -1546,7 +2212,7 @@ public final class ServerLifecycleCoordinator {
                 EnumSet.of(ServerLifecycleState.STARTING, ServerLifecycleState.READY,
                         ServerLifecycleState.STOPPING));
         transitions.put(ServerLifecycleState.STARTING,
-                EnumSet.of(ServerLifecycleState.READY, ServerLifecycleState.FAILED));
+                EnumSet.of(ServerLifecycleState.READY, ServerLifecycleState.FAILED, ServerLifecycleState.STOPPED));
         transitions.put(ServerLifecycleState.READY,
                 EnumSet.of(ServerLifecycleState.STOPPING, ServerLifecycleState.FAILED,
                         ServerLifecycleState.STOPPED));
@@ -1574,10 +2240,54 @@ public final class ServerLifecycleCoordinator {
         private long startupStartNanos;
         private int peakWaiterCount;
         private boolean startupTelemetryRecorded;
+        private StartAdmissionController.Ticket startTicket;
+        private RunningBackendBudget.Reservation backendReservation;
+        private ArrayDeque<ConnectionWaiter> releaseQueue;
+        private int queuePosition;
+        private boolean startAdmitted;
+        private OperationDeadline startupDeadline = OperationDeadline.unbounded();
+        private TelemetryOperationType deadlineStage = TelemetryOperationType.STATUS_CHECK;
+        private long deadlineStageStartNanos;
+        private CompletableFuture<Void> deadlineTimer;
+        private CompletableFuture<StartupOutcome> abortedStartup;
+        private boolean abandonable;
+        private boolean startCommitted;
+        private boolean containerStarted;
+        private UUID wakeCharge;
+
+        /**
+         * Readers' view of the fields above, republished under the entry lock whenever one of them
+         * changes so that status queries never take the lock.
+         */
+        private volatile PublishedStatus published;
 
         private LifecycleEntry(ServerMapping mapping, long revision) {
             this.mapping = mapping;
             this.revision = revision;
+            publish();
+        }
+
+        private void setLastFailure(OperationalFailure failure) {
+            lastFailure = failure;
+            publish();
+        }
+
+        private void setLastConnectionOutcome(ConnectionOutcome outcome) {
+            lastConnectionOutcome = outcome;
+            publish();
+        }
+
+        private void setRetired(boolean retired) {
+            this.retired = retired;
+            publish();
+        }
+
+        private void publish() {
+            published = new PublishedStatus(
+                    new LifecycleStatusSnapshot(Optional.of(state), waiters.size(),
+                            Optional.ofNullable(lastFailure), revision),
+                    retired,
+                    lastConnectionOutcome);
         }
 
         private boolean isBusy() {
@@ -1587,6 +2297,21 @@ public final class ServerLifecycleCoordinator {
         }
     }
 
+    private record AbandonedStartup(String serverName, CompletableFuture<StartupOutcome> operation,
+            CompletableFuture<?> activeOperation, CompletableFuture<Void> deadlineTimer,
+            StartAdmissionController.Ticket startTicket, RunningBackendBudget.Reservation backendReservation,
+            TelemetryOperationType stage, long stageStartNanos, boolean committed, boolean containerStarted) {
+
+        /** The wake found the container running and issued no {@code docker start} of its own. */
+        private boolean alreadyRunning() {
+            return committed && !containerStarted;
+        }
+    }
+
+    private record PublishedStatus(LifecycleStatusSnapshot status, boolean retired,
+            ConnectionOutcome lastConnectionOutcome) {
+    }
+
     private static final class ConnectionWaiter {
         private final UUID playerId;
         private final Player player;
@@ -1603,6 +2328,7 @@ public final class ServerLifecycleCoordinator {
         private boolean notificationsSuppressed;
         private boolean deliveringNotifications;
         private int lastWaitingCountReported;
+        private int lastQueuePositionReported;
         private CompletableFuture<ConnectionRequestBuilder.Result> connectionFuture;
 
         private ConnectionWaiter(UUID playerId, Player player, RegisteredServer targetServer,
@@ -1653,6 +2379,10 @@ public final class ServerLifecycleCoordinator {
             return new Admission(entry, waiter, null, null, false, false, true);
         }
 
+        private static Admission waiting(LifecycleEntry entry, ConnectionWaiter waiter) {
+            return new Admission(entry, waiter, null, null, false, false, false);
+        }
+
         private static Admission rejected(ConnectionOutcome outcome) {
             return new Admission(null, null, null, outcome, false, false, false);
         }
@@ -1660,6 +2390,7 @@ public final class ServerLifecycleCoordinator {
 
     private enum StartupStage {
         STATUS,
+        DEPENDENCIES,
         START,
         READINESS
     }
@@ -1678,10 +2409,13 @@ public final class ServerLifecycleCoordinator {
         START_TIMED_OUT(false, ConnectionOutcome.START_TIMED_OUT),
         START_FAILED(false, ConnectionOutcome.START_FAILED),
         START_ERROR(false, ConnectionOutcome.START_FAILED),
+        DEPENDENCY_FAILED(false, ConnectionOutcome.START_FAILED),
         NOT_READY(false, ConnectionOutcome.SERVER_NOT_READY),
         READINESS_ERROR(false, ConnectionOutcome.SERVER_NOT_READY),
         CANCELLED(false, ConnectionOutcome.START_CANCELLED),
-        OVERLOADED(false, ConnectionOutcome.OVERLOADED);
+        DEADLINE_EXCEEDED(false, ConnectionOutcome.START_TIMED_OUT),
+        OVERLOADED(false, ConnectionOutcome.OVERLOADED),
+        ABANDONED(false, ConnectionOutcome.PLAYER_DISCONNECTED);
 
         private final boolean ready;
         private final ConnectionOutcome connectionOutcome;
@@ -1706,16 +2440,19 @@ public final class ServerLifecycleCoordinator {
             case STATUS_FAILED, STATUS_ERROR -> TelemetryOutcome.STATUS_FAILED;
             case START_TIMED_OUT -> TelemetryOutcome.START_TIMED_OUT;
             case START_FAILED, START_ERROR -> TelemetryOutcome.START_FAILED;
+            case DEPENDENCY_FAILED -> TelemetryOutcome.DEPENDENCY_FAILED;
             case NOT_READY, READINESS_ERROR -> TelemetryOutcome.SERVER_NOT_READY;
             case CANCELLED -> TelemetryOutcome.CANCELLED;
+            case DEADLINE_EXCEEDED -> TelemetryOutcome.DEADLINE_EXCEEDED;
             case OVERLOADED -> TelemetryOutcome.OVERLOADED;
+            case ABANDONED -> TelemetryOutcome.ABANDONED;
         };
     }
 
     private void executeManualStop(LifecycleEntry entry, ServerMapping mapping,
             RegisteredServer registeredServer, CompletableFuture<ManualStopOutcome> stopFuture) {
         try {
-            executor.supply(() -> {
+            executor.supply(mapping.containerName(), () -> {
                 synchronized (entry) {
                     if (shutdown.get()) {
                         abortStopUnderLock(entry, stopFuture, ManualStopOutcome.PROXY_SHUTDOWN);
@@ -1766,14 +2503,15 @@ public final class ServerLifecycleCoordinator {
             entry.activeOperation = null;
             if (result == ContainerStatus.STOPPED) {
                 transition(entry, ServerLifecycleState.STOPPED);
-                entry.lastFailure = null;
+                entry.setLastFailure(null);
+                dependencies.release(mapping.serverName());
                 operation.complete(ManualStopOutcome.STOPPED);
                 return ManualStopOutcome.STOPPED;
             } else {
                 transition(entry, ServerLifecycleState.FAILED);
-                entry.lastFailure = failure("manual stop",
+                entry.setLastFailure(failure("manual stop",
                         "container stop failed with " + result,
-                        "Check Docker access and container state, then retry.");
+                        "Check Docker access and container state, then retry."));
                 ManualStopOutcome outcome = toManualStopOutcome(result);
                 operation.complete(outcome);
                 return outcome;
@@ -1784,7 +2522,7 @@ public final class ServerLifecycleCoordinator {
     private void executeManualRestart(LifecycleEntry entry, ServerMapping mapping,
             RegisteredServer registeredServer, CompletableFuture<ManualRestartOutcome> restartFuture) {
         try {
-            executor.supply(() -> {
+            executor.supply(mapping.containerName(), () -> {
                 synchronized (entry) {
                     if (shutdown.get()) {
                         abortStopUnderLock(entry, restartFuture, ManualRestartOutcome.PROXY_SHUTDOWN);
@@ -1815,9 +2553,9 @@ public final class ServerLifecycleCoordinator {
                     }
                     if (stopResult != ContainerStatus.STOPPED) {
                         transition(entry, ServerLifecycleState.FAILED);
-                        entry.lastFailure = failure("container stop during restart",
+                        entry.setLastFailure(failure("container stop during restart",
                                 "container stop failed with " + stopResult,
-                                "Check Docker access and container state, then retry.");
+                                "Check Docker access and container state, then retry."));
                         entry.activeOperation = null;
                         restartFuture.complete(toRestartStopFailure(stopResult));
                         return null;
@@ -1829,6 +2567,11 @@ public final class ServerLifecycleCoordinator {
                     entry.startupStartNanos = nanoTime.getAsLong();
                     entry.peakWaiterCount = 0;
                     entry.startupTelemetryRecorded = false;
+                    entry.abandonable = false;
+                    entry.startCommitted = false;
+                    entry.containerStarted = false;
+                    entry.wakeCharge = null;
+                    entry.startupDeadline = OperationDeadline.unbounded();
                     startupFuture = new CompletableFuture<>();
                     entry.startupFuture = startupFuture;
                 }
@@ -1884,13 +2627,13 @@ public final class ServerLifecycleCoordinator {
         }
         return switch (outcome) {
             case READY_RUNNING, READY_AFTER_START -> ManualStartOutcome.READY;
-            case STATUS_NO_MAPPING, CANCELLED -> ManualStartOutcome.CANCELLED;
+            case STATUS_NO_MAPPING, CANCELLED, ABANDONED -> ManualStartOutcome.CANCELLED;
             case STATUS_MISSING, START_MISSING -> ManualStartOutcome.CONTAINER_MISSING;
             case STATUS_INACCESSIBLE, START_INACCESSIBLE -> ManualStartOutcome.DOCKER_INACCESSIBLE;
             case STATUS_TIMED_OUT -> ManualStartOutcome.STATUS_TIMED_OUT;
             case STATUS_FAILED, STATUS_ERROR -> ManualStartOutcome.STATUS_FAILED;
-            case START_TIMED_OUT -> ManualStartOutcome.START_TIMED_OUT;
-            case START_FAILED, START_ERROR -> ManualStartOutcome.START_FAILED;
+            case START_TIMED_OUT, DEADLINE_EXCEEDED -> ManualStartOutcome.START_TIMED_OUT;
+            case START_FAILED, START_ERROR, DEPENDENCY_FAILED -> ManualStartOutcome.START_FAILED;
             case NOT_READY, READINESS_ERROR -> ManualStartOutcome.SERVER_NOT_READY;
             case OVERLOADED -> ManualStartOutcome.OVERLOADED;
         };
@@ -1922,11 +2665,12 @@ public final class ServerLifecycleCoordinator {
         }
         return switch (outcome) {
             case READY_RUNNING, READY_AFTER_START -> ManualRestartOutcome.RESTARTED_AND_READY;
-            case STATUS_NO_MAPPING, CANCELLED -> ManualRestartOutcome.CANCELLED;
+            case STATUS_NO_MAPPING, CANCELLED, ABANDONED -> ManualRestartOutcome.CANCELLED;
             case STATUS_MISSING, START_MISSING -> ManualRestartOutcome.CONTAINER_MISSING;
             case STATUS_INACCESSIBLE, START_INACCESSIBLE -> ManualRestartOutcome.DOCKER_INACCESSIBLE;
-            case STATUS_TIMED_OUT, START_TIMED_OUT -> ManualRestartOutcome.START_TIMED_OUT;
-            case STATUS_FAILED, STATUS_ERROR, START_FAILED, START_ERROR -> ManualRestartOutcome.START_FAILED;
+            case STATUS_TIMED_OUT, START_TIMED_OUT, DEADLINE_EXCEEDED -> ManualRestartOutcome.START_TIMED_OUT;
+            case STATUS_FAILED, STATUS_ERROR, START_FAILED, START_ERROR, DEPENDENCY_FAILED ->
+                    ManualRestartOutcome.START_FAILED;
             case NOT_READY, READINESS_ERROR -> ManualRestartOutcome.SERVER_NOT_READY;
             case OVERLOADED -> ManualRestartOutcome.OVERLOADED;
         };
@@ -2064,7 +2808,4 @@ public final class ServerLifecycleCoordinator {
             return new ManualRestartAdmission(null, null, null, outcome, false);
         }
     }
-
-    private record ReconnectPermit(UUID playerId, String serverName) {
-    }
 }
@@ -0,0 +1,204 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Host-wide gate that bounds how many container starts run at once.
+ *
+ * <p>Each start holds its mapping's weight until the coordinator releases it. Pending starts are
+ * granted in order of their current waiter count, oldest first on ties. A start heavier than the
+ * whole capacity is admitted only when nothing else holds a slot. Grant and position callbacks run
+ * outside this controller's lock so they may freely take lifecycle entry locks.
+ */
+final class StartAdmissionController {
+    private static final Comparator<Ticket> PRIORITY = Comparator
+            .comparingInt((Ticket ticket) -> ticket.rank).reversed()
+            .thenComparingLong(ticket -> ticket.sequence);
+
+    private final List<Ticket> pending = new ArrayList<>();
+    private int capacity = ConfigSnapshot.UNLIMITED_CONCURRENT_STARTS;
+    private int inUse;
+    private long nextSequence;
+
+    Ticket ticket(String serverName, int weight, Runnable onGranted, IntConsumer onQueuePosition) {
+        return new Ticket(serverName, weight, onGranted, onQueuePosition);
+    }
+
+    /** Grants the ticket immediately when capacity allows; otherwise queues it and reports positions. */
+    boolean submit(Ticket ticket) {
+        Objects.requireNonNull(ticket, "ticket");
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (ticket.state != TicketState.NEW) {
+                return false;
+            }
+            ticket.sequence = nextSequence++;
+            if (pending.isEmpty() && fits(ticket.weight)) {
+                grant(ticket);
+                return true;
+            }
+            ticket.state = TicketState.PENDING;
+            pending.add(ticket);
+            callbacks = positionCallbacks();
+        }
+        run(callbacks);
+        return false;
+    }
+
+    /** Returns a granted slot or withdraws a pending ticket, then admits whatever now fits. */
+    void release(Ticket ticket) {
+        if (ticket == null) {
+            return;
+        }
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (ticket.state == TicketState.GRANTED) {
+                inUse -= ticket.weight;
+            } else if (ticket.state == TicketState.PENDING) {
+                pending.remove(ticket);
+            }
+            ticket.state = TicketState.RELEASED;
+            callbacks = dispatch();
+        }
+        run(callbacks);
+    }
+
+    /** Re-evaluates queue order after waiter counts changed. */
+    void refresh() {
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            callbacks = dispatch();
+        }
+        run(callbacks);
+    }
+
+    void configure(int maxConcurrentStarts) {
+        if (maxConcurrentStarts < 0) {
+            throw new IllegalArgumentException("maxConcurrentStarts must not be negative");
+        }
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (capacity == maxConcurrentStarts) {
+                return;
+            }
+            capacity = maxConcurrentStarts;
+            callbacks = dispatch();
+        }
+        run(callbacks);
+    }
+
+    /** Drops every pending ticket without granting it; used during proxy shutdown. */
+    synchronized void clear() {
+        for (Ticket ticket : pending) {
+            ticket.state = TicketState.RELEASED;
+        }
+        pending.clear();
+    }
+
+    synchronized int inUse() {
+        return inUse;
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    private List<Runnable> dispatch() {
+        List<Runnable> callbacks = new ArrayList<>();
+        sortPending();
+        while (!pending.isEmpty() && fits(pending.get(0).weight)) {
+            Ticket next = pending.remove(0);
+            grant(next);
+            callbacks.add(next.onGranted);
+        }
+        callbacks.addAll(positionCallbacks());
+        return callbacks;
+    }
+
+    private List<Runnable> positionCallbacks() {
+        sortPending();
+        List<Runnable> callbacks = new ArrayList<>();
+        for (int index = 0; index < pending.size(); index++) {
+            Ticket ticket = pending.get(index);
+            int position = index + 1;
+            if (ticket.reportedPosition != position) {
+                ticket.reportedPosition = position;
+                callbacks.add(() -> ticket.onQueuePosition.accept(position));
+            }
+        }
+        return callbacks;
+    }
+
+    private void sortPending() {
+        // Snapshot priorities first: they are written concurrently and must not shift mid-sort.
+        for (Ticket ticket : pending) {
+            ticket.rank = ticket.priority;
+        }
+        pending.sort(PRIORITY);
+    }
+
+    private void grant(Ticket ticket) {
+        ticket.state = TicketState.GRANTED;
+        inUse += ticket.weight;
+    }
+
+    private boolean fits(int weight) {
+        return capacity == ConfigSnapshot.UNLIMITED_CONCURRENT_STARTS
+                || inUse == 0
+                || inUse + (long) weight <= capacity;
+    }
+
+    private static void run(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
+    private enum TicketState {
+        NEW,
+        PENDING,
+        GRANTED,
+        RELEASED
+    }
+
+    /** One startup's claim on start capacity. */
+    static final class Ticket {
+        private final String serverName;
+        private final int weight;
+        private final Runnable onGranted;
+        private final IntConsumer onQueuePosition;
+        private volatile int priority;
+        private int rank;
+        private TicketState state = TicketState.NEW;
+        private long sequence;
+        private int reportedPosition;
+
+        private Ticket(String serverName, int weight, Runnable onGranted, IntConsumer onQueuePosition) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("weight must be positive");
+            }
+            this.serverName = Objects.requireNonNull(serverName, "serverName");
+            this.weight = weight;
+            this.onGranted = Objects.requireNonNull(onGranted, "onGranted");
+            this.onQueuePosition = Objects.requireNonNull(onQueuePosition, "onQueuePosition");
+        }
+
+        String serverName() {
+            return serverName;
+        }
+
+        /** Publishes the current waiter count; takes effect at the next {@link StartAdmissionController#refresh()} or dispatch. */
+        void priority(int waiterCount) {
+            this.priority = waiterCount;
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.ServerPool;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
 import me.criseda.autostopper.server.ActivityTrackerService;
 import me.criseda.autostopper.server.ServerManager;
+import me.criseda.autostopper.server.WarmPoolManager;
 
 import java.util.Optional;
 
@@ -15,12 +17,21 @@ public class ServerPreConnectListener {
     private final ServerManager serverManager;
     private final ServerLifecycleCoordinator lifecycleCoordinator;
     private final ActivityTrackerService activityTracker;
+    private final WarmPoolManager warmPools;
 
     public ServerPreConnectListener(ServerManager serverManager,
             ServerLifecycleCoordinator lifecycleCoordinator, ActivityTrackerService activityTracker) {
+        this(serverManager, lifecycleCoordinator, activityTracker,
+                new WarmPoolManager(serverManager, lifecycleCoordinator));
+    }
+
+    public ServerPreConnectListener(ServerManager serverManager,
+            ServerLifecycleCoordinator lifecycleCoordinator, ActivityTrackerService activityTracker,
+            WarmPoolManager warmPools) {
         this.serverManager = serverManager;
         this.lifecycleCoordinator = lifecycleCoordinator;
         this.activityTracker = activityTracker;
+        this.warmPools = warmPools;
     }
 
     @Subscribe
@@ -38,16 +49,38 @@ public class ServerPreConnectListener {
             return;
         }
 
+        Optional<ServerPool> pool = warmPools.pool(serverName);
+        if (pool.isPresent()) {
+            routeToPool(event, player, pool.get());
+            return;
+        }
+
         Optional<ServerMapping> mapping = serverManager.getServerMapping(serverName);
         if (mapping.isEmpty()) {
             return;
         }
 
         event.setResult(ServerPreConnectEvent.ServerResult.denied());
-        lifecycleCoordinator.requestConnection(player, targetServer, mapping.get())
+        requestConnection(player, targetServer, mapping.get());
+    }
+
+    private void routeToPool(ServerPreConnectEvent event, Player player, ServerPool pool) {
+        Optional<ServerMapping> member = warmPools.route(pool);
+        Optional<RegisteredServer> memberServer = member.flatMap(mapping -> serverManager.getServer(mapping.serverName()));
+        // Leave an unroutable pool connection to Velocity's own handling of the entry server.
+        if (memberServer.isEmpty()) {
+            return;
+        }
+        event.setResult(ServerPreConnectEvent.ServerResult.denied());
+        requestConnection(player, memberServer.get(), member.get());
+        warmPools.replenish(pool);
+    }
+
+    private void requestConnection(Player player, RegisteredServer targetServer, ServerMapping mapping) {
+        lifecycleCoordinator.requestConnection(player, targetServer, mapping)
                 .thenAccept(outcome -> {
                     if (outcome.isSuccessful()) {
-                        activityTracker.updateActivity(serverName);
+                        activityTracker.updateActivity(mapping.serverName());
                     }
                 });
     }
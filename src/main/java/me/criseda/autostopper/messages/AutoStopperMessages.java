@@ -1,5 +1,6 @@
 package me.criseda.autostopper.messages;
 
+import me.criseda.autostopper.docker.DockerCircuitStatus;
 import me.criseda.autostopper.operational.OperationalFailure;
 import me.criseda.autostopper.operational.OperationalServerStatus;
 import me.criseda.autostopper.operational.OperationalState;
@@ -183,6 +184,21 @@ public final class AutoStopperMessages {
                 "Failed", MessageTokens.FAILURE, "status check failed");
     }
 
+    public static Component dockerCircuitOpen(DockerCircuitStatus circuit) {
+        Objects.requireNonNull(circuit, "circuit");
+        String cause = switch (circuit.cause()) {
+            case PERMISSION_DENIED -> "permission denied";
+            case TIMED_OUT -> "Docker commands timed out";
+            default -> "daemon unreachable";
+        };
+        return finish(Component.text()
+                .append(Component.text(MessageTokens.MARK_ATTENTION + " ", MessageTokens.FAILURE))
+                .append(Component.text("Docker calls paused", MessageTokens.FAILURE))
+                .append(Component.text(" " + MessageTokens.SEPARATOR + " ", MessageTokens.TEXT_MUTED))
+                .append(Component.text(cause + " since " + circuit.openedAt()
+                        + "; next recovery probe at " + circuit.nextProbeAt(), MessageTokens.TEXT_MUTED)));
+    }
+
     public static Component operationalStatus(String serverName, OperationalServerStatus status,
             Long minutesSinceActivity) {
         Objects.requireNonNull(status, "status");
@@ -360,6 +376,14 @@ public final class AutoStopperMessages {
                 .append(Component.text("…", MessageTokens.TEXT_PRIMARY)));
     }
 
+    public static Component lifecycleQueued(String serverName, int position) {
+        return finish(Component.text()
+                .append(brandPrefix())
+                .append(Component.text("Queued to wake ", MessageTokens.PROGRESS_WARNING))
+                .append(argument(serverName))
+                .append(Component.text(" · position " + position + " in line", MessageTokens.PROGRESS_WARNING)));
+    }
+
     public static Component playersWaiting(int count) {
         return finish(Component.text()
                 .append(brandPrefix())
@@ -424,6 +448,16 @@ public final class AutoStopperMessages {
                 .append(Component.text("AutoStopper is overloaded right now; try again in a moment.", MessageTokens.FAILURE)));
     }
 
+    public static Component wakeLimited(String serverName, Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1_000);
+        return finish(Component.text()
+                .append(brandAttention())
+                .append(Component.text("You have started too many servers recently. Try ", MessageTokens.FAILURE))
+                .append(argument(serverName))
+                .append(Component.text(" again in " + formatElapsed(Duration.ofSeconds(seconds)) + ".",
+                        MessageTokens.FAILURE)));
+    }
+
     public static Component noContainerMapping(String serverName) {
         return finish(Component.text()
                 .append(brandAttention())
@@ -496,6 +530,14 @@ public final class AutoStopperMessages {
                 .append(Component.text(".", MessageTokens.FAILURE)));
     }
 
+    public static Component dependencyFailed(String serverName) {
+        return finish(Component.text()
+                .append(brandAttention())
+                .append(Component.text("A service needed by ", MessageTokens.FAILURE))
+                .append(argument(serverName))
+                .append(Component.text(" did not start. Try again.", MessageTokens.FAILURE)));
+    }
+
     public static Component startCancelled(String serverName) {
         return finish(Component.text()
                 .append(brandAttention())
@@ -726,6 +768,62 @@ public final class AutoStopperMessages {
                 .append(Component.text(".", MessageTokens.FAILURE)));
     }
 
+    // --- Telemetry History ---
+
+    public static Component statsHeader(String serverName, String range) {
+        return finish(Component.text()
+                .append(Component.text("Lifecycle history for ", MessageTokens.BRAND))
+                .append(argument(serverName))
+                .append(Component.text(" " + MessageTokens.SEPARATOR + " last " + range, MessageTokens.TEXT_MUTED)));
+    }
+
+    public static Component statsOperation(String operation, long count, long failures, Duration average,
+            Duration max) {
+        return formatStatsRow(Component.text(operation, MessageTokens.ACTION), count, failures, average, max);
+    }
+
+    public static Component statsDay(String day, long count, long failures, Duration average, Duration max) {
+        return formatStatsRow(Component.text("  " + day, MessageTokens.TEXT_MUTED), count, failures, average, max);
+    }
+
+    public static Component statsEmpty(String serverName, String range) {
+        return finish(Component.text()
+                .append(brandPrefix())
+                .append(Component.text("No lifecycle history recorded for ", MessageTokens.TEXT_PRIMARY))
+                .append(argument(serverName))
+                .append(Component.text(" in the last " + range + ".", MessageTokens.TEXT_PRIMARY)));
+    }
+
+    public static Component statsUnavailable() {
+        return finish(Component.text()
+                .append(brandAttention())
+                .append(Component.text("Telemetry history is not enabled; add telemetry_history to config.yml.",
+                        MessageTokens.FAILURE)));
+    }
+
+    public static Component statsInvalidRange(String range, int maxDays) {
+        return finish(Component.text()
+                .append(brandAttention())
+                .append(Component.text("Invalid range ", MessageTokens.FAILURE))
+                .append(argument(range))
+                .append(Component.text("; use minutes, hours, or days such as 90m, 24h, or 7d, up to " + maxDays
+                        + "d.", MessageTokens.FAILURE)));
+    }
+
+    private static Component formatStatsRow(Component label, long count, long failures, Duration average,
+            Duration max) {
+        TextComponent.Builder row = Component.text()
+                .append(label)
+                .append(Component.text("   " + (count == 1 ? "1 run" : count + " runs"), MessageTokens.TEXT_PRIMARY));
+        if (failures > 0) {
+            row.append(Component.text(" " + MessageTokens.SEPARATOR + " ", MessageTokens.TEXT_MUTED))
+               .append(Component.text(failures + " failed", MessageTokens.FAILURE));
+        }
+        row.append(Component.text(" " + MessageTokens.SEPARATOR + " avg " + formatElapsed(average) + " "
+                + MessageTokens.SEPARATOR + " max " + formatElapsed(max), MessageTokens.TEXT_MUTED));
+        return finish(row);
+    }
+
     // --- Humanization Utilities ---
 
     public static String formatElapsed(Duration elapsed) {
@@ -0,0 +1,82 @@
+package me.criseda.autostopper.messages;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared lifecycle progress messages. Adventure components are immutable, so a server's stage
+ * messages are built once and handed to every waiting player of every wake, and waiting-count
+ * messages are shared by count. Call {@link #retainServers(Collection)} after a configuration
+ * change so servers that left the configuration do not keep their messages.
+ */
+public final class LifecycleMessageCache {
+    /** Largest waiting count whose message is kept; bigger crowds get a freshly built message. */
+    public static final int MAX_CACHED_WAITING_COUNT = 256;
+
+    private final Map<String, ServerMessages> servers = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Component> waitingCounts =
+            new AtomicReferenceArray<>(MAX_CACHED_WAITING_COUNT + 1);
+
+    public Component inspecting(String serverName) {
+        return messages(serverName).inspecting();
+    }
+
+    public Component starting(String serverName) {
+        return messages(serverName).starting();
+    }
+
+    public Component waitingForReadiness(String serverName) {
+        return messages(serverName).waitingForReadiness();
+    }
+
+    public Component connecting(String serverName) {
+        return messages(serverName).connecting();
+    }
+
+    public Component playersWaiting(int count) {
+        if (count < 0 || count > MAX_CACHED_WAITING_COUNT) {
+            return AutoStopperMessages.playersWaiting(count);
+        }
+        Component cached = waitingCounts.get(count);
+        if (cached == null) {
+            Component built = AutoStopperMessages.playersWaiting(count);
+            cached = waitingCounts.compareAndExchange(count, null, built);
+            if (cached == null) {
+                cached = built;
+            }
+        }
+        return cached;
+    }
+
+    /** Drops the messages of every server not named; they are rebuilt if the server comes back. */
+    public void retainServers(Collection<String> serverNames) {
+        Set<String> retained = Set.copyOf(serverNames);
+        servers.keySet().retainAll(retained);
+    }
+
+    int cachedServerCount() {
+        return servers.size();
+    }
+
+    private ServerMessages messages(String serverName) {
+        Objects.requireNonNull(serverName, "serverName");
+        return servers.computeIfAbsent(serverName, ServerMessages::build);
+    }
+
+    private record ServerMessages(Component inspecting, Component starting, Component waitingForReadiness,
+            Component connecting) {
+        static ServerMessages build(String serverName) {
+            return new ServerMessages(
+                    AutoStopperMessages.lifecycleInspecting(serverName),
+                    AutoStopperMessages.lifecycleStarting(serverName),
+                    AutoStopperMessages.lifecycleWaitingForReadiness(serverName),
+                    AutoStopperMessages.lifecycleConnecting(serverName));
+        }
+    }
+}
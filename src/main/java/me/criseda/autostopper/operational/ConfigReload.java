@@ -0,0 +1,20 @@
+package me.criseda.autostopper.operational;
+
+import me.criseda.autostopper.config.ConfigDiff;
+import me.criseda.autostopper.config.ConfigLoadResult;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Result of one configuration reload: what was loaded, which mappings it touched, and the preflight
+ * started for them. A rejected reload changes nothing and completes its preflight immediately.
+ */
+public record ConfigReload(ConfigLoadResult result, ConfigDiff changes,
+        CompletableFuture<PreflightSummary> preflight) {
+    public ConfigReload {
+        Objects.requireNonNull(result, "result");
+        Objects.requireNonNull(changes, "changes");
+        Objects.requireNonNull(preflight, "preflight");
+    }
+}
@@ -0,0 +1,96 @@
+package me.criseda.autostopper.operational;
+
+import me.criseda.autostopper.config.ConfigDiff;
+import me.criseda.autostopper.config.ConfigLoadResult;
+import me.criseda.autostopper.config.ConfigProvider;
+import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.server.ActivityTrackerService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Loads config.yml and hands the new snapshot to every runtime service. A manual reload preflights
+ * every mapping; a reload triggered by a file change only inspects the mappings the edit added or
+ * changed, so a one-line edit of a large config costs one container inspection.
+ */
+public final class ConfigReloader {
+    private final ConfigProvider config;
+    private final ServerLifecycleCoordinator lifecycleCoordinator;
+    private final ActivityTrackerService activityTracker;
+    private final OperationalStatusService operationalStatus;
+    private final Object reloadLock = new Object();
+    private volatile Consumer<ConfigSnapshot> appliedListener = ignored -> { };
+
+    public ConfigReloader(ConfigProvider config, ServerLifecycleCoordinator lifecycleCoordinator,
+            ActivityTrackerService activityTracker, OperationalStatusService operationalStatus) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.lifecycleCoordinator = Objects.requireNonNull(lifecycleCoordinator, "lifecycleCoordinator");
+        this.activityTracker = Objects.requireNonNull(activityTracker, "activityTracker");
+        this.operationalStatus = Objects.requireNonNull(operationalStatus, "operationalStatus");
+    }
+
+    /** Called with every snapshot a reload applies, after the runtime services have reconciled it. */
+    public void configureAppliedListener(Consumer<ConfigSnapshot> listener) {
+        appliedListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /** Reloads and preflights every mapping, as {@code /autostopper reload} does. */
+    public ConfigReload reload(String context) {
+        return reload(context, false);
+    }
+
+    /** Reloads and preflights only the mappings that were added or changed since the last snapshot. */
+    public ConfigReload reloadChanged(String context) {
+        return reload(context, true);
+    }
+
+    /**
+     * Merges the mappings discovered from container labels into the live configuration. Nothing is
+     * reconciled when the discovered mappings did not change, which is the common relist.
+     */
+    public ConfigReload applyDiscovered(Map<String, Map<String, String>> labelsByContainer, String context) {
+        Objects.requireNonNull(labelsByContainer, "labelsByContainer");
+        Objects.requireNonNull(context, "context");
+        synchronized (reloadLock) {
+            ConfigSnapshot previous = config.snapshot();
+            ConfigSnapshot current = config.applyDiscoveredContainers(labelsByContainer);
+            ConfigDiff changes = ConfigDiff.between(previous, current);
+            if (changes.mappingsUnchanged()) {
+                return new ConfigReload(ConfigLoadResult.success(current), changes,
+                        CompletableFuture.completedFuture(new PreflightSummary(0, 0)));
+            }
+            return apply(previous, current, changes, context, true);
+        }
+    }
+
+    private ConfigReload reload(String context, boolean changedOnly) {
+        Objects.requireNonNull(context, "context");
+        synchronized (reloadLock) {
+            ConfigSnapshot previous = config.snapshot();
+            ConfigLoadResult result = config.loadConfig();
+            if (!result.successful()) {
+                return new ConfigReload(result, new ConfigDiff(List.of(), List.of(), List.of()),
+                        CompletableFuture.completedFuture(new PreflightSummary(0, 0)));
+            }
+            ConfigSnapshot current = result.snapshot();
+            return apply(previous, current, ConfigDiff.between(previous, current), context, changedOnly);
+        }
+    }
+
+    private ConfigReload apply(ConfigSnapshot previous, ConfigSnapshot current, ConfigDiff changes,
+            String context, boolean changedOnly) {
+        lifecycleCoordinator.reconcileConfig(previous, current);
+        activityTracker.reconcileConfig(previous, current);
+        operationalStatus.reconcileConfig(current);
+        appliedListener.accept(current);
+        CompletableFuture<PreflightSummary> preflight = changedOnly
+                ? operationalStatus.runPreflight(current, changes.affectedServers(), context)
+                : operationalStatus.runPreflight(current, context);
+        return new ConfigReload(ConfigLoadResult.success(current), changes, preflight);
+    }
+}
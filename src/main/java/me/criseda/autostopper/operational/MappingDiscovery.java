@@ -0,0 +1,68 @@
+package me.criseda.autostopper.operational;
+
+import me.criseda.autostopper.config.ConfigDiff;
+import me.criseda.autostopper.config.DiscoverySettings;
+import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.server.ServerManager;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the mappings discovered from Docker container labels current. Each relist is a single
+ * {@code docker ps} call for every labeled container; the result is merged into the live
+ * configuration, and only mappings that appeared or changed are reconciled and preflighted. When
+ * Docker cannot be listed the previously discovered mappings stay in place.
+ */
+public final class MappingDiscovery {
+    private final Logger logger;
+    private final ServerManager serverManager;
+    private final ConfigReloader reloader;
+    private final AutoStopperExecutor executor;
+    private final AtomicBoolean relisting = new AtomicBoolean(false);
+
+    public MappingDiscovery(Logger logger, ServerManager serverManager, ConfigReloader reloader,
+            AutoStopperExecutor executor) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.serverManager = Objects.requireNonNull(serverManager, "serverManager");
+        this.reloader = Objects.requireNonNull(reloader, "reloader");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /** Relists labeled containers off-thread; skipped while the previous relist is still running. */
+    public CompletableFuture<Void> relist(DiscoverySettings settings) {
+        Objects.requireNonNull(settings, "settings");
+        if (!relisting.compareAndSet(false, true)) {
+            logger.debug("Skipping container discovery because the previous relist is still running");
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> run = executor.supply(() -> {
+            relistNow(settings);
+            return null;
+        });
+        run.whenComplete((ignored, error) -> {
+            relisting.set(false);
+            if (error != null) {
+                logger.warn("Container discovery could not run: {}", error.toString());
+            }
+        });
+        return run;
+    }
+
+    void relistNow(DiscoverySettings settings) {
+        Optional<Map<String, Map<String, String>>> containers =
+                serverManager.getLabeledContainers(settings.serverLabel(), settings.labelKeys());
+        if (containers.isEmpty()) {
+            return;
+        }
+        ConfigDiff changes = reloader.applyDiscovered(containers.get(), "discovery").changes();
+        if (!changes.mappingsUnchanged()) {
+            logger.info("Container discovery: {} added, {} changed, {} removed mapping(s).",
+                    changes.added().size(), changes.changed().size(), changes.removed().size());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import me.criseda.autostopper.config.ConfigSnapshot;
 import me.criseda.autostopper.config.ServerMapping;
 import me.criseda.autostopper.docker.ContainerInspection;
 import me.criseda.autostopper.docker.ContainerStatus;
+import me.criseda.autostopper.docker.DockerCircuitStatus;
 import me.criseda.autostopper.lifecycle.LifecycleStatusSnapshot;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
 import me.criseda.autostopper.lifecycle.ServerLifecycleState;
@@ -12,6 +13,7 @@ import org.slf4j.Logger;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +24,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /** Runs preflight and composes Docker observations with the lifecycle state machine. */
 public final class OperationalStatusService {
@@ -52,42 +55,63 @@ public final class OperationalStatusService {
 
     public CompletableFuture<PreflightSummary> runPreflight(ConfigSnapshot snapshot, String context) {
         Objects.requireNonNull(snapshot, "snapshot");
+        return preflight(snapshot, snapshot.servers(), context,
+                () -> serverManager.inspectContainersAsync(snapshot));
+    }
+
+    /**
+     * Preflights only the named mappings of {@code snapshot}, such as the ones a config edit added or
+     * changed. Observations already collected for the other mappings are kept.
+     */
+    public CompletableFuture<PreflightSummary> runPreflight(ConfigSnapshot snapshot, Collection<String> serverNames,
+            String context) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        Set<String> selected = Set.copyOf(serverNames);
+        List<ServerMapping> targets = snapshot.servers().stream()
+                .filter(mapping -> selected.contains(mapping.serverName()))
+                .toList();
+        if (targets.isEmpty()) {
+            reconcileConfig(snapshot);
+            return CompletableFuture.completedFuture(new PreflightSummary(0, 0));
+        }
+        return preflight(snapshot, targets, context, () -> serverManager.inspectContainersAsync(targets));
+    }
+
+    private CompletableFuture<PreflightSummary> preflight(ConfigSnapshot snapshot, List<ServerMapping> targets,
+            String context, Supplier<CompletableFuture<Map<String, ContainerInspection>>> inspect) {
         Objects.requireNonNull(context, "context");
         if (shutdown.get()) {
-            return CompletableFuture.completedFuture(
-                    new PreflightSummary(0, snapshot.servers().size()));
+            return CompletableFuture.completedFuture(new PreflightSummary(0, targets.size()));
         }
         reconcileConfig(snapshot);
         ConfigurationView expectedConfiguration = configuration;
-        Map<String, LifecycleStatusSnapshot> lifecycleAtStart = captureLifecycle(snapshot);
+        Map<String, LifecycleStatusSnapshot> lifecycleAtStart = captureLifecycle(targets);
         long generation = preflightGeneration.incrementAndGet();
         CompletableFuture<Map<String, ContainerInspection>> future;
         try {
-            future = Objects.requireNonNull(serverManager.inspectContainersAsync(snapshot),
-                    "inspectContainersAsync returned null");
+            future = Objects.requireNonNull(inspect.get(), "inspectContainersAsync returned null");
             track(future);
         } catch (RuntimeException error) {
-            recordCollectionFailure(snapshot, context);
+            recordCollectionFailure(snapshot, targets, context);
             logCollectionFailure(context, error);
-            return CompletableFuture.completedFuture(
-                    new PreflightSummary(0, snapshot.servers().size()));
+            return CompletableFuture.completedFuture(new PreflightSummary(0, targets.size()));
         }
         return future.thenApply(inspections -> {
             if (preflightGeneration.get() != generation) {
-                return summarize(snapshot, inspections);
+                return summarize(targets, inspections);
             }
-            applyObservations(snapshot, inspections, context,
+            applyObservations(snapshot, targets, inspections, context,
                     expectedConfiguration, lifecycleAtStart);
-            PreflightSummary summary = summarize(snapshot, inspections);
-            logSummary(context, snapshot, inspections, summary);
+            PreflightSummary summary = summarize(targets, inspections);
+            logSummary(context, targets, inspections, summary);
             return summary;
         }).exceptionally(error -> {
             if (shutdown.get()) {
-                return new PreflightSummary(0, snapshot.servers().size());
+                return new PreflightSummary(0, targets.size());
             }
-            recordCollectionFailure(snapshot, context);
+            recordCollectionFailure(snapshot, targets, context);
             logCollectionFailure(context, error);
-            return new PreflightSummary(0, snapshot.servers().size());
+            return new PreflightSummary(0, targets.size());
         });
     }
 
@@ -101,7 +125,7 @@ public final class OperationalStatusService {
             return CompletableFuture.failedFuture(
                     new IllegalStateException("configuration changed before status collection"));
         }
-        Map<String, LifecycleStatusSnapshot> lifecycleAtStart = captureLifecycle(snapshot);
+        Map<String, LifecycleStatusSnapshot> lifecycleAtStart = captureLifecycle(snapshot.servers());
         CompletableFuture<Map<String, ContainerInspection>> inspectionsFuture;
         try {
             inspectionsFuture = Objects.requireNonNull(serverManager.inspectContainersAsync(snapshot),
@@ -115,7 +139,7 @@ public final class OperationalStatusService {
                 throw new IllegalStateException("configuration changed during status collection");
             }
             Map<String, LifecycleStatusSnapshot> acceptedObservations =
-                    applyObservations(snapshot, inspections, "status check",
+                    applyObservations(snapshot, snapshot.servers(), inspections, "status check",
                             expectedConfiguration, lifecycleAtStart);
             Map<String, OperationalServerStatus> result = new LinkedHashMap<>();
             for (ServerMapping mapping : snapshot.servers()) {
@@ -127,6 +151,11 @@ public final class OperationalStatusService {
         });
     }
 
+    /** Present while the Docker circuit breaker is open and container checks fail fast. */
+    public Optional<DockerCircuitStatus> openDockerCircuit() {
+        return serverManager.openDockerCircuit();
+    }
+
     public void reconcileConfig(ConfigSnapshot current) {
         Map<String, ServerMapping> mappings = mappings(current);
         synchronized (configurationLock) {
@@ -214,7 +243,7 @@ public final class OperationalStatusService {
     }
 
     private Map<String, LifecycleStatusSnapshot> applyObservations(ConfigSnapshot snapshot,
-            Map<String, ContainerInspection> inspections, String context,
+            List<ServerMapping> targets, Map<String, ContainerInspection> inspections, String context,
             ConfigurationView expectedConfiguration,
             Map<String, LifecycleStatusSnapshot> lifecycleAtStart) {
         if (configuration != expectedConfiguration || !expectedConfiguration.matches(snapshot)) {
@@ -222,7 +251,7 @@ public final class OperationalStatusService {
         }
         Instant observedAt = clock.instant();
         Map<String, LifecycleStatusSnapshot> accepted = new LinkedHashMap<>();
-        for (ServerMapping mapping : snapshot.servers()) {
+        for (ServerMapping mapping : targets) {
             if (configuration != expectedConfiguration) {
                 break;
             }
@@ -255,25 +284,25 @@ public final class OperationalStatusService {
         return Map.copyOf(accepted);
     }
 
-    private PreflightSummary summarize(ConfigSnapshot snapshot,
+    private PreflightSummary summarize(List<ServerMapping> targets,
             Map<String, ContainerInspection> inspections) {
         int healthy = (int) inspections.values().stream().filter(ContainerInspection::healthy).count();
-        return new PreflightSummary(healthy, snapshot.servers().size() - healthy);
+        return new PreflightSummary(healthy, targets.size() - healthy);
     }
 
-    private void recordCollectionFailure(ConfigSnapshot snapshot, String context) {
+    private void recordCollectionFailure(ConfigSnapshot snapshot, List<ServerMapping> targets, String context) {
         if (!configuration.matches(snapshot)) {
             return;
         }
         Instant observedAt = clock.instant();
-        for (String serverName : snapshot.serverNames()) {
-            inspectionFailures.put(serverName, new OperationalFailure(observedAt, context,
+        for (ServerMapping mapping : targets) {
+            inspectionFailures.put(mapping.serverName(), new OperationalFailure(observedAt, context,
                     "container checks could not be scheduled or completed",
                     "Wait for active operations to finish, retry, and review proxy logs."));
         }
     }
 
-    private void logSummary(String context, ConfigSnapshot snapshot,
+    private void logSummary(String context, List<ServerMapping> targets,
             Map<String, ContainerInspection> inspections, PreflightSummary summary) {
         if (summary.healthy()) {
             logger.info("AutoStopper {} preflight healthy: {} mapping(s) checked.",
@@ -282,11 +311,14 @@ public final class OperationalStatusService {
         }
         logger.warn("AutoStopper {} preflight degraded: {} healthy, {} degraded mapping(s).",
                 context, summary.healthyMappings(), summary.degradedMappings());
-        for (String serverName : snapshot.serverNames()) {
-            ContainerInspection inspection = inspections.get(serverName);
+        serverManager.openDockerCircuit().ifPresent(circuit -> logger.warn(
+                "Docker circuit breaker open since {} ({}); next recovery probe at {}.",
+                circuit.openedAt(), circuit.cause(), circuit.nextProbeAt()));
+        for (ServerMapping mapping : targets) {
+            ContainerInspection inspection = inspections.get(mapping.serverName());
             if (inspection != null && !inspection.healthy()) {
                 logger.warn("Preflight {} (container {}): {} Remediation: {}",
-                        serverName, snapshot.server(serverName).orElseThrow().containerName(),
+                        mapping.serverName(), mapping.containerName(),
                         inspection.detail(), inspection.remediation());
             }
         }
@@ -325,9 +357,9 @@ public final class OperationalStatusService {
         }
     }
 
-    private Map<String, LifecycleStatusSnapshot> captureLifecycle(ConfigSnapshot snapshot) {
+    private Map<String, LifecycleStatusSnapshot> captureLifecycle(List<ServerMapping> targets) {
         Map<String, LifecycleStatusSnapshot> result = new LinkedHashMap<>();
-        for (ServerMapping mapping : snapshot.servers()) {
+        for (ServerMapping mapping : targets) {
             result.put(mapping.serverName(), lifecycleCoordinator.statusSnapshot(mapping));
         }
         return Map.copyOf(result);
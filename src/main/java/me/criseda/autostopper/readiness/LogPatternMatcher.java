@@ -0,0 +1,32 @@
+package me.criseda.autostopper.readiness;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/** Matches followed container output one line at a time and latches on the first readiness line. */
+final class LogPatternMatcher implements Consumer<String> {
+    private final Pattern pattern;
+    private final CountDownLatch matched = new CountDownLatch(1);
+
+    LogPatternMatcher(Pattern pattern) {
+        this.pattern = Objects.requireNonNull(pattern, "pattern");
+    }
+
+    @Override
+    public void accept(String line) {
+        if (matched.getCount() > 0 && pattern.matcher(line).find()) {
+            matched.countDown();
+        }
+    }
+
+    boolean matched() {
+        return matched.getCount() == 0;
+    }
+
+    boolean awaitMatch(long nanos) throws InterruptedException {
+        return matched.await(nanos, TimeUnit.NANOSECONDS);
+    }
+}
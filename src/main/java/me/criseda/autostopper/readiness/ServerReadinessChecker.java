@@ -1,15 +1,22 @@
 package me.criseda.autostopper.readiness;
 
+import me.criseda.autostopper.config.ContainerDependency;
 import me.criseda.autostopper.config.ReadinessSettings;
 import me.criseda.autostopper.config.ReadinessStrategy;
 import me.criseda.autostopper.config.ServerMapping;
 import me.criseda.autostopper.docker.ContainerHealth;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.docker.DockerManager;
+import me.criseda.autostopper.docker.StreamingCommand;
+import me.criseda.autostopper.executor.OperationDeadline;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongSupplier;
 
 public final class ServerReadinessChecker {
@@ -18,6 +25,8 @@ public final class ServerReadinessChecker {
     private final MinecraftStatusProbe statusProbe;
     private final LongSupplier nanoTime;
     private final Sleeper sleeper;
+    /** When each container was last started by this proxy, until readiness consumes it. */
+    private final Map<String, Instant> containerStarts = new ConcurrentHashMap<>();
 
     public ServerReadinessChecker(Logger logger, DockerManager dockerManager, MinecraftStatusProbe statusProbe) {
         this(logger, dockerManager, statusProbe, System::nanoTime,
@@ -33,7 +42,30 @@ public final class ServerReadinessChecker {
         this.sleeper = Objects.requireNonNull(sleeper, "sleeper");
     }
 
+    /**
+     * Remembers when {@code docker start} ran for the container, so the next readiness check follows
+     * its log from then and cannot miss a ready line printed before the follower attached.
+     */
+    public void recordContainerStart(String containerName, Instant startedAt) {
+        containerStarts.put(containerName, startedAt);
+    }
+
+    /** Forgets a recorded start once the container stops, so a later boot never matches old lines. */
+    public void clearContainerStart(String containerName) {
+        containerStarts.remove(containerName);
+    }
+
     public ReadinessResult awaitReady(ServerMapping mapping, ReadinessSettings.Target target) {
+        return awaitReady(mapping, target, OperationDeadline.unbounded());
+    }
+
+    /**
+     * Waits for readiness within the configured readiness timeout or the remaining operation
+     * budget, whichever ends first.
+     */
+    public ReadinessResult awaitReady(ServerMapping mapping, ReadinessSettings.Target target,
+            OperationDeadline operationDeadline) {
+        Instant startedAt = containerStarts.remove(mapping.containerName());
         ReadinessSettings settings = mapping.readiness();
         ReadinessStrategy strategy = settings.strategy();
         if (strategy.usesMinecraftStatus() && target == null) {
@@ -41,13 +73,83 @@ public final class ServerReadinessChecker {
                     ReadinessResult.failure(ReadinessResult.Outcome.INVALID_TARGET, 0, null));
         }
 
+        Duration timeout = operationDeadline.bound(settings.timeout());
         logger.info("Waiting up to {}ms for server {} readiness using {}{}",
-                settings.timeout().toMillis(),
+                timeout.toMillis(),
                 mapping.serverName(),
                 strategy.configValue(),
                 target == null ? "" : " at " + target.host() + ":" + target.port());
 
-        long deadline = saturatedAdd(nanoTime.getAsLong(), settings.timeout().toNanos());
+        long deadline = saturatedAdd(nanoTime.getAsLong(), timeout.toNanos());
+        if (!strategy.usesLogPattern()) {
+            return poll(mapping, target, deadline, null);
+        }
+
+        LogPatternMatcher matcher = new LogPatternMatcher(settings.compiledLogPattern());
+        Optional<StreamingCommand> follower =
+                dockerManager.followContainerLogs(mapping.containerName(),
+                        startedAt == null ? Instant.now() : startedAt, matcher);
+        if (follower.isEmpty()) {
+            logger.warn("Server {} log stream is unavailable; relying on Minecraft status probes",
+                    mapping.serverName());
+            return poll(mapping, target, deadline, null);
+        }
+        try {
+            return poll(mapping, target, deadline, matcher);
+        } finally {
+            follower.get().close();
+        }
+    }
+
+    /**
+     * Waits for a dependency container to report healthy. A running container without a Docker health
+     * check counts as ready, since sidecars rarely expose a Minecraft status endpoint.
+     */
+    public ReadinessResult awaitDependencyReady(ContainerDependency dependency) {
+        long deadline = saturatedAdd(nanoTime.getAsLong(), dependency.readyTimeout().toNanos());
+        long interval = Duration.ofMillis(ReadinessSettings.DEFAULT_PROBE_INTERVAL_MILLIS).toNanos();
+        int attempts = 0;
+        while (true) {
+            long remaining = deadline - nanoTime.getAsLong();
+            if (remaining <= 0) {
+                return finishDependency(dependency,
+                        ReadinessResult.failure(ReadinessResult.Outcome.TIMED_OUT, attempts, null));
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return finishDependency(dependency,
+                        ReadinessResult.failure(ReadinessResult.Outcome.INTERRUPTED, attempts, null));
+            }
+
+            attempts++;
+            ContainerHealth health = dockerManager.getContainerHealth(
+                    dependency.containerName(), positiveRemaining(remaining));
+            if (health == ContainerHealth.HEALTHY || health == ContainerHealth.NO_HEALTHCHECK) {
+                return finishDependency(dependency, ReadinessResult.ready(attempts));
+            }
+            ReadinessResult terminal = healthResult(health, ReadinessStrategy.DOCKER_HEALTH_OR_STATUS, attempts, null);
+            if (terminal != null) {
+                return finishDependency(dependency, terminal);
+            }
+
+            remaining = deadline - nanoTime.getAsLong();
+            if (remaining <= 0) {
+                return finishDependency(dependency,
+                        ReadinessResult.failure(ReadinessResult.Outcome.TIMED_OUT, attempts, null));
+            }
+            try {
+                sleeper.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+                return finishDependency(dependency,
+                        ReadinessResult.failure(ReadinessResult.Outcome.INTERRUPTED, attempts, null));
+            }
+        }
+    }
+
+    private ReadinessResult poll(ServerMapping mapping, ReadinessSettings.Target target, long deadline,
+            LogPatternMatcher matcher) {
+        ReadinessSettings settings = mapping.readiness();
+        ReadinessStrategy strategy = settings.strategy();
         MinecraftStatusProbe.Outcome lastProbe = null;
         int attempts = 0;
         while (true) {
@@ -62,6 +164,9 @@ public final class ServerReadinessChecker {
             }
 
             attempts++;
+            if (matcher != null && matcher.matched()) {
+                return finish(mapping, strategy, ReadinessResult.ready(attempts));
+            }
             ContainerHealth health = null;
             if (strategy.usesDockerHealth()) {
                 health = dockerManager.getContainerHealth(
@@ -112,7 +217,11 @@ public final class ServerReadinessChecker {
             }
             long sleepNanos = Math.min(settings.probeInterval().toNanos(), remaining);
             try {
-                sleeper.sleep(sleepNanos);
+                if (matcher == null) {
+                    sleeper.sleep(sleepNanos);
+                } else if (matcher.awaitMatch(sleepNanos)) {
+                    return finish(mapping, strategy, ReadinessResult.ready(attempts));
+                }
             } catch (InterruptedException error) {
                 Thread.currentThread().interrupt();
                 return finish(mapping, strategy,
@@ -159,6 +268,16 @@ public final class ServerReadinessChecker {
         return result;
     }
 
+    private ReadinessResult finishDependency(ContainerDependency dependency, ReadinessResult result) {
+        if (result.ready()) {
+            logger.info("Dependency {} became ready after {} attempt(s)", dependency.name(), result.attempts());
+        } else {
+            logger.warn("Dependency {} failed readiness after {} attempt(s): {}",
+                    dependency.name(), result.attempts(), result.playerDetail());
+        }
+        return result;
+    }
+
     private Duration positiveRemaining(long remainingNanos) {
         return Duration.ofNanos(Math.max(1, remainingNanos));
     }
@@ -0,0 +1,28 @@
+package me.criseda.autostopper.server;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders monitored servers from least to most recently active. Recording activity is O(1), so it
+ * stays cheap on the connection path; eviction walks the order from the least recent end.
+ */
+final class ActivityRecency {
+    private final Map<String, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+
+    synchronized void touch(String serverName) {
+        if (order.get(serverName) == null) {
+            order.put(serverName, Boolean.TRUE);
+        }
+    }
+
+    synchronized void retainAll(Collection<String> serverNames) {
+        order.keySet().retainAll(serverNames);
+    }
+
+    synchronized List<String> leastRecentFirst() {
+        return List.copyOf(order.keySet());
+    }
+}
@@ -5,15 +5,22 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 
 import me.criseda.autostopper.AutoStopperPlugin;
+import me.criseda.autostopper.config.AbandonedStartSettings;
 import me.criseda.autostopper.config.AutoStopperConfig;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.MemoryPressureSettings;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.ServerPool;
 import me.criseda.autostopper.config.StopRetrySettings;
+import me.criseda.autostopper.coordination.ClusterCoordinator;
+import me.criseda.autostopper.coordination.RemoteActivity;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.lifecycle.ServerLifecycleState;
 import me.criseda.autostopper.telemetry.LifecycleTelemetry;
 import me.criseda.autostopper.telemetry.LifecycleTelemetryService;
+import me.criseda.autostopper.telemetry.MemoryPressureSignal;
 import me.criseda.autostopper.telemetry.TelemetryOperationType;
 import me.criseda.autostopper.telemetry.TelemetryOrigin;
 import me.criseda.autostopper.telemetry.TelemetryOutcome;
@@ -23,8 +30,13 @@ import org.slf4j.Logger;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -43,12 +55,17 @@ public final class ActivityTracker implements ActivityTrackerService {
     private final AutoStopperExecutor executor;
     private final ServerLifecycleCoordinator lifecycleCoordinator;
     private final LifecycleTelemetry telemetry;
+    private final WarmPoolManager warmPools;
+    private final ClusterCoordinator coordinator;
+    private final MemoryPressureMonitor memoryPressure;
     private final Map<String, ActivityState> activity = new ConcurrentHashMap<>();
+    private final ActivityRecency recency = new ActivityRecency();
     private final AutoStopperPlugin plugin;
     private final AtomicBoolean inactivityScanActive = new AtomicBoolean(false);
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
     private final AtomicReference<ScheduledTask> scheduledTask = new AtomicReference<>();
     private final AtomicReference<CompletableFuture<Void>> activeScan = new AtomicReference<>();
+    private final AtomicReference<InactivityScan> activePass = new AtomicReference<>();
     private final Clock clock;
 
     public ActivityTracker(ProxyServer server, Logger logger, AutoStopperConfig config, ServerManager serverManager,
@@ -57,6 +74,14 @@ public final class ActivityTracker implements ActivityTrackerService {
         this(server, logger, config, serverManager, executor, plugin, lifecycleCoordinator, telemetry, Clock.systemUTC());
     }
 
+    public ActivityTracker(ProxyServer server, Logger logger, AutoStopperConfig config, ServerManager serverManager,
+            AutoStopperExecutor executor, AutoStopperPlugin plugin,
+            ServerLifecycleCoordinator lifecycleCoordinator, LifecycleTelemetry telemetry,
+            ClusterCoordinator coordinator) {
+        this(server, logger, config, serverManager, executor, plugin, lifecycleCoordinator, telemetry, coordinator,
+                Clock.systemUTC());
+    }
+
     public ActivityTracker(ProxyServer server, Logger logger, AutoStopperConfig config, ServerManager serverManager,
             AutoStopperExecutor executor, AutoStopperPlugin plugin,
             ServerLifecycleCoordinator lifecycleCoordinator) {
@@ -74,6 +99,22 @@ public final class ActivityTracker implements ActivityTrackerService {
     ActivityTracker(ProxyServer server, Logger logger, AutoStopperConfig config, ServerManager serverManager,
             AutoStopperExecutor executor, AutoStopperPlugin plugin,
             ServerLifecycleCoordinator lifecycleCoordinator, LifecycleTelemetry telemetry, Clock clock) {
+        this(server, logger, config, serverManager, executor, plugin, lifecycleCoordinator, telemetry,
+                ClusterCoordinator.standalone(), clock);
+    }
+
+    ActivityTracker(ProxyServer server, Logger logger, AutoStopperConfig config, ServerManager serverManager,
+            AutoStopperExecutor executor, AutoStopperPlugin plugin,
+            ServerLifecycleCoordinator lifecycleCoordinator, LifecycleTelemetry telemetry,
+            ClusterCoordinator coordinator, Clock clock) {
+        this(server, logger, config, serverManager, executor, plugin, lifecycleCoordinator, telemetry, coordinator,
+                clock, new MemoryPressureMonitor(logger, serverManager, telemetry));
+    }
+
+    ActivityTracker(ProxyServer server, Logger logger, AutoStopperConfig config, ServerManager serverManager,
+            AutoStopperExecutor executor, AutoStopperPlugin plugin,
+            ServerLifecycleCoordinator lifecycleCoordinator, LifecycleTelemetry telemetry,
+            ClusterCoordinator coordinator, Clock clock, MemoryPressureMonitor memoryPressure) {
         this.server = server;
         this.logger = logger;
         this.config = config;
@@ -82,6 +123,9 @@ public final class ActivityTracker implements ActivityTrackerService {
         this.plugin = plugin;
         this.lifecycleCoordinator = lifecycleCoordinator;
         this.telemetry = Objects.requireNonNull(telemetry, "telemetry");
+        this.warmPools = new WarmPoolManager(serverManager, lifecycleCoordinator);
+        this.coordinator = Objects.requireNonNull(coordinator, "coordinator");
+        this.memoryPressure = Objects.requireNonNull(memoryPressure, "memoryPressure");
         this.clock = clock;
         initializeActivityTracking();
     }
@@ -90,6 +134,7 @@ public final class ActivityTracker implements ActivityTrackerService {
         // Initialize all monitored servers with current time
         for (String serverName : config.snapshot().serverNames()) {
             activity.put(serverName, ActivityState.activeAt(clock.instant()));
+            recency.touch(serverName);
             logger.info("Initialized activity tracking for server: " + serverName);
         }
 
@@ -121,19 +166,25 @@ public final class ActivityTracker implements ActivityTrackerService {
             return CompletableFuture.completedFuture(null);
         }
 
-        CompletableFuture<Void> scan = executor.supply(() -> {
-            runInactivityCheck();
-            return null;
-        });
+        InactivityScan pass = new InactivityScan();
+        CompletableFuture<Void> scan = pass.step(executor.supply(() -> {
+                    pass.begin();
+                    return null;
+                }))
+                .thenCompose(ignored -> pass.evaluateRemaining())
+                .thenCompose(ignored -> pass.finish());
         activeScan.set(scan);
+        activePass.set(pass);
         scan.whenComplete((ignored, error) -> {
             activeScan.compareAndSet(scan, null);
+            activePass.compareAndSet(pass, null);
             inactivityScanActive.set(false);
             if (error != null && !shutdown.get()) {
                 logger.warn("Inactivity check could not run: {}", error.toString());
             }
         });
         if (shutdown.get()) {
+            pass.cancel();
             scan.cancel(true);
         }
         return scan;
@@ -147,52 +198,221 @@ public final class ActivityTracker implements ActivityTrackerService {
         if (task != null) {
             task.cancel();
         }
+        InactivityScan pass = activePass.getAndSet(null);
+        if (pass != null) {
+            pass.cancel();
+        }
         CompletableFuture<Void> scan = activeScan.getAndSet(null);
         if (scan != null) {
             scan.cancel(true);
         }
     }
 
-    private void runInactivityCheck() {
-        logger.debug("Running inactivity check...");
-        ConfigSnapshot snapshot = config.snapshot();
-        for (ServerMapping mapping : snapshot.servers()) {
+    /**
+     * One pass over the mapped servers. Memory pressure is sampled on the shared queue, then each
+     * server is evaluated on its container's lane, one after another, so an inactivity stop queues
+     * behind any other Docker work for that container and no worker waits on another.
+     */
+    private final class InactivityScan {
+        private ConfigSnapshot snapshot;
+        private Iterator<ServerMapping> remaining = Collections.emptyIterator();
+        private Optional<MemoryPressureSettings> pressureSettings = Optional.empty();
+        private Duration pressureTimeout;
+        private volatile CompletableFuture<?> currentStep;
+
+        private <T> CompletableFuture<T> step(CompletableFuture<T> step) {
+            currentStep = step;
             if (shutdown.get()) {
-                return;
+                step.cancel(true);
+            }
+            return step;
+        }
+
+        private void cancel() {
+            CompletableFuture<?> step = currentStep;
+            if (step != null) {
+                step.cancel(true);
+            }
+        }
+
+        private void begin() {
+            logger.debug("Running inactivity check...");
+            snapshot = config.snapshot();
+            List<ServerMapping> mappings = snapshot.servers();
+            pressureSettings = snapshot.memoryPressure();
+            if (pressureSettings.isPresent()) {
+                MemoryPressureSignal signal = memoryPressure.sample(pressureSettings.get(), mappings);
+                if (signal.underPressure()) {
+                    pressureTimeout = pressureSettings.get().inactivityTimeout();
+                    mappings = largestFirst(mappings, signal.serverBytes());
+                    logger.info("Host memory is under pressure; stopping servers empty for {} seconds, largest first",
+                            pressureTimeout.toSeconds());
+                }
+            }
+            remaining = mappings.iterator();
+        }
+
+        private CompletableFuture<Void> evaluateRemaining() {
+            while (remaining.hasNext() && !shutdown.get()) {
+                ServerMapping mapping = remaining.next();
+                Optional<RegisteredServer> registeredServer = server.getServer(mapping.serverName());
+                if (registeredServer.isEmpty()) {
+                    continue;
+                }
+                if (lifecycleCoordinator.state(mapping).filter(ServerLifecycleState.STARTING::equals).isPresent()) {
+                    // Its lane is busy with the start; lifecycle work in flight rules out a stop anyway
+                    logger.debug("Skipping inactivity check for {} because it is starting", mapping.serverName());
+                    continue;
+                }
+                Duration timeout = pressureTimeout;
+                return step(executor.supply(mapping.containerName(),
+                                () -> evaluateServer(snapshot, mapping, registeredServer.get(), timeout)))
+                        .thenCompose(stoppedEarly -> {
+                            if (stoppedEarly && !memoryPressure.hostUnderPressure(pressureSettings.get())) {
+                                pressureTimeout = null;
+                                logger.info("Host memory pressure cleared; restoring the normal inactivity timeout");
+                            }
+                            return evaluateRemaining();
+                        });
             }
-            server.getServer(mapping.serverName())
-                    .ifPresent(registeredServer -> evaluateServer(snapshot, mapping, registeredServer));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private CompletableFuture<Void> finish() {
+            if (snapshot == null || shutdown.get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            for (ServerPool pool : snapshot.pools()) {
+                if (shutdown.get()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                warmPools.replenish(pool);
+            }
+            int shortfall = lifecycleCoordinator.runningBackendShortfall();
+            if (shortfall <= 0 || shutdown.get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return step(evictIdleBackends(shortfall)).thenApply(freed -> null);
         }
     }
 
-    private void evaluateServer(ConfigSnapshot snapshot, ServerMapping mapping, RegisteredServer registeredServer) {
+    /**
+     * Stops idle servers, least recently active first, until {@code needed} memory cost is freed or
+     * no candidate is left. Servers with players here or on another proxy, holds, waiters, lifecycle
+     * work in flight, or a warm-reserve role are never evicted.
+     *
+     * @return completes with the memory cost actually freed
+     */
+    public CompletableFuture<Integer> evictIdleBackends(int needed) {
+        return evictNext(config.snapshot(), recency.leastRecentFirst().iterator(), needed, 0);
+    }
+
+    /** Evicts the next candidate on its container's lane, then moves on until enough cost is freed. */
+    private CompletableFuture<Integer> evictNext(ConfigSnapshot snapshot, Iterator<String> candidates, int needed,
+            int freed) {
+        while (freed < needed && !shutdown.get() && candidates.hasNext()) {
+            String serverName = candidates.next();
+            Optional<ServerMapping> mapping = snapshot.server(serverName);
+            Optional<RegisteredServer> registeredServer = server.getServer(serverName);
+            if (mapping.isEmpty() || registeredServer.isEmpty()
+                    || !lifecycleCoordinator.occupiesRunningBackend(serverName)
+                    || !registeredServer.get().getPlayersConnected().isEmpty()
+                    || lifecycleCoordinator.isHeld(serverName)
+                    || snapshot.poolForMember(serverName).filter(pool -> warmPools.isWarmReserve(pool, serverName))
+                            .isPresent()) {
+                continue;
+            }
+            RemoteActivity remote = coordinator.remoteActivity(serverName);
+            if (!remote.available() || remote.connectedPlayers() > 0) {
+                continue;
+            }
+            ServerMapping target = mapping.get();
+            return executor.supply(target.containerName(), () -> evict(target, registeredServer.get()))
+                    .thenCompose(evicted -> evictNext(snapshot, candidates, needed,
+                            evicted ? freed + target.memoryCost() : freed));
+        }
+        return CompletableFuture.completedFuture(freed);
+    }
+
+    /** Orders mappings by observed memory use, largest first; servers without a reading keep config order last. */
+    private static List<ServerMapping> largestFirst(List<ServerMapping> mappings, Map<String, Long> serverBytes) {
+        List<ServerMapping> ordered = new ArrayList<>(mappings);
+        ordered.sort(Comparator.comparingLong(
+                (ServerMapping mapping) -> serverBytes.getOrDefault(mapping.serverName(), 0L)).reversed());
+        return ordered;
+    }
+
+    private boolean evict(ServerMapping mapping, RegisteredServer registeredServer) {
+        String serverName = mapping.serverName();
+        if (!lifecycleCoordinator.tryBeginStop(mapping)) {
+            return false;
+        }
+        if (!registeredServer.getPlayersConnected().isEmpty() || shutdown.get()) {
+            lifecycleCoordinator.cancelStop(mapping);
+            return false;
+        }
+        logger.info("Evicting {}, the least recently active idle server, to stay within the running-backend budget",
+                serverName);
+        long stopStartNanos = telemetry.currentNanos();
+        ContainerStatus stopResult = ContainerStatus.FAILED;
+        try {
+            stopResult = mapping.sleep().checkpoints()
+                    ? serverManager.sleepServer(mapping)
+                    : serverManager.stopServer(mapping);
+        } finally {
+            lifecycleCoordinator.completeStop(mapping, stopResult);
+        }
+        telemetry.recordOperation(
+                TelemetryOperationType.BACKEND_EVICTION,
+                serverName,
+                TelemetryOrigin.ACTIVITY_TRACKER,
+                stopResult == ContainerStatus.STOPPED ? TelemetryOutcome.STOPPED : TelemetryOutcome.from(stopResult),
+                telemetry.elapsedSince(stopStartNanos),
+                0);
+        if (stopResult != ContainerStatus.STOPPED) {
+            logger.warn("Eviction of server {} failed with {}", serverName, stopResult);
+            return false;
+        }
+        activity.remove(serverName);
+        return true;
+    }
+
+    /**
+     * @param pressureTimeout shortened inactivity timeout while host memory is under pressure, or null
+     * @return whether the server was stopped only because of the shortened timeout
+     */
+    private boolean evaluateServer(ConfigSnapshot snapshot, ServerMapping mapping, RegisteredServer registeredServer,
+            Duration pressureTimeout) {
         if (shutdown.get()) {
-            return;
+            return false;
         }
         String serverName = mapping.serverName();
         ActivityState activityAtScanStart = activity.get(serverName);
         // If players are connected, update the timestamp
-        if (!registeredServer.getPlayersConnected().isEmpty()) {
+        int connectedPlayers = registeredServer.getPlayersConnected().size();
+        if (connectedPlayers > 0) {
             updateActivity(serverName);
+            coordinator.publishActivity(serverName, connectedPlayers, clock.instant());
             logger.debug("Players active on " + serverName + ", refreshing timestamp");
-            return;
+            return false;
         }
 
         // If no players are connected, check if the server is actually running
         Optional<ContainerStatus> status = serverManager.getServerStatus(mapping);
         if (status.isEmpty()) {
             removeActivityIfUnchanged(serverName, activityAtScanStart);
-            return;
+            return false;
         }
+        lifecycleCoordinator.observeContainerStatus(mapping, status.get());
 
         switch (status.get()) {
             case STOPPED, MISSING:
                 removeActivityIfUnchanged(serverName, activityAtScanStart);
-                return;
+                return false;
             case INACCESSIBLE, TIMED_OUT, FAILED:
                 logger.warn("Server {} status is {}; retaining activity and skipping inactivity shutdown",
                         serverName, status.get());
-                return;
+                return false;
             case RUNNING:
                 break;
         }
@@ -200,59 +420,95 @@ public final class ActivityTracker implements ActivityTrackerService {
         // If it is running but not being tracked, start tracking it now
         Instant now = clock.instant();
         ActivityState observed = activity.computeIfAbsent(serverName, ignored -> ActivityState.activeAt(now));
+        coordinator.publishActivity(serverName, 0, observed.lastActivity());
         if (observed.nextStopAttemptAt() != null && now.isBefore(observed.nextStopAttemptAt())) {
-            return;
+            return false;
+        }
+
+        // Players connected through other proxies keep the server alive network-wide
+        RemoteActivity remote = coordinator.remoteActivity(serverName);
+        if (!remote.available()) {
+            logger.warn("Activity from other proxies is unavailable for {}; skipping inactivity shutdown",
+                    serverName);
+            return false;
         }
+        if (remote.connectedPlayers() > 0) {
+            updateActivity(serverName);
+            logger.debug("Players active on " + serverName + " through another proxy, refreshing timestamp");
+            return false;
+        }
+        Instant lastActivity = remote.lastActivity()
+                .filter(remoteLast -> remoteLast.isAfter(observed.lastActivity()))
+                .orElse(observed.lastActivity());
 
-        Duration inactiveDuration = Duration.between(observed.lastActivity(), now);
+        Duration inactiveDuration = Duration.between(lastActivity, now);
         long minutesInactive = inactiveDuration.toMinutes();
 
         logger.debug(serverName + " has been inactive for " + minutesInactive + " minutes");
 
         boolean retryDue = observed.nextStopAttemptAt() != null;
-        if (retryDue || inactiveDuration.getSeconds() > snapshot.inactivityTimeoutSeconds()) {
+        boolean timedOut = inactiveDuration.getSeconds() > snapshot.inactivityTimeoutSeconds()
+                || (observed.idleTimeout() != null && inactiveDuration.compareTo(observed.idleTimeout()) > 0);
+        boolean pressureStop = !retryDue && !timedOut && pressureTimeout != null
+                && inactiveDuration.compareTo(pressureTimeout) > 0;
+        TelemetryOperationType stopOperation = pressureStop
+                ? TelemetryOperationType.PRESSURE_STOP
+                : TelemetryOperationType.AUTOMATIC_STOP;
+        if (retryDue || timedOut || pressureStop) {
             if (shutdown.get()) {
-                return;
+                return false;
             }
             if (lifecycleCoordinator.isHeld(serverName)) {
                 logger.debug("Server {} has an active hold; skipping inactivity shutdown", serverName);
-                return;
+                return false;
+            }
+            if (snapshot.poolForMember(serverName).filter(pool -> warmPools.isWarmReserve(pool, serverName))
+                    .isPresent()) {
+                logger.debug("Server {} is a warm pool reserve; skipping inactivity shutdown", serverName);
+                return false;
             }
             if (!lifecycleCoordinator.tryBeginStop(mapping)) {
                 logger.debug("Skipping inactivity shutdown for {} because lifecycle work is active", serverName);
-                return;
+                return false;
             }
             if (!registeredServer.getPlayersConnected().isEmpty() || activity.get(serverName) != observed) {
                 updateActivity(serverName);
                 lifecycleCoordinator.cancelStop(mapping);
                 logger.debug("Cancelled inactivity shutdown for {} because activity changed", serverName);
                 telemetry.recordOperation(
-                        TelemetryOperationType.AUTOMATIC_STOP,
+                        stopOperation,
                         serverName,
                         TelemetryOrigin.ACTIVITY_TRACKER,
                         TelemetryOutcome.CANCELLED,
                         Duration.ZERO,
                         0);
-                return;
+                return false;
             }
             if (shutdown.get()) {
                 lifecycleCoordinator.cancelStop(mapping);
                 telemetry.recordOperation(
-                        TelemetryOperationType.AUTOMATIC_STOP,
+                        stopOperation,
                         serverName,
                         TelemetryOrigin.ACTIVITY_TRACKER,
                         TelemetryOutcome.PROXY_SHUTDOWN,
                         Duration.ZERO,
                         0);
-                return;
+                return false;
+            }
+            if (pressureStop) {
+                logger.info("Server {} has been empty for {} seconds under host memory pressure; stopping it early",
+                        serverName, inactiveDuration.toSeconds());
+            } else {
+                logger.info("Server {} has been inactive for {} minutes; stop attempt {} of {}",
+                        serverName, minutesInactive, observed.failedStopAttempts() + 1,
+                        snapshot.stopRetry().maxAttempts());
             }
-            logger.info("Server {} has been inactive for {} minutes; stop attempt {} of {}",
-                    serverName, minutesInactive, observed.failedStopAttempts() + 1,
-                    snapshot.stopRetry().maxAttempts());
             long stopStartNanos = telemetry.currentNanos();
             ContainerStatus stopResult = ContainerStatus.FAILED;
             try {
-                stopResult = serverManager.stopServer(mapping);
+                stopResult = mapping.sleep().checkpoints()
+                        ? serverManager.sleepServer(mapping)
+                        : serverManager.stopServer(mapping);
             } finally {
                 lifecycleCoordinator.completeStop(mapping, stopResult);
             }
@@ -261,7 +517,7 @@ public final class ActivityTracker implements ActivityTrackerService {
                     ? TelemetryOutcome.STOPPED
                     : TelemetryOutcome.from(stopResult);
             telemetry.recordOperation(
-                    TelemetryOperationType.AUTOMATIC_STOP,
+                    stopOperation,
                     serverName,
                     TelemetryOrigin.ACTIVITY_TRACKER,
                     telemetryOutcome,
@@ -269,10 +525,11 @@ public final class ActivityTracker implements ActivityTrackerService {
                     0);
             if (stopResult == ContainerStatus.STOPPED) {
                 activity.remove(serverName, observed);
-            } else {
-                retainForRetry(serverName, observed, stopResult, snapshot.stopRetry(), clock.instant());
+                return pressureStop;
             }
+            retainForRetry(serverName, observed, stopResult, snapshot.stopRetry(), clock.instant());
         }
+        return false;
     }
 
     private void retainForRetry(String serverName, ActivityState observed, ContainerStatus result,
@@ -290,7 +547,7 @@ public final class ActivityTracker implements ActivityTrackerService {
         Duration backoff = settings.backoffAfterFailure(failedAttempt);
         Instant retryAt = now.plus(backoff);
         activity.computeIfPresent(serverName, (ignored, current) -> current == observed
-                ? new ActivityState(current.lastActivity(), failedAttempt, retryAt)
+                ? new ActivityState(current.lastActivity(), failedAttempt, retryAt, current.idleTimeout())
                 : current);
         logger.warn("Stop attempt {} of {} failed for server {} with {}; retrying in {} seconds",
                 failedAttempt, settings.maxAttempts(), serverName, result, backoff.toSeconds());
@@ -299,7 +556,22 @@ public final class ActivityTracker implements ActivityTrackerService {
     public void updateActivity(String serverName) {
         if (!shutdown.get() && config.snapshot().containsServer(serverName)) {
             activity.put(serverName, ActivityState.activeAt(clock.instant()));
+            recency.touch(serverName);
+        }
+    }
+
+    /**
+     * Gives a server started for players who all left before it was ready the short idle timeout of
+     * {@code abandoned_starts} instead of the full one. Any later activity restores the normal timeout.
+     */
+    public void expireAbandonedStart(String serverName) {
+        ConfigSnapshot snapshot = config.snapshot();
+        Optional<AbandonedStartSettings> settings = snapshot.abandonedStarts();
+        if (shutdown.get() || settings.isEmpty() || !snapshot.containsServer(serverName)) {
+            return;
         }
+        activity.put(serverName, new ActivityState(clock.instant(), 0, null, settings.get().idleTimeout()));
+        recency.touch(serverName);
     }
 
     public void reconcileConfig(ConfigSnapshot previous, ConfigSnapshot current) {
@@ -308,11 +580,13 @@ public final class ActivityTracker implements ActivityTrackerService {
         }
         Set<String> currentNames = new HashSet<>(current.serverNames());
         activity.keySet().removeIf(serverName -> !currentNames.contains(serverName));
+        recency.retainAll(currentNames);
 
         Instant now = clock.instant();
         for (ServerMapping mapping : current.servers()) {
             if (previous.server(mapping.serverName()).filter(mapping::equals).isEmpty()) {
                 activity.put(mapping.serverName(), ActivityState.activeAt(now));
+                recency.touch(mapping.serverName());
             }
         }
     }
@@ -358,9 +632,11 @@ public final class ActivityTracker implements ActivityTrackerService {
         return state == null ? 0 : state.failedStopAttempts();
     }
 
-    private record ActivityState(Instant lastActivity, int failedStopAttempts, Instant nextStopAttemptAt) {
+    /** @param idleTimeout shorter inactivity timeout for this idle period, or null for the configured one */
+    private record ActivityState(Instant lastActivity, int failedStopAttempts, Instant nextStopAttemptAt,
+            Duration idleTimeout) {
         private static ActivityState activeAt(Instant instant) {
-            return new ActivityState(instant, 0, null);
+            return new ActivityState(instant, 0, null, null);
         }
     }
 }
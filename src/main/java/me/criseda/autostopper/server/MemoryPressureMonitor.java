@@ -0,0 +1,128 @@
+package me.criseda.autostopper.server;
+
+import me.criseda.autostopper.config.MemoryPressureSettings;
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.telemetry.LifecycleTelemetry;
+import me.criseda.autostopper.telemetry.MemoryPressureSignal;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Samples host memory pressure from PSI ({@code /proc/pressure/memory}) and {@code /proc/meminfo}.
+ * Both files are small kernel-generated reads, so host samples are cheap; per-container usage costs
+ * a {@code docker stats} call and is only collected while the host is under pressure.
+ */
+final class MemoryPressureMonitor {
+    static final Path DEFAULT_PROC_ROOT = Path.of("/proc");
+    private static final long KIBIBYTE = 1024L;
+
+    private final Logger logger;
+    private final ServerManager serverManager;
+    private final LifecycleTelemetry telemetry;
+    private final Path procRoot;
+    private final AtomicBoolean unavailableLogged = new AtomicBoolean(false);
+
+    MemoryPressureMonitor(Logger logger, ServerManager serverManager, LifecycleTelemetry telemetry) {
+        this(logger, serverManager, telemetry, DEFAULT_PROC_ROOT);
+    }
+
+    MemoryPressureMonitor(Logger logger, ServerManager serverManager, LifecycleTelemetry telemetry, Path procRoot) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.serverManager = Objects.requireNonNull(serverManager, "serverManager");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry");
+        this.procRoot = Objects.requireNonNull(procRoot, "procRoot");
+    }
+
+    /** Takes a full sample, including per-server usage when under pressure, and records it. */
+    MemoryPressureSignal sample(MemoryPressureSettings settings, List<ServerMapping> mappings) {
+        HostMemory host = readHost();
+        boolean underPressure = host.underPressure(settings);
+        Map<String, Long> serverBytes = underPressure ? serverManager.getMemoryUsage(mappings) : Map.of();
+        MemoryPressureSignal signal = new MemoryPressureSignal(underPressure, host.psiSomeAvg10(),
+                host.availableBytes(), host.totalBytes(), serverBytes);
+        telemetry.recordMemoryPressure(signal);
+        return signal;
+    }
+
+    /** Re-reads only the host signals, used between early stops to notice pressure clearing. */
+    boolean hostUnderPressure(MemoryPressureSettings settings) {
+        return readHost().underPressure(settings);
+    }
+
+    private HostMemory readHost() {
+        OptionalDouble psi = readPsiSomeAvg10();
+        OptionalLong available = OptionalLong.empty();
+        OptionalLong total = OptionalLong.empty();
+        for (String line : readLines(procRoot.resolve("meminfo"))) {
+            if (line.startsWith("MemAvailable:")) {
+                available = parseKibibytes(line);
+            } else if (line.startsWith("MemTotal:")) {
+                total = parseKibibytes(line);
+            }
+        }
+        if (psi.isEmpty() && (available.isEmpty() || total.isEmpty())
+                && unavailableLogged.compareAndSet(false, true)) {
+            logger.warn("Memory pressure signals are unavailable under {}; early stops stay off", procRoot);
+        }
+        return new HostMemory(psi, available, total);
+    }
+
+    private OptionalDouble readPsiSomeAvg10() {
+        for (String line : readLines(procRoot.resolve("pressure").resolve("memory"))) {
+            if (!line.startsWith("some ")) {
+                continue;
+            }
+            for (String field : line.split("\\s+")) {
+                if (field.startsWith("avg10=")) {
+                    try {
+                        return OptionalDouble.of(Double.parseDouble(field.substring("avg10=".length())));
+                    } catch (NumberFormatException e) {
+                        return OptionalDouble.empty();
+                    }
+                }
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    private List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file);
+        } catch (IOException | SecurityException e) {
+            logger.debug("Could not read {}: {}", file, e.toString());
+            return List.of();
+        }
+    }
+
+    private static OptionalLong parseKibibytes(String line) {
+        String[] fields = line.trim().split("\\s+");
+        if (fields.length < 2) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(fields[1]) * KIBIBYTE);
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private record HostMemory(OptionalDouble psiSomeAvg10, OptionalLong availableBytes, OptionalLong totalBytes) {
+        private boolean underPressure(MemoryPressureSettings settings) {
+            if (psiSomeAvg10.isPresent() && psiSomeAvg10.getAsDouble() >= settings.psiSomeAvg10Percent()) {
+                return true;
+            }
+            return availableBytes.isPresent() && totalBytes.isPresent() && totalBytes.getAsLong() > 0
+                    && availableBytes.getAsLong() * 100 < totalBytes.getAsLong() * settings.minAvailablePercent();
+        }
+    }
+}
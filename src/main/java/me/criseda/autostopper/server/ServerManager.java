@@ -5,46 +5,75 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 
 import me.criseda.autostopper.config.AutoStopperConfig;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.ContainerDependency;
 import me.criseda.autostopper.config.ReadinessSettings;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.ServerPool;
+import me.criseda.autostopper.coordination.ClusterCoordinator;
+import me.criseda.autostopper.coordination.LeaseOperation;
+import me.criseda.autostopper.coordination.LeaseResult;
+import me.criseda.autostopper.docker.ContainerHealth;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.docker.ContainerInspection;
+import me.criseda.autostopper.docker.DockerCircuitStatus;
 import me.criseda.autostopper.docker.DockerManager;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.executor.OperationDeadline;
 import me.criseda.autostopper.readiness.ReadinessResult;
 import me.criseda.autostopper.readiness.ServerReadinessChecker;
 import me.criseda.autostopper.readiness.SocketMinecraftStatusProbe;
 
 import org.slf4j.Logger;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ServerManager {
+    private static final Duration LEASE_POLL_INTERVAL = Duration.ofMillis(500);
+
     private final ProxyServer server;
     private final Logger logger;
     private final AutoStopperConfig config;
     private final DockerManager dockerManager;
     private final AutoStopperExecutor executor;
     private final ServerReadinessChecker readinessChecker;
+    private final ClusterCoordinator coordinator;
+    /** Containers put to sleep by checkpoint in this proxy process whose checkpoint has not been restored. */
+    private final Set<String> checkpointed = ConcurrentHashMap.newKeySet();
 
     public ServerManager(ProxyServer server, Logger logger, AutoStopperConfig config, DockerManager dockerManager,
             AutoStopperExecutor executor) {
+        this(server, logger, config, dockerManager, executor, ClusterCoordinator.standalone());
+    }
+
+    public ServerManager(ProxyServer server, Logger logger, AutoStopperConfig config, DockerManager dockerManager,
+            AutoStopperExecutor executor, ClusterCoordinator coordinator) {
         this(server, logger, config, dockerManager, executor,
-                new ServerReadinessChecker(logger, dockerManager, new SocketMinecraftStatusProbe()));
+                new ServerReadinessChecker(logger, dockerManager, new SocketMinecraftStatusProbe()), coordinator);
     }
 
     ServerManager(ProxyServer server, Logger logger, AutoStopperConfig config, DockerManager dockerManager,
             AutoStopperExecutor executor, ServerReadinessChecker readinessChecker) {
+        this(server, logger, config, dockerManager, executor, readinessChecker, ClusterCoordinator.standalone());
+    }
+
+    ServerManager(ProxyServer server, Logger logger, AutoStopperConfig config, DockerManager dockerManager,
+            AutoStopperExecutor executor, ServerReadinessChecker readinessChecker, ClusterCoordinator coordinator) {
         this.server = server;
         this.logger = logger;
         this.config = config;
         this.dockerManager = dockerManager;
         this.executor = executor;
         this.readinessChecker = readinessChecker;
+        this.coordinator = coordinator;
     }
 
     public Optional<ContainerStatus> getServerStatus(String serverName) {
@@ -60,10 +89,46 @@ public class ServerManager {
         return Optional.of(dockerManager.getContainerStatus(mapping.containerName()));
     }
 
+    /** Checks the container status within the remaining operation budget. */
+    public Optional<ContainerStatus> getServerStatus(ServerMapping mapping, OperationDeadline deadline) {
+        if (!deadline.bounded()) {
+            return getServerStatus(mapping);
+        }
+        if (deadline.expired()) {
+            return Optional.of(ContainerStatus.TIMED_OUT);
+        }
+        return Optional.of(dockerManager.getContainerStatus(mapping.containerName(), deadline.remaining()));
+    }
+
     public ContainerInspection inspectContainer(ServerMapping mapping) {
         return dockerManager.inspectContainer(mapping.containerName());
     }
 
+    /** Present while Docker calls fail fast because the daemon could not be reached. */
+    public Optional<DockerCircuitStatus> openDockerCircuit() {
+        return dockerManager.openCircuit();
+    }
+
+    /** Memory used by each running mapped container, keyed by server name; unknown servers are absent. */
+    public Map<String, Long> getMemoryUsage(List<ServerMapping> mappings) {
+        Map<String, Long> byContainer = dockerManager.containerMemoryUsage(
+                mappings.stream().map(ServerMapping::containerName).toList());
+        Map<String, Long> byServer = new LinkedHashMap<>();
+        for (ServerMapping mapping : mappings) {
+            Long bytes = byContainer.get(mapping.containerName());
+            if (bytes != null) {
+                byServer.put(mapping.serverName(), bytes);
+            }
+        }
+        return byServer;
+    }
+
+    /** Labels of every container carrying {@code selectorLabel}, keyed by container name; empty if Docker failed. */
+    public Optional<Map<String, Map<String, String>>> getLabeledContainers(String selectorLabel,
+            List<String> labelKeys) {
+        return dockerManager.listLabeledContainers(selectorLabel, labelKeys);
+    }
+
     public ContainerStatus startServer(String serverName) {
         Optional<ServerMapping> mapping = getServerMapping(serverName);
         if (mapping.isEmpty()) {
@@ -73,8 +138,71 @@ public class ServerManager {
         return startServer(mapping.get());
     }
 
+    /**
+     * Starts the container under a START lease. After a successful start the lease is left to expire
+     * rather than released so other proxies do not stop the server while it is still booting; a start
+     * that fails or times out releases it at once. When another proxy is already
+     * starting it this returns RUNNING and readiness waits for that start; when another proxy is
+     * stopping it this waits up to one lease duration for the stop to finish.
+     */
     public ContainerStatus startServer(ServerMapping mapping) {
-        return dockerManager.startContainer(mapping.containerName());
+        return startServer(mapping, OperationDeadline.unbounded());
+    }
+
+    /**
+     * Starts the server as {@link #startServer(ServerMapping)} does, waiting for leases and Docker
+     * only as long as the operation budget allows.
+     */
+    public ContainerStatus startServer(ServerMapping mapping, OperationDeadline deadline) {
+        LeaseResult lease = coordinator.tryAcquire(mapping.serverName(), LeaseOperation.START);
+        if (!lease.acquired() && lease.operation() == LeaseOperation.START) {
+            logger.info("Server {} is being started by proxy {}; waiting for it to become ready",
+                    mapping.serverName(), lease.holder());
+            return ContainerStatus.RUNNING;
+        }
+        if (!lease.acquired()) {
+            lease = awaitStartLease(mapping, lease, deadline);
+            if (!lease.acquired()) {
+                logger.warn("Could not start server {}: proxy {} still holds its {} lease",
+                        mapping.serverName(), lease.holder(), lease.operation());
+                return ContainerStatus.FAILED;
+            }
+        }
+        ContainerStatus result = ContainerStatus.FAILED;
+        try {
+            result = startUnderLease(mapping, deadline);
+            return result;
+        } finally {
+            if (result != ContainerStatus.RUNNING) {
+                coordinator.release(mapping.serverName());
+            }
+        }
+    }
+
+    private ContainerStatus startUnderLease(ServerMapping mapping, OperationDeadline deadline) {
+        if (mapping.sleep().checkpoints() && checkpointed.remove(mapping.containerName())
+                && !deadline.expired()) {
+            Duration timeout = deadline.bound(mapping.sleep().timeout());
+            ContainerStatus restored = dockerManager.restoreContainer(mapping.containerName(),
+                    mapping.sleep().checkpointDirectoryIfSet(), timeout);
+            if (restored == ContainerStatus.RUNNING) {
+                logger.info("Restored server {} from its checkpoint", mapping.serverName());
+                return restored;
+            }
+            logger.warn("Could not restore server {} from its checkpoint ({}); falling back to a cold start",
+                    mapping.serverName(), restored);
+        }
+        if (deadline.expired()) {
+            return ContainerStatus.TIMED_OUT;
+        }
+        Instant startedAt = Instant.now();
+        ContainerStatus result = deadline.bounded()
+                ? dockerManager.startContainer(mapping.containerName(), deadline.remaining())
+                : dockerManager.startContainer(mapping.containerName());
+        if (result == ContainerStatus.RUNNING) {
+            readinessChecker.recordContainerStart(mapping.containerName(), startedAt);
+        }
+        return result;
     }
 
     public ContainerStatus stopServer(String serverName) {
@@ -86,7 +214,62 @@ public class ServerManager {
         return stopServer(mapping.get());
     }
 
+    /**
+     * Stops the container under a STOP lease. A lease held by another proxy, or a lease store that
+     * cannot be read, fails the stop so the regular stop retry backoff applies.
+     */
     public ContainerStatus stopServer(ServerMapping mapping) {
+        LeaseResult lease = coordinator.tryAcquire(mapping.serverName(), LeaseOperation.STOP);
+        if (!lease.acquired()) {
+            logger.warn("Not stopping server {}: {}", mapping.serverName(), lease.holder() == null
+                    ? "the coordination store is unavailable"
+                    : "proxy " + lease.holder() + " holds its " + lease.operation() + " lease");
+            return ContainerStatus.FAILED;
+        }
+        try {
+            return stopContainer(mapping);
+        } finally {
+            coordinator.release(mapping.serverName());
+        }
+    }
+
+    /**
+     * Puts an idle server to sleep according to its sleep mode. A checkpoint that cannot be created
+     * falls back to a plain stop so the server still frees its resources.
+     */
+    public ContainerStatus sleepServer(ServerMapping mapping) {
+        if (!mapping.sleep().checkpoints()) {
+            return stopServer(mapping);
+        }
+        LeaseResult lease = coordinator.tryAcquire(mapping.serverName(), LeaseOperation.STOP);
+        if (!lease.acquired()) {
+            logger.warn("Not checkpointing server {}: {}", mapping.serverName(), lease.holder() == null
+                    ? "the coordination store is unavailable"
+                    : "proxy " + lease.holder() + " holds its " + lease.operation() + " lease");
+            return ContainerStatus.FAILED;
+        }
+        try {
+            ContainerStatus result = dockerManager.checkpointContainer(mapping.containerName(),
+                    mapping.sleep().checkpointDirectoryIfSet(), mapping.sleep().timeout());
+            if (result == ContainerStatus.STOPPED) {
+                checkpointed.add(mapping.containerName());
+                readinessChecker.clearContainerStart(mapping.containerName());
+                logger.info("Checkpointed server: {} (container: {})",
+                        mapping.serverName(), mapping.containerName());
+                return result;
+            }
+            if (result == ContainerStatus.INACCESSIBLE || result == ContainerStatus.MISSING) {
+                return result;
+            }
+            logger.warn("Could not checkpoint server {} ({}); stopping it instead", mapping.serverName(), result);
+            return stopContainer(mapping);
+        } finally {
+            coordinator.release(mapping.serverName());
+        }
+    }
+
+    private ContainerStatus stopContainer(ServerMapping mapping) {
+        readinessChecker.clearContainerStart(mapping.containerName());
         ContainerStatus result = dockerManager.stopContainer(mapping.containerName());
         if (result == ContainerStatus.STOPPED) {
             logger.info("Stopped server: {} (container: {})",
@@ -98,6 +281,24 @@ public class ServerManager {
         return result;
     }
 
+    private LeaseResult awaitStartLease(ServerMapping mapping, LeaseResult held,
+            OperationDeadline operationDeadline) {
+        logger.info("Server {} is being stopped by proxy {}; waiting before starting it",
+                mapping.serverName(), held.holder());
+        long deadline = System.nanoTime() + operationDeadline.bound(coordinator.leaseDuration()).toNanos();
+        LeaseResult lease = held;
+        while (!lease.acquired() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return lease;
+            }
+            lease = coordinator.tryAcquire(mapping.serverName(), LeaseOperation.START);
+        }
+        return lease;
+    }
+
     public ReadinessResult waitForServerReady(String serverName) {
         Optional<ServerMapping> mapping = getServerMapping(serverName);
         if (mapping.isEmpty()) {
@@ -111,6 +312,43 @@ public class ServerManager {
         return readinessChecker.awaitReady(mapping, resolveReadinessTarget(mapping).orElse(null));
     }
 
+    public ReadinessResult waitForServerReady(ServerMapping mapping, OperationDeadline deadline) {
+        if (!deadline.bounded()) {
+            return waitForServerReady(mapping);
+        }
+        if (deadline.expired()) {
+            return ReadinessResult.failure(ReadinessResult.Outcome.TIMED_OUT, 0, null);
+        }
+        return readinessChecker.awaitReady(mapping, resolveReadinessTarget(mapping).orElse(null), deadline);
+    }
+
+    public ReadinessResult startDependency(ContainerDependency dependency) {
+        ContainerStatus status = dockerManager.startContainer(dependency.containerName());
+        return switch (status) {
+            case RUNNING -> readinessChecker.awaitDependencyReady(dependency);
+            case MISSING -> ReadinessResult.failure(ReadinessResult.Outcome.CONTAINER_MISSING, 0, null);
+            case INACCESSIBLE -> ReadinessResult.failure(ReadinessResult.Outcome.DOCKER_INACCESSIBLE, 0, null);
+            case STOPPED, TIMED_OUT, FAILED -> ReadinessResult.failure(ReadinessResult.Outcome.DOCKER_FAILED, 0, null);
+        };
+    }
+
+    /** Whether a dependency made ready earlier is still running and, if it has a health check, healthy. */
+    public boolean isDependencyReady(ContainerDependency dependency) {
+        ContainerHealth health = dockerManager.getContainerHealth(dependency.containerName());
+        return health == ContainerHealth.HEALTHY || health == ContainerHealth.NO_HEALTHCHECK;
+    }
+
+    public ContainerStatus stopDependency(ContainerDependency dependency) {
+        ContainerStatus result = dockerManager.stopContainer(dependency.containerName());
+        if (result == ContainerStatus.STOPPED) {
+            logger.info("Stopped dependency: {} (container: {})", dependency.name(), dependency.containerName());
+        } else {
+            logger.warn("Could not stop dependency: {} (container: {}, result: {})",
+                    dependency.name(), dependency.containerName(), result);
+        }
+        return result;
+    }
+
     public boolean isMonitoredServer(String serverName) {
         return config.snapshot().containsServer(serverName);
     }
@@ -119,6 +357,18 @@ public class ServerManager {
         return config.snapshot().server(serverName);
     }
 
+    public Optional<ServerPool> getServerPool(String poolName) {
+        return config.snapshot().pool(poolName);
+    }
+
+    public List<ServerPool> getServerPools() {
+        return config.snapshot().pools();
+    }
+
+    public Optional<ContainerDependency> getDependency(String name) {
+        return config.snapshot().dependency(name);
+    }
+
     public String getContainerName(String serverName) {
         return getServerMapping(serverName).map(ServerMapping::containerName).orElse(null);
     }
@@ -127,51 +377,89 @@ public class ServerManager {
         return server.getServer(name);
     }
 
+    // Lifecycle steps run in their container's executor lane, so work for one container stays in order
+    // and a slow container holds at most one worker. Inspections for status views hold no worker at all:
+    // they wait on Docker asynchronously and gather their results back on the plugin executor.
+
     public CompletableFuture<Optional<ContainerStatus>> getServerStatusAsync(String serverName) {
-        return executor.supply(() -> getServerStatus(serverName));
+        return executor.supply(laneKey(serverName), () -> getServerStatus(serverName));
     }
 
     public CompletableFuture<Optional<ContainerStatus>> getServerStatusAsync(ServerMapping mapping) {
-        return executor.supply(() -> getServerStatus(mapping));
+        return executor.supply(mapping.containerName(), () -> getServerStatus(mapping));
+    }
+
+    public CompletableFuture<Optional<ContainerStatus>> getServerStatusAsync(ServerMapping mapping,
+            OperationDeadline deadline) {
+        return executor.supply(mapping.containerName(), () -> getServerStatus(mapping, deadline));
     }
 
     public CompletableFuture<ContainerInspection> inspectContainerAsync(ServerMapping mapping) {
-        return executor.supply(() -> inspectContainer(mapping));
+        return dockerManager.inspectContainerAsync(mapping.containerName());
     }
 
     public CompletableFuture<ContainerStatus> startServerAsync(String serverName) {
-        return executor.supply(() -> startServer(serverName));
+        return executor.supply(laneKey(serverName), () -> startServer(serverName));
     }
 
     public CompletableFuture<ContainerStatus> startServerAsync(ServerMapping mapping) {
-        return executor.supply(() -> startServer(mapping));
+        return executor.supply(mapping.containerName(), () -> startServer(mapping));
+    }
+
+    public CompletableFuture<ContainerStatus> startServerAsync(ServerMapping mapping, OperationDeadline deadline) {
+        return executor.supply(mapping.containerName(), () -> startServer(mapping, deadline));
     }
 
     public CompletableFuture<ReadinessResult> waitForServerReadyAsync(String serverName) {
-        return executor.supply(() -> waitForServerReady(serverName));
+        return executor.supply(laneKey(serverName), () -> waitForServerReady(serverName));
     }
 
     public CompletableFuture<ReadinessResult> waitForServerReadyAsync(ServerMapping mapping) {
-        return executor.supply(() -> waitForServerReady(mapping));
+        return executor.supply(mapping.containerName(), () -> waitForServerReady(mapping));
+    }
+
+    public CompletableFuture<ReadinessResult> waitForServerReadyAsync(ServerMapping mapping,
+            OperationDeadline deadline) {
+        return executor.supply(mapping.containerName(), () -> waitForServerReady(mapping, deadline));
+    }
+
+    public CompletableFuture<ReadinessResult> startDependencyAsync(ContainerDependency dependency) {
+        return executor.supply(dependency.containerName(), () -> startDependency(dependency));
+    }
+
+    public CompletableFuture<Boolean> isDependencyReadyAsync(ContainerDependency dependency) {
+        return executor.supply(dependency.containerName(), () -> isDependencyReady(dependency));
+    }
+
+    public CompletableFuture<ContainerStatus> stopDependencyAsync(ContainerDependency dependency) {
+        return executor.supply(dependency.containerName(), () -> stopDependency(dependency));
+    }
+
+    private String laneKey(String serverName) {
+        return Objects.requireNonNullElse(getContainerName(serverName), serverName);
     }
 
     public CompletableFuture<Map<String, Optional<ContainerStatus>>> getStatusesAsync(ConfigSnapshot snapshot) {
         List<ServerMapping> mappings = snapshot.servers();
         @SuppressWarnings("unchecked")
         CompletableFuture<Optional<ContainerStatus>>[] futures = mappings.stream()
-                .map(this::getServerStatusAsync)
+                .map(this::statusAsync)
                 .toArray(CompletableFuture[]::new);
         return collectStatuses(mappings.stream().map(ServerMapping::serverName).toList(), futures);
     }
 
     public CompletableFuture<Map<String, ContainerInspection>> inspectContainersAsync(ConfigSnapshot snapshot) {
-        List<ServerMapping> mappings = snapshot.servers();
+        return inspectContainersAsync(snapshot.servers());
+    }
+
+    /** Inspects only the given mappings, keyed by server name in the order given. */
+    public CompletableFuture<Map<String, ContainerInspection>> inspectContainersAsync(List<ServerMapping> mappings) {
         @SuppressWarnings("unchecked")
         CompletableFuture<ContainerInspection>[] futures = mappings.stream()
                 .map(this::inspectContainerAsync)
                 .toArray(CompletableFuture[]::new);
         CompletableFuture<Map<String, ContainerInspection>> result = new CompletableFuture<>();
-        CompletableFuture.allOf(futures).whenComplete((ignored, error) -> {
+        CompletableFuture.allOf(futures).whenCompleteAsync((ignored, error) -> {
             if (error != null) {
                 result.completeExceptionally(error);
                 return;
@@ -181,7 +469,7 @@ public class ServerManager {
                 inspections.put(mappings.get(i).serverName(), futures[i].join());
             }
             result.complete(inspections);
-        });
+        }, executor);
         result.whenComplete((ignored, error) -> {
             if (result.isCancelled()) {
                 for (CompletableFuture<?> future : futures) {
@@ -195,16 +483,29 @@ public class ServerManager {
     public CompletableFuture<Map<String, Optional<ContainerStatus>>> getStatusesAsync(List<String> serverNames) {
         @SuppressWarnings("unchecked")
         CompletableFuture<Optional<ContainerStatus>>[] futures = serverNames.stream()
-                .map(this::getServerStatusAsync)
+                .map(this::statusAsync)
                 .toArray(CompletableFuture[]::new);
 
         return collectStatuses(serverNames, futures);
     }
 
+    private CompletableFuture<Optional<ContainerStatus>> statusAsync(String serverName) {
+        Optional<ServerMapping> mapping = getServerMapping(serverName);
+        if (mapping.isEmpty()) {
+            logger.warn("No container mapped for server: {}", serverName);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return statusAsync(mapping.get());
+    }
+
+    private CompletableFuture<Optional<ContainerStatus>> statusAsync(ServerMapping mapping) {
+        return dockerManager.getContainerStatusAsync(mapping.containerName()).thenApply(Optional::of);
+    }
+
     private CompletableFuture<Map<String, Optional<ContainerStatus>>> collectStatuses(List<String> serverNames,
             CompletableFuture<Optional<ContainerStatus>>[] futures) {
         CompletableFuture<Map<String, Optional<ContainerStatus>>> result = new CompletableFuture<>();
-        CompletableFuture.allOf(futures).whenComplete((ignored, error) -> {
+        CompletableFuture.allOf(futures).whenCompleteAsync((ignored, error) -> {
             if (error != null) {
                 result.completeExceptionally(error);
                 return;
@@ -214,7 +515,7 @@ public class ServerManager {
                 statuses.put(serverNames.get(i), futures[i].join());
             }
             result.complete(statuses);
-        });
+        }, executor);
 
         result.whenComplete((ignored, error) -> {
             if (result.isCancelled()) {
@@ -0,0 +1,117 @@
+package me.criseda.autostopper.server;
+
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.ServerPool;
+import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.lifecycle.ServerLifecycleState;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routes pooled connections to a member and keeps each pool's warm standby target running.
+ *
+ * <p>All state lives in the lifecycle coordinator, so routing and maintenance only read lifecycle
+ * states and request starts. Surplus idle members are not stopped here; they fall back to the
+ * regular inactivity timeout once they are no longer part of the warm reserve.
+ */
+public final class WarmPoolManager {
+    private final ServerManager serverManager;
+    private final ServerLifecycleCoordinator lifecycleCoordinator;
+
+    public WarmPoolManager(ServerManager serverManager, ServerLifecycleCoordinator lifecycleCoordinator) {
+        this.serverManager = Objects.requireNonNull(serverManager, "serverManager");
+        this.lifecycleCoordinator = Objects.requireNonNull(lifecycleCoordinator, "lifecycleCoordinator");
+    }
+
+    public Optional<ServerPool> pool(String poolName) {
+        return serverManager.getServerPool(poolName);
+    }
+
+    /**
+     * Picks the member for a new connection: the first ready member, else one already starting,
+     * else the first member that can be woken.
+     */
+    public Optional<ServerMapping> route(ServerPool pool) {
+        ServerMapping starting = null;
+        ServerMapping startable = null;
+        for (String member : pool.members()) {
+            Optional<ServerMapping> mapping = serverManager.getServerMapping(member);
+            if (mapping.isEmpty()) {
+                continue;
+            }
+            Optional<ServerLifecycleState> state = lifecycleCoordinator.state(mapping.get());
+            if (state.isPresent() && state.get() == ServerLifecycleState.READY) {
+                return mapping;
+            }
+            if (state.isPresent() && state.get() == ServerLifecycleState.STARTING) {
+                starting = starting == null ? mapping.get() : starting;
+            } else if (state.isEmpty() || state.get() != ServerLifecycleState.STOPPING) {
+                startable = startable == null ? mapping.get() : startable;
+            }
+        }
+        return Optional.ofNullable(starting != null ? starting : startable);
+    }
+
+    /**
+     * Returns whether the member is one of the pool's idle members kept warm, and therefore exempt
+     * from inactivity stops.
+     */
+    public boolean isWarmReserve(ServerPool pool, String serverName) {
+        return pool.hasMember(serverName) && warmReserve(pool).contains(serverName);
+    }
+
+    /** Starts stopped members until the pool has its target number of idle or warming members. */
+    public void replenish(ServerPool pool) {
+        int warm = 0;
+        for (String member : pool.members()) {
+            Optional<ServerMapping> mapping = serverManager.getServerMapping(member);
+            if (mapping.isPresent() && (isIdle(mapping.get()) || isWarming(mapping.get()))) {
+                warm++;
+            }
+        }
+        for (String member : pool.members()) {
+            if (warm >= pool.warmInstances()) {
+                return;
+            }
+            Optional<ServerMapping> mapping = serverManager.getServerMapping(member);
+            if (mapping.isPresent() && isStartable(mapping.get())) {
+                lifecycleCoordinator.requestWarmStart(mapping.get());
+                warm++;
+            }
+        }
+    }
+
+    private Set<String> warmReserve(ServerPool pool) {
+        Set<String> reserve = new LinkedHashSet<>();
+        for (String member : pool.members()) {
+            if (reserve.size() >= pool.warmInstances()) {
+                break;
+            }
+            serverManager.getServerMapping(member)
+                    .filter(this::isIdle)
+                    .ifPresent(mapping -> reserve.add(mapping.serverName()));
+        }
+        return reserve;
+    }
+
+    private boolean isIdle(ServerMapping mapping) {
+        return lifecycleCoordinator.state(mapping).filter(ServerLifecycleState.READY::equals).isPresent()
+                && lifecycleCoordinator.waitingCount(mapping.serverName()) == 0
+                && lifecycleCoordinator.connectedPlayerCount(mapping.serverName()) == 0;
+    }
+
+    private boolean isWarming(ServerMapping mapping) {
+        return lifecycleCoordinator.state(mapping).filter(ServerLifecycleState.STARTING::equals).isPresent()
+                && lifecycleCoordinator.waitingCount(mapping.serverName()) == 0;
+    }
+
+    private boolean isStartable(ServerMapping mapping) {
+        Optional<ServerLifecycleState> state = lifecycleCoordinator.state(mapping);
+        return state.isEmpty()
+                || state.get() == ServerLifecycleState.STOPPED
+                || state.get() == ServerLifecycleState.FAILED;
+    }
+}
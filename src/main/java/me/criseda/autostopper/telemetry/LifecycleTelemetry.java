@@ -1,5 +1,7 @@
 package me.criseda.autostopper.telemetry;
 
+import me.criseda.autostopper.executor.ExecutorStats;
+
 import java.time.Duration;
 
 /**
@@ -49,6 +51,28 @@ public interface LifecycleTelemetry {
             TelemetryOutcome outcome,
             Duration elapsed);
 
+    /**
+     * Records the on-disk size of a container's latest checkpoint, emitting an INFO log.
+     *
+     * @param containerName checkpointed container
+     * @param bytes checkpoint size in bytes
+     */
+    void recordCheckpointSize(String containerName, long bytes);
+
+    /**
+     * Records a host memory pressure sample, emitting an INFO log when the pressure state changes.
+     *
+     * @param signal latest sample
+     */
+    void recordMemoryPressure(MemoryPressureSignal signal);
+
+    /**
+     * Records a worker pool sample, emitting an INFO log when the pool was resized.
+     *
+     * @param stats latest sample
+     */
+    void recordExecutorPool(ExecutorStats stats);
+
     /**
      * Returns an immutable snapshot of in-memory telemetry aggregates.
      */
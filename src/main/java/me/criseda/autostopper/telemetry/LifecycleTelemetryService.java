@@ -1,5 +1,6 @@
 package me.criseda.autostopper.telemetry;
 
+import me.criseda.autostopper.executor.ExecutorStats;
 import org.slf4j.Logger;
 
 import java.time.Clock;
@@ -9,6 +10,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
@@ -25,6 +27,11 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
             new ConcurrentHashMap<>();
     private final Map<TelemetryOperationType, DurationAggregate> durationAggregates =
             new ConcurrentHashMap<>();
+    private final Map<String, Long> checkpointBytes = new ConcurrentHashMap<>();
+    private volatile MemoryPressureSignal memoryPressure;
+    private volatile ExecutorStats executorPool;
+    private volatile TelemetryEventLog eventLog;
+    private volatile TelemetryHistoryStore history;
 
     public LifecycleTelemetryService(Logger logger) {
         this(logger, System::nanoTime, Clock.systemUTC());
@@ -40,6 +47,19 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
         this.clock = Objects.requireNonNull(clock, "clock");
     }
 
+    /**
+     * Sends operation completions to the event log instead of the INFO log; {@code null} restores INFO
+     * logging. The SLF4J line is still available at DEBUG.
+     */
+    public void configureEventLog(TelemetryEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /** Adds operation and stage completions to the persistent history; {@code null} stops recording. */
+    public void configureHistory(TelemetryHistoryStore history) {
+        this.history = history;
+    }
+
     public LongSupplier nanoTime() {
         return nanoTime;
     }
@@ -75,6 +95,11 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
         }
         try {
             updateAggregates(record.operation(), record.outcome(), record.elapsed().toNanos());
+            TelemetryHistoryStore store = history;
+            if (store != null) {
+                store.record(record.operation(), record.serverName(), record.outcome(), record.elapsed(),
+                        record.completedAt());
+            }
             logCompletion(record);
         } catch (Throwable error) {
             safeLogObservationalError("recordOperation", error);
@@ -103,12 +128,91 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
         }
         try {
             updateAggregates(record.stage(), record.outcome(), record.elapsed().toNanos());
+            TelemetryHistoryStore store = history;
+            if (store != null) {
+                store.record(record.stage(), record.serverName(), record.outcome(), record.elapsed(),
+                        clock.instant());
+            }
             logStage(record);
         } catch (Throwable error) {
             safeLogObservationalError("recordStage", error);
         }
     }
 
+    /**
+     * Keeps only the latest checkpoint size per container, so memory stays bounded by the mapping count.
+     */
+    public void recordCheckpointSize(String containerName, long bytes) {
+        try {
+            checkpointBytes.put(Objects.requireNonNull(containerName, "containerName"), bytes);
+            if (logger.isInfoEnabled()) {
+                logger.info("AutoStopper checkpoint stored: container={} bytes={}", containerName, bytes);
+            }
+        } catch (Throwable error) {
+            safeLogObservationalError("recordCheckpointSize", error);
+        }
+    }
+
+    /**
+     * Keeps only the latest sample; transitions are logged at INFO, steady samples at DEBUG.
+     */
+    public void recordMemoryPressure(MemoryPressureSignal signal) {
+        try {
+            Objects.requireNonNull(signal, "signal");
+            MemoryPressureSignal previous = memoryPressure;
+            memoryPressure = signal;
+            boolean changed = previous == null
+                    ? signal.underPressure()
+                    : previous.underPressure() != signal.underPressure();
+            if (changed ? logger.isInfoEnabled() : logger.isDebugEnabled()) {
+                String message = "AutoStopper memory pressure: under_pressure={} psi_some_avg10={} "
+                        + "available_bytes={} total_bytes={} servers={}";
+                Object[] arguments = {
+                        signal.underPressure(),
+                        signal.psiSomeAvg10().isPresent() ? signal.psiSomeAvg10().getAsDouble() : "n/a",
+                        signal.availableBytes().isPresent() ? signal.availableBytes().getAsLong() : "n/a",
+                        signal.totalBytes().isPresent() ? signal.totalBytes().getAsLong() : "n/a",
+                        signal.serverBytes()
+                };
+                if (changed) {
+                    logger.info(message, arguments);
+                } else {
+                    logger.debug(message, arguments);
+                }
+            }
+        } catch (Throwable error) {
+            safeLogObservationalError("recordMemoryPressure", error);
+        }
+    }
+
+    /**
+     * Keeps only the latest sample; resizes are logged at INFO, steady samples at DEBUG.
+     */
+    public void recordExecutorPool(ExecutorStats stats) {
+        try {
+            Objects.requireNonNull(stats, "stats");
+            ExecutorStats previous = executorPool;
+            executorPool = stats;
+            boolean resized = previous != null && previous.targetWorkers() != stats.targetWorkers();
+            if (resized ? logger.isInfoEnabled() : logger.isDebugEnabled()) {
+                String message = "AutoStopper worker pool: workers={} live={} active={} bounds={}-{} queued={} "
+                        + "lane_queued={} wait_p50_ms={} wait_p95_ms={} wait_p99_ms={}";
+                Object[] arguments = {
+                        stats.targetWorkers(), stats.liveWorkers(), stats.activeWorkers(), stats.minWorkers(),
+                        stats.maxWorkers(), stats.queueDepth(), stats.laneDepth(), stats.waitP50().toMillis(),
+                        stats.waitP95().toMillis(), stats.waitP99().toMillis()
+                };
+                if (resized) {
+                    logger.info(message, arguments);
+                } else {
+                    logger.debug(message, arguments);
+                }
+            }
+        } catch (Throwable error) {
+            safeLogObservationalError("recordExecutorPool", error);
+        }
+    }
+
     private void updateAggregates(TelemetryOperationType operation, TelemetryOutcome outcome, long durationNanos) {
         outcomeCounters.computeIfAbsent(operation, op -> new ConcurrentHashMap<>())
                 .computeIfAbsent(outcome, oc -> new LongAdder())
@@ -119,14 +223,27 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
     }
 
     private void logCompletion(TelemetryRecord record) {
-        if (logger.isInfoEnabled()) {
-            logger.info("AutoStopper lifecycle completed: op={} server={} origin={} outcome={} elapsed_ms={} waiters={}",
+        TelemetryEventLog log = eventLog;
+        if (log != null) {
+            log.offer(record);
+        }
+        boolean info = log == null;
+        if (info ? logger.isInfoEnabled() : logger.isDebugEnabled()) {
+            String message = "AutoStopper lifecycle completed: op={} server={} origin={} outcome={} elapsed_ms={} "
+                    + "waiters={}";
+            Object[] arguments = {
                     record.operation(),
                     record.serverName(),
                     record.origin(),
                     record.outcome(),
                     record.elapsed().toMillis(),
-                    record.waiterCount());
+                    record.waiterCount()
+            };
+            if (info) {
+                logger.info(message, arguments);
+            } else {
+                logger.debug(message, arguments);
+            }
         }
     }
 
@@ -169,6 +286,9 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
         return new TelemetrySnapshot(
                 Collections.unmodifiableMap(outcomeSnapshot),
                 Collections.unmodifiableMap(durationSnapshot),
+                checkpointBytes,
+                Optional.ofNullable(memoryPressure),
+                Optional.ofNullable(executorPool),
                 clock.instant());
     }
 
@@ -197,5 +317,7 @@ public final class LifecycleTelemetryService implements LifecycleTelemetry {
     public void clear() {
         outcomeCounters.clear();
         durationAggregates.clear();
+        checkpointBytes.clear();
+        memoryPressure = null;
     }
 }
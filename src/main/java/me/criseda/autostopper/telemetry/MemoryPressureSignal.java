@@ -0,0 +1,31 @@
+package me.criseda.autostopper.telemetry;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+/**
+ * One sample of host memory pressure. Host readings are empty where the kernel does not expose
+ * them; per-server usage is only collected while the host is under pressure.
+ *
+ * @param underPressure whether either configured threshold was crossed
+ * @param psiSomeAvg10 share of the last ten seconds some task stalled on memory, in percent
+ * @param availableBytes {@code MemAvailable} from {@code /proc/meminfo}
+ * @param totalBytes {@code MemTotal} from {@code /proc/meminfo}
+ * @param serverBytes container memory usage keyed by server name
+ */
+public record MemoryPressureSignal(
+        boolean underPressure,
+        OptionalDouble psiSomeAvg10,
+        OptionalLong availableBytes,
+        OptionalLong totalBytes,
+        Map<String, Long> serverBytes) {
+
+    public MemoryPressureSignal {
+        Objects.requireNonNull(psiSomeAvg10, "psiSomeAvg10");
+        Objects.requireNonNull(availableBytes, "availableBytes");
+        Objects.requireNonNull(totalBytes, "totalBytes");
+        serverBytes = Map.copyOf(serverBytes);
+    }
+}
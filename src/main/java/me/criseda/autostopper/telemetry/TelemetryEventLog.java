@@ -0,0 +1,244 @@
+package me.criseda.autostopper.telemetry;
+
+import me.criseda.autostopper.config.EventLogSettings;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Writes completed lifecycle operations as JSON Lines to a size-rotated file. Recording threads only
+ * enqueue into a lock-free ring buffer; a daemon writer drains it once per flush interval and appends
+ * each batch with a single write. Fast successes can be sampled per outcome, while failures and slow
+ * operations are always written. A full buffer drops and counts records instead of blocking the caller.
+ */
+public final class TelemetryEventLog implements AutoCloseable {
+    private static final int MAX_BATCH_RECORDS = 1_024;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(2);
+
+    private final Logger logger;
+    private final Path file;
+    private final EventLogSettings settings;
+    private final IntSupplier percentile;
+    private final Map<TelemetryOutcome, Integer> samplePercent = new EnumMap<>(TelemetryOutcome.class);
+    private final long slowThresholdNanos;
+    private final TelemetryRingBuffer<TelemetryRecord> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final List<TelemetryRecord> batch = new ArrayList<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Owned by the writer thread.
+    private OutputStream output;
+    private long fileBytes;
+    private boolean writeFailing;
+
+    TelemetryEventLog(Logger logger, Path directory, EventLogSettings settings, IntSupplier percentile) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.file = directory.resolve(EventLogSettings.FILE_NAME);
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.percentile = Objects.requireNonNull(percentile, "percentile");
+        for (TelemetryOutcome outcome : TelemetryOutcome.values()) {
+            int percent = settings.samplePercent(outcome.name().toLowerCase(Locale.ROOT));
+            if (percent < 100) {
+                samplePercent.put(outcome, percent);
+            }
+        }
+        this.slowThresholdNanos = settings.slowThreshold().toNanos();
+        this.buffer = new TelemetryRingBuffer<>(settings.bufferCapacity());
+        this.writer = new Thread(this::writeLoop, "AutoStopper event log writer");
+        writer.setDaemon(true);
+    }
+
+    public static TelemetryEventLog start(Logger logger, Path directory, EventLogSettings settings) {
+        TelemetryEventLog eventLog = new TelemetryEventLog(logger, directory, settings,
+                () -> ThreadLocalRandom.current().nextInt(100));
+        eventLog.writer.start();
+        return eventLog;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Enqueues the record unless it is sampled away or the buffer is full; never blocks. */
+    public boolean offer(TelemetryRecord record) {
+        if (closed) {
+            return false;
+        }
+        int percent = samplePercent(record);
+        if (percent < 100 && percentile.getAsInt() >= percent) {
+            return false;
+        }
+        if (!buffer.offer(record)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    int samplePercent(TelemetryRecord record) {
+        if (record.elapsed().toNanos() >= slowThresholdNanos) {
+            return 100;
+        }
+        return samplePercent.getOrDefault(record.outcome(), 100);
+    }
+
+    /** Writes whatever is still buffered and stops the writer, waiting briefly for it. */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        long intervalNanos = settings.flushInterval().toNanos();
+        while (true) {
+            boolean stopping = closed;
+            drain();
+            if (stopping) {
+                break;
+            }
+            LockSupport.parkNanos(this, intervalNanos);
+        }
+        closeOutput();
+    }
+
+    /** Appends every buffered record in batches; writer thread only. */
+    void drain() {
+        while (buffer.drainTo(batch, MAX_BATCH_RECORDS) > 0) {
+            StringBuilder lines = new StringBuilder(batch.size() * 160);
+            for (TelemetryRecord record : batch) {
+                appendJson(lines, record, samplePercent(record));
+            }
+            batch.clear();
+            write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            logger.warn("AutoStopper lifecycle event log buffer was full; dropped {} event(s).", lost);
+        }
+    }
+
+    private void write(byte[] bytes) {
+        try {
+            if (output == null) {
+                Files.createDirectories(file.getParent());
+                open();
+            }
+            if (fileBytes > 0 && fileBytes + bytes.length > settings.maxFileBytes()) {
+                rotate();
+            }
+            output.write(bytes);
+            output.flush();
+            fileBytes += bytes.length;
+            if (writeFailing) {
+                writeFailing = false;
+                logger.info("AutoStopper lifecycle event log {} is writable again.", file);
+            }
+        } catch (IOException error) {
+            if (!writeFailing) {
+                writeFailing = true;
+                logger.warn("AutoStopper could not write lifecycle events to {}; events are dropped until it "
+                        + "succeeds: {}", file, error.toString());
+            }
+            closeOutput();
+        }
+    }
+
+    private void open() throws IOException {
+        output = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    /** Shifts each numbered backup up by one, dropping the oldest, so at most max_files files exist. */
+    private void rotate() throws IOException {
+        closeOutput();
+        int maxFiles = settings.maxFiles();
+        if (maxFiles == 1) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.deleteIfExists(rotated(maxFiles - 1));
+            for (int index = maxFiles - 2; index >= 1; index--) {
+                Path source = rotated(index);
+                if (Files.exists(source)) {
+                    Files.move(source, rotated(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void closeOutput() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // Nothing left to flush that a retry could save
+        }
+        output = null;
+    }
+
+    static void appendJson(StringBuilder line, TelemetryRecord record, int samplePercent) {
+        line.append("{\"time\":\"").append(record.completedAt())
+                .append("\",\"op\":\"").append(record.operation().name())
+                .append("\",\"server\":");
+        appendString(line, record.serverName());
+        line.append(",\"origin\":\"").append(record.origin().name())
+                .append("\",\"outcome\":\"").append(record.outcome().name())
+                .append("\",\"elapsed_ms\":").append(record.elapsed().toMillis())
+                .append(",\"waiters\":").append(record.waiterCount())
+                .append(",\"sample_percent\":").append(samplePercent)
+                .append("}\n");
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
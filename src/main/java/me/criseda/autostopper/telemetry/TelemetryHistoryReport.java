@@ -0,0 +1,28 @@
+package me.criseda.autostopper.telemetry;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Per-operation history for one server, as totals over the whole range and per UTC day.
+ */
+public record TelemetryHistoryReport(String serverName, Instant from, Instant to,
+        List<TelemetryHistoryStats> totals, SortedMap<LocalDate, List<TelemetryHistoryStats>> days) {
+
+    public TelemetryHistoryReport {
+        Objects.requireNonNull(serverName, "serverName");
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        totals = List.copyOf(totals);
+        days = Collections.unmodifiableSortedMap(new TreeMap<>(days));
+    }
+
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package me.criseda.autostopper.telemetry;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Totals for one operation over a queried stretch of telemetry history.
+ */
+public record TelemetryHistoryStats(TelemetryOperationType operation, long count, long failures,
+        long totalMillis, long maxMillis) {
+
+    public TelemetryHistoryStats {
+        Objects.requireNonNull(operation, "operation");
+    }
+
+    public Duration average() {
+        return count == 0 ? Duration.ZERO : Duration.ofMillis(totalMillis / count);
+    }
+
+    public Duration max() {
+        return Duration.ofMillis(maxMillis);
+    }
+
+    TelemetryHistoryStats plus(long count, long failures, long totalMillis, long maxMillis) {
+        return new TelemetryHistoryStats(operation, this.count + count, this.failures + failures,
+                this.totalMillis + totalMillis, Math.max(this.maxMillis, maxMillis));
+    }
+}
@@ -0,0 +1,483 @@
+package me.criseda.autostopper.telemetry;
+
+import me.criseda.autostopper.config.TelemetryHistorySettings;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Persists lifecycle telemetry as per-minute totals for each server and operation, so latency and
+ * failure trends survive proxy restarts. Recording threads only add to an in-memory bucket; a daemon
+ * writer appends every closed minute once a minute as a fixed-size record to a memory-mapped segment
+ * file per UTC day, and deletes segments that fall out of retention.
+ *
+ * <p>A segment is a 16-byte header (magic, version, capacity, record count) followed by
+ * {@code capacity} 40-byte records: epoch minute, server id, operation id, count, failures, a reserved
+ * int, total milliseconds, and maximum milliseconds. Ids are line numbers in the append-only
+ * {@code names.txt} dictionary. A minute can appear in more than one record; readers sum them.
+ */
+public final class TelemetryHistoryStore implements AutoCloseable {
+    static final int MAGIC = 0x41534831;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 40;
+    static final String NAMES_FILE = "names.txt";
+    static final String SEGMENT_SUFFIX = ".seg";
+    private static final int COUNT_OFFSET = 12;
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final long WRITE_DELAY_MILLIS = 2_000;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(2);
+    private static final Map<String, TelemetryOperationType> OPERATIONS = new HashMap<>();
+
+    static {
+        for (TelemetryOperationType operation : TelemetryOperationType.values()) {
+            OPERATIONS.put(operation.name(), operation);
+        }
+    }
+
+    private final Logger logger;
+    private final Path directory;
+    private final TelemetryHistorySettings settings;
+    private final Clock clock;
+    private final Map<BucketKey, MinuteBucket> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Guarded by this.
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<LocalDate, Segment> segments = new HashMap<>();
+    private final Set<LocalDate> fullDays = new HashSet<>();
+    private LocalDate retainedFrom = LocalDate.MIN;
+    private boolean writeFailing;
+
+    TelemetryHistoryStore(Logger logger, Path dataDirectory, TelemetryHistorySettings settings, Clock clock) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.directory = dataDirectory.resolve(TelemetryHistorySettings.DIRECTORY_NAME);
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.writer = new Thread(this::writeLoop, "AutoStopper telemetry history writer");
+        writer.setDaemon(true);
+    }
+
+    public static TelemetryHistoryStore start(Logger logger, Path dataDirectory, TelemetryHistorySettings settings)
+            throws IOException {
+        TelemetryHistoryStore store = new TelemetryHistoryStore(logger, dataDirectory, settings, Clock.systemUTC());
+        store.open();
+        store.writer.start();
+        return store;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public TelemetryHistorySettings settings() {
+        return settings;
+    }
+
+    /** Creates the directory, loads the name dictionary, and deletes segments past retention. */
+    synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        Path namesFile = directory.resolve(NAMES_FILE);
+        if (Files.exists(namesFile)) {
+            for (String name : Files.readAllLines(namesFile, StandardCharsets.UTF_8)) {
+                ids.putIfAbsent(name, names.size());
+                names.add(name);
+            }
+        }
+        deleteExpired(dayOf(currentMinute()));
+    }
+
+    /** Adds one completion to its minute bucket; never touches the disk and never blocks on the writer. */
+    public void record(TelemetryOperationType operation, String serverName, TelemetryOutcome outcome,
+            Duration elapsed, Instant completedAt) {
+        if (closed) {
+            return;
+        }
+        BucketKey key = new BucketKey(Math.floorDiv(completedAt.getEpochSecond(), 60), storedName(serverName),
+                operation);
+        long millis = Math.max(0, elapsed.toMillis());
+        boolean failed = !outcome.successful();
+        while (!pending.computeIfAbsent(key, ignored -> new MinuteBucket()).add(millis, failed)) {
+            // The writer took this bucket between lookup and add; the next lookup starts a fresh one
+        }
+    }
+
+    /**
+     * Totals for one server between {@code from} and {@code to}, whole minutes inclusive, read from the
+     * segments plus whatever the writer has not appended yet.
+     */
+    public synchronized TelemetryHistoryReport query(String serverName, Instant from, Instant to) {
+        String name = storedName(serverName);
+        long fromMinute = Math.floorDiv(from.getEpochSecond(), 60);
+        long toMinute = Math.floorDiv(to.getEpochSecond(), 60);
+        Map<LocalDate, Map<TelemetryOperationType, TelemetryHistoryStats>> days = new TreeMap<>();
+        Integer serverId = ids.get(name);
+        if (serverId != null) {
+            TelemetryOperationType[] operations = operationsById();
+            for (LocalDate day = dayOf(fromMinute); !day.isAfter(dayOf(toMinute)); day = day.plusDays(1)) {
+                ByteBuffer records = readable(day);
+                if (records == null) {
+                    continue;
+                }
+                int count = records.getInt(COUNT_OFFSET);
+                for (int index = 0; index < count; index++) {
+                    int base = HEADER_BYTES + index * RECORD_BYTES;
+                    long minute = records.getInt(base);
+                    int operationId = records.getInt(base + 8);
+                    if (minute < fromMinute || minute > toMinute || records.getInt(base + 4) != serverId
+                            || operationId < 0 || operationId >= operations.length
+                            || operations[operationId] == null) {
+                        continue;
+                    }
+                    days.computeIfAbsent(day, ignored -> new EnumMap<>(TelemetryOperationType.class))
+                            .merge(operations[operationId], new TelemetryHistoryStats(operations[operationId],
+                                    records.getInt(base + 12), records.getInt(base + 16), records.getLong(base + 24),
+                                    records.getLong(base + 32)), TelemetryHistoryStore::combine);
+                }
+            }
+        }
+        for (Map.Entry<BucketKey, MinuteBucket> entry : pending.entrySet()) {
+            BucketKey key = entry.getKey();
+            if (key.serverName().equals(name) && key.minute() >= fromMinute && key.minute() <= toMinute) {
+                days.computeIfAbsent(dayOf(key.minute()), ignored -> new EnumMap<>(TelemetryOperationType.class))
+                        .merge(key.operation(), entry.getValue().snapshot(key.operation()),
+                                TelemetryHistoryStore::combine);
+            }
+        }
+
+        Map<TelemetryOperationType, TelemetryHistoryStats> totals = new EnumMap<>(TelemetryOperationType.class);
+        SortedMap<LocalDate, List<TelemetryHistoryStats>> daily = new TreeMap<>();
+        for (Map.Entry<LocalDate, Map<TelemetryOperationType, TelemetryHistoryStats>> day : days.entrySet()) {
+            daily.put(day.getKey(), List.copyOf(day.getValue().values()));
+            for (TelemetryHistoryStats stats : day.getValue().values()) {
+                totals.merge(stats.operation(), stats, TelemetryHistoryStore::combine);
+            }
+        }
+        return new TelemetryHistoryReport(serverName, from, to, List.copyOf(totals.values()), daily);
+    }
+
+    /** Appends the waiting buckets and stops the writer, waiting briefly for it. */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+        synchronized (this) {
+            segments.clear();
+        }
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            long untilWrite = MINUTE_MILLIS - Math.floorMod(clock.millis() - WRITE_DELAY_MILLIS, MINUTE_MILLIS);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(untilWrite));
+            if (!closed) {
+                flush(false);
+            }
+        }
+    }
+
+    /**
+     * Appends every bucket for a minute before the current one, or every bucket when {@code all}, and
+     * forces the touched segments to disk. Returns the number of records written.
+     */
+    synchronized int flush(boolean all) {
+        long currentMinute = currentMinute();
+        LocalDate today = dayOf(currentMinute);
+        if (!today.minusDays(settings.retentionDays() - 1).equals(retainedFrom)) {
+            deleteExpired(today);
+        }
+        List<Due> due = new ArrayList<>();
+        for (Map.Entry<BucketKey, MinuteBucket> entry : pending.entrySet()) {
+            BucketKey key = entry.getKey();
+            if ((all || key.minute() < currentMinute) && pending.remove(key, entry.getValue())) {
+                due.add(new Due(key, entry.getValue().seal(key.operation())));
+            }
+        }
+        due.sort(Comparator.comparingLong(bucket -> bucket.key().minute()));
+
+        int written = 0;
+        Set<Segment> touched = new LinkedHashSet<>();
+        try {
+            for (Due bucket : due) {
+                LocalDate day = dayOf(bucket.key().minute());
+                if (bucket.stats().count() == 0 || day.isBefore(retainedFrom)) {
+                    continue;
+                }
+                Segment segment = writable(day);
+                if (!segment.append((int) bucket.key().minute(), id(bucket.key().serverName()),
+                        id(bucket.key().operation().name()), bucket.stats())) {
+                    if (fullDays.add(day)) {
+                        logger.warn("AutoStopper telemetry history for {} reached {} records; later minutes that "
+                                + "day are not kept. Raise telemetry_history.max_records_per_day to keep them.",
+                                day, segment.capacity);
+                    }
+                    continue;
+                }
+                touched.add(segment);
+                written++;
+            }
+            for (Segment segment : touched) {
+                segment.buffer.force();
+            }
+            if (writeFailing) {
+                writeFailing = false;
+                logger.info("AutoStopper telemetry history in {} is writable again.", directory);
+            }
+        } catch (IOException | RuntimeException error) {
+            if (!writeFailing) {
+                writeFailing = true;
+                logger.warn("AutoStopper could not write telemetry history to {}; minutes are dropped until it "
+                        + "succeeds: {}", directory, error.toString());
+            }
+        }
+        segments.keySet().removeIf(day -> day.isBefore(today));
+        return written;
+    }
+
+    private Segment writable(LocalDate day) throws IOException {
+        Segment segment = segments.get(day);
+        if (segment != null) {
+            return segment;
+        }
+        Path file = segmentFile(day);
+        if (Files.exists(file)) {
+            segment = Segment.map(file, FileChannel.MapMode.READ_WRITE);
+            if (segment == null) {
+                Path aside = file.resolveSibling(file.getFileName() + ".invalid");
+                Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+                logger.warn("AutoStopper moved unreadable telemetry history segment aside to {}.", aside);
+            }
+        }
+        if (segment == null) {
+            segment = Segment.create(file, settings.maxRecordsPerDay());
+        }
+        segments.put(day, segment);
+        return segment;
+    }
+
+    private ByteBuffer readable(LocalDate day) {
+        Segment segment = segments.get(day);
+        if (segment != null) {
+            return segment.buffer;
+        }
+        Path file = segmentFile(day);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            segment = Segment.map(file, FileChannel.MapMode.READ_ONLY);
+            return segment == null ? null : segment.buffer;
+        } catch (IOException error) {
+            logger.warn("AutoStopper could not read telemetry history segment {}: {}", file, error.toString());
+            return null;
+        }
+    }
+
+    /** The dictionary id for {@code name}, appending and syncing it first when it is new. */
+    private int id(String name) throws IOException {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        ByteBuffer line = StandardCharsets.UTF_8.encode(name + "\n");
+        try (FileChannel channel = FileChannel.open(directory.resolve(NAMES_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            channel.force(true);
+        }
+        ids.put(name, names.size());
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    private TelemetryOperationType[] operationsById() {
+        TelemetryOperationType[] operations = new TelemetryOperationType[names.size()];
+        for (int id = 0; id < operations.length; id++) {
+            operations[id] = OPERATIONS.get(names.get(id));
+        }
+        return operations;
+    }
+
+    private void deleteExpired(LocalDate today) {
+        retainedFrom = today.minusDays(settings.retentionDays() - 1);
+        segments.keySet().removeIf(day -> day.isBefore(retainedFrom));
+        fullDays.removeIf(day -> day.isBefore(retainedFrom));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                LocalDate day;
+                try {
+                    day = LocalDate.parse(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+                } catch (DateTimeParseException ignored) {
+                    continue;
+                }
+                if (day.isBefore(retainedFrom)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException error) {
+            logger.warn("AutoStopper could not delete expired telemetry history in {}: {}", directory,
+                    error.toString());
+        }
+    }
+
+    Path segmentFile(LocalDate day) {
+        return directory.resolve(day + SEGMENT_SUFFIX);
+    }
+
+    private long currentMinute() {
+        return Math.floorDiv(clock.millis(), MINUTE_MILLIS);
+    }
+
+    private static LocalDate dayOf(long minute) {
+        return LocalDate.ofEpochDay(Math.floorDiv(minute, 24 * 60));
+    }
+
+    /** Line breaks would shift every later dictionary id, so they are stored as spaces. */
+    private static String storedName(String name) {
+        return name.replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static TelemetryHistoryStats combine(TelemetryHistoryStats left, TelemetryHistoryStats right) {
+        return left.plus(right.count(), right.failures(), right.totalMillis(), right.maxMillis());
+    }
+
+    private record BucketKey(long minute, String serverName, TelemetryOperationType operation) {
+    }
+
+    private record Due(BucketKey key, TelemetryHistoryStats stats) {
+    }
+
+    private static final class MinuteBucket {
+        private long count;
+        private long failures;
+        private long totalMillis;
+        private long maxMillis;
+        private boolean sealed;
+
+        /** Returns false once the writer has taken the bucket, so the caller retries with a new one. */
+        synchronized boolean add(long millis, boolean failed) {
+            if (sealed) {
+                return false;
+            }
+            count++;
+            if (failed) {
+                failures++;
+            }
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            return true;
+        }
+
+        synchronized TelemetryHistoryStats seal(TelemetryOperationType operation) {
+            sealed = true;
+            return snapshot(operation);
+        }
+
+        synchronized TelemetryHistoryStats snapshot(TelemetryOperationType operation) {
+            return new TelemetryHistoryStats(operation, count, failures, totalMillis, maxMillis);
+        }
+    }
+
+    /** One day's mapped segment; the mapping stays valid after its channel is closed. */
+    private static final class Segment {
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int count;
+
+        private Segment(MappedByteBuffer buffer, int capacity, int count) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.count = count;
+        }
+
+        static Segment create(Path file, int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_BYTES + (long) capacity * RECORD_BYTES);
+                buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(COUNT_OFFSET, 0);
+                return new Segment(buffer, capacity, 0);
+            }
+        }
+
+        /** Maps an existing segment, or returns null when its header does not describe this format. */
+        static Segment map(Path file, FileChannel.MapMode mode) throws IOException {
+            Set<StandardOpenOption> options = mode == FileChannel.MapMode.READ_ONLY
+                    ? Set.of(StandardOpenOption.READ)
+                    : Set.of(StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try (FileChannel channel = FileChannel.open(file, options)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES) {
+                    return null;
+                }
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                int capacity = header.getInt(8);
+                int count = header.getInt(COUNT_OFFSET);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || capacity <= 0
+                        || count < 0 || count > capacity || size < HEADER_BYTES + (long) capacity * RECORD_BYTES) {
+                    return null;
+                }
+                return new Segment(channel.map(mode, 0, HEADER_BYTES + (long) capacity * RECORD_BYTES),
+                        capacity, count);
+            }
+        }
+
+        boolean append(int minute, int serverId, int operationId, TelemetryHistoryStats stats) {
+            if (count >= capacity) {
+                return false;
+            }
+            int base = HEADER_BYTES + count * RECORD_BYTES;
+            buffer.putInt(base, minute)
+                    .putInt(base + 4, serverId)
+                    .putInt(base + 8, operationId)
+                    .putInt(base + 12, (int) Math.min(Integer.MAX_VALUE, stats.count()))
+                    .putInt(base + 16, (int) Math.min(Integer.MAX_VALUE, stats.failures()))
+                    .putInt(base + 20, 0)
+                    .putLong(base + 24, stats.totalMillis())
+                    .putLong(base + 32, stats.maxMillis());
+            count++;
+            buffer.putInt(COUNT_OFFSET, count);
+            return true;
+        }
+    }
+}
@@ -14,6 +14,11 @@ public enum TelemetryOperationType {
      */
     MANUAL_START,
 
+    /**
+     * Pool-initiated start that keeps a warm standby member running.
+     */
+    WARM_START,
+
     /**
      * Command-initiated manual stop sequence.
      */
@@ -24,6 +29,16 @@ public enum TelemetryOperationType {
      */
     AUTOMATIC_STOP,
 
+    /**
+     * Stop of the least recently active idle server to make room within the running-backend budget.
+     */
+    BACKEND_EVICTION,
+
+    /**
+     * Stop of an empty server under the shortened inactivity timeout while host memory is under pressure.
+     */
+    PRESSURE_STOP,
+
     /**
      * Command-initiated manual restart sequence.
      */
@@ -39,6 +54,16 @@ public enum TelemetryOperationType {
      */
     STATUS_CHECK,
 
+    /**
+     * Intermediate wait for a global start admission slot before the container start.
+     */
+    START_QUEUE,
+
+    /**
+     * Intermediate bring-up of the sidecar containers a server depends on.
+     */
+    DEPENDENCY_START,
+
     /**
      * Intermediate Docker container start stage.
      */
@@ -47,5 +72,20 @@ public enum TelemetryOperationType {
     /**
      * Intermediate backend readiness verification stage.
      */
-    READINESS_CHECK
+    READINESS_CHECK,
+
+    /**
+     * Read-only Docker status or health query, recorded per container to expose single-flight sharing.
+     */
+    DOCKER_QUERY,
+
+    /**
+     * CRIU checkpoint of an idle container in place of a stop, recorded per container.
+     */
+    CHECKPOINT_CREATE,
+
+    /**
+     * Restore of a checkpointed container in place of a cold start, recorded per container.
+     */
+    CHECKPOINT_RESTORE
 }
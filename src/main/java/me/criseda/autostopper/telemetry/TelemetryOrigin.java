@@ -19,6 +19,11 @@ public enum TelemetryOrigin {
      */
     ACTIVITY_TRACKER,
 
+    /**
+     * Initiated by warm standby pool maintenance.
+     */
+    WARM_POOL,
+
     /**
      * Initiated by operational status polling or preflight diagnostics.
      */
@@ -19,6 +19,7 @@ public enum TelemetryOutcome {
     STOPPED,
     RESTARTED_AND_READY,
     CONNECTED,
+    ADMITTED,
 
     // Idempotency & already-in-desired-state outcomes
     ALREADY_READY,
@@ -44,10 +45,21 @@ public enum TelemetryOutcome {
     START_FAILED,
     STOP_TIMED_OUT,
     STOP_FAILED,
+    DEPENDENCY_FAILED,
 
     // Readiness check failures
     SERVER_NOT_READY,
 
+    // Docker query single-flight results
+    QUERY_EXECUTED,
+    QUERY_SHARED,
+
+    // CRIU checkpoint sleep results
+    CHECKPOINTED,
+    CHECKPOINT_FAILED,
+    RESTORED,
+    RESTORE_FAILED,
+
     // Velocity player connection outcomes
     CONNECTION_FAILED,
     SERVER_DISCONNECTED,
@@ -57,9 +69,21 @@ public enum TelemetryOutcome {
 
     // Concurrency, rate limiting, and lifecycle cancellation
     OVERLOADED,
+    WAKE_LIMITED,
     CANCELLED,
+    DEADLINE_EXCEEDED,
+    ABANDONED,
     PROXY_SHUTDOWN;
 
+    /** Whether the operation ended in its desired state, including when it was already there. */
+    public boolean successful() {
+        return switch (this) {
+            case READY, RUNNING, STOPPED, RESTARTED_AND_READY, CONNECTED, ADMITTED, ALREADY_READY, ALREADY_STOPPED,
+                    ALREADY_CONNECTED, QUERY_EXECUTED, QUERY_SHARED, CHECKPOINTED, RESTORED -> true;
+            default -> false;
+        };
+    }
+
     public static TelemetryOutcome from(ConnectionOutcome outcome) {
         if (outcome == null) {
             return CONNECTION_FAILED;
@@ -82,6 +106,7 @@ public enum TelemetryOutcome {
             case DOCKER_INACCESSIBLE -> DOCKER_INACCESSIBLE;
             case SERVER_NOT_READY -> SERVER_NOT_READY;
             case OVERLOADED -> OVERLOADED;
+            case WAKE_LIMITED -> WAKE_LIMITED;
             case PROXY_SHUTDOWN -> PROXY_SHUTDOWN;
         };
     }
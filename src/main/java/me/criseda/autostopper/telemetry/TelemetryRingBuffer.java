@@ -0,0 +1,74 @@
+package me.criseda.autostopper.telemetry;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue with many producers and a single consumer. Each slot carries a sequence
+ * number: producers claim a slot by advancing the tail with one compare-and-set and publish it by
+ * bumping the slot's sequence, so an offer never blocks and a full buffer rejects instead of waiting.
+ * Only the writer thread may drain.
+ */
+final class TelemetryRingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    TelemetryRingBuffer(int minimumCapacity) {
+        if (minimumCapacity <= 0 || minimumCapacity > 1 << 30) {
+            throw new IllegalArgumentException("minimumCapacity must be between 1 and 2^30");
+        }
+        int capacity = Integer.highestOneBit(minimumCapacity);
+        if (capacity < minimumCapacity) {
+            capacity <<= 1;
+        }
+        mask = capacity - 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /** Adds the element unless the buffer is full; safe from any thread. */
+    boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    /** Moves up to {@code limit} published elements into {@code target} in offer order; consumer only. */
+    int drainTo(List<? super T> target, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            target.add(slots.getAndSet(index, null));
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+}
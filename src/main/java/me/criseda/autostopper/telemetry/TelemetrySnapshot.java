@@ -1,10 +1,14 @@
 package me.criseda.autostopper.telemetry;
 
+import me.criseda.autostopper.executor.ExecutorStats;
+
 import java.time.Instant;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Immutable snapshot of in-memory telemetry aggregates for internal inspection and tests.
@@ -12,10 +16,15 @@ import java.util.Objects;
 public record TelemetrySnapshot(
         Map<TelemetryOperationType, Map<TelemetryOutcome, Long>> outcomeCounts,
         Map<TelemetryOperationType, DurationAggregate> durationAggregates,
+        Map<String, Long> checkpointBytes,
+        Optional<MemoryPressureSignal> memoryPressure,
+        Optional<ExecutorStats> executorPool,
         Instant snapshotTime) {
 
     public TelemetrySnapshot {
         Objects.requireNonNull(outcomeCounts, "outcomeCounts");
+        Objects.requireNonNull(memoryPressure, "memoryPressure");
+        Objects.requireNonNull(executorPool, "executorPool");
         Objects.requireNonNull(durationAggregates, "durationAggregates");
         Objects.requireNonNull(snapshotTime, "snapshotTime");
         Map<TelemetryOperationType, Map<TelemetryOutcome, Long>> copyCounts = new EnumMap<>(TelemetryOperationType.class);
@@ -24,6 +33,31 @@ public record TelemetrySnapshot(
         }
         outcomeCounts = Collections.unmodifiableMap(copyCounts);
         durationAggregates = Collections.unmodifiableMap(new EnumMap<>(durationAggregates));
+        checkpointBytes = Map.copyOf(checkpointBytes);
+    }
+
+    public TelemetrySnapshot(
+            Map<TelemetryOperationType, Map<TelemetryOutcome, Long>> outcomeCounts,
+            Map<TelemetryOperationType, DurationAggregate> durationAggregates,
+            Map<String, Long> checkpointBytes,
+            Optional<MemoryPressureSignal> memoryPressure,
+            Instant snapshotTime) {
+        this(outcomeCounts, durationAggregates, checkpointBytes, memoryPressure, Optional.empty(), snapshotTime);
+    }
+
+    public TelemetrySnapshot(
+            Map<TelemetryOperationType, Map<TelemetryOutcome, Long>> outcomeCounts,
+            Map<TelemetryOperationType, DurationAggregate> durationAggregates,
+            Map<String, Long> checkpointBytes,
+            Instant snapshotTime) {
+        this(outcomeCounts, durationAggregates, checkpointBytes, Optional.empty(), snapshotTime);
+    }
+
+    public TelemetrySnapshot(
+            Map<TelemetryOperationType, Map<TelemetryOutcome, Long>> outcomeCounts,
+            Map<TelemetryOperationType, DurationAggregate> durationAggregates,
+            Instant snapshotTime) {
+        this(outcomeCounts, durationAggregates, Map.of(), snapshotTime);
     }
 
     @Override
@@ -52,6 +86,12 @@ public record TelemetrySnapshot(
         return counts.getOrDefault(outcome, 0L);
     }
 
+    /** Size of the latest checkpoint per container, when its checkpoint directory is readable. */
+    public OptionalLong checkpointBytes(String containerName) {
+        Long bytes = checkpointBytes.get(containerName);
+        return bytes == null ? OptionalLong.empty() : OptionalLong.of(bytes);
+    }
+
     public DurationAggregate duration(TelemetryOperationType operation) {
         return durationAggregates.getOrDefault(operation, new DurationAggregate());
     }
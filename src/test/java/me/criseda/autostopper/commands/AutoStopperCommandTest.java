@@ -9,6 +9,9 @@ import me.criseda.autostopper.config.AutoStopperConfig;
 import me.criseda.autostopper.config.ConfigLoadResult;
 import me.criseda.autostopper.config.ConfigSnapshot;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.docker.DockerCircuitStatus;
+import me.criseda.autostopper.docker.DockerDiagnostic;
+import me.criseda.autostopper.executor.AutoStopperExecutor;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
 import me.criseda.autostopper.operational.OperationalServerStatus;
 import me.criseda.autostopper.operational.OperationalState;
@@ -16,7 +19,14 @@ import me.criseda.autostopper.operational.OperationalStatusService;
 import me.criseda.autostopper.operational.PreflightSummary;
 import me.criseda.autostopper.operational.OperationalFailure;
 import me.criseda.autostopper.server.ActivityTracker;
+import me.criseda.autostopper.config.TelemetryHistorySettings;
+import me.criseda.autostopper.operational.ConfigReloader;
+import me.criseda.autostopper.telemetry.TelemetryHistoryReport;
+import me.criseda.autostopper.telemetry.TelemetryHistoryStats;
+import me.criseda.autostopper.telemetry.TelemetryHistoryStore;
+import me.criseda.autostopper.telemetry.TelemetryOperationType;
 import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,10 +34,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 
 import static me.criseda.autostopper.testing.ComponentTestUtils.plainText;
@@ -61,6 +74,7 @@ public class AutoStopperCommandTest {
     private AutoStopperCommand command;
     private me.criseda.autostopper.lifecycle.ServerHoldRegistry holdRegistry;
     private me.criseda.autostopper.server.ServerManager serverManager;
+    private AutoStopperExecutor executor;
 
     @BeforeEach
     public void setup() {
@@ -77,6 +91,12 @@ public class AutoStopperCommandTest {
         command = new AutoStopperCommand(
                 config, activityTracker, lifecycleCoordinator,
                 operationalStatus, pluginContainer);
+        executor = new AutoStopperExecutor(1, 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown(Duration.ofSeconds(1));
     }
 
     @Test
@@ -118,7 +138,7 @@ public class AutoStopperCommandTest {
         command.execute(invocation);
 
         ArgumentCaptor<Component> messageCaptor = ArgumentCaptor.forClass(Component.class);
-        verify(source, times(10)).sendMessage(messageCaptor.capture());
+        verify(source, times(11)).sendMessage(messageCaptor.capture());
 
         List<Component> messages = messageCaptor.getAllValues();
         assertTrue(plainText(messages.get(0)).contains("AutoStopper Commands"));
@@ -131,6 +151,7 @@ public class AutoStopperCommandTest {
         assertTrue(plainText(messages.get(7)).contains("/autostopper restart <server>"));
         assertTrue(plainText(messages.get(8)).contains("/autostopper hold <server>"));
         assertTrue(plainText(messages.get(9)).contains("/autostopper release <server>"));
+        assertTrue(plainText(messages.get(10)).contains("/autostopper stats <server> [range]"));
     }
 
     @Test
@@ -252,6 +273,29 @@ public class AutoStopperCommandTest {
         assertTrue(plainText(messages.get(1)).contains("Could not collect server statuses"));
     }
 
+    @Test
+    public void testExecuteStatusCommand_ShowsOpenDockerCircuit() {
+        grant(AutoStopperCommand.STATUS_PERMISSION);
+        SimpleCommand.Invocation invocation = mockInvocation(source, new String[]{"status"});
+
+        ConfigSnapshot snapshot = snapshot("server1");
+        when(config.snapshot()).thenReturn(snapshot);
+        Instant openedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(operationalStatus.openDockerCircuit()).thenReturn(Optional.of(new DockerCircuitStatus(
+                DockerDiagnostic.DAEMON_UNAVAILABLE, openedAt, 1, openedAt.plusSeconds(2))));
+        when(operationalStatus.collectStatuses(snapshot)).thenReturn(CompletableFuture.completedFuture(
+                Map.of("server1", operational(OperationalState.DOCKER_UNAVAILABLE))));
+
+        command.execute(invocation);
+
+        ArgumentCaptor<Component> messageCaptor = ArgumentCaptor.forClass(Component.class);
+        verify(source, times(3)).sendMessage(messageCaptor.capture());
+        List<Component> messages = messageCaptor.getAllValues();
+        assertTrue(plainText(messages.get(1)).contains("Docker calls paused"));
+        assertTrue(plainText(messages.get(1)).contains("daemon unreachable since 2026-01-01T00:00:00Z"));
+        assertTrue(plainText(messages.get(2)).contains("Unavailable"));
+    }
+
     @Test
     public void testExecuteStatusCommand_ExplicitDenialDoesNotStartStatusChecks() {
         deny(AutoStopperCommand.STATUS_PERMISSION);
@@ -405,7 +449,7 @@ public class AutoStopperCommandTest {
 
         List<String> suggestions = command.suggest(invocation);
 
-        assertEquals(8, suggestions.size());
+        assertEquals(9, suggestions.size());
         assertTrue(suggestions.contains("help"));
         assertTrue(suggestions.contains("status"));
         assertTrue(suggestions.contains("reload"));
@@ -414,6 +458,7 @@ public class AutoStopperCommandTest {
         assertTrue(suggestions.contains("restart"));
         assertTrue(suggestions.contains("hold"));
         assertTrue(suggestions.contains("release"));
+        assertTrue(suggestions.contains("stats"));
     }
 
     @Test
@@ -819,6 +864,83 @@ public class AutoStopperCommandTest {
         assertEquals(List.of("survival"), command.suggest(mockInvocation(source, new String[]{"release", "s"})));
     }
 
+    @Test
+    public void testExecuteStats_WithoutHistoryExplainsHowToEnableIt() {
+        grant(AutoStopperCommand.STATS_PERMISSION);
+
+        command.execute(mockInvocation(source, new String[]{"stats", "survival"}));
+
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(source).sendMessage(captor.capture());
+        assertTrue(plainText(captor.getValue()).contains("add telemetry_history to config.yml"));
+    }
+
+    @Test
+    public void testExecuteStats_RejectsRangesBeyondRetention() {
+        grant(AutoStopperCommand.STATS_PERMISSION);
+        TelemetryHistoryStore history = mock(TelemetryHistoryStore.class);
+        when(history.settings()).thenReturn(new TelemetryHistorySettings(7, 1_000));
+
+        historyCommand(history).execute(mockInvocation(source, new String[]{"stats", "survival", "8d"}));
+
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(source).sendMessage(captor.capture());
+        assertTrue(plainText(captor.getValue()).contains("Invalid range 8d"));
+        assertTrue(plainText(captor.getValue()).contains("up to 7d"));
+        verify(history, never()).query(anyString(), any(), any());
+    }
+
+    @Test
+    public void testExecuteStats_ShowsTotalsWithDailyBreakdown() {
+        grant(AutoStopperCommand.STATS_PERMISSION);
+        TelemetryHistoryStore history = mock(TelemetryHistoryStore.class);
+        when(history.settings()).thenReturn(TelemetryHistorySettings.defaults());
+        TelemetryHistoryStats monday = new TelemetryHistoryStats(TelemetryOperationType.STARTUP, 2, 1, 9_000, 6_000);
+        TelemetryHistoryStats tuesday = new TelemetryHistoryStats(TelemetryOperationType.STARTUP, 1, 0, 3_000, 3_000);
+        TreeMap<LocalDate, List<TelemetryHistoryStats>> days = new TreeMap<>(Map.of(
+                LocalDate.of(2026, 10, 12), List.of(monday), LocalDate.of(2026, 10, 13), List.of(tuesday)));
+        when(history.query(eq("modded-1"), any(), any())).thenReturn(new TelemetryHistoryReport("modded-1",
+                Instant.EPOCH, Instant.EPOCH, List.of(new TelemetryHistoryStats(TelemetryOperationType.STARTUP,
+                        3, 1, 12_000, 6_000)), days));
+
+        historyCommand(history).execute(mockInvocation(source, new String[]{"stats", "modded-1", "7d"}));
+
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(source, timeout(1_000).times(4)).sendMessage(captor.capture());
+        List<String> lines = captor.getAllValues().stream().map(message -> plainText(message)).toList();
+        assertEquals("Lifecycle history for modded-1 · last 7d", lines.get(0));
+        assertEquals("startup   3 runs · 1 failed · avg 4s · max 6s", lines.get(1));
+        assertEquals("  2026-10-12   2 runs · 1 failed · avg 4.5s · max 6s", lines.get(2));
+        assertEquals("  2026-10-13   1 run · avg 3s · max 3s", lines.get(3));
+    }
+
+    @Test
+    public void testParseStatsRange() {
+        assertEquals(Optional.of(Duration.ofMinutes(90)), AutoStopperCommand.parseStatsRange("90m"));
+        assertEquals(Optional.of(Duration.ofHours(24)), AutoStopperCommand.parseStatsRange("24h"));
+        assertEquals(Optional.of(Duration.ofDays(7)), AutoStopperCommand.parseStatsRange("7d"));
+        assertEquals(Optional.empty(), AutoStopperCommand.parseStatsRange("0h"));
+        assertEquals(Optional.empty(), AutoStopperCommand.parseStatsRange("week"));
+        assertEquals(Optional.empty(), AutoStopperCommand.parseStatsRange("-1d"));
+    }
+
+    @Test
+    public void testSuggest_StatsServerNamesAndRanges() {
+        grant(AutoStopperCommand.STATS_PERMISSION);
+        when(config.snapshot()).thenReturn(snapshot("survival", "creative"));
+
+        assertEquals(List.of("survival"), command.suggest(mockInvocation(source, new String[]{"stats", "s"})));
+        assertEquals(List.of("1h", "24h", "7d"),
+                command.suggest(mockInvocation(source, new String[]{"stats", "survival", ""})));
+        assertEquals(List.of("24h"), command.suggest(mockInvocation(source, new String[]{"stats", "survival", "2"})));
+    }
+
+    private AutoStopperCommand historyCommand(TelemetryHistoryStore history) {
+        return new AutoStopperCommand(config, activityTracker, lifecycleCoordinator, operationalStatus,
+                pluginContainer, new ConfigReloader(config, lifecycleCoordinator, activityTracker, operationalStatus),
+                history, executor);
+    }
+
     private OperationalServerStatus operational(OperationalState state) {
         return new OperationalServerStatus(state, 0, Optional.empty());
     }
@@ -2,6 +2,7 @@ package me.criseda.autostopper.config;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,8 +17,11 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -128,6 +132,585 @@ public class AutoStopperConfigTest {
         assertTrue(rejected.errorSummary().contains("shutdown_timeout_seconds"));
     }
 
+    @Test
+    public void startAdmissionLimitAndWeightsArePublishedAtomically() throws IOException {
+        writeConfig("""
+                max_concurrent_starts: 3
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    start_weight: 2
+                  - server_name: server2
+                    container_name: container2
+                """);
+
+        ConfigLoadResult result = config.loadConfig();
+
+        assertTrue(result.successful());
+        assertEquals(3, result.snapshot().maxConcurrentStarts());
+        assertEquals(2, result.snapshot().server("server1").orElseThrow().startWeight());
+        assertEquals(ServerMapping.DEFAULT_START_WEIGHT,
+                result.snapshot().server("server2").orElseThrow().startWeight());
+
+        ConfigSnapshot previous = config.snapshot();
+        writeConfig("""
+                max_concurrent_starts: -1
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    start_weight: 0
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertSame(previous, config.snapshot());
+        assertTrue(rejected.errorSummary().contains("max_concurrent_starts"));
+        assertTrue(rejected.errorSummary().contains("monitored_servers[0].start_weight"));
+    }
+
+    @Test
+    public void wakeDeadlineIsOptionalAndBounded() throws IOException {
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                """);
+        assertEquals(ConfigSnapshot.NO_WAKE_DEADLINE, config.loadConfig().snapshot().wakeDeadlineSeconds());
+
+        writeConfig("""
+                wake_deadline_seconds: 90
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                """);
+        assertEquals(90, config.loadConfig().snapshot().wakeDeadlineSeconds());
+
+        writeConfig("""
+                wake_deadline_seconds: 7200
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("wake_deadline_seconds"));
+    }
+
+    @Test
+    public void dockerQueryReuseAcceptsZeroAndRejectsNegativeWindows() throws IOException {
+        writeConfig("""
+                docker_query_reuse_millis: 0
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                """);
+        ConfigLoadResult zero = config.loadConfig();
+        assertTrue(zero.successful());
+        assertEquals(0, zero.snapshot().dockerQueryReuseMillis());
+
+        writeConfig("""
+                docker_query_reuse_millis: -1
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("docker_query_reuse_millis"));
+    }
+
+    @Test
+    public void runningBackendBudgetWeighsMappingsByMemoryCost() throws IOException {
+        writeConfig("""
+                max_running_backends: 12
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    memory_cost: 4
+                  - server_name: server2
+                    container_name: container2
+                """);
+        ConfigSnapshot snapshot = config.loadConfig().snapshot();
+        assertEquals(12, snapshot.maxRunningBackends());
+        assertEquals(4, snapshot.server("server1").orElseThrow().memoryCost());
+        assertEquals(ServerMapping.DEFAULT_MEMORY_COST, snapshot.server("server2").orElseThrow().memoryCost());
+
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    memory_cost: 0
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("monitored_servers[0].memory_cost"));
+    }
+
+    @Test
+    public void connectionReleaseWavesAreParsedPerMapping() throws IOException {
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    release:
+                      wave_size: 10
+                      wave_interval_millis: 1500
+                      adaptive: true
+                  - server_name: server2
+                    container_name: container2
+                """);
+        ConfigSnapshot snapshot = config.loadConfig().snapshot();
+        assertEquals(new ConnectionReleaseSettings(10, Duration.ofMillis(1500), true),
+                snapshot.server("server1").orElseThrow().release());
+        assertFalse(snapshot.server("server2").orElseThrow().release().staggered());
+
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    release:
+                      adaptive: yes please
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("monitored_servers[0].release.wave_size"));
+    }
+
+    @Test
+    public void memoryPressureBlockIsOptionalAndFillsDefaults() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().memoryPressure().isEmpty());
+
+        writeConfig("""
+                memory_pressure:
+                  psi_some_avg10_percent: 25
+                monitored_servers: []
+                """);
+        MemoryPressureSettings pressure = config.loadConfig().snapshot().memoryPressure().orElseThrow();
+        assertEquals(25, pressure.psiSomeAvg10Percent());
+        assertEquals(MemoryPressureSettings.DEFAULT_MIN_AVAILABLE_PERCENT, pressure.minAvailablePercent());
+        assertEquals(Duration.ofSeconds(MemoryPressureSettings.DEFAULT_INACTIVITY_TIMEOUT_SECONDS),
+                pressure.inactivityTimeout());
+
+        writeConfig("""
+                memory_pressure:
+                  min_available_percent: 150
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("memory_pressure.min_available_percent"));
+    }
+
+    @Test
+    public void discoveredContainersMergeAfterFileMappingsAndSurviveReloads() throws IOException {
+        knownServers.addAll(List.of("bedwars-1", "bedwars-2"));
+        writeConfig("""
+                discovery:
+                  relist_interval_seconds: 30
+                dependencies:
+                  - name: db
+                    container_name: bedwars-postgres
+                monitored_servers:
+                  - server_name: server1
+                    container_name: lobby
+                """);
+        ConfigSnapshot loaded = config.loadConfig().snapshot();
+        assertEquals(new DiscoverySettings("autostopper", Duration.ofSeconds(30)), loaded.discovery().orElseThrow());
+
+        ConfigSnapshot merged = config.applyDiscoveredContainers(Map.of(
+                "bw-2", Map.of("autostopper.server", "bedwars-2", "autostopper.memory_cost", "3",
+                        "autostopper.depends_on", "db"),
+                "bw-1", Map.of("autostopper.server", "bedwars-1",
+                        "autostopper.readiness.target_host", "bw-1", "autostopper.readiness.target_port", "25565"),
+                "shadow", Map.of("autostopper.server", "server1"),
+                "unregistered", Map.of("autostopper.server", "ghost"),
+                "heavy", Map.of("autostopper.server", "server2", "autostopper.memory_cost", "lots")));
+
+        assertEquals(List.of("server1", "bedwars-1", "bedwars-2"), merged.serverNames());
+        ServerMapping bedwars2 = merged.server("bedwars-2").orElseThrow();
+        assertEquals("bw-2", bedwars2.containerName());
+        assertEquals(3, bedwars2.memoryCost());
+        assertEquals(List.of("db"), bedwars2.dependsOn());
+        assertEquals(Integer.valueOf(25565), merged.server("bedwars-1").orElseThrow().readiness().targetPort());
+        verify(logger).warn(eq("Ignoring discovered container {}: {}"), eq("shadow"), contains("already mapped"));
+        assertSame(merged, config.snapshot());
+
+        assertEquals(merged.servers(), config.loadConfig().snapshot().servers(),
+                "a file reload keeps the containers discovered so far");
+
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: lobby
+                """);
+        assertEquals(List.of("server1"), config.loadConfig().snapshot().serverNames());
+        assertEquals(List.of("server1"), config.applyDiscoveredContainers(Map.of(
+                "bw-1", Map.of("autostopper.server", "bedwars-1"))).serverNames(),
+                "without a discovery block labels are ignored");
+    }
+
+    @Test
+    public void configWatchBlockEnablesReloadOnChangeWithDebounce() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().configWatch().isEmpty());
+
+        writeConfig("""
+                config_watch: {}
+                monitored_servers: []
+                """);
+        assertEquals(ConfigWatchSettings.defaults(), config.loadConfig().snapshot().configWatch().orElseThrow());
+
+        writeConfig("""
+                config_watch:
+                  debounce_millis: 1500
+                monitored_servers: []
+                """);
+        assertEquals(Duration.ofMillis(1500),
+                config.loadConfig().snapshot().configWatch().orElseThrow().debounce());
+
+        writeConfig("""
+                config_watch: true
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("config_watch: expected a mapping"));
+    }
+
+    @Test
+    public void eventLogBlockParsesRotationAndSuccessSampling() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().eventLog().isEmpty());
+
+        writeConfig("""
+                event_log:
+                  max_file_megabytes: 2
+                  max_files: 4
+                  slow_threshold_millis: 500
+                  sample_percent:
+                    connected: 5
+                monitored_servers: []
+                """);
+        EventLogSettings eventLog = config.loadConfig().snapshot().eventLog().orElseThrow();
+        assertEquals(2L * 1024 * 1024, eventLog.maxFileBytes());
+        assertEquals(4, eventLog.maxFiles());
+        assertEquals(EventLogSettings.DEFAULT_BUFFER_CAPACITY, eventLog.bufferCapacity());
+        assertEquals(Duration.ofMillis(500), eventLog.slowThreshold());
+        assertEquals(5, eventLog.samplePercent("connected"));
+        assertEquals(100, eventLog.samplePercent("ready"));
+
+        writeConfig("""
+                event_log:
+                  sample_percent:
+                    start_failed: 10
+                    connected: 0
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains(
+                "event_log.sample_percent.start_failed: only successful outcomes can be sampled"));
+        assertTrue(rejected.errorSummary().contains(
+                "event_log.sample_percent.connected: expected a positive integer no greater than 100"));
+    }
+
+    @Test
+    public void telemetryHistoryBlockParsesRetentionAndDailyCapacity() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().telemetryHistory().isEmpty());
+
+        writeConfig("""
+                telemetry_history:
+                  retention_days: 30
+                monitored_servers: []
+                """);
+        TelemetryHistorySettings history = config.loadConfig().snapshot().telemetryHistory().orElseThrow();
+        assertEquals(30, history.retentionDays());
+        assertEquals(TelemetryHistorySettings.DEFAULT_MAX_RECORDS_PER_DAY, history.maxRecordsPerDay());
+
+        writeConfig("""
+                telemetry_history:
+                  retention_days: 400
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains(
+                "telemetry_history.retention_days: expected a positive integer no greater than 365"));
+    }
+
+    @Test
+    public void wakeBudgetBlockParsesBurstAndRefillInterval() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().wakeBudget().isEmpty());
+
+        writeConfig("""
+                wake_budget:
+                  burst: 5
+                monitored_servers: []
+                """);
+        WakeBudgetSettings budget = config.loadConfig().snapshot().wakeBudget().orElseThrow();
+        assertEquals(5, budget.burst());
+        assertEquals(Duration.ofSeconds(WakeBudgetSettings.DEFAULT_REFILL_SECONDS), budget.refillInterval());
+
+        writeConfig("""
+                wake_budget:
+                  refill_seconds: 0
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("wake_budget.refill_seconds: expected a positive integer"));
+    }
+
+    @Test
+    public void executorBlockParsesWorkerBoundsAndRejectsInvertedBounds() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().executor().isEmpty());
+
+        writeConfig("""
+                executor:
+                  min_workers: 3
+                  target_wait_millis: 100
+                monitored_servers: []
+                """);
+        ExecutorSettings executor = config.loadConfig().snapshot().executor().orElseThrow();
+        assertEquals(3, executor.minWorkers());
+        assertEquals(ExecutorSettings.DEFAULT_MAX_WORKERS, executor.maxWorkers());
+        assertEquals(ExecutorSettings.DEFAULT_QUEUE_CAPACITY, executor.queueCapacity());
+        assertEquals(Duration.ofMillis(100), executor.targetWait());
+
+        writeConfig("""
+                executor:
+                  min_workers: 4
+                  max_workers: 2
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("executor.max_workers: must not be less than min_workers"));
+    }
+
+    @Test
+    public void abandonedStartsBlockParsesCommitPointAndIdleTimeout() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertTrue(config.loadConfig().snapshot().abandonedStarts().isEmpty());
+
+        writeConfig("""
+                abandoned_starts: {}
+                monitored_servers: []
+                """);
+        assertEquals(AbandonedStartSettings.defaults(), config.loadConfig().snapshot().abandonedStarts().orElseThrow());
+
+        writeConfig("""
+                abandoned_starts:
+                  commit_point: ready
+                  idle_timeout_seconds: 45
+                monitored_servers: []
+                """);
+        AbandonedStartSettings abandoned = config.loadConfig().snapshot().abandonedStarts().orElseThrow();
+        assertEquals(StartCommitPoint.READY, abandoned.commitPoint());
+        assertEquals(Duration.ofSeconds(45), abandoned.idleTimeout());
+
+        writeConfig("""
+                abandoned_starts:
+                  commit_point: readiness
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("abandoned_starts.commit_point"));
+    }
+
+    @Test
+    public void dockerTransportDefaultsToCliAndRejectsUnknownValues() throws IOException {
+        writeConfig("""
+                monitored_servers: []
+                """);
+        assertEquals(DockerTransport.CLI, config.loadConfig().snapshot().dockerTransport());
+
+        writeConfig("""
+                docker_transport: DIAL_STDIO
+                monitored_servers: []
+                """);
+        assertEquals(DockerTransport.DIAL_STDIO, config.loadConfig().snapshot().dockerTransport());
+
+        writeConfig("""
+                docker_transport: ssh
+                monitored_servers: []
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("docker_transport: expected one of cli, dial_stdio"));
+    }
+
+    @Test
+    public void checkpointSleepIsConfiguredPerMapping() throws IOException {
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    sleep:
+                      mode: checkpoint
+                      checkpoint_dir: /var/lib/autostopper/checkpoints
+                      timeout_seconds: 300
+                  - server_name: server2
+                    container_name: container2
+                """);
+
+        ConfigSnapshot snapshot = config.loadConfig().snapshot();
+        SleepSettings sleep = snapshot.server("server1").orElseThrow().sleep();
+        assertEquals(SleepMode.CHECKPOINT, sleep.mode());
+        assertEquals(Optional.of("/var/lib/autostopper/checkpoints"), sleep.checkpointDirectoryIfSet());
+        assertEquals(Duration.ofSeconds(300), sleep.timeout());
+        assertEquals(SleepSettings.defaults(), snapshot.server("server2").orElseThrow().sleep());
+
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    sleep:
+                      mode: hibernate
+                  - server_name: server2
+                    container_name: container2
+                    sleep:
+                      checkpoint_dir: relative/dir
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("monitored_servers[0].sleep.mode"));
+        assertTrue(rejected.errorSummary().contains("monitored_servers[1].sleep.checkpoint_dir"));
+    }
+
+    @Test
+    public void dependenciesFormAnAcyclicGraphReferencedByMappings() throws IOException {
+        writeConfig("""
+                dependencies:
+                  - name: cache
+                    container_name: redis
+                    depends_on: [db]
+                  - name: db
+                    container_name: postgres
+                    ready_timeout_seconds: 30
+                monitored_servers:
+                  - server_name: survival
+                    container_name: survival-container
+                    depends_on: [cache]
+                """);
+
+        ConfigLoadResult result = config.loadConfig();
+
+        assertTrue(result.successful());
+        assertEquals(List.of("cache"), result.snapshot().server("survival").orElseThrow().dependsOn());
+        ContainerDependency database = result.snapshot().dependency("db").orElseThrow();
+        assertEquals("postgres", database.containerName());
+        assertEquals(Duration.ofSeconds(30), database.readyTimeout());
+        assertEquals(List.of("db"), result.snapshot().dependency("cache").orElseThrow().dependsOn());
+
+        writeConfig("""
+                dependencies:
+                  - name: cache
+                    container_name: redis
+                    depends_on: [db]
+                  - name: db
+                    container_name: postgres
+                    depends_on: [cache]
+                monitored_servers:
+                  - server_name: survival
+                    container_name: redis
+                    depends_on: [missing]
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("dependencies: dependency cycle cache -> db -> cache"));
+        assertTrue(rejected.errorSummary().contains("monitored_servers[0].container_name"));
+        assertTrue(rejected.errorSummary().contains("monitored_servers[0].depends_on[0]: unknown dependency"));
+    }
+
+    @Test
+    public void coordinationResolvesSharedDirectoryAndRejectsUnsafeProxyIds() throws IOException {
+        writeConfig("""
+                coordination:
+                  proxy_id: proxy-1
+                  directory: shared
+                  lease_seconds: 15
+                """);
+
+        ConfigLoadResult result = config.loadConfig();
+
+        assertTrue(result.successful());
+        CoordinationSettings coordination = result.snapshot().coordination().orElseThrow();
+        assertEquals("proxy-1", coordination.proxyId());
+        assertEquals(tempDir.resolve("shared"), coordination.directory());
+        assertEquals(Duration.ofSeconds(15), coordination.leaseDuration());
+        assertEquals(Duration.ofSeconds(CoordinationSettings.DEFAULT_HEARTBEAT_TTL_SECONDS),
+                coordination.heartbeatTtl());
+
+        writeConfig("""
+                coordination:
+                  proxy_id: proxy one
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertTrue(rejected.errorSummary().contains("coordination.proxy_id: may only contain"));
+        assertTrue(rejected.errorSummary().contains("coordination.directory: expected a string"));
+    }
+
+    @Test
+    public void serverPoolsReferenceMonitoredMembersThroughRegisteredEntryServer() throws IOException {
+        writeConfig("""
+                monitored_servers:
+                  - server_name: bedwars-1
+                    container_name: bedwars-1-container
+                  - server_name: bedwars-2
+                    container_name: bedwars-2-container
+                server_pools:
+                  - pool_name: bedwars
+                    warm_instances: 2
+                    members: [bedwars-1, bedwars-2]
+                """);
+
+        ConfigLoadResult result = config.loadConfig();
+
+        assertTrue(result.successful());
+        ServerPool pool = result.snapshot().pool("bedwars").orElseThrow();
+        assertEquals(List.of("bedwars-1", "bedwars-2"), pool.members());
+        assertEquals(2, pool.warmInstances());
+        assertEquals(Optional.of(pool), result.snapshot().poolForMember("bedwars-2"));
+
+        ConfigSnapshot previous = config.snapshot();
+        writeConfig("""
+                monitored_servers:
+                  - server_name: bedwars-1
+                    container_name: bedwars-1-container
+                server_pools:
+                  - pool_name: bedwars-1
+                    members: [bedwars-1]
+                  - pool_name: bedwars
+                    warm_instances: 2
+                    members: [bedwars-1, unknown]
+                """);
+        ConfigLoadResult rejected = config.loadConfig();
+        assertFalse(rejected.successful());
+        assertSame(previous, config.snapshot());
+        assertTrue(rejected.errorSummary().contains("server_pools[0].pool_name"));
+        assertTrue(rejected.errorSummary().contains("server_pools[1].members[0]"));
+    }
+
     @Test
     public void invalidStopRetryPolicyRetainsPreviousSnapshot() throws IOException {
         loadInitialSnapshot();
@@ -178,6 +761,52 @@ public class AutoStopperConfigTest {
         assertEquals(750, readiness.readTimeout().toMillis());
     }
 
+    @Test
+    public void logPatternReadinessDefaultsToMinecraftDoneLine() throws IOException {
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    readiness:
+                      strategy: log_pattern
+                  - server_name: server2
+                    container_name: container2
+                    readiness:
+                      strategy: LOG_PATTERN
+                      log_pattern: 'Server marked as active'
+                """);
+
+        ConfigLoadResult result = config.loadConfig();
+
+        assertTrue(result.successful());
+        ReadinessSettings defaults = result.snapshot().server("server1").orElseThrow().readiness();
+        assertEquals(ReadinessStrategy.LOG_PATTERN, defaults.strategy());
+        assertTrue(defaults.compiledLogPattern()
+                .matcher("[12:00:00 INFO]: Done (4.213s)! For help, type \"help\"").find());
+        assertEquals("Server marked as active",
+                result.snapshot().server("server2").orElseThrow().readiness().logPattern());
+    }
+
+    @Test
+    public void invalidLogPatternIsRejectedWithPrecisePath() throws IOException {
+        loadInitialSnapshot();
+        ConfigSnapshot previous = config.snapshot();
+        writeConfig("""
+                monitored_servers:
+                  - server_name: server1
+                    container_name: container1
+                    readiness:
+                      strategy: log_pattern
+                      log_pattern: 'Done ('
+                """);
+
+        ConfigLoadResult result = config.loadConfig();
+
+        assertFalse(result.successful());
+        assertSame(previous, config.snapshot());
+        assertTrue(result.errorSummary().contains("monitored_servers[0].readiness.log_pattern"));
+    }
+
     @Test
     public void invalidReadinessPolicyIsRejectedAtomicallyWithPrecisePaths() throws IOException {
         loadInitialSnapshot();
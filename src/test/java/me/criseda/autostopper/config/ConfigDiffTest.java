@@ -0,0 +1,41 @@
+package me.criseda.autostopper.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigDiffTest {
+
+    @Test
+    void diffSeparatesAddedRemovedAndChangedMappings() {
+        ConfigSnapshot previous = new ConfigSnapshot(300, List.of(
+                new ServerMapping("lobby", "lobby"),
+                new ServerMapping("survival", "survival"),
+                new ServerMapping("creative", "creative")));
+        ConfigSnapshot current = new ConfigSnapshot(300, List.of(
+                new ServerMapping("lobby", "lobby"),
+                new ServerMapping("survival", "survival-v2"),
+                new ServerMapping("bedwars", "bedwars")));
+
+        ConfigDiff diff = ConfigDiff.between(previous, current);
+
+        assertEquals(List.of("bedwars"), diff.added());
+        assertEquals(List.of("creative"), diff.removed());
+        assertEquals(List.of("survival"), diff.changed());
+        assertEquals(List.of("bedwars", "survival"), diff.affectedServers());
+        assertFalse(diff.mappingsUnchanged());
+    }
+
+    @Test
+    void settingsOnlyEditLeavesEveryMappingUntouched() {
+        List<ServerMapping> mappings = List.of(new ServerMapping("lobby", "lobby"));
+        ConfigDiff diff = ConfigDiff.between(new ConfigSnapshot(300, mappings), new ConfigSnapshot(600, mappings));
+
+        assertTrue(diff.mappingsUnchanged());
+        assertTrue(diff.affectedServers().isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package me.criseda.autostopper.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigFileWatcherTest {
+    private static final Duration DEBOUNCE = Duration.ofMillis(200);
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private Logger logger;
+
+    private final Semaphore reloads = new Semaphore(0);
+
+    @Test
+    void burstOfSavesProducesOneReload() throws Exception {
+        Path configFile = write("config.yml", "monitored_servers: []\n");
+        try (ConfigFileWatcher ignored = ConfigFileWatcher.start(logger, configFile, DEBOUNCE, reloads::release)) {
+            for (int i = 0; i < 5; i++) {
+                write("config.yml", "inactivity_timeout_seconds: " + (300 + i) + "\n");
+            }
+
+            assertTrue(reloads.tryAcquire(10, TimeUnit.SECONDS));
+            assertFalse(reloads.tryAcquire(DEBOUNCE.multipliedBy(3).toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void otherFilesInTheDirectoryAreIgnoredAndCloseStopsWatching() throws Exception {
+        Path configFile = write("config.yml", "monitored_servers: []\n");
+        ConfigFileWatcher watcher = ConfigFileWatcher.start(logger, configFile, DEBOUNCE, reloads::release);
+
+        write("telemetry.jsonl", "{}\n");
+        assertFalse(reloads.tryAcquire(DEBOUNCE.multipliedBy(3).toMillis(), TimeUnit.MILLISECONDS));
+
+        watcher.close();
+        write("config.yml", "inactivity_timeout_seconds: 600\n");
+        assertFalse(reloads.tryAcquire(DEBOUNCE.multipliedBy(3).toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+}
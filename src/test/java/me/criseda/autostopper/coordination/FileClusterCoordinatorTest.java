@@ -0,0 +1,138 @@
+package me.criseda.autostopper.coordination;
+
+import me.criseda.autostopper.config.CoordinationSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class FileClusterCoordinatorTest {
+    private static final Instant START = Instant.parse("2026-08-12T10:00:00Z");
+
+    @Mock
+    private Logger logger;
+
+    @TempDir
+    Path directory;
+
+    private MutableClock clock;
+    private FileClusterCoordinator first;
+    private FileClusterCoordinator second;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        first = coordinator("proxy-1", directory);
+        second = coordinator("proxy-2", directory);
+    }
+
+    @Test
+    void leaseHeldByAnotherProxyIsRefusedUntilItExpires() {
+        assertTrue(first.tryAcquire("lobby", LeaseOperation.START).acquired());
+        assertTrue(first.tryAcquire("lobby", LeaseOperation.STOP).acquired());
+
+        LeaseResult refused = second.tryAcquire("lobby", LeaseOperation.START);
+        assertFalse(refused.acquired());
+        assertEquals("proxy-1", refused.holder());
+        assertEquals(LeaseOperation.STOP, refused.operation());
+        assertTrue(second.tryAcquire("survival", LeaseOperation.START).acquired());
+
+        clock.advance(Duration.ofSeconds(31));
+        assertTrue(second.tryAcquire("lobby", LeaseOperation.START).acquired());
+    }
+
+    @Test
+    void releaseOnlyDropsThisProxysLease() {
+        first.tryAcquire("lobby", LeaseOperation.STOP);
+
+        second.release("lobby");
+        assertFalse(second.tryAcquire("lobby", LeaseOperation.START).acquired());
+
+        first.release("lobby");
+        assertTrue(second.tryAcquire("lobby", LeaseOperation.START).acquired());
+    }
+
+    @Test
+    void remoteActivityAggregatesFreshHeartbeatsFromOtherProxies() {
+        Instant firstActivity = START.minusSeconds(30);
+        first.publishActivity("lobby", 3, firstActivity);
+        second.publishActivity("lobby", 2, START);
+
+        RemoteActivity seenBySecond = second.remoteActivity("lobby");
+        assertTrue(seenBySecond.available());
+        assertEquals(3, seenBySecond.connectedPlayers());
+        assertEquals(Optional.of(firstActivity), seenBySecond.lastActivity());
+        assertEquals(RemoteActivity.none(), second.remoteActivity("survival"));
+
+        clock.advance(Duration.ofSeconds(181));
+        assertEquals(RemoteActivity.none(), second.remoteActivity("lobby"));
+    }
+
+    @Test
+    void unreadableStoreLetsStartsProceedButFailsStopsAndActivity() throws IOException {
+        Path notADirectory = Files.createFile(directory.resolve("store"));
+        FileClusterCoordinator broken = coordinator("proxy-1", notADirectory);
+
+        assertTrue(broken.tryAcquire("lobby", LeaseOperation.START).acquired());
+        assertEquals(LeaseResult.unavailable(), broken.tryAcquire("lobby", LeaseOperation.STOP));
+        assertFalse(broken.remoteActivity("lobby").available());
+    }
+
+    @Test
+    void serverNamesAreEncodedIntoSafeFileNames() {
+        assertEquals("lobby-1.state", FileClusterCoordinator.fileName("lobby-1"));
+        assertEquals("a_002fb.state", FileClusterCoordinator.fileName("a/b"));
+    }
+
+    private FileClusterCoordinator coordinator(String proxyId, Path store) {
+        CoordinationSettings settings = new CoordinationSettings(proxyId, store,
+                Duration.ofSeconds(CoordinationSettings.DEFAULT_LEASE_SECONDS),
+                Duration.ofSeconds(CoordinationSettings.DEFAULT_HEARTBEAT_TTL_SECONDS));
+        return new FileClusterCoordinator(logger, settings, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicReference<Instant> current;
+
+        private MutableClock(Instant initial) {
+            current = new AtomicReference<>(initial);
+        }
+
+        private void advance(Duration duration) {
+            current.updateAndGet(instant -> instant.plus(duration));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return current.get();
+        }
+    }
+}
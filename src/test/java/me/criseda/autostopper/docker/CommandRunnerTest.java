@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -76,6 +79,49 @@ public class CommandRunnerTest {
         assertEquals(CommandOutput.Outcome.TIMED_OUT, output.get().outcome());
     }
 
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void testRunAsync_ConcurrentCommandsKeepTheirOwnOutput() {
+        List<CompletableFuture<CommandOutput>> outputs = new ArrayList<>();
+        for (int index = 0; index < 20; index++) {
+            outputs.add(runner.runAsync(shellCommand("echo command-" + index), Duration.ofSeconds(10)));
+        }
+
+        for (int index = 0; index < outputs.size(); index++) {
+            CommandOutput output = outputs.get(index).join();
+            assertEquals(CommandOutput.Outcome.COMPLETED, output.outcome());
+            assertEquals("command-" + index, output.stdout().trim());
+        }
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testRunAsync_TimeoutTerminatesProcess() {
+        CommandOutput output = runner.runAsync(sleepCommand(), Duration.ofMillis(300)).join();
+
+        assertEquals(CommandOutput.Outcome.TIMED_OUT, output.outcome());
+    }
+
+    @Test
+    public void testRun_TruncatesLargeOutput() {
+        CommandOutput output = runner.run(largeOutputCommand(), Duration.ofSeconds(10));
+
+        assertEquals(CommandOutput.Outcome.COMPLETED, output.outcome());
+        assertTrue(output.stdout().endsWith("[output truncated]"));
+        assertTrue(output.stdout().length() < 5000);
+        assertTrue(output.truncated());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void testRunAsync_LargerOutputLimitKeepsWholeListing() {
+        CommandOutput output = runner.runAsync(largeOutputCommand(), Duration.ofSeconds(10), 1 << 20).join();
+
+        assertEquals(CommandOutput.Outcome.COMPLETED, output.outcome());
+        assertFalse(output.truncated());
+        assertTrue(output.stdout().strip().length() >= 10_000);
+    }
+
     @Test
     public void testRun_SpawnFailure() {
         CommandOutput output = runner.run(
@@ -84,6 +130,22 @@ public class CommandRunnerTest {
         assertEquals(CommandOutput.Outcome.SPAWN_FAILED, output.outcome());
     }
 
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testStream_DeliversLinesUntilClosed() throws Exception {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        StreamingCommand command = runner.stream(
+                shellCommand("echo first && echo second 1>&2 && sleep 30"), lines::add);
+
+        while (lines.size() < 2) {
+            Thread.sleep(10);
+        }
+        command.close();
+
+        assertTrue(lines.containsAll(List.of("first", "second")));
+        assertFalse(command.isAlive());
+    }
+
     @Test
     public void testRun_RejectsZeroTimeout() {
         assertThrows(IllegalArgumentException.class,
@@ -105,6 +167,13 @@ public class CommandRunnerTest {
         return shellCommand("printf 'h\u00e9llo w\u00f6rld\\n'");
     }
 
+    private static List<String> largeOutputCommand() {
+        if (isWindows()) {
+            return List.of("powershell", "-NoProfile", "-Command", "'0123456789' * 1000");
+        }
+        return shellCommand("i=0; while [ $i -lt 1000 ]; do echo 0123456789; i=$((i+1)); done");
+    }
+
     private static List<String> sleepCommand() {
         if (isWindows()) {
             return List.of("powershell", "-NoProfile", "-Command", "Start-Sleep -Seconds 30");
@@ -0,0 +1,304 @@
+package me.criseda.autostopper.docker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(value = 10, unit = TimeUnit.SECONDS)
+class DialStdioCommandRunnerTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private Logger logger;
+
+    private final List<StandInDaemon> daemons = new CopyOnWriteArrayList<>();
+    private DialStdioCommandRunner runner;
+
+    @AfterEach
+    void closeRunner() {
+        if (runner != null) {
+            runner.close();
+        }
+    }
+
+    @Test
+    void pipelinesQueriesOverOneConnectionAndRunsActionsOnTheirOwn() throws InterruptedException {
+        CommandRunner fallback = mock(CommandRunner.class);
+        runner = new DialStdioCommandRunner(logger, fallback, this::connect);
+
+        CompletableFuture<CommandOutput> status = runner.runAsync(List.of(
+                "docker", "inspect", "-f", DockerManager.RUNNING_TEMPLATE, "survival"), TIMEOUT);
+        CompletableFuture<CommandOutput> health = runner.runAsync(List.of(
+                "docker", "inspect", "-f", DockerManager.HEALTH_TEMPLATE, "survival"), TIMEOUT);
+        CompletableFuture<CommandOutput> start = runner.runAsync(List.of("docker", "start", "survival"), TIMEOUT);
+        StandInDaemon queries = daemons.get(0);
+        StandInDaemon action = daemons.get(1);
+        assertEquals("GET /containers/survival/json HTTP/1.1", queries.requests.take());
+        assertEquals("GET /containers/survival/json HTTP/1.1", queries.requests.take());
+        assertEquals("POST /containers/survival/start HTTP/1.1", action.requests.take());
+        assertFalse(status.isDone(), "responses must not be invented before the daemon answers");
+
+        action.respond("204 No Content", null);
+        assertEquals(0, start.join().exitCode(), "a start must not wait behind queued inspects");
+        String running = "{\"Id\":\"abc\",\"Path\":\"\\/start.sh\",\"State\":{\"Running\":true,"
+                + "\"Health\":{\"Status\":\"starting\",\"FailingStreak\":0}}}";
+        queries.respond("200 OK", running);
+        queries.respondChunked(running);
+
+        assertEquals(new CommandOutput(CommandOutput.Outcome.COMPLETED, 0, "true\n", ""), status.join());
+        assertEquals("starting", health.join().stdout().trim());
+        assertEquals(2, runner.connectionsOpened());
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void idleActionConnectionIsReused() throws InterruptedException {
+        runner = new DialStdioCommandRunner(logger, mock(CommandRunner.class), this::connect);
+
+        CompletableFuture<CommandOutput> start = runner.runAsync(List.of("docker", "start", "survival"), TIMEOUT);
+        daemons.get(0).requests.take();
+        daemons.get(0).respond("204 No Content", null);
+        assertEquals(0, start.join().exitCode());
+
+        CompletableFuture<CommandOutput> stop = runner.runAsync(List.of("docker", "stop", "survival"), TIMEOUT);
+        assertEquals("POST /containers/survival/stop HTTP/1.1", daemons.get(0).requests.take());
+        daemons.get(0).respond("204 No Content", null);
+        assertEquals(0, stop.join().exitCode());
+        assertEquals(1, runner.connectionsOpened());
+    }
+
+    @Test
+    void queuedRequestTimeoutStartsOnceTheResponsesAheadOfItArrive() throws InterruptedException {
+        runner = new DialStdioCommandRunner(logger, mock(CommandRunner.class), this::connect);
+
+        CompletableFuture<CommandOutput> slow = runner.runAsync(List.of(
+                "docker", "inspect", "-f", DockerManager.RUNNING_TEMPLATE, "slow"), TIMEOUT);
+        CompletableFuture<CommandOutput> quick = runner.runAsync(List.of(
+                "docker", "inspect", "-f", DockerManager.RUNNING_TEMPLATE, "quick"), Duration.ofMillis(200));
+        StandInDaemon daemon = daemons.get(0);
+        daemon.requests.take();
+        daemon.requests.take();
+        Thread.sleep(400);
+        daemon.respond("200 OK", "{\"State\":{\"Running\":false}}");
+        daemon.respond("200 OK", "{\"State\":{\"Running\":true}}");
+
+        assertEquals("false\n", slow.join().stdout());
+        assertEquals(CommandOutput.Outcome.COMPLETED, quick.join().outcome(),
+                "time spent queued behind another response is not the request's own timeout");
+        assertEquals("true\n", quick.join().stdout());
+        assertEquals(1, runner.connectionsOpened());
+    }
+
+    @Test
+    void engineErrorsReadLikeCliErrors() throws InterruptedException {
+        runner = new DialStdioCommandRunner(logger, mock(CommandRunner.class), this::connect);
+
+        CompletableFuture<CommandOutput> missing = runner.runAsync(List.of(
+                "docker", "inspect", "-f", DockerManager.RUNNING_TEMPLATE, "ghost"), TIMEOUT);
+        CompletableFuture<CommandOutput> denied = runner.runAsync(List.of("docker", "stop", "survival"), TIMEOUT);
+        daemons.get(0).requests.take();
+        daemons.get(1).requests.take();
+        daemons.get(0).respond("404 Not Found", "{\"message\":\"No such container: ghost\"}");
+        daemons.get(1).respond("403 Forbidden", "{\"message\":\"permission denied\"}");
+
+        assertTrue(missing.join().stderr().contains("No such container: ghost"));
+        assertEquals(1, denied.join().exitCode());
+        assertTrue(denied.join().stderr().contains("permission denied"));
+    }
+
+    @Test
+    void queryLostWithTheChildIsRetriedOnANewOne() throws InterruptedException {
+        runner = new DialStdioCommandRunner(logger, mock(CommandRunner.class), this::connect);
+
+        CompletableFuture<CommandOutput> version = runner.runAsync(List.of(
+                "docker", "version", "--format", DockerManager.VERSION_TEMPLATE), TIMEOUT);
+        daemons.get(0).requests.take();
+        daemons.get(0).exit();
+        StandInDaemon replacement = awaitDaemon(1);
+        assertEquals("GET /version HTTP/1.1", replacement.requests.take());
+        replacement.respond("200 OK", "{\"Version\":\"27.1.1\"}");
+
+        assertEquals("27.1.1\n", version.join().stdout());
+        assertEquals(2, runner.connectionsOpened());
+    }
+
+    @Test
+    void actionLostAfterItWasSentReportsATransportFailure() throws InterruptedException {
+        runner = new DialStdioCommandRunner(logger, mock(CommandRunner.class), this::connect);
+
+        CompletableFuture<CommandOutput> start = runner.runAsync(List.of("docker", "start", "survival"), TIMEOUT);
+        daemons.get(0).requests.take();
+        daemons.get(0).exit();
+
+        CommandOutput lost = start.join();
+        assertEquals(CommandOutput.Outcome.TRANSPORT_FAILED, lost.outcome());
+        assertFalse(lost.stderr().contains("error during connect"), "a lost connection is not an unreachable daemon");
+        assertEquals(1, runner.connectionsOpened(), "the daemon may have run the start, so it is not repeated");
+    }
+
+    @Test
+    void timedOutRequestIsReportedAndTheConnectionReplaced() throws InterruptedException {
+        runner = new DialStdioCommandRunner(logger, mock(CommandRunner.class), this::connect);
+
+        CommandOutput timedOut = runner.run(List.of("docker", "start", "survival"), Duration.ofMillis(50));
+        assertEquals(CommandOutput.Outcome.TIMED_OUT, timedOut.outcome());
+
+        CompletableFuture<CommandOutput> next = runner.runAsync(List.of("docker", "start", "survival"), TIMEOUT);
+        daemons.get(1).requests.take();
+        daemons.get(1).respond("304 Not Modified", null);
+        assertEquals(0, next.join().exitCode());
+        assertEquals(2, runner.connectionsOpened());
+    }
+
+    @Test
+    void untranslatedCommandsUseTheFallbackRunner() throws IOException {
+        CommandRunner fallback = mock(CommandRunner.class);
+        CommandOutput logs = new CommandOutput(CommandOutput.Outcome.COMPLETED, 0, "ok", "");
+        List<String> command = List.of("docker", "inspect", "-f", "{{.Config.Image}}", "survival");
+        when(fallback.run(command, TIMEOUT)).thenReturn(logs);
+        runner = new DialStdioCommandRunner(logger, fallback, this::connect);
+
+        assertEquals(logs, runner.run(command, TIMEOUT));
+        runner.stream(List.of("docker", "logs", "--follow", "survival"), line -> { });
+
+        verify(fallback).stream(any(), any());
+        assertEquals(0, runner.connectionsOpened());
+    }
+
+    /** The retry opens its connection on the reader thread, after the test has moved on. */
+    private StandInDaemon awaitDaemon(int index) throws InterruptedException {
+        while (daemons.size() <= index) {
+            Thread.sleep(5);
+        }
+        return daemons.get(index);
+    }
+
+    private DialStdioCommandRunner.Connection connect() throws IOException {
+        StandInDaemon daemon = new StandInDaemon();
+        daemons.add(daemon);
+        return daemon.clientSide();
+    }
+
+    /** Reads request lines from the client and writes back whatever responses a test scripts. */
+    private static final class StandInDaemon {
+        private final PipedInputStream fromClient = new PipedInputStream(65536);
+        private final PipedOutputStream clientOutput = new PipedOutputStream();
+        private final PipedInputStream clientInput = new PipedInputStream(65536);
+        private final PipedOutputStream toClient = new PipedOutputStream();
+        private final BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+
+        StandInDaemon() throws IOException {
+            fromClient.connect(clientOutput);
+            clientInput.connect(toClient);
+            Thread reader = new Thread(this::readRequests, "stand-in dial-stdio");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        DialStdioCommandRunner.Connection clientSide() {
+            return new DialStdioCommandRunner.Connection() {
+                @Override
+                public InputStream input() {
+                    return clientInput;
+                }
+
+                @Override
+                public OutputStream output() {
+                    return clientOutput;
+                }
+
+                @Override
+                public void close() {
+                    exit();
+                }
+            };
+        }
+
+        void respond(String status, String body) {
+            StringBuilder response = new StringBuilder("HTTP/1.1 ").append(status).append("\r\n");
+            if (body == null) {
+                response.append("\r\n");
+            } else {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                response.append("Content-Type: application/json\r\nContent-Length: ").append(bytes.length)
+                        .append("\r\n\r\n").append(body);
+            }
+            write(response.toString());
+        }
+
+        void respondChunked(String body) {
+            int half = body.length() / 2;
+            List<String> chunks = new ArrayList<>(List.of(body.substring(0, half), body.substring(half)));
+            StringBuilder response = new StringBuilder("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n");
+            for (String chunk : chunks) {
+                response.append(Integer.toHexString(chunk.getBytes(StandardCharsets.UTF_8).length))
+                        .append("\r\n").append(chunk).append("\r\n");
+            }
+            write(response.append("0\r\n\r\n").toString());
+        }
+
+        void exit() {
+            try {
+                toClient.close();
+                fromClient.close();
+            } catch (IOException e) {
+                // Already closed.
+            }
+        }
+
+        private void write(String response) {
+            try {
+                toClient.write(response.getBytes(StandardCharsets.UTF_8));
+                toClient.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void readRequests() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(fromClient, StandardCharsets.UTF_8))) {
+                String requestLine;
+                while ((requestLine = reader.readLine()) != null) {
+                    requests.add(requestLine);
+                    String header;
+                    while ((header = reader.readLine()) != null && !header.isEmpty()) {
+                        // Headers are not inspected by the stand-in.
+                    }
+                }
+            } catch (IOException e) {
+                // Client closed the connection.
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package me.criseda.autostopper.docker;
+
+import me.criseda.autostopper.executor.AutoStopperExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class DockerCircuitBreakerTest {
+    private static final DockerCircuitBreaker.Policy FAST =
+            new DockerCircuitBreaker.Policy(2, Duration.ofMillis(10), Duration.ofMillis(40));
+
+    @Mock
+    private Logger logger;
+
+    private final AutoStopperExecutor probes = new AutoStopperExecutor(1, 1);
+
+    @AfterEach
+    void shutdownProbes() {
+        probes.shutdown();
+    }
+
+    @Test
+    void opensOnlyAfterConsecutiveDaemonFailures() {
+        DockerCircuitBreaker breaker = breaker(() -> DockerDiagnostic.DAEMON_UNAVAILABLE);
+
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        breaker.record(DockerDiagnostic.CONTAINER_MISSING);
+        breaker.record(DockerDiagnostic.TIMED_OUT);
+        breaker.record(DockerDiagnostic.CLI_MISSING);
+        assertFalse(breaker.openStatus().isPresent());
+
+        breaker.record(DockerDiagnostic.PERMISSION_DENIED);
+        DockerCircuitStatus open = breaker.openStatus().orElseThrow();
+        assertEquals(DockerDiagnostic.PERMISSION_DENIED, open.cause());
+        ContainerInspection rejection = DockerCircuitBreaker.rejection(open);
+        assertEquals(ContainerStatus.INACCESSIBLE, rejection.status());
+        assertEquals(DockerDiagnostic.PERMISSION_DENIED, rejection.diagnostic());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void singleProbeBacksOffUntilDaemonRecovers() throws InterruptedException {
+        ConcurrentLinkedQueue<DockerDiagnostic> results = new ConcurrentLinkedQueue<>(List.of(
+                DockerDiagnostic.DAEMON_UNAVAILABLE, DockerDiagnostic.TIMED_OUT, DockerDiagnostic.HEALTHY));
+        AtomicInteger probeCount = new AtomicInteger();
+        DockerCircuitBreaker breaker = breaker(() -> {
+            probeCount.incrementAndGet();
+            return results.poll();
+        });
+
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        assertTrue(breaker.openStatus().isPresent());
+
+        while (breaker.openStatus().isPresent()) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, probeCount.get());
+
+        Thread.sleep(100);
+        assertEquals(3, probeCount.get(), "no probe may run once the breaker is closed");
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void failedProbesAreCountedOnTheOpenStatus() throws InterruptedException {
+        DockerCircuitBreaker breaker = breaker(() -> DockerDiagnostic.TIMED_OUT);
+
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        while (breaker.openStatus().orElseThrow().failedProbes() < 2) {
+            Thread.sleep(5);
+        }
+
+        DockerCircuitStatus open = breaker.openStatus().orElseThrow();
+        assertEquals(DockerDiagnostic.TIMED_OUT, open.cause());
+        assertTrue(open.nextProbeAt().isAfter(open.openedAt()));
+
+        breaker.recordSuccess();
+        assertFalse(breaker.openStatus().isPresent());
+    }
+
+    @Test
+    void pendingProbeStopsWithTheExecutor() throws InterruptedException {
+        AtomicInteger probeCount = new AtomicInteger();
+        DockerCircuitBreaker breaker = breaker(() -> {
+            probeCount.incrementAndGet();
+            return DockerDiagnostic.DAEMON_UNAVAILABLE;
+        });
+
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        breaker.record(DockerDiagnostic.DAEMON_UNAVAILABLE);
+        probes.shutdown();
+        int probesAtShutdown = probeCount.get();
+        Thread.sleep(100);
+
+        assertEquals(probesAtShutdown, probeCount.get(), "no probe may outlive the plugin executor");
+        assertTrue(breaker.openStatus().isPresent());
+    }
+
+    private DockerCircuitBreaker breaker(Supplier<DockerDiagnostic> probe) {
+        return new DockerCircuitBreaker(logger, probe, FAST, probes, Clock.systemUTC());
+    }
+}
@@ -4,20 +4,32 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.telemetry.LifecycleTelemetryService;
+import me.criseda.autostopper.telemetry.TelemetryOperationType;
+import me.criseda.autostopper.telemetry.TelemetryOutcome;
+import me.criseda.autostopper.telemetry.TelemetrySnapshot;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 
 @ExtendWith(MockitoExtension.class)
 public class DockerManagerTest {
@@ -26,12 +38,19 @@ public class DockerManagerTest {
     private Logger logger;
 
     private FakeCommandRunner commandRunner;
+    private AutoStopperExecutor executor;
     private DockerManager dockerManager;
 
     @BeforeEach
     public void setup() {
         commandRunner = new FakeCommandRunner();
-        dockerManager = new DockerManager(logger, commandRunner);
+        executor = new AutoStopperExecutor(1, 2);
+        dockerManager = new DockerManager(logger, commandRunner, executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
     }
 
     @Test
@@ -263,6 +282,279 @@ public class DockerManagerTest {
                 dockerManager.getContainerHealth("test-container", Duration.ofSeconds(1)));
     }
 
+    @Test
+    public void testInspectResultIsReusedUntilStopInvalidatesIt() {
+        DockerManager reusing = new DockerManager(logger, commandRunner, executor, Duration.ofSeconds(30),
+                new LifecycleTelemetryService(logger));
+        commandRunner.stage("inspect", completed(0, "true", ""));
+        commandRunner.stage("stop", completed(0, "", ""));
+        commandRunner.stage("inspect", completed(0, "false", ""));
+
+        assertEquals(ContainerStatus.RUNNING, reusing.getContainerStatus("test-container"));
+        assertEquals(ContainerStatus.RUNNING, reusing.getContainerStatus("test-container"));
+        assertEquals(ContainerStatus.STOPPED, reusing.stopContainer("test-container"));
+        assertEquals(ContainerStatus.STOPPED, reusing.getContainerStatus("test-container"));
+        assertEquals(3, commandRunner.commands.size());
+    }
+
+    @Test
+    public void testOpenCircuitFailsFastWithoutIssuingCommands() {
+        DockerManager guarded = new DockerManager(logger, commandRunner, executor, Duration.ofSeconds(10),
+                Duration.ZERO, new LifecycleTelemetryService(logger),
+                new DockerCircuitBreaker.Policy(3, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        commandRunner.stage("inspect", completed(1, "", "Cannot connect to the Docker daemon"));
+        commandRunner.stage("inspect", new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", ""));
+        commandRunner.stage("inspect", completed(1, "", "Cannot connect to the Docker daemon"));
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            guarded.inspectContainer("test-container");
+        }
+        assertTrue(guarded.openCircuit().isPresent());
+
+        ContainerInspection rejected = guarded.inspectContainer("test-container");
+        assertEquals(ContainerStatus.INACCESSIBLE, rejected.status());
+        assertEquals(DockerDiagnostic.DAEMON_UNAVAILABLE, rejected.diagnostic());
+        assertEquals(ContainerStatus.INACCESSIBLE, guarded.startContainer("test-container"));
+        assertEquals(ContainerStatus.INACCESSIBLE, guarded.stopContainer("test-container"));
+        assertEquals(ContainerHealth.INACCESSIBLE,
+                guarded.getContainerHealth("test-container", Duration.ofSeconds(1)));
+        assertEquals(3, commandRunner.commands.size());
+    }
+
+    @Test
+    public void testTimeoutsOfCallerShortenedBudgetsDoNotOpenCircuit() {
+        DockerManager guarded = new DockerManager(logger, commandRunner, executor, Duration.ofSeconds(10),
+                Duration.ZERO, new LifecycleTelemetryService(logger),
+                new DockerCircuitBreaker.Policy(3, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        for (int attempt = 0; attempt < 3; attempt++) {
+            commandRunner.stage("inspect", new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", ""));
+            commandRunner.stage("inspect", new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", ""));
+            assertEquals(ContainerHealth.TIMED_OUT,
+                    guarded.getContainerHealth("test-container", Duration.ofSeconds(1)));
+            assertEquals(ContainerStatus.TIMED_OUT,
+                    guarded.getContainerStatus("test-container", Duration.ofSeconds(1)));
+        }
+        assertTrue(guarded.openCircuit().isEmpty());
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            commandRunner.stage("inspect", new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", ""));
+            guarded.getContainerHealth("test-container", Duration.ofSeconds(30));
+        }
+        assertTrue(guarded.openCircuit().isPresent(), "timeouts with the full command timeout still count");
+    }
+
+    @Test
+    public void testDeadlineBoundedStartTimeoutsDoNotOpenCircuit() {
+        DockerManager guarded = new DockerManager(logger, commandRunner, executor, Duration.ofSeconds(10),
+                Duration.ZERO, new LifecycleTelemetryService(logger),
+                new DockerCircuitBreaker.Policy(3, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        for (int attempt = 0; attempt < 3; attempt++) {
+            commandRunner.stage("inspect", new CommandOutput(CommandOutput.Outcome.TIMED_OUT, -1, "", ""));
+            assertEquals(ContainerStatus.TIMED_OUT,
+                    guarded.startContainer("test-container", Duration.ofMillis(500)));
+        }
+
+        assertTrue(guarded.openCircuit().isEmpty(), "a wake deadline cut the status checks short");
+        assertEquals(Duration.ofMillis(500), commandRunner.lastTimeout);
+    }
+
+    @Test
+    public void testLostDockerConnectionFailsWithoutOpeningCircuit() {
+        DockerManager guarded = new DockerManager(logger, commandRunner, executor, Duration.ofSeconds(10),
+                Duration.ZERO, new LifecycleTelemetryService(logger),
+                new DockerCircuitBreaker.Policy(3, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        CommandOutput lost = new CommandOutput(CommandOutput.Outcome.TRANSPORT_FAILED, -1, "",
+                "Docker connection lost: docker system dial-stdio exited");
+        for (int attempt = 0; attempt < 3; attempt++) {
+            commandRunner.stage("inspect", completed(0, "false", ""));
+            commandRunner.stage("start", lost);
+            assertEquals(ContainerStatus.FAILED, guarded.startContainer("test-container"));
+            commandRunner.stage("inspect", lost);
+            assertEquals(ContainerStatus.FAILED, guarded.getContainerStatus("test-container"));
+        }
+
+        assertTrue(guarded.openCircuit().isEmpty(), "a lost connection is not an unreachable daemon");
+    }
+
+    @Test
+    public void testCheckpointReplacesPreviousCheckpointAndRecordsSize(@TempDir Path checkpoints) throws IOException {
+        LifecycleTelemetryService telemetry = new LifecycleTelemetryService(logger);
+        DockerManager sleeping = new DockerManager(logger, commandRunner, executor, Duration.ZERO, telemetry);
+        Path stored = Files.createDirectories(checkpoints.resolve("test-container").resolve("autostopper"));
+        Files.write(stored.resolve("pages-1.img"), new byte[4096]);
+        Files.write(stored.resolve("core-1.img"), new byte[512]);
+        commandRunner.stage("checkpoint", completed(1, "", "checkpoint autostopper does not exist"));
+        commandRunner.stage("checkpoint", completed(0, "autostopper", ""));
+
+        assertEquals(ContainerStatus.STOPPED, sleeping.checkpointContainer("test-container",
+                Optional.of(checkpoints.toString()), Duration.ofMinutes(2)));
+
+        String directory = checkpoints.resolve("test-container").toString();
+        assertEquals(List.of("docker", "checkpoint", "rm", "--checkpoint-dir", directory,
+                "test-container", "autostopper"), commandRunner.commands.get(0));
+        assertEquals(List.of("docker", "checkpoint", "create", "--checkpoint-dir", directory,
+                "test-container", "autostopper"), commandRunner.commands.get(1));
+        assertEquals(Duration.ofMinutes(2), commandRunner.lastTimeout);
+        TelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(4608L, snapshot.checkpointBytes("test-container").orElseThrow());
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.CHECKPOINT_CREATE, TelemetryOutcome.CHECKPOINTED));
+    }
+
+    @Test
+    public void testRestoreStartsFromCheckpointAndReportsFailure() {
+        LifecycleTelemetryService telemetry = new LifecycleTelemetryService(logger);
+        DockerManager sleeping = new DockerManager(logger, commandRunner, executor, Duration.ZERO, telemetry);
+        commandRunner.stage("start", completed(0, "test-container", ""));
+        commandRunner.stage("start", completed(1, "", "Error response from daemon: criu failed: type NOTIFY"));
+
+        assertEquals(ContainerStatus.RUNNING,
+                sleeping.restoreContainer("test-container", Optional.empty(), Duration.ofSeconds(30)));
+        assertEquals(List.of("docker", "start", "--checkpoint", "autostopper", "test-container"),
+                commandRunner.commands.get(0));
+        assertEquals(ContainerStatus.FAILED,
+                sleeping.restoreContainer("test-container", Optional.empty(), Duration.ofSeconds(30)));
+
+        TelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.CHECKPOINT_RESTORE, TelemetryOutcome.RESTORED));
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.CHECKPOINT_RESTORE,
+                TelemetryOutcome.RESTORE_FAILED));
+        assertTrue(snapshot.checkpointBytes("test-container").isEmpty());
+    }
+
+    @Test
+    public void testContainerMemoryUsageParsesDockerStatsUnits() {
+        commandRunner.stage("stats", completed(0,
+                "survival\t1.5GiB / 7.7GiB\ncreative\t512MiB / 7.7GiB\nlobby\t200MB / 1GB\nbroken\t--\n", ""));
+
+        Map<String, Long> usage = dockerManager.containerMemoryUsage(
+                List.of("survival", "creative", "lobby", "broken"));
+
+        assertEquals(Map.of("survival", 1_610_612_736L, "creative", 536_870_912L, "lobby", 200_000_000L), usage);
+        assertEquals(List.of("docker", "stats", "--no-stream", "--format", DockerManager.STATS_TEMPLATE,
+                "survival", "creative", "lobby", "broken"), commandRunner.commands.get(0));
+
+        commandRunner.stage("stats", completed(1, "", "Cannot connect to the Docker daemon"));
+        assertEquals(Map.of(), dockerManager.containerMemoryUsage(List.of("survival")));
+    }
+
+    @Test
+    public void testContainerMemoryUsageSamplesOnlyMappedContainers() {
+        assertEquals(Map.of(), dockerManager.containerMemoryUsage(List.of()));
+        assertTrue(commandRunner.commands.isEmpty(), "no names must not fall back to every container on the host");
+
+        commandRunner.stage("stats", completed(1, "", "Error response from daemon: No such container: gone"));
+        commandRunner.stage("stats", completed(0, "survival\t1GiB / 8GiB\n", ""));
+
+        assertEquals(Map.of("survival", 1L << 30), dockerManager.containerMemoryUsage(List.of("survival", "gone")));
+        assertEquals(List.of("docker", "stats", "--no-stream", "--format", DockerManager.STATS_TEMPLATE, "survival"),
+                commandRunner.commands.get(1));
+        assertEquals(DockerManager.LISTING_OUTPUT_LIMIT, commandRunner.lastOutputLimit);
+    }
+
+    @Test
+    public void testTruncatedMemorySampleIsDiscarded() {
+        commandRunner.stage("stats", new CommandOutput(CommandOutput.Outcome.COMPLETED, 0,
+                "survival\t1GiB / 8GiB\n[output truncated]", "", true));
+
+        assertEquals(Map.of(), dockerManager.containerMemoryUsage(List.of("survival", "creative")));
+    }
+
+    @Test
+    public void testListLabeledContainersReadsEveryLabelInOneCall() {
+        commandRunner.stage("ps", completed(0,
+                "bedwars-1\tbedwars-1\t3\nbedwars-2,lobby/link\tbedwars-2\t\n", ""));
+
+        Optional<Map<String, Map<String, String>>> containers = dockerManager.listLabeledContainers(
+                "autostopper.server", List.of("autostopper.server", "autostopper.memory_cost"));
+
+        assertEquals(Map.of(
+                "bedwars-1", Map.of("autostopper.server", "bedwars-1", "autostopper.memory_cost", "3"),
+                "bedwars-2", Map.of("autostopper.server", "bedwars-2")), containers.orElseThrow());
+        assertEquals(List.of("docker", "ps", "--all", "--no-trunc", "--filter", "label=autostopper.server",
+                        "--format", "{{.Names}}\t{{.Label \"autostopper.server\"}}"
+                                + "\t{{.Label \"autostopper.memory_cost\"}}"),
+                commandRunner.commands.get(0));
+
+        commandRunner.stage("ps", completed(1, "", "Cannot connect to the Docker daemon"));
+        assertTrue(dockerManager.listLabeledContainers("autostopper.server", List.of()).isEmpty(),
+                "a failed listing must not look like every container disappeared");
+    }
+
+    @Test
+    public void testInspectContainerAsyncWaitsOnTheRunnerWithoutBlocking() {
+        CompletableFuture<CommandOutput> pending = new CompletableFuture<>();
+        DockerManager async = new DockerManager(logger, new CommandRunner() {
+            @Override
+            public CommandOutput run(List<String> command, Duration timeout) {
+                throw new AssertionError("blocking run used for " + command);
+            }
+
+            @Override
+            public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout) {
+                return pending;
+            }
+        }, executor);
+
+        CompletableFuture<ContainerStatus> status = async.getContainerStatusAsync("test-container");
+
+        assertFalse(status.isDone());
+        pending.complete(completed(0, "true", ""));
+        assertEquals(ContainerStatus.RUNNING, status.join());
+    }
+
+    @Test
+    public void testLostCommandOutputIsReportedAsAFailedCheck() {
+        DockerManager async = new DockerManager(logger, new CommandRunner() {
+            @Override
+            public CommandOutput run(List<String> command, Duration timeout) {
+                throw new AssertionError("blocking run used for " + command);
+            }
+
+            @Override
+            public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Command output reader failed"));
+            }
+        }, executor);
+
+        ContainerInspection inspection = async.inspectContainer("test-container");
+
+        assertEquals(ContainerStatus.FAILED, inspection.status());
+        assertEquals(DockerDiagnostic.INDETERMINATE, inspection.diagnostic());
+        assertTrue(async.openCircuit().isEmpty());
+        assertEquals(ContainerStatus.FAILED, async.startContainer("test-container"));
+    }
+
+    @Test
+    public void testListLabeledContainersReadsListingsPastTheDefaultOutputCap() {
+        StringBuilder listing = new StringBuilder();
+        for (int index = 0; index < 300; index++) {
+            listing.append("bedwars-").append(index).append("\tbedwars-").append(index).append('\n');
+        }
+        assertTrue(listing.length() > 4096);
+        commandRunner.stage("ps", completed(0, listing.toString(), ""));
+
+        Map<String, Map<String, String>> containers = dockerManager.listLabeledContainers(
+                "autostopper.server", List.of("autostopper.server")).orElseThrow();
+
+        assertEquals(300, containers.size());
+        assertEquals(Map.of("autostopper.server", "bedwars-299"), containers.get("bedwars-299"));
+        assertEquals(DockerManager.LISTING_OUTPUT_LIMIT, commandRunner.lastOutputLimit);
+    }
+
+    @Test
+    public void testTruncatedListingFailsInsteadOfLookingPartial() {
+        StringBuilder listing = new StringBuilder();
+        for (int index = 0; index < 300; index++) {
+            listing.append("bedwars-").append(index).append('\n');
+        }
+        commandRunner.stage("ps", new CommandOutput(CommandOutput.Outcome.COMPLETED, 0,
+                listing + "[output truncated]", "", true));
+
+        assertTrue(dockerManager.listLabeledContainers("autostopper.server", List.of()).isEmpty(),
+                "containers past the cut must not look removed");
+        assertTrue(dockerManager.openCircuit().isEmpty());
+    }
+
     private void assertOnlyInspectIssued() {
         assertEquals(1, commandRunner.commands.size());
         assertEquals("inspect", commandRunner.commands.get(0).get(1));
@@ -276,6 +568,7 @@ public class DockerManagerTest {
         private final Map<String, Queue<CommandOutput>> responses = new LinkedHashMap<>();
         private final List<List<String>> commands = new ArrayList<>();
         private Duration lastTimeout;
+        private int lastOutputLimit;
 
         void stage(String command, CommandOutput output) {
             responses.computeIfAbsent(command, k -> new LinkedList<>()).add(output);
@@ -291,5 +584,11 @@ public class DockerManagerTest {
             }
             return queue.poll();
         }
+
+        @Override
+        public CompletableFuture<CommandOutput> runAsync(List<String> command, Duration timeout, int maxOutputBytes) {
+            lastOutputLimit = maxOutputBytes;
+            return runAsync(command, timeout);
+        }
     }
 }
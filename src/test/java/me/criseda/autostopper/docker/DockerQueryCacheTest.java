@@ -0,0 +1,207 @@
+package me.criseda.autostopper.docker;
+
+import me.criseda.autostopper.telemetry.LifecycleTelemetry;
+import me.criseda.autostopper.telemetry.LifecycleTelemetryService;
+import me.criseda.autostopper.telemetry.TelemetryOperationType;
+import me.criseda.autostopper.telemetry.TelemetryOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DockerQueryCacheTest {
+    @Mock
+    private Logger logger;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger commands = new AtomicInteger();
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void concurrentQueriesShareTheCommandInFlight() throws Exception {
+        LifecycleTelemetryService telemetry = new LifecycleTelemetryService(logger, nanos::get);
+        DockerQueryCache cache = new DockerQueryCache(Duration.ZERO, telemetry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() ->
+                cache.query(DockerQueryCache.Query.STATUS, "lobby", () -> {
+                    commands.incrementAndGet();
+                    running.countDown();
+                    await(release);
+                    return "running";
+                }));
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        AtomicReference<String> joined = new AtomicReference<>();
+        Thread joiner = new Thread(() -> joined.set(cache.query(DockerQueryCache.Query.STATUS, "lobby", this::count)));
+        joiner.start();
+        while (joiner.getState() != Thread.State.WAITING && joiner.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        joiner.join();
+
+        assertEquals("running", owner.join());
+        assertEquals("running", joined.get());
+        assertEquals(1, commands.get());
+        assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.DOCKER_QUERY, TelemetryOutcome.QUERY_SHARED));
+        assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.DOCKER_QUERY, TelemetryOutcome.QUERY_EXECUTED));
+
+        assertEquals("fresh", cache.query(DockerQueryCache.Query.STATUS, "lobby", this::count));
+        assertEquals(2, commands.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void boundedJoinerStopsWaitingAtItsOwnTimeoutWithoutFailingTheSharedCommand() throws Exception {
+        DockerQueryCache cache = new DockerQueryCache(Duration.ZERO, new LifecycleTelemetryService(logger, nanos::get));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() ->
+                cache.query(DockerQueryCache.Query.STATUS, "lobby", Duration.ofSeconds(10), budget -> {
+                    running.countDown();
+                    await(release);
+                    return "running";
+                }, "timed out"::equals, () -> "timed out"));
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+
+        assertEquals("timed out", cache.query(DockerQueryCache.Query.STATUS, "lobby", Duration.ofMillis(50),
+                budget -> count(), "timed out"::equals, () -> "timed out"));
+        release.countDown();
+
+        assertEquals("running", owner.join());
+        assertEquals(0, commands.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void timedOutResultIsNotSharedWithCallerThatHadALongerBudget() throws Exception {
+        DockerQueryCache cache = new DockerQueryCache(Duration.ofSeconds(1),
+                new LifecycleTelemetryService(logger, nanos::get));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() ->
+                cache.query(DockerQueryCache.Query.HEALTH, "lobby", Duration.ofMillis(100), budget -> {
+                    running.countDown();
+                    await(release);
+                    return "timed out";
+                }, "timed out"::equals, () -> "timed out"));
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        AtomicReference<String> joined = new AtomicReference<>();
+        Thread joiner = new Thread(() -> joined.set(cache.query(DockerQueryCache.Query.HEALTH, "lobby",
+                Duration.ofSeconds(3), budget -> count(), "timed out"::equals, () -> "timed out")));
+        joiner.start();
+        while (joiner.getState() != Thread.State.TIMED_WAITING && joiner.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        joiner.join();
+
+        assertEquals("timed out", owner.join());
+        assertEquals("fresh", joined.get(), "the longer budget runs the query again instead of sharing the timeout");
+        assertEquals(1, commands.get());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void asyncQueriesShareThePendingCommandWithoutBlocking() {
+        LifecycleTelemetryService telemetry = new LifecycleTelemetryService(logger, nanos::get);
+        DockerQueryCache cache = new DockerQueryCache(Duration.ZERO, telemetry);
+        CompletableFuture<String> command = new CompletableFuture<>();
+
+        CompletableFuture<String> owner = cache.queryAsync(DockerQueryCache.Query.STATUS, "lobby",
+                Duration.ofSeconds(10), budget -> {
+                    commands.incrementAndGet();
+                    return command;
+                }, "timed out"::equals, () -> "timed out");
+        CompletableFuture<String> joined = cache.queryAsync(DockerQueryCache.Query.STATUS, "lobby",
+                Duration.ofSeconds(10), budget -> CompletableFuture.completedFuture(count()),
+                "timed out"::equals, () -> "timed out");
+
+        assertFalse(owner.isDone());
+        assertFalse(joined.isDone());
+        command.complete("running");
+        assertEquals("running", owner.join());
+        assertEquals("running", joined.join());
+        assertEquals(1, commands.get());
+        assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.DOCKER_QUERY, TelemetryOutcome.QUERY_SHARED));
+    }
+
+    @Test
+    void completedResultIsReusedWithinWindowUntilInvalidated() {
+        DockerQueryCache cache = new DockerQueryCache(Duration.ofMillis(250),
+                new LifecycleTelemetryService(logger, nanos::get));
+
+        cache.query(DockerQueryCache.Query.HEALTH, "lobby", this::count);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        cache.query(DockerQueryCache.Query.HEALTH, "lobby", this::count);
+        cache.query(DockerQueryCache.Query.STATUS, "lobby", this::count);
+        assertEquals(2, commands.get());
+
+        cache.invalidate("lobby");
+        cache.query(DockerQueryCache.Query.HEALTH, "lobby", this::count);
+        assertEquals(3, commands.get());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        cache.query(DockerQueryCache.Query.HEALTH, "lobby", this::count);
+        assertEquals(4, commands.get());
+    }
+
+    @Test
+    void queriesAreRecordedUnderTheOwningServerName() {
+        LifecycleTelemetry telemetry = mock(LifecycleTelemetry.class);
+        DockerQueryCache cache = new DockerQueryCache(Duration.ZERO, telemetry,
+                containerName -> containerName.equals("mc-lobby-1") ? "lobby" : containerName);
+
+        cache.query(DockerQueryCache.Query.STATUS, "mc-lobby-1", this::count);
+
+        verify(telemetry).recordStage(eq(TelemetryOperationType.DOCKER_QUERY), eq("lobby"),
+                eq(TelemetryOutcome.QUERY_EXECUTED), any());
+        verify(telemetry, never()).recordStage(any(), eq("mc-lobby-1"), any(), any());
+    }
+
+    @Test
+    void failedQueryIsNotCached() {
+        DockerQueryCache cache = new DockerQueryCache(Duration.ofSeconds(1),
+                new LifecycleTelemetryService(logger, nanos::get));
+
+        assertThrows(IllegalStateException.class, () -> cache.query(DockerQueryCache.Query.STATUS, "lobby", () -> {
+            throw new IllegalStateException("docker unavailable");
+        }));
+        assertEquals("fresh", cache.query(DockerQueryCache.Query.STATUS, "lobby", this::count));
+    }
+
+    private String count() {
+        commands.incrementAndGet();
+        return "fresh";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
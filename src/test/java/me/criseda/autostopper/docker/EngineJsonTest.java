@@ -0,0 +1,58 @@
+package me.criseda.autostopper.docker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EngineJsonTest {
+
+    @Test
+    void readsNestedEngineApiDocuments() {
+        Map<?, ?> document = EngineJson.parseObject("{\"Id\":\"abc\",\"Path\":\"\\/start.sh\",\"Pid\":4242,"
+                + "\"State\":{\"Running\":true,\"ExitCode\":0,\"Health\":{\"Status\":\"healthy\",\"Log\":[]}},"
+                + "\"Args\":[\"-Xmx2G\",\"nogui\"],\"Platform\":null,\"Ratio\":1.5e0}");
+
+        assertEquals("/start.sh", document.get("Path"));
+        assertEquals(4242L, document.get("Pid"));
+        Map<?, ?> state = (Map<?, ?>) document.get("State");
+        assertEquals(Boolean.TRUE, state.get("Running"));
+        assertEquals("healthy", ((Map<?, ?>) state.get("Health")).get("Status"));
+        assertEquals(List.of("-Xmx2G", "nogui"), document.get("Args"));
+        assertTrue(document.containsKey("Platform"));
+        assertNull(document.get("Platform"));
+        assertEquals(1.5, document.get("Ratio"));
+    }
+
+    @Test
+    void decodesStringEscapes() {
+        Map<?, ?> document = EngineJson.parseObject("{\"message\":\"line\\none \\\"quoted\\\" \\u00e9\\t\"}");
+
+        assertEquals("line\none \"quoted\" é\t", document.get("message"));
+    }
+
+    @Test
+    void nonObjectDocumentYieldsAnEmptyMap() {
+        assertEquals(Map.of(), EngineJson.parseObject("[1, 2]"));
+    }
+
+    @Test
+    void rejectsMalformedOrYamlOnlyInput() {
+        for (String malformed : List.of("{\"a\":", "{\"a\":1}}", "{a: 1}", "{\"a\":'x'}", "{\"a\":tru}", "")) {
+            assertThrows(EngineJson.MalformedJsonException.class, () -> EngineJson.parseObject(malformed),
+                    malformed);
+        }
+    }
+
+    @Test
+    void rejectsExcessiveNesting() {
+        String deep = "[".repeat(200) + "]".repeat(200);
+
+        assertThrows(EngineJson.MalformedJsonException.class, () -> EngineJson.parse(deep));
+    }
+}
@@ -6,11 +6,17 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 public class AutoStopperExecutorTest {
 
@@ -107,6 +113,130 @@ public class AutoStopperExecutorTest {
         }
     }
 
+    @Test
+    public void testKeyedTasksRunInSubmissionOrderOneAtATime() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(4, 64);
+        try {
+            AtomicInteger concurrent = new AtomicInteger();
+            AtomicInteger maxConcurrent = new AtomicInteger();
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                int index = i;
+                futures.add(executor.supply("survival", () -> {
+                    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    order.add(index);
+                    concurrent.decrementAndGet();
+                    return index;
+                }));
+            }
+
+            futures.forEach(CompletableFuture::join);
+            assertEquals(IntStream.range(0, 50).boxed().toList(), order);
+            assertEquals(1, maxConcurrent.get(), "one key must never run two tasks at once");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (executor.laneCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, executor.laneCount(), "a drained lane must not be retained");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSlowKeyDoesNotDelayOtherKeys() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(2, 8);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> slow = executor.supply("slow", () -> {
+                slowStarted.countDown();
+                try {
+                    releaseSlow.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            });
+            CompletableFuture<String> behindSlow = executor.supply("slow", () -> "behind");
+            assertTrue(slowStarted.await(2, TimeUnit.SECONDS));
+
+            assertEquals("fast", executor.supply("fast", () -> "fast").get(2, TimeUnit.SECONDS));
+            assertFalse(behindSlow.isDone(), "a key's later task must wait for its earlier one");
+
+            releaseSlow.countDown();
+            assertEquals("slow", slow.join());
+            assertEquals("behind", behindSlow.join());
+        } catch (java.util.concurrent.ExecutionException | java.util.concurrent.TimeoutException e) {
+            fail("fast key was delayed by the slow key: " + e);
+        } finally {
+            releaseSlow.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBusyLaneYieldsItsWorkerWhileTheSharedQueueIsFull() throws Exception {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            executor.supply("lane", blockUntil(started, release));
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            CompletableFuture<String> laneTask = executor.supply("lane", () -> {
+                order.add("lane");
+                return "lane";
+            });
+            CompletableFuture<String> sharedTask = executor.supply(() -> {
+                order.add("shared");
+                return "shared";
+            });
+
+            release.countDown();
+
+            assertEquals("lane", laneTask.get(2, TimeUnit.SECONDS));
+            assertEquals("shared", sharedTask.get(2, TimeUnit.SECONDS));
+            assertEquals(List.of("shared", "lane"), order, "the full shared queue is drained before the lane resumes");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testKeyedSaturationAndCancellationFreeLaneCapacity() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        CountDownLatch workerStarted = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        try {
+            executor.supply("survival", () -> {
+                workerStarted.countDown();
+                try {
+                    releaseWorker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "running";
+            });
+            assertTrue(workerStarted.await(2, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = executor.supply("survival", () -> "queued");
+
+            CompletableFuture<String> rejected = executor.supply("survival", () -> "too many");
+            assertCompletesWith(rejected, AutoStopperExecutor.SaturationException.class, null);
+
+            assertTrue(queued.cancel(false));
+            CompletableFuture<String> replacement = executor.supply("survival", () -> "replacement");
+            assertFalse(replacement.isCompletedExceptionally(), "cancelled task should leave lane capacity");
+            releaseWorker.countDown();
+            assertEquals("replacement", replacement.join());
+        } finally {
+            releaseWorker.countDown();
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testSaturationFailsPredictably() throws InterruptedException {
         AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
@@ -138,6 +268,84 @@ public class AutoStopperExecutorTest {
         }
     }
 
+    @Test
+    public void testPoolGrowsToMaximumBeforeSaturating() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 2, 1, Duration.ofSeconds(10));
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            CountDownLatch firstStarted = new CountDownLatch(1);
+            executor.supply(blockUntil(firstStarted, blocked));
+            assertTrue(firstStarted.await(2, TimeUnit.SECONDS));
+            // Fills the single queue slot behind the busy core worker.
+            CompletableFuture<String> queued = executor.supply(() -> "queued");
+
+            // A full queue below the maximum starts an extra worker instead of refusing work.
+            CountDownLatch extraStarted = new CountDownLatch(1);
+            CompletableFuture<String> extra = executor.supply(blockUntil(extraStarted, blocked));
+            assertTrue(extraStarted.await(2, TimeUnit.SECONDS));
+            ExecutorStats stats = executor.stats();
+            assertEquals(2, stats.liveWorkers());
+            assertEquals(2, stats.activeWorkers());
+            assertEquals(1, stats.queueDepth());
+
+            assertCompletesWith(executor.supply(() -> "too many"), AutoStopperExecutor.SaturationException.class, null);
+
+            blocked.countDown();
+            assertEquals("queued", queued.join());
+            assertEquals("blocked", extra.join());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testControllerAddsWorkerWhenWorkQueuesBehindBusyPool() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 4, 8, Duration.ofSeconds(10), clock::get);
+        List<ExecutorStats> published = new CopyOnWriteArrayList<>();
+        CountDownLatch publishedOnce = new CountDownLatch(1);
+        executor.configureStatsListener(stats -> {
+            published.add(stats);
+            publishedOnce.countDown();
+        });
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            executor.supply(blockUntil(started, blocked));
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = executor.supply(() -> "queued");
+
+            // One worker was busy for the whole two-second window while a task waited behind it.
+            clock.addAndGet(Duration.ofSeconds(2).toNanos());
+            blocked.countDown();
+            assertEquals("queued", queued.join());
+            assertTrue(publishedOnce.await(2, TimeUnit.SECONDS));
+
+            assertEquals(1, published.size(), "control runs at most once per interval");
+            ExecutorStats stats = published.get(0);
+            assertEquals(2, stats.targetWorkers());
+            assertEquals(1, stats.minWorkers());
+            assertEquals(4, stats.maxWorkers());
+            assertEquals(Duration.ZERO, stats.waitP95());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNextWorkerCountStaysWithinBounds() {
+        long target = Duration.ofMillis(250).toNanos();
+        long slow = Duration.ofSeconds(1).toNanos();
+
+        assertEquals(3, AutoStopperExecutor.nextWorkerCount(2, 2, 8, 1.0, slow, target, 0));
+        assertEquals(5, AutoStopperExecutor.nextWorkerCount(2, 2, 8, 4.0, slow, target, 5));
+        assertEquals(8, AutoStopperExecutor.nextWorkerCount(8, 2, 8, 8.0, slow, target, 5));
+        assertEquals(3, AutoStopperExecutor.nextWorkerCount(2, 2, 8, 2.0, 0, target, 1));
+        assertEquals(4, AutoStopperExecutor.nextWorkerCount(4, 2, 8, 3.0, 0, target, 0));
+        assertEquals(4, AutoStopperExecutor.nextWorkerCount(8, 2, 8, 0.5, 0, target, 0));
+        assertEquals(2, AutoStopperExecutor.nextWorkerCount(3, 2, 8, 0.0, 0, target, 0));
+    }
+
     @Test
     public void testShutdownTerminatesAndRejectsFurtherWork() {
         AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
@@ -230,6 +438,9 @@ public class AutoStopperExecutorTest {
     public void testInvalidConfigurationRejected() {
         assertThrows(IllegalArgumentException.class, () -> new AutoStopperExecutor(0, 1));
         assertThrows(IllegalArgumentException.class, () -> new AutoStopperExecutor(1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AutoStopperExecutor(2, 1, 1, Duration.ofMillis(250)));
+        assertThrows(IllegalArgumentException.class, () -> new AutoStopperExecutor(1, 1, 1, Duration.ZERO));
     }
 
     @Test
@@ -269,6 +480,119 @@ public class AutoStopperExecutorTest {
         }
     }
 
+    @Test
+    public void testRunAfterRunsOnWorkerOnceDelayPassed() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        try {
+            CountDownLatch ran = new CountDownLatch(1);
+            List<String> threads = new CopyOnWriteArrayList<>();
+            Instant start = Instant.now();
+            CompletableFuture<Void> timer = executor.runAfter(Duration.ofMillis(100), () -> {
+                threads.add(Thread.currentThread().getName());
+                ran.countDown();
+            });
+
+            assertTrue(ran.await(2, TimeUnit.SECONDS));
+            timer.join();
+            assertTrue(Duration.between(start, Instant.now()).toMillis() >= 100);
+            assertTrue(threads.get(0).startsWith("autostopper-worker-"), "ran on " + threads.get(0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancelledTimerNeverRuns() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        try {
+            AtomicInteger runs = new AtomicInteger();
+            CompletableFuture<Void> timer = executor.runAfter(Duration.ofMillis(100), runs::incrementAndGet);
+
+            assertTrue(timer.cancel(false));
+            Thread.sleep(300);
+            assertEquals(0, runs.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdownFailsPendingTimers() {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<Void> timer = executor.runAfter(Duration.ofMinutes(1), runs::incrementAndGet);
+
+        executor.shutdown();
+
+        assertCompletesWith(timer, AutoStopperExecutor.ShutdownException.class, "AutoStopper executor was shut down");
+        assertEquals(0, runs.get());
+        assertCompletesWith(executor.runAfter(Duration.ZERO, runs::incrementAndGet),
+                AutoStopperExecutor.ShutdownException.class, "AutoStopper executor is shut down");
+    }
+
+    @Test
+    public void testExecuteRunsCallbackOnTheCallerWhenPoolIsSaturated() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.supply(blockUntil(started, release));
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            executor.supply(() -> "queued");
+            CountDownLatch ran = new CountDownLatch(1);
+            List<String> threads = new CopyOnWriteArrayList<>();
+
+            executor.execute(() -> {
+                threads.add(Thread.currentThread().getName());
+                ran.countDown();
+            });
+
+            assertTrue(ran.await(2, TimeUnit.SECONDS), "a saturated pool must not drop the callback");
+            assertEquals(List.of(Thread.currentThread().getName()), threads);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimerDueWhilePoolIsSaturatedWaitsForAWorker() throws Exception {
+        AutoStopperExecutor executor = new AutoStopperExecutor(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.supply(blockUntil(started, release));
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            executor.supply(() -> "queued");
+            List<String> threads = new CopyOnWriteArrayList<>();
+
+            CompletableFuture<Void> timer = executor.runAfter(Duration.ZERO,
+                    () -> threads.add(Thread.currentThread().getName()));
+            Thread.sleep(AutoStopperExecutor.SATURATED_TIMER_RETRY.multipliedBy(3).toMillis());
+            assertFalse(timer.isDone(), "a saturated pool must hold the timer back rather than run it elsewhere");
+
+            release.countDown();
+            timer.get(2, TimeUnit.SECONDS);
+            assertEquals(1, threads.size());
+            assertTrue(threads.get(0).startsWith("autostopper-worker-"), "ran on " + threads.get(0));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static Supplier<String> blockUntil(CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "blocked";
+        };
+    }
+
     private static <T> void assertCompletesWith(CompletableFuture<T> future,
             Class<? extends Throwable> expectedType, String expectedMessage) {
         try {
@@ -0,0 +1,43 @@
+package me.criseda.autostopper.executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OperationDeadlineTest {
+
+    @Test
+    public void testUnboundedNeverExpiresAndKeepsStageTimeouts() {
+        OperationDeadline deadline = OperationDeadline.unbounded();
+
+        assertFalse(deadline.bounded());
+        assertFalse(deadline.expired());
+        assertEquals(Duration.ofSeconds(30), deadline.bound(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    public void testStagesShareTheRemainingBudget() {
+        AtomicLong clock = new AtomicLong(5_000_000_000L);
+        OperationDeadline deadline = OperationDeadline.after(Duration.ofSeconds(10), clock::get);
+
+        assertEquals(Duration.ofSeconds(3), deadline.bound(Duration.ofSeconds(3)));
+        clock.addAndGet(Duration.ofSeconds(8).toNanos());
+        assertEquals(Duration.ofSeconds(2), deadline.remaining());
+        assertEquals(Duration.ofSeconds(2), deadline.bound(Duration.ofSeconds(30)));
+        assertFalse(deadline.expired());
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertTrue(deadline.expired());
+        assertEquals(Duration.ZERO, deadline.remaining());
+        assertEquals(Duration.ofNanos(1), deadline.bound(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    public void testRejectsEmptyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> OperationDeadline.after(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> OperationDeadline.after(Duration.ofSeconds(-1)));
+    }
+}
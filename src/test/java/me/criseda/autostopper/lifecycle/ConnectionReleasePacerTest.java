@@ -0,0 +1,56 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.ConnectionReleaseSettings;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionReleasePacerTest {
+
+    @Test
+    void fixedPolicyKeepsTheConfiguredWaveSize() {
+        ConnectionReleasePacer pacer = new ConnectionReleasePacer(settings(5, false));
+
+        assertEquals(5, pacer.nextWaveSize(List.of()));
+        assertEquals(5, pacer.nextWaveSize(List.of(done(ConnectionOutcome.CONNECTED))));
+    }
+
+    @Test
+    void adaptivePolicyWidensWhileWavesConnectBeforeTheNextIsDue() {
+        ConnectionReleasePacer pacer = new ConnectionReleasePacer(settings(4, true));
+
+        assertEquals(4, pacer.nextWaveSize(List.of()));
+        assertEquals(8, pacer.nextWaveSize(List.of(done(ConnectionOutcome.CONNECTED),
+                done(ConnectionOutcome.PLAYER_DISCONNECTED))));
+        assertEquals(8, pacer.nextWaveSize(List.of(done(ConnectionOutcome.CONNECTED), new CompletableFuture<>())));
+        assertEquals(16, pacer.nextWaveSize(List.of(done(ConnectionOutcome.ALREADY_CONNECTED))));
+    }
+
+    @Test
+    void adaptivePolicyFallsBackToTheConfiguredSizeAfterAFailedConnection() {
+        ConnectionReleasePacer pacer = new ConnectionReleasePacer(settings(3, true));
+        pacer.nextWaveSize(List.of(done(ConnectionOutcome.CONNECTED)));
+
+        assertEquals(3, pacer.nextWaveSize(List.of(done(ConnectionOutcome.CONNECTED),
+                done(ConnectionOutcome.SERVER_DISCONNECTED))));
+    }
+
+    @Test
+    void allAtOncePolicyIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConnectionReleasePacer(ConnectionReleaseSettings.defaults()));
+    }
+
+    private static ConnectionReleaseSettings settings(int waveSize, boolean adaptive) {
+        return new ConnectionReleaseSettings(waveSize, Duration.ofSeconds(1), adaptive);
+    }
+
+    private static CompletableFuture<ConnectionOutcome> done(ConnectionOutcome outcome) {
+        return CompletableFuture.completedFuture(outcome);
+    }
+}
@@ -0,0 +1,144 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.ContainerDependency;
+import me.criseda.autostopper.config.ReadinessSettings;
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.docker.ContainerStatus;
+import me.criseda.autostopper.readiness.ReadinessResult;
+import me.criseda.autostopper.server.ServerManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyCoordinatorTest {
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private ServerManager serverManager;
+
+    private final ContainerDependency database = new ContainerDependency("db", "db-container", List.of());
+    private final ContainerDependency cache = new ContainerDependency("cache", "cache-container", List.of());
+    private final ContainerDependency renderer =
+            new ContainerDependency("renderer", "renderer-container", List.of("db", "cache"));
+    private final Map<String, CompletableFuture<ReadinessResult>> starts = new HashMap<>();
+    private final Map<String, CompletableFuture<ContainerStatus>> stops = new HashMap<>();
+    private DependencyCoordinator dependencies;
+
+    @BeforeEach
+    void setUp() {
+        dependencies = new DependencyCoordinator(logger, serverManager);
+        for (ContainerDependency dependency : List.of(database, cache, renderer)) {
+            lenient().when(serverManager.getDependency(dependency.name())).thenReturn(Optional.of(dependency));
+            lenient().when(serverManager.startDependencyAsync(dependency)).thenAnswer(invocation -> {
+                CompletableFuture<ReadinessResult> start = new CompletableFuture<>();
+                starts.put(dependency.name(), start);
+                return start;
+            });
+            lenient().when(serverManager.stopDependencyAsync(dependency)).thenAnswer(invocation -> {
+                CompletableFuture<ContainerStatus> stop = new CompletableFuture<>();
+                stops.put(dependency.name(), stop);
+                return stop;
+            });
+        }
+    }
+
+    @Test
+    void independentDependenciesStartInParallelBeforeTheirDependent() {
+        CompletableFuture<Optional<String>> result = dependencies.acquire(server("map", "renderer"));
+
+        assertEquals(Set.of("db", "cache"), starts.keySet());
+        starts.get("db").complete(ReadinessResult.ready(1));
+        assertFalse(starts.containsKey("renderer"));
+        starts.get("cache").complete(ReadinessResult.ready(1));
+        starts.get("renderer").complete(ReadinessResult.ready(1));
+
+        assertEquals(Optional.empty(), result.join());
+        assertEquals(Set.of("map"), dependencies.holders("db"));
+    }
+
+    @Test
+    void sharedDependencyStartsOnceAndStopsAfterLastHolderReleases() {
+        CompletableFuture<Optional<String>> first = dependencies.acquire(server("bedwars", "db"));
+        CompletableFuture<Optional<String>> second = dependencies.acquire(server("skywars", "db"));
+        starts.get("db").complete(ReadinessResult.ready(1));
+
+        assertEquals(Optional.empty(), first.join());
+        assertEquals(Optional.empty(), second.join());
+        verify(serverManager, times(1)).startDependencyAsync(database);
+
+        dependencies.release("bedwars");
+        verify(serverManager, never()).stopDependencyAsync(database);
+
+        dependencies.release("skywars");
+        verify(serverManager).stopDependencyAsync(database);
+        assertTrue(dependencies.holders("db").isEmpty());
+    }
+
+    @Test
+    void failedDependencyFailsDependentsAndIsRetriedOnNextAcquire() {
+        CompletableFuture<Optional<String>> result = dependencies.acquire(server("map", "renderer"));
+        starts.get("cache").complete(ReadinessResult.ready(1));
+        starts.get("db").complete(ReadinessResult.failure(ReadinessResult.Outcome.TIMED_OUT, 3, null));
+
+        assertEquals(Optional.of("db"), result.join());
+        verify(serverManager, never()).startDependencyAsync(renderer);
+
+        dependencies.acquire(server("map", "renderer"));
+        verify(serverManager, times(2)).startDependencyAsync(database);
+        verify(serverManager, times(1)).startDependencyAsync(cache);
+    }
+
+    @Test
+    void readyDependencyIsCheckedAgainAndRestartedWhenItStoppedMeanwhile() {
+        dependencies.acquire(server("bedwars", "db"));
+        starts.get("db").complete(ReadinessResult.ready(1));
+
+        when(serverManager.isDependencyReadyAsync(database)).thenReturn(CompletableFuture.completedFuture(true));
+        assertEquals(Optional.empty(), dependencies.acquire(server("skywars", "db")).join());
+        verify(serverManager, times(1)).startDependencyAsync(database);
+
+        // The sidecar crashed outside AutoStopper; the next acquire starts it again instead of trusting the old result.
+        when(serverManager.isDependencyReadyAsync(database)).thenReturn(CompletableFuture.completedFuture(false));
+        CompletableFuture<Optional<String>> result = dependencies.acquire(server("murder", "db"));
+        verify(serverManager, times(2)).startDependencyAsync(database);
+        assertFalse(result.isDone());
+        starts.get("db").complete(ReadinessResult.ready(1));
+        assertEquals(Optional.empty(), result.join());
+    }
+
+    @Test
+    void releaseStopsDependentsBeforeTheDependenciesTheyNeed() {
+        dependencies.acquire(server("map", "renderer"));
+        starts.get("db").complete(ReadinessResult.ready(1));
+        starts.get("cache").complete(ReadinessResult.ready(1));
+        starts.get("renderer").complete(ReadinessResult.ready(1));
+
+        dependencies.release("map");
+
+        assertEquals(Set.of("renderer"), stops.keySet());
+        stops.get("renderer").complete(ContainerStatus.STOPPED);
+        assertEquals(Set.of("renderer", "db", "cache"), stops.keySet());
+    }
+
+    private ServerMapping server(String serverName, String... dependsOn) {
+        return new ServerMapping(serverName, serverName + "-container", ReadinessSettings.defaults(),
+                ServerMapping.DEFAULT_START_WEIGHT, List.of(dependsOn));
+    }
+}
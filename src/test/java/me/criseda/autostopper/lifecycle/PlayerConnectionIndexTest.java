@@ -0,0 +1,57 @@
+package me.criseda.autostopper.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerConnectionIndexTest {
+    private final PlayerConnectionIndex index = new PlayerConnectionIndex();
+    private final UUID player = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    @Test
+    void waitingServersAreTrackedPerPlayerAndDroppedWhenEmpty() {
+        index.addWaiter(player, "survival");
+        index.addWaiter(player, "creative");
+        index.addWaiter(other, "survival");
+
+        assertEquals(Set.of("survival", "creative"), index.waitingServers(player));
+        index.removeWaiter(player, "survival");
+        index.removeWaiter(player, "creative");
+
+        assertEquals(Set.of(), index.waitingServers(player));
+        assertFalse(index.hasEntries(player));
+        assertEquals(Set.of("survival"), index.waitingServers(other));
+    }
+
+    @Test
+    void permitIsConsumedOnceAndRevokedOnlyForItsPlayer() {
+        index.addPermit(player, "survival");
+        index.addPermit(other, "survival");
+
+        assertTrue(index.removePermit(player, "survival"));
+        assertFalse(index.removePermit(player, "survival"));
+
+        index.addPermit(player, "creative");
+        index.removePermits(player);
+        assertFalse(index.removePermit(player, "creative"));
+        assertTrue(index.removePermit(other, "survival"));
+    }
+
+    @Test
+    void returnedSetIsASnapshotUnaffectedByLaterChanges() {
+        index.addWaiter(player, "survival");
+        Set<String> snapshot = index.waitingServers(player);
+
+        index.addWaiter(player, "creative");
+        index.removeWaiter(player, "survival");
+
+        assertEquals(Set.of("survival"), snapshot);
+        assertEquals(Set.of("creative"), index.waitingServers(player));
+    }
+}
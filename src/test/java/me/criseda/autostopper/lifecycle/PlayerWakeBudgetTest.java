@@ -0,0 +1,108 @@
+package me.criseda.autostopper.lifecycle;
+
+import me.criseda.autostopper.config.WakeBudgetSettings;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerWakeBudgetTest {
+    private final AtomicLong nanos = new AtomicLong(-5_000_000_000L);
+    private final PlayerWakeBudget budget = new PlayerWakeBudget(nanos::get);
+
+    @Test
+    void unconfiguredBudgetAdmitsEveryWakeWithoutTrackingPlayers() {
+        UUID player = UUID.randomUUID();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(budget.tryAcquire(player));
+        }
+
+        assertEquals(0, budget.trackedPlayers());
+    }
+
+    @Test
+    void burstIsSpentThenRefillsOneWakePerInterval() {
+        budget.configure(new WakeBudgetSettings(2, Duration.ofSeconds(60)));
+        UUID player = UUID.randomUUID();
+
+        assertTrue(budget.tryAcquire(player));
+        assertTrue(budget.tryAcquire(player));
+        assertFalse(budget.tryAcquire(player));
+        assertEquals(Duration.ofSeconds(60), budget.retryAfter(player));
+
+        advance(Duration.ofSeconds(45));
+        assertFalse(budget.tryAcquire(player));
+        assertEquals(Duration.ofSeconds(15), budget.retryAfter(player));
+
+        advance(Duration.ofSeconds(15));
+        assertTrue(budget.tryAcquire(player));
+        assertFalse(budget.tryAcquire(player));
+
+        advance(Duration.ofMinutes(10));
+        assertTrue(budget.tryAcquire(player));
+        assertTrue(budget.tryAcquire(player));
+        assertFalse(budget.tryAcquire(player), "an idle player never accumulates more than the burst");
+    }
+
+    @Test
+    void playersHaveIndependentBuckets() {
+        budget.configure(new WakeBudgetSettings(1, Duration.ofSeconds(30)));
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertTrue(budget.tryAcquire(first));
+        assertFalse(budget.tryAcquire(first));
+        assertTrue(budget.tryAcquire(second));
+        assertEquals(Duration.ZERO, budget.retryAfter(UUID.randomUUID()));
+    }
+
+    @Test
+    void refundedWakeCanBeTakenAgain() {
+        budget.configure(new WakeBudgetSettings(2, Duration.ofSeconds(60)));
+        UUID player = UUID.randomUUID();
+        assertTrue(budget.tryAcquire(player));
+        assertTrue(budget.tryAcquire(player));
+
+        budget.refund(player);
+        assertTrue(budget.tryAcquire(player));
+        assertFalse(budget.tryAcquire(player));
+
+        budget.refund(player);
+        budget.refund(player);
+        assertEquals(0, budget.trackedPlayers(), "a bucket refunded to full is forgotten");
+    }
+
+    @Test
+    void refilledBucketsAreSweptSoIdlePlayersAreNotRetained() {
+        budget.configure(new WakeBudgetSettings(1, Duration.ofSeconds(10)));
+        for (int i = 0; i < 1_000; i++) {
+            budget.tryAcquire(UUID.randomUUID());
+            advance(Duration.ofSeconds(1));
+        }
+
+        assertTrue(budget.trackedPlayers() <= 256 + 10, "tracked " + budget.trackedPlayers());
+    }
+
+    @Test
+    void disablingTheBudgetForgetsEveryBucket() {
+        budget.configure(new WakeBudgetSettings(1, Duration.ofSeconds(30)));
+        UUID player = UUID.randomUUID();
+        assertTrue(budget.tryAcquire(player));
+
+        budget.configure(null);
+        assertEquals(0, budget.trackedPlayers());
+        assertTrue(budget.tryAcquire(player));
+
+        budget.configure(new WakeBudgetSettings(1, Duration.ofSeconds(30)));
+        assertTrue(budget.tryAcquire(player));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
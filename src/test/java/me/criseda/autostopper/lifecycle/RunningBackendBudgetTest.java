@@ -0,0 +1,93 @@
+package me.criseda.autostopper.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunningBackendBudgetTest {
+    private final RunningBackendBudget budget = new RunningBackendBudget(Runnable::run);
+    private final List<String> granted = new ArrayList<>();
+    private final List<String> positions = new ArrayList<>();
+
+    @Test
+    void unlimitedBudgetGrantsEveryStartButStillCountsOccupancy() {
+        assertTrue(budget.submit(reservation("a", 4)));
+        assertTrue(budget.submit(reservation("b", 4)));
+
+        assertEquals(8, budget.inUse());
+        assertTrue(budget.occupies("a"));
+        assertEquals(0, budget.shortfall());
+    }
+
+    @Test
+    void startsWaitInArrivalOrderUntilAStopFreesEnoughCost() {
+        budget.configure(3);
+        budget.occupy("survival", 2);
+        budget.occupy("creative", 1);
+        RunningBackendBudget.Reservation heavy = reservation("heavy", 2);
+        RunningBackendBudget.Reservation light = reservation("light", 1);
+        assertFalse(budget.submit(heavy));
+        assertFalse(budget.submit(light));
+        assertEquals(List.of("heavy@1", "light@2"), positions);
+        assertEquals(2, budget.shortfall());
+
+        budget.vacate("creative");
+        assertTrue(granted.isEmpty(), "the queue head must not be overtaken by a cheaper start");
+        assertEquals(1, budget.shortfall());
+
+        budget.vacate("survival");
+        assertEquals(List.of("heavy", "light"), granted);
+        assertEquals(3, budget.inUse());
+        assertEquals(0, budget.pendingCount());
+    }
+
+    @Test
+    void oversizedBackendRunsOnlyWhenNothingElseDoes() {
+        budget.configure(2);
+        budget.occupy("lobby", 1);
+        assertFalse(budget.submit(reservation("modpack", 5)));
+        assertEquals(1, budget.shortfall());
+
+        budget.vacate("lobby");
+
+        assertEquals(List.of("modpack"), granted);
+        assertEquals(5, budget.inUse());
+    }
+
+    @Test
+    void staleOccupancyOfTheStartingServerIsDropped() {
+        budget.configure(1);
+        budget.occupy("survival", 1);
+
+        assertTrue(budget.submit(reservation("survival", 1)));
+        assertEquals(1, budget.inUse());
+    }
+
+    @Test
+    void withdrawnAndClearedReservationsAreNeverGranted() {
+        budget.configure(1);
+        budget.occupy("running", 1);
+        RunningBackendBudget.Reservation withdrawn = reservation("withdrawn", 1);
+        RunningBackendBudget.Reservation cleared = reservation("cleared", 1);
+        budget.submit(withdrawn);
+        budget.submit(cleared);
+
+        budget.withdraw(withdrawn);
+        budget.clear();
+        budget.vacate("running");
+
+        assertTrue(granted.isEmpty());
+        assertEquals(0, budget.inUse());
+        assertEquals(0, budget.shortfall());
+    }
+
+    private RunningBackendBudget.Reservation reservation(String name, int cost) {
+        return budget.reservation(name, cost, () -> granted.add(name),
+                position -> positions.add(name + "@" + position));
+    }
+}
@@ -4,10 +4,18 @@ import com.velocitypowered.api.proxy.ConnectionRequestBuilder;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.ServerConnection;
+import me.criseda.autostopper.config.AbandonedStartSettings;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.ConnectionReleaseSettings;
+import me.criseda.autostopper.config.ContainerDependency;
+import me.criseda.autostopper.config.ReadinessSettings;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.SleepSettings;
+import me.criseda.autostopper.config.StartCommitPoint;
+import me.criseda.autostopper.config.WakeBudgetSettings;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.executor.OperationDeadline;
 import me.criseda.autostopper.server.ServerManager;
 import me.criseda.autostopper.readiness.ReadinessResult;
 import me.criseda.autostopper.readiness.MinecraftStatusProbe;
@@ -24,6 +32,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +51,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -93,6 +103,71 @@ class ServerLifecycleCoordinatorTest {
         assertTrue(messages.stream().noneMatch(message -> message.contains("Waking survival")));
     }
 
+    @Test
+    void staggeredReleaseConnectsQueuedPlayersInPacedWavesOldestFirst() {
+        ServerMapping paced = new ServerMapping("survival", "survival-container", ReadinessSettings.defaults(),
+                ServerMapping.DEFAULT_START_WEIGHT, List.of(), SleepSettings.defaults(),
+                ServerMapping.DEFAULT_MEMORY_COST, new ConnectionReleaseSettings(2, Duration.ofMillis(300), false));
+        CompletableFuture<ReadinessResult> readiness = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(paced))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.RUNNING)));
+        when(serverManager.waitForServerReadyAsync(paced)).thenReturn(readiness);
+        List<PlayerHarness> players = new ArrayList<>();
+        List<CompletableFuture<ConnectionOutcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PlayerHarness player = player("wave-player-" + i);
+            players.add(player);
+            outcomes.add(coordinator.requestConnection(player.player, targetServer, paced));
+        }
+
+        readiness.complete(ReadinessResult.ready(1));
+
+        verify(players.get(0).player).createConnectionRequest(targetServer);
+        verify(players.get(1).player).createConnectionRequest(targetServer);
+        verify(players.get(2).player, never()).createConnectionRequest(any(RegisteredServer.class));
+        PlayerHarness late = player("late-player");
+        outcomes.add(coordinator.requestConnection(late.player, targetServer, paced));
+        verify(late.player, never()).createConnectionRequest(any(RegisteredServer.class));
+
+        verify(players.get(2).player, timeout(2000)).createConnectionRequest(targetServer);
+        verify(players.get(3).player, timeout(2000)).createConnectionRequest(targetServer);
+        verify(players.get(4).player, timeout(2000)).createConnectionRequest(targetServer);
+        verify(late.player, timeout(2000)).createConnectionRequest(targetServer);
+        players.add(late);
+        for (PlayerHarness player : players) {
+            player.complete(ConnectionRequestBuilder.Status.SUCCESS);
+        }
+        for (CompletableFuture<ConnectionOutcome> outcome : outcomes) {
+            assertEquals(ConnectionOutcome.CONNECTED, outcome.join());
+        }
+        assertEquals(0, coordinator.waitingCount("survival"));
+    }
+
+    @Test
+    void queuedWavesStopWhenThePluginExecutorShutsDown() throws InterruptedException {
+        AutoStopperExecutor executor = new AutoStopperExecutor();
+        ServerLifecycleCoordinator paced = new ServerLifecycleCoordinator(logger, serverManager,
+                new ServerHoldRegistry(), executor);
+        ServerMapping waved = new ServerMapping("survival", "survival-container", ReadinessSettings.defaults(),
+                ServerMapping.DEFAULT_START_WEIGHT, List.of(), SleepSettings.defaults(),
+                ServerMapping.DEFAULT_MEMORY_COST, new ConnectionReleaseSettings(1, Duration.ofMillis(200), false));
+        CompletableFuture<ReadinessResult> readiness = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(waved))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.RUNNING)));
+        when(serverManager.waitForServerReadyAsync(waved)).thenReturn(readiness);
+        PlayerHarness first = player("first-wave-player");
+        PlayerHarness second = player("second-wave-player");
+        paced.requestConnection(first.player, targetServer, waved);
+        paced.requestConnection(second.player, targetServer, waved);
+
+        readiness.complete(ReadinessResult.ready(1));
+        verify(first.player).createConnectionRequest(targetServer);
+        executor.shutdown();
+        Thread.sleep(500);
+
+        verify(second.player, never()).createConnectionRequest(any(RegisteredServer.class));
+    }
+
     @Test
     void readinessFailureReasonReachesEveryQueuedPlayer() {
         CompletableFuture<ReadinessResult> readiness = new CompletableFuture<>();
@@ -192,6 +267,69 @@ class ServerLifecycleCoordinatorTest {
         verify(serverManager).waitForServerReadyAsync(mapping);
     }
 
+    @Test
+    void wakeDeadlineSpentInStatusCheckFailsStartupBeforeContainerStart() {
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        coordinator = new ServerLifecycleCoordinator(logger, serverManager, clock::get);
+        coordinator.configureWakeDeadline(Duration.ofSeconds(30));
+        CompletableFuture<Optional<ContainerStatus>> status = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(eq(mapping), any(OperationDeadline.class))).thenReturn(status);
+        PlayerHarness player = player("deadline-waiter");
+
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        status.complete(Optional.of(ContainerStatus.STOPPED));
+
+        assertEquals(ConnectionOutcome.START_TIMED_OUT, outcome.join());
+        assertEquals(Optional.of(ServerLifecycleState.FAILED), coordinator.state("survival"));
+        verify(serverManager, never()).startServerAsync(any(ServerMapping.class));
+        verify(serverManager, never()).startServerAsync(any(ServerMapping.class), any(OperationDeadline.class));
+        verify(player.player, never()).createConnectionRequest(any(RegisteredServer.class));
+        TelemetrySnapshot snapshot = coordinator.snapshotTelemetry();
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.STARTUP, TelemetryOutcome.DEADLINE_EXCEEDED));
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.START_QUEUE, TelemetryOutcome.DEADLINE_EXCEEDED));
+        assertFalse(coordinator.occupiesRunningBackend("survival"), "no container was started");
+    }
+
+    @Test
+    void wakeDeadlineSpentInReadinessCheckKeepsTheBootingContainersSlot() {
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        coordinator = new ServerLifecycleCoordinator(logger, serverManager, clock::get);
+        coordinator.configureWakeDeadline(Duration.ofSeconds(30));
+        CompletableFuture<ReadinessResult> readiness = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(eq(mapping), any(OperationDeadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(eq(mapping), any(OperationDeadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        when(serverManager.waitForServerReadyAsync(eq(mapping), any(OperationDeadline.class))).thenReturn(readiness);
+        PlayerHarness player = player("slow-boot-waiter");
+
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        readiness.complete(ReadinessResult.failure(
+                ReadinessResult.Outcome.TIMED_OUT,
+                3,
+                MinecraftStatusProbe.Outcome.UNREACHABLE));
+
+        assertEquals(ConnectionOutcome.START_TIMED_OUT, outcome.join());
+        assertEquals(Optional.of(ServerLifecycleState.FAILED), coordinator.state("survival"));
+        assertTrue(coordinator.occupiesRunningBackend("survival"), "the started container is still booting");
+        assertEquals(1, coordinator.snapshotTelemetry()
+                .outcomeCount(TelemetryOperationType.STARTUP, TelemetryOutcome.DEADLINE_EXCEEDED));
+    }
+
+    @Test
+    void manualStartIgnoresWakeDeadline() {
+        coordinator.configureWakeDeadline(Duration.ofSeconds(1));
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.RUNNING)));
+
+        assertEquals(ManualStartOutcome.READY, coordinator.requestManualStart(mapping).join());
+        verify(serverManager, never()).getServerStatusAsync(any(ServerMapping.class), any(OperationDeadline.class));
+    }
+
     @Test
     void messageFailureIsolatedFromSharedLifecycleAndOtherWaiter() {
         CompletableFuture<Optional<ContainerStatus>> status = new CompletableFuture<>();
@@ -362,6 +500,177 @@ class ServerLifecycleCoordinatorTest {
         assertEquals(0, coordinator.waitingCount("survival"));
     }
 
+    @Test
+    void disconnectTouchesOnlyThePlayersOwnLifecycleEntries() throws Exception {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        assertTrue(coordinator.tryBeginStop(creative));
+        coordinator.completeStop(creative, ContainerStatus.STOPPED);
+        CompletableFuture<Optional<ContainerStatus>> status = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(mapping)).thenReturn(status);
+        PlayerHarness player = player("indexed-departure");
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        Object unrelated = lifecycleEntry("creative");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService holder = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holding = holder.submit(() -> {
+                synchronized (unrelated) {
+                    locked.countDown();
+                    release.await();
+                }
+                return null;
+            });
+            assertTrue(locked.await(2, TimeUnit.SECONDS));
+
+            CompletableFuture.runAsync(() -> coordinator.discardPlayer(player.player)).get(2, TimeUnit.SECONDS);
+
+            assertEquals(ConnectionOutcome.PLAYER_DISCONNECTED, outcome.join());
+            assertEquals(0, coordinator.waitingCount("survival"));
+            release.countDown();
+            holding.get(2, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            holder.shutdownNow();
+        }
+        status.complete(Optional.of(ContainerStatus.STOPPED));
+    }
+
+    @Test
+    void disconnectRevokesReconnectPermitsOfInFlightConnections() {
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.RUNNING)));
+        PlayerHarness player = player("permit-holder");
+        PlayerHarness staying = player("permit-keeper");
+        coordinator.requestConnection(player.player, targetServer, mapping);
+        coordinator.requestConnection(staying.player, targetServer, mapping);
+        verify(player.player).createConnectionRequest(targetServer);
+
+        coordinator.discardPlayer(player.player);
+
+        assertFalse(coordinator.consumeReconnectPermit(player.player, "survival"));
+        assertTrue(coordinator.consumeReconnectPermit(staying.player, "survival"));
+        assertFalse(coordinator.consumeReconnectPermit(staying.player, "survival"));
+    }
+
+    @Test
+    void abandonedWakeIsCancelledBeforeTheContainerStartIsIssued() {
+        coordinator.configureAbandonedStarts(AbandonedStartSettings.defaults());
+        List<String> idleServers = new ArrayList<>();
+        coordinator.configureAbandonedStartHandler(idleServers::add);
+        CompletableFuture<Optional<ContainerStatus>> status = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(mapping)).thenReturn(status);
+        PlayerHarness player = player("abandoning");
+
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        coordinator.discardPlayer(player.player);
+        status.complete(Optional.of(ContainerStatus.STOPPED));
+
+        assertEquals(ConnectionOutcome.PLAYER_DISCONNECTED, outcome.join());
+        assertTrue(status.isCancelled());
+        assertEquals(Optional.of(ServerLifecycleState.STOPPED), coordinator.state("survival"));
+        assertTrue(coordinator.lastFailure("survival").isEmpty());
+        verify(serverManager, never()).startServerAsync(any(ServerMapping.class));
+        assertTrue(idleServers.isEmpty());
+        TelemetrySnapshot snapshot = coordinator.snapshotTelemetry();
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.STARTUP, TelemetryOutcome.ABANDONED));
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.STATUS_CHECK, TelemetryOutcome.ABANDONED));
+    }
+
+    @Test
+    void wakePastTheCommitPointRunsToReadinessAfterItsWaitersLeave() {
+        coordinator.configureAbandonedStarts(AbandonedStartSettings.defaults());
+        CompletableFuture<ContainerStatus> start = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(mapping)).thenReturn(start);
+        PlayerHarness player = player("late-leaver");
+
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        coordinator.discardPlayer(player.player);
+        start.complete(ContainerStatus.RUNNING);
+
+        assertEquals(ConnectionOutcome.PLAYER_DISCONNECTED, outcome.join());
+        assertEquals(Optional.of(ServerLifecycleState.READY), coordinator.state("survival"));
+        verify(serverManager).waitForServerReadyAsync(mapping);
+        assertEquals(0, coordinator.snapshotTelemetry()
+                .outcomeCount(TelemetryOperationType.STARTUP, TelemetryOutcome.ABANDONED));
+    }
+
+    @Test
+    void abandonedWakeWithAStartedContainerIsHandedToTheShortIdleTimer() {
+        coordinator.configureAbandonedStarts(
+                new AbandonedStartSettings(StartCommitPoint.READY, Duration.ofSeconds(30)));
+        List<String> idleServers = new ArrayList<>();
+        coordinator.configureAbandonedStartHandler(idleServers::add);
+        CompletableFuture<ContainerStatus> start = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(mapping)).thenReturn(start);
+        PlayerHarness player = player("abandoned-mid-start");
+
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        coordinator.discardPlayer(player.player);
+
+        assertEquals(ConnectionOutcome.PLAYER_DISCONNECTED, outcome.join());
+        assertTrue(start.isCancelled());
+        assertEquals(Optional.of(ServerLifecycleState.READY), coordinator.state("survival"));
+        assertTrue(coordinator.occupiesRunningBackend("survival"), "only a stop frees the running-backend slot");
+        assertEquals(List.of("survival"), idleServers);
+        verify(serverManager, never()).waitForServerReadyAsync(mapping);
+        assertEquals(1, coordinator.snapshotTelemetry()
+                .outcomeCount(TelemetryOperationType.CONTAINER_START, TelemetryOutcome.ABANDONED));
+    }
+
+    @Test
+    void abandonedWakeOfAnAlreadyRunningContainerIsNotCountedAsAWastedStart() {
+        coordinator.configureAbandonedStarts(
+                new AbandonedStartSettings(StartCommitPoint.READY, Duration.ofSeconds(30)));
+        List<String> idleServers = new ArrayList<>();
+        coordinator.configureAbandonedStartHandler(idleServers::add);
+        CompletableFuture<ReadinessResult> readiness = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.RUNNING)));
+        when(serverManager.waitForServerReadyAsync(mapping)).thenReturn(readiness);
+        PlayerHarness player = player("left-during-readiness");
+
+        CompletableFuture<ConnectionOutcome> outcome =
+                coordinator.requestConnection(player.player, targetServer, mapping);
+        coordinator.discardPlayer(player.player);
+
+        assertEquals(ConnectionOutcome.PLAYER_DISCONNECTED, outcome.join());
+        assertTrue(readiness.isCancelled());
+        assertEquals(Optional.of(ServerLifecycleState.READY), coordinator.state("survival"));
+        assertTrue(coordinator.occupiesRunningBackend("survival"));
+        assertEquals(List.of("survival"), idleServers);
+        verify(serverManager, never()).startServerAsync(any(ServerMapping.class));
+        TelemetrySnapshot snapshot = coordinator.snapshotTelemetry();
+        assertEquals(0, snapshot.outcomeCount(TelemetryOperationType.STARTUP, TelemetryOutcome.ABANDONED));
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.READINESS_CHECK, TelemetryOutcome.ABANDONED));
+    }
+
+    @Test
+    void manualStartIsNotAbandonedWhenAJoiningPlayerLeaves() {
+        coordinator.configureAbandonedStarts(AbandonedStartSettings.defaults());
+        CompletableFuture<Optional<ContainerStatus>> status = new CompletableFuture<>();
+        when(serverManager.getServerStatusAsync(mapping)).thenReturn(status);
+        when(serverManager.startServerAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        CompletableFuture<ManualStartOutcome> manual = coordinator.requestManualStart(mapping);
+        PlayerHarness player = player("passing-through");
+
+        coordinator.requestConnection(player.player, targetServer, mapping);
+        coordinator.discardPlayer(player.player);
+        status.complete(Optional.of(ContainerStatus.STOPPED));
+
+        assertEquals(ManualStartOutcome.READY, manual.join());
+        assertEquals(Optional.of(ServerLifecycleState.READY), coordinator.state("survival"));
+    }
+
     @Test
     void connectionCancellationRefusalAndExceptionAreObservedAndCommunicated() {
         when(serverManager.getServerStatusAsync(mapping))
@@ -640,6 +949,42 @@ class ServerLifecycleCoordinatorTest {
         assertEquals(before, coordinator.statusSnapshot(mapping));
     }
 
+    @Test
+    void statusReadersDoNotWaitForALockedLifecycleEntry() throws Exception {
+        assertTrue(coordinator.tryBeginStop(mapping));
+        coordinator.completeStop(mapping, ContainerStatus.TIMED_OUT);
+        Object entry = lifecycleEntry("survival");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService holder = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holding = holder.submit(() -> {
+                synchronized (entry) {
+                    locked.countDown();
+                    release.await();
+                }
+                return null;
+            });
+            assertTrue(locked.await(2, TimeUnit.SECONDS));
+
+            CompletableFuture<LifecycleStatusSnapshot> read = CompletableFuture.supplyAsync(() -> {
+                assertEquals(Optional.of(ServerLifecycleState.FAILED), coordinator.state("survival"));
+                assertEquals(0, coordinator.waitingCount("survival"));
+                assertTrue(coordinator.lastFailure("survival").isPresent());
+                return coordinator.statusSnapshot(mapping);
+            });
+            LifecycleStatusSnapshot snapshot = read.get(2, TimeUnit.SECONDS);
+            assertEquals(Optional.of(ServerLifecycleState.FAILED), snapshot.state());
+            assertEquals(coordinator.lastFailure("survival"), snapshot.lastFailure());
+
+            release.countDown();
+            holding.get(2, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            holder.shutdownNow();
+        }
+    }
+
     @Test
     void stateWithMappingReturnsEmptyWhenMappingModifiedOrRetired() {
         when(serverManager.getServerStatusAsync(mapping))
@@ -708,6 +1053,24 @@ class ServerLifecycleCoordinatorTest {
         assertEquals(Optional.of(ServerLifecycleState.READY), coordinator.state("survival"));
     }
 
+    @Test
+    void manualStart_DependencyFailureSkipsContainerStart() {
+        ContainerDependency database = new ContainerDependency("db", "db-container", List.of());
+        ServerMapping dependent = new ServerMapping("survival", "survival-container", ReadinessSettings.defaults(),
+                ServerMapping.DEFAULT_START_WEIGHT, List.of("db"));
+        when(serverManager.getServerStatusAsync(dependent))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.getDependency("db")).thenReturn(Optional.of(database));
+        when(serverManager.startDependencyAsync(database)).thenReturn(CompletableFuture.completedFuture(
+                ReadinessResult.failure(ReadinessResult.Outcome.CONTAINER_MISSING, 0, null)));
+
+        CompletableFuture<ManualStartOutcome> startFuture = coordinator.requestManualStart(dependent);
+
+        assertEquals(ManualStartOutcome.START_FAILED, startFuture.join());
+        assertEquals(Optional.of(ServerLifecycleState.FAILED), coordinator.state("survival"));
+        verify(serverManager, never()).startServerAsync(dependent);
+    }
+
     @Test
     void manualStart_WhileStarting_JoinsInFlight() {
         CompletableFuture<ReadinessResult> readiness = new CompletableFuture<>();
@@ -1118,6 +1481,120 @@ class ServerLifecycleCoordinatorTest {
         assertEquals(2, snapshot.outcomeCount(TelemetryOperationType.CONNECTION_WAIT, TelemetryOutcome.CONNECTED));
     }
 
+    @Test
+    void startAdmissionLimitQueuesSecondServerAndReportsPosition() {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        CompletableFuture<ContainerStatus> survivalStart = new CompletableFuture<>();
+        coordinator.configureStartAdmission(1);
+        when(serverManager.getServerStatusAsync(any(ServerMapping.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(mapping)).thenReturn(survivalStart);
+        when(serverManager.startServerAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        PlayerHarness first = player("first-admitted");
+        PlayerHarness queued = player("queued-behind");
+
+        CompletableFuture<ConnectionOutcome> firstOutcome =
+                coordinator.requestConnection(first.player, targetServer, mapping);
+        CompletableFuture<ConnectionOutcome> queuedOutcome =
+                coordinator.requestConnection(queued.player, targetServer, creative);
+
+        verify(serverManager, never()).startServerAsync(creative);
+        assertEquals(List.of(
+                        "AutoStopper › Checking server creative…",
+                        "AutoStopper › Queued to wake creative · position 1 in line"),
+                sentMessages(queued.player));
+
+        survivalStart.complete(ContainerStatus.RUNNING);
+        verify(serverManager).startServerAsync(creative);
+        first.complete(ConnectionRequestBuilder.Status.SUCCESS);
+        queued.complete(ConnectionRequestBuilder.Status.SUCCESS);
+
+        assertEquals(ConnectionOutcome.CONNECTED, firstOutcome.join());
+        assertEquals(ConnectionOutcome.CONNECTED, queuedOutcome.join());
+        assertEquals("AutoStopper › Waking creative…", sentMessages(queued.player).get(2));
+        TelemetrySnapshot snapshot = coordinator.snapshotTelemetry();
+        assertEquals(2, snapshot.outcomeCount(TelemetryOperationType.START_QUEUE, TelemetryOutcome.ADMITTED));
+    }
+
+    @Test
+    void queuedStartWithMoreWaitersIsAdmittedFirst() {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        ServerMapping lobby = new ServerMapping("lobby", "lobby-container");
+        CompletableFuture<ContainerStatus> survivalStart = new CompletableFuture<>();
+        coordinator.configureStartAdmission(1);
+        when(serverManager.getServerStatusAsync(any(ServerMapping.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(mapping)).thenReturn(survivalStart);
+        when(serverManager.startServerAsync(lobby)).thenReturn(new CompletableFuture<>());
+
+        coordinator.requestConnection(player("survival-waiter").player, targetServer, mapping);
+        PlayerHarness creativeWaiter = player("creative-waiter");
+        coordinator.requestConnection(creativeWaiter.player, targetServer, creative);
+        PlayerHarness lobbyWaiter = player("lobby-waiter");
+        coordinator.requestConnection(lobbyWaiter.player, targetServer, lobby);
+        coordinator.requestConnection(player("second-lobby-waiter").player, targetServer, lobby);
+
+        assertTrue(sentMessages(lobbyWaiter.player).contains(
+                "AutoStopper › Queued to wake lobby · position 1 in line"));
+        assertTrue(sentMessages(creativeWaiter.player).contains(
+                "AutoStopper › Queued to wake creative · position 2 in line"));
+
+        survivalStart.complete(ContainerStatus.STOPPED);
+
+        verify(serverManager).startServerAsync(lobby);
+        verify(serverManager, never()).startServerAsync(creative);
+    }
+
+    @Test
+    void startBeyondRunningBackendBudgetEvictsIdleServerFirst() {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        coordinator.configureRunningBackends(1);
+        coordinator.observeContainerStatus(mapping, ContainerStatus.RUNNING);
+        List<Integer> requested = new ArrayList<>();
+        coordinator.configureBackendEvictor(needed -> {
+            requested.add(needed);
+            assertTrue(coordinator.tryBeginStop(mapping));
+            coordinator.completeStop(mapping, ContainerStatus.STOPPED);
+            return CompletableFuture.completedFuture(mapping.memoryCost());
+        });
+        when(serverManager.getServerStatusAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+
+        coordinator.requestConnection(player("evicting-waiter").player, targetServer, creative);
+
+        verify(serverManager, timeout(2000)).startServerAsync(creative);
+        assertEquals(List.of(1), requested);
+        assertEquals(Optional.of(ServerLifecycleState.STOPPED), coordinator.state("survival"));
+        assertFalse(coordinator.occupiesRunningBackend("survival"));
+        assertTrue(coordinator.occupiesRunningBackend("creative"));
+    }
+
+    @Test
+    void startWithNothingToEvictWaitsInsteadOfOvercommitting() {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        coordinator.configureRunningBackends(1);
+        coordinator.observeContainerStatus(mapping, ContainerStatus.RUNNING);
+        coordinator.configureBackendEvictor(needed -> CompletableFuture.completedFuture(0));
+        when(serverManager.getServerStatusAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+
+        coordinator.requestConnection(player("patient-waiter").player, targetServer, creative);
+
+        verify(serverManager, after(200).never()).startServerAsync(creative);
+        assertEquals(1, coordinator.runningBackendShortfall());
+        assertEquals(Optional.of(ServerLifecycleState.STARTING), coordinator.state("creative"));
+
+        coordinator.observeContainerStatus(mapping, ContainerStatus.STOPPED);
+
+        verify(serverManager, timeout(2000)).startServerAsync(creative);
+        assertEquals(0, coordinator.runningBackendShortfall());
+    }
+
     @Test
     void manualLifecycleOperations_RecordTelemetryOutcomes() {
         when(serverManager.getServer("survival")).thenReturn(Optional.of(targetServer));
@@ -1149,6 +1626,60 @@ class ServerLifecycleCoordinatorTest {
         assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.MANUAL_RESTART, TelemetryOutcome.RESTARTED_AND_READY));
     }
 
+    @Test
+    void wakeBudgetRefusesFurtherWakesButNotJoiningAReadyServer() {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        coordinator.configureWakeBudget(new WakeBudgetSettings(1, Duration.ofSeconds(60)));
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        PlayerHarness hopper = player("hopper");
+        PlayerHarness other = player("other");
+        hopper.complete(ConnectionRequestBuilder.Status.SUCCESS);
+        other.complete(ConnectionRequestBuilder.Status.SUCCESS);
+
+        assertEquals(ConnectionOutcome.CONNECTED,
+                coordinator.requestConnection(hopper.player, targetServer, mapping).join());
+        assertEquals(ConnectionOutcome.WAKE_LIMITED,
+                coordinator.requestConnection(hopper.player, targetServer, creative).join());
+        assertEquals(ConnectionOutcome.CONNECTED,
+                coordinator.requestConnection(hopper.player, targetServer, mapping).join());
+        assertEquals(ConnectionOutcome.CONNECTED,
+                coordinator.requestConnection(other.player, targetServer, mapping).join());
+
+        verify(serverManager, never()).getServerStatusAsync(creative);
+        assertTrue(sentMessages(hopper.player).contains(
+                "AutoStopper ! You have started too many servers recently. Try creative again in 1m."));
+        assertEquals(0, coordinator.waitingCount("creative"));
+        TelemetrySnapshot snapshot = coordinator.snapshotTelemetry();
+        assertEquals(1, snapshot.outcomeCount(TelemetryOperationType.CONNECTION_WAIT, TelemetryOutcome.WAKE_LIMITED));
+    }
+
+    @Test
+    void joiningAnAlreadyRunningContainerDoesNotSpendAWake() {
+        ServerMapping creative = new ServerMapping("creative", "creative-container");
+        coordinator.configureWakeBudget(new WakeBudgetSettings(1, Duration.ofSeconds(60)));
+        when(serverManager.getServerStatusAsync(mapping))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.RUNNING)));
+        when(serverManager.getServerStatusAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(ContainerStatus.STOPPED)));
+        when(serverManager.startServerAsync(creative))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        PlayerHarness hopper = player("hopper");
+        hopper.complete(ConnectionRequestBuilder.Status.SUCCESS);
+
+        assertEquals(ConnectionOutcome.CONNECTED,
+                coordinator.requestConnection(hopper.player, targetServer, mapping).join());
+        assertEquals(ConnectionOutcome.CONNECTED,
+                coordinator.requestConnection(hopper.player, targetServer, creative).join());
+
+        verify(serverManager, never()).startServerAsync(mapping);
+        verify(serverManager).startServerAsync(creative);
+        assertEquals(0, coordinator.snapshotTelemetry()
+                .outcomeCount(TelemetryOperationType.CONNECTION_WAIT, TelemetryOutcome.WAKE_LIMITED));
+    }
+
     @Test
     void rejectedAdmissions_RecordTelemetryOutcomes() {
         coordinator.shutdown();
@@ -1194,6 +1725,12 @@ class ServerLifecycleCoordinatorTest {
         assertEquals(ConnectionOutcome.CONNECTED, future.join());
     }
 
+    private Object lifecycleEntry(String serverName) throws ReflectiveOperationException {
+        var field = ServerLifecycleCoordinator.class.getDeclaredField("lifecycles");
+        field.setAccessible(true);
+        return ((java.util.Map<?, ?>) field.get(coordinator)).get(serverName);
+    }
+
     private PlayerHarness player(String name) {
         Player player = mock(Player.class, name);
         ConnectionRequestBuilder request = mock(ConnectionRequestBuilder.class, name + "-request");
@@ -0,0 +1,92 @@
+package me.criseda.autostopper.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartAdmissionControllerTest {
+    private final StartAdmissionController controller = new StartAdmissionController();
+    private final List<String> granted = new ArrayList<>();
+    private final List<String> positions = new ArrayList<>();
+
+    @Test
+    void unlimitedCapacityGrantsEveryStartImmediately() {
+        assertTrue(controller.submit(ticket("a", 5)));
+        assertTrue(controller.submit(ticket("b", 5)));
+
+        assertEquals(10, controller.inUse());
+        assertEquals(0, controller.pendingCount());
+    }
+
+    @Test
+    void queueIsOrderedByWaiterCountThenArrival() {
+        controller.configure(1);
+        StartAdmissionController.Ticket running = ticket("running", 1);
+        StartAdmissionController.Ticket quiet = ticket("quiet", 1);
+        StartAdmissionController.Ticket busy = ticket("busy", 1);
+        StartAdmissionController.Ticket late = ticket("late", 1);
+        assertTrue(controller.submit(running));
+        assertFalse(controller.submit(quiet));
+        busy.priority(4);
+        assertFalse(controller.submit(busy));
+        assertFalse(controller.submit(late));
+        assertEquals(List.of("quiet@1", "busy@1", "quiet@2", "late@3"), positions);
+
+        late.priority(4);
+        controller.refresh();
+        controller.release(running);
+
+        assertEquals(List.of("busy"), granted);
+        assertEquals("late@1", positions.get(positions.size() - 2));
+        assertEquals("quiet@2", positions.get(positions.size() - 1));
+    }
+
+    @Test
+    void weightedStartsShareCapacityAndOversizedStartRunsAlone() {
+        controller.configure(3);
+        StartAdmissionController.Ticket small = ticket("small", 1);
+        StartAdmissionController.Ticket heavy = ticket("heavy", 5);
+        StartAdmissionController.Ticket medium = ticket("medium", 2);
+        assertTrue(controller.submit(small));
+        assertFalse(controller.submit(heavy));
+        assertFalse(controller.submit(medium));
+
+        controller.release(small);
+        assertEquals(List.of("heavy"), granted);
+        assertEquals(5, controller.inUse());
+
+        controller.release(heavy);
+        assertEquals(List.of("heavy", "medium"), granted);
+        assertEquals(2, controller.inUse());
+    }
+
+    @Test
+    void withdrawnAndClearedTicketsAreNeverGranted() {
+        controller.configure(1);
+        StartAdmissionController.Ticket running = ticket("running", 1);
+        StartAdmissionController.Ticket withdrawn = ticket("withdrawn", 1);
+        StartAdmissionController.Ticket cleared = ticket("cleared", 1);
+        controller.submit(running);
+        controller.submit(withdrawn);
+        controller.submit(cleared);
+
+        controller.release(withdrawn);
+        controller.release(withdrawn);
+        controller.clear();
+        controller.release(running);
+
+        assertTrue(granted.isEmpty());
+        assertEquals(0, controller.inUse());
+        assertEquals(0, controller.pendingCount());
+    }
+
+    private StartAdmissionController.Ticket ticket(String name, int weight) {
+        return controller.ticket(name, weight, () -> granted.add(name),
+                position -> positions.add(name + "@" + position));
+    }
+}
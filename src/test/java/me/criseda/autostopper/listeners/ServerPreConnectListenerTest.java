@@ -5,8 +5,10 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.ServerPool;
 import me.criseda.autostopper.lifecycle.ConnectionOutcome;
 import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.lifecycle.ServerLifecycleState;
 import me.criseda.autostopper.server.ActivityTracker;
 import me.criseda.autostopper.server.ServerManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -137,4 +140,24 @@ class ServerPreConnectListenerTest {
         verify(lifecycleCoordinator).requestConnection(player, rerouted, reroutedMapping);
         verify(activityTracker).updateActivity("rerouted");
     }
+
+    @Test
+    void poolEntryConnectionIsRoutedToReadyMember() {
+        RegisteredServer memberServer = mock(RegisteredServer.class);
+        ServerMapping member = new ServerMapping("bedwars-1", "bedwars-1-container");
+        when(serverManager.getServerPool("testserver"))
+                .thenReturn(Optional.of(new ServerPool("testserver", List.of("bedwars-1"), 1)));
+        when(serverManager.getServerMapping("bedwars-1")).thenReturn(Optional.of(member));
+        when(serverManager.getServer("bedwars-1")).thenReturn(Optional.of(memberServer));
+        when(lifecycleCoordinator.state(member)).thenReturn(Optional.of(ServerLifecycleState.READY));
+        when(lifecycleCoordinator.requestConnection(player, memberServer, member))
+                .thenReturn(CompletableFuture.completedFuture(ConnectionOutcome.CONNECTED));
+
+        listener.onServerPreConnect(event);
+
+        verify(event).setResult(ServerPreConnectEvent.ServerResult.denied());
+        verify(lifecycleCoordinator, never()).requestConnection(player, targetServer, mapping);
+        verify(activityTracker).updateActivity("bedwars-1");
+        verify(lifecycleCoordinator, never()).requestWarmStart(any());
+    }
 }
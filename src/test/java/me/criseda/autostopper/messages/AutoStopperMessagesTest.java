@@ -118,6 +118,7 @@ class AutoStopperMessagesTest {
     void lifecycleMessagesUseCleanBrandMarkingsAndMonotonicElapsedValue() {
         List<Component> stages = List.of(
                 AutoStopperMessages.lifecycleInspecting("survival"),
+                AutoStopperMessages.lifecycleQueued("survival", 3),
                 AutoStopperMessages.lifecycleStarting("survival"),
                 AutoStopperMessages.lifecycleWaitingForReadiness("survival"),
                 AutoStopperMessages.lifecycleConnecting("survival"),
@@ -128,6 +129,7 @@ class AutoStopperMessagesTest {
 
         assertEquals(List.of(
                 "AutoStopper › Checking server survival…",
+                "AutoStopper › Queued to wake survival · position 3 in line",
                 "AutoStopper › Waking survival…",
                 "AutoStopper › Waiting for server survival to become ready…",
                 "AutoStopper › Connecting you to server survival…",
@@ -217,6 +219,7 @@ class AutoStopperMessagesTest {
                 AutoStopperMessages.serverStopping("survival"),
                 AutoStopperMessages.mappingChanged("survival"),
                 AutoStopperMessages.overloaded(),
+                AutoStopperMessages.wakeLimited("survival", Duration.ofSeconds(90)),
                 AutoStopperMessages.statusCheckError("survival"),
                 AutoStopperMessages.noContainerMapping("survival"),
                 AutoStopperMessages.containerMissing("survival"),
@@ -227,6 +230,7 @@ class AutoStopperMessagesTest {
                 AutoStopperMessages.startError("survival"),
                 AutoStopperMessages.startTimedOut("survival"),
                 AutoStopperMessages.startFailed("survival"),
+                AutoStopperMessages.dependencyFailed("survival"),
                 AutoStopperMessages.startCancelled("survival"),
                 AutoStopperMessages.serverNotReady("survival"),
                 AutoStopperMessages.serverReady("survival"),
@@ -0,0 +1,49 @@
+package me.criseda.autostopper.messages;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static me.criseda.autostopper.testing.ComponentTestUtils.plainText;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LifecycleMessageCacheTest {
+    private final LifecycleMessageCache cache = new LifecycleMessageCache();
+
+    @Test
+    void stageMessagesAreBuiltOncePerServerAndMatchTheFactories() {
+        Component starting = cache.starting("survival");
+
+        assertSame(starting, cache.starting("survival"));
+        assertNotSame(starting, cache.starting("creative"));
+        assertEquals(AutoStopperMessages.lifecycleStarting("survival"), starting);
+        assertEquals(AutoStopperMessages.lifecycleInspecting("survival"), cache.inspecting("survival"));
+        assertEquals(AutoStopperMessages.lifecycleWaitingForReadiness("survival"),
+                cache.waitingForReadiness("survival"));
+        assertEquals(AutoStopperMessages.lifecycleConnecting("survival"), cache.connecting("survival"));
+    }
+
+    @Test
+    void waitingCountsAreSharedUpToTheCap() {
+        assertSame(cache.playersWaiting(3), cache.playersWaiting(3));
+        assertEquals(plainText(AutoStopperMessages.playersWaiting(3)), plainText(cache.playersWaiting(3)));
+
+        int uncached = LifecycleMessageCache.MAX_CACHED_WAITING_COUNT + 1;
+        assertNotSame(cache.playersWaiting(uncached), cache.playersWaiting(uncached));
+        assertEquals(AutoStopperMessages.playersWaiting(uncached), cache.playersWaiting(uncached));
+    }
+
+    @Test
+    void retainingServersDropsRemovedOnes() {
+        Component survival = cache.connecting("survival");
+        cache.connecting("creative");
+
+        cache.retainServers(List.of("survival"));
+
+        assertEquals(1, cache.cachedServerCount());
+        assertSame(survival, cache.connecting("survival"));
+    }
+}
@@ -0,0 +1,96 @@
+package me.criseda.autostopper.operational;
+
+import me.criseda.autostopper.config.ConfigLoadResult;
+import me.criseda.autostopper.config.ConfigProvider;
+import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.server.ActivityTrackerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigReloaderTest {
+    @Mock private ConfigProvider config;
+    @Mock private ServerLifecycleCoordinator lifecycleCoordinator;
+    @Mock private ActivityTrackerService activityTracker;
+    @Mock private OperationalStatusService operationalStatus;
+
+    private ConfigReloader reloader;
+
+    @BeforeEach
+    void setUp() {
+        reloader = new ConfigReloader(config, lifecycleCoordinator, activityTracker, operationalStatus);
+    }
+
+    @Test
+    void fileTriggeredReloadPreflightsOnlyAddedAndChangedMappings() {
+        ConfigSnapshot previous = new ConfigSnapshot(300, List.of(
+                new ServerMapping("lobby", "lobby"), new ServerMapping("survival", "survival")));
+        ConfigSnapshot current = new ConfigSnapshot(300, List.of(
+                new ServerMapping("lobby", "lobby"), new ServerMapping("survival", "survival-v2")));
+        when(config.snapshot()).thenReturn(previous);
+        when(config.loadConfig()).thenReturn(ConfigLoadResult.success(current));
+        when(operationalStatus.runPreflight(current, List.of("survival"), "config watch"))
+                .thenReturn(CompletableFuture.completedFuture(new PreflightSummary(1, 0)));
+        List<ConfigSnapshot> applied = new ArrayList<>();
+        reloader.configureAppliedListener(applied::add);
+
+        ConfigReload reload = reloader.reloadChanged("config watch");
+
+        assertEquals(List.of("survival"), reload.changes().changed());
+        assertEquals(new PreflightSummary(1, 0), reload.preflight().join());
+        verify(lifecycleCoordinator).reconcileConfig(previous, current);
+        verify(activityTracker).reconcileConfig(previous, current);
+        verify(operationalStatus).reconcileConfig(current);
+        verify(operationalStatus, never()).runPreflight(any(), anyString());
+        assertEquals(List.of(current), applied);
+    }
+
+    @Test
+    void rejectedReloadAppliesNothing() {
+        ConfigSnapshot previous = new ConfigSnapshot(300, List.of(new ServerMapping("lobby", "lobby")));
+        when(config.snapshot()).thenReturn(previous);
+        when(config.loadConfig()).thenReturn(ConfigLoadResult.failure(previous, List.of("config.yml: invalid YAML")));
+
+        ConfigReload reload = reloader.reloadChanged("config watch");
+
+        assertFalse(reload.result().successful());
+        assertTrue(reload.changes().mappingsUnchanged());
+        verifyNoInteractions(lifecycleCoordinator, activityTracker, operationalStatus);
+    }
+
+    @Test
+    void discoveredContainersPreflightNewMappingsAndSkipUnchangedListings() {
+        ConfigSnapshot previous = new ConfigSnapshot(300, List.of(new ServerMapping("lobby", "lobby")));
+        ConfigSnapshot current = new ConfigSnapshot(300, List.of(
+                new ServerMapping("lobby", "lobby"), new ServerMapping("bedwars-1", "bw-1")));
+        Map<String, Map<String, String>> labels = Map.of("bw-1", Map.of("autostopper.server", "bedwars-1"));
+        when(config.snapshot()).thenReturn(previous, current);
+        when(config.applyDiscoveredContainers(labels)).thenReturn(current);
+        when(operationalStatus.runPreflight(current, List.of("bedwars-1"), "discovery"))
+                .thenReturn(CompletableFuture.completedFuture(new PreflightSummary(1, 0)));
+
+        ConfigReload added = reloader.applyDiscovered(labels, "discovery");
+        ConfigReload unchanged = reloader.applyDiscovered(labels, "discovery");
+
+        assertEquals(List.of("bedwars-1"), added.changes().added());
+        assertEquals(new PreflightSummary(1, 0), added.preflight().join());
+        assertTrue(unchanged.changes().mappingsUnchanged());
+        verify(lifecycleCoordinator, times(1)).reconcileConfig(previous, current);
+        verify(activityTracker, times(1)).reconcileConfig(previous, current);
+        verify(operationalStatus, times(1)).reconcileConfig(current);
+    }
+}
@@ -0,0 +1,70 @@
+package me.criseda.autostopper.operational;
+
+import me.criseda.autostopper.config.ConfigDiff;
+import me.criseda.autostopper.config.ConfigLoadResult;
+import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.DiscoverySettings;
+import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.server.ServerManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MappingDiscoveryTest {
+    private static final DiscoverySettings SETTINGS = DiscoverySettings.defaults();
+
+    @Mock private Logger logger;
+    @Mock private ServerManager serverManager;
+    @Mock private ConfigReloader reloader;
+
+    private AutoStopperExecutor executor;
+    private MappingDiscovery discovery;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AutoStopperExecutor();
+        discovery = new MappingDiscovery(logger, serverManager, reloader, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void listedContainersAreMergedThroughTheReloader() {
+        Map<String, Map<String, String>> labels = Map.of("bw-1", Map.of("autostopper.server", "bedwars-1"));
+        when(serverManager.getLabeledContainers(SETTINGS.serverLabel(), SETTINGS.labelKeys()))
+                .thenReturn(Optional.of(labels));
+        when(reloader.applyDiscovered(labels, "discovery")).thenReturn(new ConfigReload(
+                ConfigLoadResult.success(new ConfigSnapshot(300, List.of())),
+                new ConfigDiff(List.of("bedwars-1"), List.of(), List.of()),
+                CompletableFuture.completedFuture(new PreflightSummary(1, 0))));
+
+        discovery.relist(SETTINGS).join();
+
+        verify(logger).info(contains("Container discovery"), eq(1), eq(0), eq(0));
+    }
+
+    @Test
+    void failedListingKeepsThePreviousMappings() {
+        when(serverManager.getLabeledContainers(anyString(), anyList())).thenReturn(Optional.empty());
+
+        discovery.relist(SETTINGS).join();
+
+        verifyNoInteractions(reloader);
+    }
+}
@@ -341,6 +341,29 @@ class OperationalStatusServiceTest {
         verify(logger, never()).warn(contains("preflight could not complete"), any(), any());
     }
 
+    @Test
+    void changedMappingPreflightInspectsOnlyTheNamedMappings() {
+        ConfigSnapshot snapshot = snapshot("lobby", "survival");
+        when(serverManager.inspectContainersAsync(snapshot)).thenReturn(CompletableFuture.completedFuture(linked(
+                "lobby", ContainerInspection.healthy(ContainerStatus.STOPPED),
+                "survival", ContainerInspection.healthy(ContainerStatus.STOPPED))));
+        service.runPreflight(snapshot, "startup").join();
+        ServerMapping edited = new ServerMapping("survival", "survival-v2");
+        ConfigSnapshot current = new ConfigSnapshot(300,
+                List.of(snapshot.server("lobby").orElseThrow(), edited));
+        when(serverManager.inspectContainersAsync(List.of(edited))).thenReturn(CompletableFuture.completedFuture(
+                Map.of("survival", failure(ContainerStatus.MISSING, DockerDiagnostic.CONTAINER_MISSING,
+                        "configured container does not exist"))));
+
+        PreflightSummary summary = service.runPreflight(current, List.of("survival"), "config watch").join();
+
+        assertEquals(new PreflightSummary(0, 1), summary);
+        verify(serverManager, never()).inspectContainersAsync(current);
+        verify(logger).warn(contains("Preflight {}"), eq("survival"), eq("survival-v2"), any(), any());
+        assertEquals(new PreflightSummary(0, 0),
+                service.runPreflight(current, List.of(), "config watch").join());
+    }
+
     private ConfigSnapshot snapshot(String... names) {
         return new ConfigSnapshot(300, java.util.Arrays.stream(names)
                 .map(name -> new ServerMapping(name, name + "-container")).toList());
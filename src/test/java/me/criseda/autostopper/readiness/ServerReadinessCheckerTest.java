@@ -6,6 +6,7 @@ import me.criseda.autostopper.config.ServerMapping;
 import me.criseda.autostopper.docker.ContainerHealth;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.docker.DockerManager;
+import me.criseda.autostopper.docker.StreamingCommand;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,14 +15,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayDeque;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -134,6 +140,63 @@ class ServerReadinessCheckerTest {
         assertTrue(withFallback.ready());
     }
 
+    @Test
+    void logPatternMatchMarksReadyBeforeStatusProbeSucceeds() {
+        Queue<MinecraftStatusProbe.Outcome> outcomes = new ArrayDeque<>();
+        outcomes.add(MinecraftStatusProbe.Outcome.UNREACHABLE);
+        MinecraftStatusProbe probe = (host, port, connect, read, attempt) ->
+                new MinecraftStatusProbe.ProbeResult(outcomes.remove());
+        StreamingCommand follower = mock(StreamingCommand.class);
+        when(dockerManager.followContainerLogs(eq("survival-container"), any(), any())).thenAnswer(invocation -> {
+            Consumer<String> lines = invocation.getArgument(2);
+            lines.accept("[12:00:00 INFO]: Preparing level \"world\"");
+            lines.accept("[12:00:03 INFO]: Done (3.120s)! For help, type \"help\"");
+            return Optional.of(follower);
+        });
+        ServerReadinessChecker checker = checker(probe);
+
+        ReadinessResult result = checker.awaitReady(
+                mapping(ReadinessStrategy.LOG_PATTERN, Duration.ofMillis(100)), target());
+
+        assertTrue(result.ready());
+        assertEquals(1, result.attempts());
+        assertEquals(1, outcomes.size(), "status probe should not run once the log line matched");
+        verify(follower).close();
+    }
+
+    @Test
+    void logFollowerReadsFromTheRecordedContainerStart() {
+        MinecraftStatusProbe probe = (host, port, connect, read, attempt) ->
+                new MinecraftStatusProbe.ProbeResult(MinecraftStatusProbe.Outcome.READY);
+        Instant startedAt = Instant.parse("2026-01-01T12:00:00Z");
+        when(dockerManager.followContainerLogs(anyString(), any(), any())).thenReturn(Optional.empty());
+        ServerReadinessChecker checker = checker(probe);
+        checker.recordContainerStart("survival-container", startedAt);
+
+        checker.awaitReady(mapping(ReadinessStrategy.LOG_PATTERN, Duration.ofMillis(100)), target());
+        verify(dockerManager).followContainerLogs(eq("survival-container"), eq(startedAt), any());
+
+        // The recorded start is consumed, so a later check follows from when it begins.
+        checker.awaitReady(mapping(ReadinessStrategy.LOG_PATTERN, Duration.ofMillis(100)), target());
+        verify(dockerManager, org.mockito.Mockito.times(2)).followContainerLogs(anyString(), any(), any());
+        verify(dockerManager, org.mockito.Mockito.times(1))
+                .followContainerLogs(eq("survival-container"), eq(startedAt), any());
+    }
+
+    @Test
+    void unavailableLogStreamFallsBackToStatusProbe() {
+        MinecraftStatusProbe probe = (host, port, connect, read, attempt) ->
+                new MinecraftStatusProbe.ProbeResult(MinecraftStatusProbe.Outcome.READY);
+        when(dockerManager.followContainerLogs(anyString(), any(), any())).thenReturn(Optional.empty());
+        ServerReadinessChecker checker = checker(probe);
+
+        ReadinessResult result = checker.awaitReady(
+                mapping(ReadinessStrategy.LOG_PATTERN, Duration.ofMillis(100)), target());
+
+        assertTrue(result.ready());
+        assertEquals(1, result.attempts());
+    }
+
     @Test
     void missingStatusTargetIsRejectedBeforeProbing() {
         MinecraftStatusProbe probe = org.mockito.Mockito.mock(MinecraftStatusProbe.class);
@@ -6,10 +6,16 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.Scheduler;
 import me.criseda.autostopper.AutoStopperPlugin;
+import me.criseda.autostopper.config.AbandonedStartSettings;
 import me.criseda.autostopper.config.AutoStopperConfig;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.DockerTransport;
+import me.criseda.autostopper.config.MemoryPressureSettings;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.StartCommitPoint;
 import me.criseda.autostopper.config.StopRetrySettings;
+import me.criseda.autostopper.coordination.ClusterCoordinator;
+import me.criseda.autostopper.coordination.RemoteActivity;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
 import me.criseda.autostopper.lifecycle.ServerHoldRegistry;
@@ -22,11 +28,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -158,10 +168,12 @@ public class ActivityTrackerTest {
         ActivityTracker tracker = new ActivityTracker(
                 proxyServer, logger, config, serverManager, controlledExecutor, plugin, lifecycleCoordinator);
 
-        assertSame(scan, tracker.requestInactivityCheck());
+        CompletableFuture<Void> active = tracker.requestInactivityCheck();
+        assertFalse(active.isDone());
         tracker.shutdown();
 
         assertTrue(scan.isCancelled());
+        assertTrue(active.isDone());
         tracker.updateActivity("server1");
         tracker.reconcileConfig(config.snapshot(), config.snapshot());
         tracker.removeActivity("server1");
@@ -665,6 +677,31 @@ public class ActivityTrackerTest {
         verify(serverManager).stopServer(mapping2);
     }
 
+    @Test
+    public void playersOnOtherProxiesOrUnavailableStoreBlockInactivityShutdown() {
+        when(config.snapshot()).thenReturn(new ConfigSnapshot(60, List.of(mapping1)));
+        RegisteredServer registered = mock(RegisteredServer.class);
+        when(proxyServer.getServer("server1")).thenReturn(Optional.of(registered));
+        when(registered.getPlayersConnected()).thenReturn(Collections.emptySet());
+        when(serverManager.getServerStatus(mapping1)).thenReturn(Optional.of(ContainerStatus.RUNNING));
+        ClusterCoordinator coordinator = mock(ClusterCoordinator.class);
+        when(coordinator.remoteActivity("server1")).thenReturn(
+                new RemoteActivity(true, 2, Optional.of(Instant.now())), RemoteActivity.unavailable());
+        ActivityTracker tracker = new ActivityTracker(proxyServer, logger, config, serverManager, executor, plugin,
+                lifecycleCoordinator, telemetry, coordinator, Clock.systemUTC());
+
+        Instant previous = Instant.now().minus(Duration.ofMinutes(10));
+        tracker.setLastActivityForTest("server1", previous);
+        tracker.requestInactivityCheck().join();
+        assertTrue(tracker.getLastActivity("server1").isAfter(previous));
+
+        tracker.setLastActivityForTest("server1", previous);
+        tracker.requestInactivityCheck().join();
+        verify(serverManager, never()).stopServer(mapping1);
+        verify(lifecycleCoordinator, never()).tryBeginStop(mapping1);
+        verify(coordinator, times(2)).publishActivity("server1", 0, previous);
+    }
+
     private void runAndWait(Runnable inactivityCheck) {
         inactivityCheck.run();
         waitForScanCompletion();
@@ -695,6 +732,176 @@ public class ActivityTrackerTest {
         assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.AUTOMATIC_STOP, TelemetryOutcome.STOPPED));
     }
 
+    @Test
+    public void inactivityStopWaitsForEarlierWorkOnTheContainersLane() throws InterruptedException {
+        RegisteredServer server1 = mock(RegisteredServer.class);
+        when(server1.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(proxyServer.getServer("server1")).thenReturn(Optional.of(server1));
+        when(serverManager.getServerStatus(mapping1)).thenReturn(Optional.of(ContainerStatus.RUNNING));
+        when(serverManager.stopServer(mapping1)).thenReturn(ContainerStatus.STOPPED);
+        activityTracker.setLastActivityForTest("server1", Instant.now().minus(Duration.ofMinutes(10)));
+        CountDownLatch laneBusy = new CountDownLatch(1);
+        CountDownLatch releaseLane = new CountDownLatch(1);
+        executor.supply("container1", () -> {
+            laneBusy.countDown();
+            try {
+                releaseLane.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(laneBusy.await(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> scan = activityTracker.requestInactivityCheck();
+
+        verify(serverManager, after(200).never()).getServerStatus(mapping1);
+        assertFalse(scan.isDone());
+        releaseLane.countDown();
+        scan.join();
+        verify(serverManager).stopServer(mapping1);
+    }
+
+    @Test
+    public void evictionStopsOnlyTheLeastRecentlyActiveIdleServer() {
+        RegisteredServer server2 = mock(RegisteredServer.class);
+        when(server2.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(proxyServer.getServer("server2")).thenReturn(Optional.of(server2));
+        when(lifecycleCoordinator.occupiesRunningBackend("server2")).thenReturn(true);
+        when(serverManager.stopServer(mapping2)).thenReturn(ContainerStatus.STOPPED);
+        activityTracker.updateActivity("server1");
+
+        assertEquals(1, activityTracker.evictIdleBackends(1).join());
+
+        verify(serverManager).stopServer(mapping2);
+        verify(serverManager, never()).stopServer(mapping1);
+        verify(lifecycleCoordinator).completeStop(mapping2, ContainerStatus.STOPPED);
+        assertNull(activityTracker.getLastActivity("server2"));
+        assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.BACKEND_EVICTION, TelemetryOutcome.STOPPED));
+    }
+
+    @Test
+    public void evictionSkipsServersWithPlayersOrNoRunningBackend() {
+        RegisteredServer server1 = mock(RegisteredServer.class);
+        RegisteredServer server2 = mock(RegisteredServer.class);
+        when(server2.getPlayersConnected()).thenReturn(Set.of(mock(Player.class)));
+        when(proxyServer.getServer("server1")).thenReturn(Optional.of(server1));
+        when(proxyServer.getServer("server2")).thenReturn(Optional.of(server2));
+        when(lifecycleCoordinator.occupiesRunningBackend("server1")).thenReturn(false);
+        when(lifecycleCoordinator.occupiesRunningBackend("server2")).thenReturn(true);
+
+        assertEquals(0, activityTracker.evictIdleBackends(1).join());
+
+        verify(lifecycleCoordinator, never()).tryBeginStop(any(ServerMapping.class));
+        verifyNoInteractions(serverManager);
+    }
+
+    @Test
+    public void memoryPressureStopsTheLargestEmptyServerEarlyUntilPressureClears(@TempDir Path proc)
+            throws IOException {
+        writeProcMemory(proc, 25.0);
+        when(config.snapshot()).thenReturn(pressureSnapshot());
+        RegisteredServer server1 = mock(RegisteredServer.class);
+        RegisteredServer server2 = mock(RegisteredServer.class);
+        when(server1.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(server2.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(proxyServer.getServer("server1")).thenReturn(Optional.of(server1));
+        when(proxyServer.getServer("server2")).thenReturn(Optional.of(server2));
+        lenient().when(serverManager.getServerStatus(any(ServerMapping.class)))
+                .thenReturn(Optional.of(ContainerStatus.RUNNING));
+        when(serverManager.getMemoryUsage(anyList())).thenReturn(Map.of("server1", 1L << 30, "server2", 4L << 30));
+        when(serverManager.stopServer(mapping2)).thenAnswer(invocation -> {
+            writeProcMemory(proc, 0.0);
+            return ContainerStatus.STOPPED;
+        });
+        ActivityTracker tracker = pressureTracker(proc);
+        Instant emptySince = Instant.now().minus(Duration.ofMinutes(5));
+        tracker.setLastActivityForTest("server1", emptySince);
+        tracker.setLastActivityForTest("server2", emptySince);
+
+        tracker.requestInactivityCheck().join();
+
+        verify(serverManager).stopServer(mapping2);
+        verify(serverManager, never()).stopServer(mapping1);
+        assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.PRESSURE_STOP, TelemetryOutcome.STOPPED));
+        assertEquals(0, telemetry.operationCount(TelemetryOperationType.AUTOMATIC_STOP));
+        assertTrue(telemetry.snapshot().memoryPressure().orElseThrow().underPressure());
+        assertEquals(4L << 30, telemetry.snapshot().memoryPressure().orElseThrow().serverBytes().get("server2"));
+    }
+
+    @Test
+    public void withoutMemoryPressureTheNormalTimeoutApplies(@TempDir Path proc) throws IOException {
+        writeProcMemory(proc, 0.0);
+        when(config.snapshot()).thenReturn(pressureSnapshot());
+        RegisteredServer server1 = mock(RegisteredServer.class);
+        when(server1.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(proxyServer.getServer("server1")).thenReturn(Optional.of(server1));
+        when(serverManager.getServerStatus(mapping1)).thenReturn(Optional.of(ContainerStatus.RUNNING));
+        ActivityTracker tracker = pressureTracker(proc);
+        tracker.setLastActivityForTest("server1", Instant.now().minus(Duration.ofMinutes(5)));
+
+        tracker.requestInactivityCheck().join();
+
+        verify(serverManager, never()).stopServer(any(ServerMapping.class));
+        verify(serverManager, never()).getMemoryUsage(anyList());
+        assertFalse(telemetry.snapshot().memoryPressure().orElseThrow().underPressure());
+    }
+
+    @Test
+    public void abandonedStartStopsAfterTheShortIdleTimeoutUntilActivityResumes() {
+        Instant start = Instant.parse("2026-10-19T10:00:00Z");
+        MutableClock clock = new MutableClock(start);
+        when(config.snapshot()).thenReturn(new ConfigSnapshot(1_800, ConfigSnapshot.DEFAULT_SHUTDOWN_TIMEOUT_SECONDS,
+                StopRetrySettings.defaults(), ConfigSnapshot.UNLIMITED_CONCURRENT_STARTS, List.of(mapping1, mapping2),
+                List.of(), List.of(), null, ConfigSnapshot.NO_DOCKER_QUERY_REUSE, ConfigSnapshot.NO_WAKE_DEADLINE,
+                DockerTransport.CLI, ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS, null,
+                new AbandonedStartSettings(StartCommitPoint.READY, Duration.ofSeconds(30))));
+        ActivityTracker tracker = new ActivityTracker(
+                proxyServer, logger, config, serverManager, executor, plugin, lifecycleCoordinator, telemetry, clock);
+        RegisteredServer server1 = mock(RegisteredServer.class);
+        RegisteredServer server2 = mock(RegisteredServer.class);
+        when(server1.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(server2.getPlayersConnected()).thenReturn(Collections.emptyList());
+        when(proxyServer.getServer("server1")).thenReturn(Optional.of(server1));
+        when(proxyServer.getServer("server2")).thenReturn(Optional.of(server2));
+        when(serverManager.getServerStatus(any(ServerMapping.class))).thenReturn(Optional.of(ContainerStatus.RUNNING));
+        when(serverManager.stopServer(mapping1)).thenReturn(ContainerStatus.STOPPED);
+
+        tracker.expireAbandonedStart("server1");
+        tracker.expireAbandonedStart("server2");
+        tracker.updateActivity("server2");
+        clock.advance(Duration.ofSeconds(31));
+        tracker.requestInactivityCheck().join();
+
+        verify(serverManager).stopServer(mapping1);
+        verify(serverManager, never()).stopServer(mapping2);
+        assertNull(tracker.getLastActivity("server1"));
+        assertEquals(1, telemetry.outcomeCount(TelemetryOperationType.AUTOMATIC_STOP, TelemetryOutcome.STOPPED));
+    }
+
+    private ConfigSnapshot pressureSnapshot() {
+        return new ConfigSnapshot(1_800, ConfigSnapshot.DEFAULT_SHUTDOWN_TIMEOUT_SECONDS,
+                StopRetrySettings.defaults(), ConfigSnapshot.UNLIMITED_CONCURRENT_STARTS, List.of(mapping1, mapping2),
+                List.of(), List.of(), null, ConfigSnapshot.NO_DOCKER_QUERY_REUSE, ConfigSnapshot.NO_WAKE_DEADLINE,
+                DockerTransport.CLI, ConfigSnapshot.UNLIMITED_RUNNING_BACKENDS,
+                new MemoryPressureSettings(10, 10, Duration.ofSeconds(60)));
+    }
+
+    private ActivityTracker pressureTracker(Path proc) {
+        return new ActivityTracker(proxyServer, logger, config, serverManager, executor, plugin,
+                lifecycleCoordinator, telemetry, ClusterCoordinator.standalone(), Clock.systemUTC(),
+                new MemoryPressureMonitor(logger, serverManager, telemetry, proc));
+    }
+
+    private static void writeProcMemory(Path proc, double someAvg10) throws IOException {
+        Files.createDirectories(proc.resolve("pressure"));
+        Files.writeString(proc.resolve("pressure").resolve("memory"), String.format(Locale.ROOT,
+                "some avg10=%.2f avg60=0.00 avg300=0.00 total=0%nfull avg10=0.00 avg60=0.00 avg300=0.00 total=0%n",
+                someAvg10));
+        Files.writeString(proc.resolve("meminfo"),
+                "MemTotal:       16000000 kB\nMemFree:         4000000 kB\nMemAvailable:    8000000 kB\n");
+    }
+
     private boolean isScanActive() {
         try {
             var field = ActivityTracker.class.getDeclaredField("inactivityScanActive");
@@ -5,10 +5,14 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import me.criseda.autostopper.config.AutoStopperConfig;
 import me.criseda.autostopper.config.ConfigSnapshot;
+import me.criseda.autostopper.config.ReadinessSettings;
 import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.SleepMode;
+import me.criseda.autostopper.config.SleepSettings;
 import me.criseda.autostopper.docker.ContainerStatus;
 import me.criseda.autostopper.docker.DockerManager;
 import me.criseda.autostopper.executor.AutoStopperExecutor;
+import me.criseda.autostopper.executor.OperationDeadline;
 import me.criseda.autostopper.readiness.ReadinessResult;
 import me.criseda.autostopper.readiness.ServerReadinessChecker;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.net.InetSocketAddress;
 import java.util.LinkedHashMap;
@@ -26,8 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -106,6 +110,40 @@ public class ServerManagerTest {
         verify(dockerManager).startContainer("container1");
     }
     
+    @Test
+    public void testStartServerRecordsStartInstantForReadiness() {
+        when(config.snapshot()).thenReturn(snapshot(Map.of("server1", "container1")));
+        when(dockerManager.startContainer("container1")).thenReturn(ContainerStatus.RUNNING, ContainerStatus.FAILED);
+        java.time.Instant before = java.time.Instant.now();
+
+        assertEquals(ContainerStatus.RUNNING, serverManager.startServer("server1"));
+        org.mockito.ArgumentCaptor<java.time.Instant> startedAt =
+                org.mockito.ArgumentCaptor.forClass(java.time.Instant.class);
+        verify(readinessChecker).recordContainerStart(eq("container1"), startedAt.capture());
+        assertFalse(startedAt.getValue().isBefore(before));
+
+        assertEquals(ContainerStatus.FAILED, serverManager.startServer("server1"));
+        verify(readinessChecker, times(1)).recordContainerStart(anyString(), any());
+    }
+
+    @Test
+    public void testFailedStartReleasesStartLeaseButSuccessfulStartKeepsIt() {
+        me.criseda.autostopper.coordination.ClusterCoordinator coordinator =
+                mock(me.criseda.autostopper.coordination.ClusterCoordinator.class);
+        ServerManager leased = new ServerManager(proxyServer, logger, config, dockerManager, executor,
+                readinessChecker, coordinator);
+        when(config.snapshot()).thenReturn(snapshot(Map.of("server1", "container1")));
+        when(coordinator.tryAcquire("server1", me.criseda.autostopper.coordination.LeaseOperation.START))
+                .thenReturn(me.criseda.autostopper.coordination.LeaseResult.granted());
+        when(dockerManager.startContainer("container1")).thenReturn(ContainerStatus.TIMED_OUT, ContainerStatus.RUNNING);
+
+        assertEquals(ContainerStatus.TIMED_OUT, leased.startServer("server1"));
+        verify(coordinator).release("server1");
+
+        assertEquals(ContainerStatus.RUNNING, leased.startServer("server1"));
+        verify(coordinator, times(1)).release("server1");
+    }
+
     @Test
     public void testStopServer() {
         // Setup
@@ -232,6 +270,59 @@ public class ServerManagerTest {
         verify(dockerManager).startContainer("container1");
     }
 
+    @Test
+    public void testStartServerWithExpiredDeadlineNeverCallsDocker() {
+        ServerMapping mapping = new ServerMapping("server1", "container1");
+        AtomicLong clock = new AtomicLong();
+        OperationDeadline deadline = OperationDeadline.after(Duration.ofSeconds(5), clock::get);
+
+        clock.set(Duration.ofSeconds(2).toNanos());
+        when(dockerManager.startContainer(eq("container1"), any(Duration.class))).thenReturn(ContainerStatus.RUNNING);
+        assertEquals(ContainerStatus.RUNNING, serverManager.startServer(mapping, deadline));
+        verify(dockerManager).startContainer("container1", Duration.ofSeconds(3));
+
+        clock.set(Duration.ofSeconds(6).toNanos());
+        assertEquals(ContainerStatus.TIMED_OUT, serverManager.startServer(mapping, deadline));
+        assertEquals(Optional.of(ContainerStatus.TIMED_OUT), serverManager.getServerStatus(mapping, deadline));
+        verify(dockerManager, times(1)).startContainer(anyString(), any(Duration.class));
+        verify(dockerManager, never()).getContainerStatus(anyString(), any(Duration.class));
+    }
+
+    @Test
+    public void testCheckpointSleepRestoresOnNextStart() {
+        ServerMapping mapping = checkpointMapping();
+        when(dockerManager.checkpointContainer("container1", Optional.empty(), Duration.ofSeconds(60)))
+                .thenReturn(ContainerStatus.STOPPED);
+        when(dockerManager.restoreContainer("container1", Optional.empty(), Duration.ofSeconds(60)))
+                .thenReturn(ContainerStatus.RUNNING);
+
+        assertEquals(ContainerStatus.STOPPED, serverManager.sleepServer(mapping));
+        assertEquals(ContainerStatus.RUNNING, serverManager.startServer(mapping));
+
+        verify(dockerManager, never()).stopContainer(anyString());
+        verify(dockerManager, never()).startContainer(anyString());
+    }
+
+    @Test
+    public void testFailedCheckpointStopsAndFailedRestoreStartsCold() {
+        ServerMapping mapping = checkpointMapping();
+        when(dockerManager.checkpointContainer(eq("container1"), any(), any(Duration.class)))
+                .thenReturn(ContainerStatus.FAILED, ContainerStatus.STOPPED);
+        when(dockerManager.stopContainer("container1")).thenReturn(ContainerStatus.STOPPED);
+        when(dockerManager.startContainer("container1")).thenReturn(ContainerStatus.RUNNING);
+
+        assertEquals(ContainerStatus.STOPPED, serverManager.sleepServer(mapping));
+        verify(dockerManager).stopContainer("container1");
+        assertEquals(ContainerStatus.RUNNING, serverManager.startServer(mapping));
+        verify(dockerManager, never()).restoreContainer(anyString(), any(), any(Duration.class));
+
+        when(dockerManager.restoreContainer(eq("container1"), any(), any(Duration.class)))
+                .thenReturn(ContainerStatus.FAILED);
+        assertEquals(ContainerStatus.STOPPED, serverManager.sleepServer(mapping));
+        assertEquals(ContainerStatus.RUNNING, serverManager.startServer(mapping));
+        verify(dockerManager, times(2)).startContainer("container1");
+    }
+
     @Test
     public void testWaitForServerReadyAsync() {
         // Setup
@@ -255,8 +346,10 @@ public class ServerManagerTest {
         mapping.put("server1", "container1");
         mapping.put("server2", "container2");
         when(config.snapshot()).thenReturn(snapshot(mapping));
-        when(dockerManager.getContainerStatus("container1")).thenReturn(ContainerStatus.RUNNING);
-        when(dockerManager.getContainerStatus("container2")).thenReturn(ContainerStatus.TIMED_OUT);
+        when(dockerManager.getContainerStatusAsync("container1"))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        when(dockerManager.getContainerStatusAsync("container2"))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.TIMED_OUT));
 
         // Execute
         Map<String, Optional<ContainerStatus>> result =
@@ -266,36 +359,43 @@ public class ServerManagerTest {
         assertEquals(Optional.of(ContainerStatus.RUNNING), result.get("server1"));
         assertEquals(Optional.of(ContainerStatus.TIMED_OUT), result.get("server2"));
         assertEquals(List.of("server1", "server2"), new java.util.ArrayList<>(result.keySet()));
-        verify(dockerManager).getContainerStatus("container1");
-        verify(dockerManager).getContainerStatus("container2");
+        verify(dockerManager).getContainerStatusAsync("container1");
+        verify(dockerManager).getContainerStatusAsync("container2");
+    }
+
+    @Test
+    public void testGetStatusesAsync_HoldsNoWorkerWhileDockerAnswers() {
+        Map<String, String> mapping = new LinkedHashMap<>();
+        mapping.put("server1", "container1");
+        mapping.put("server2", "container2");
+        when(config.snapshot()).thenReturn(snapshot(mapping));
+        CompletableFuture<ContainerStatus> first = new CompletableFuture<>();
+        CompletableFuture<ContainerStatus> second = new CompletableFuture<>();
+        when(dockerManager.getContainerStatusAsync("container1")).thenReturn(first);
+        when(dockerManager.getContainerStatusAsync("container2")).thenReturn(second);
+
+        CompletableFuture<Map<String, Optional<ContainerStatus>>> statuses =
+                serverManager.getStatusesAsync(List.of("server1", "server2"));
+
+        assertEquals(0, executor.stats().activeWorkers(), "pending status checks must not hold a worker");
+        first.complete(ContainerStatus.RUNNING);
+        second.complete(ContainerStatus.STOPPED);
+        assertEquals(Optional.of(ContainerStatus.STOPPED), statuses.join().get("server2"));
+        verify(dockerManager, never()).getContainerStatus(anyString());
     }
 
     @Test
-    public void testGetStatusesAsync_CancellationInterruptsStatusChecks() throws InterruptedException {
+    public void testGetStatusesAsync_CancellationDoesNotWaitForStatusChecks() {
         Map<String, String> mapping = Map.of(
                 "server1", "container1",
                 "server2", "container2");
         when(config.snapshot()).thenReturn(snapshot(mapping));
-        CountDownLatch started = new CountDownLatch(2);
-        CountDownLatch interrupted = new CountDownLatch(2);
-        when(dockerManager.getContainerStatus(anyString())).thenAnswer(invocation -> {
-            started.countDown();
-            try {
-                new CountDownLatch(1).await();
-            } catch (InterruptedException e) {
-                interrupted.countDown();
-                Thread.currentThread().interrupt();
-            }
-            return ContainerStatus.FAILED;
-        });
+        when(dockerManager.getContainerStatusAsync(anyString())).thenAnswer(invocation -> new CompletableFuture<>());
 
         CompletableFuture<Map<String, Optional<ContainerStatus>>> statuses =
                 serverManager.getStatusesAsync(List.of("server1", "server2"));
 
-        assertTrue(started.await(2, TimeUnit.SECONDS));
         assertTrue(statuses.cancel(true));
-        assertTrue(interrupted.await(2, TimeUnit.SECONDS),
-                "cancelling the fan-in should interrupt every outstanding status check");
         assertTrue(statuses.isCancelled());
     }
 
@@ -326,15 +426,23 @@ public class ServerManagerTest {
         mappings.put("server1", "old-container-1");
         mappings.put("server2", "old-container-2");
         ConfigSnapshot captured = snapshot(mappings);
-        when(dockerManager.getContainerStatus("old-container-1")).thenReturn(ContainerStatus.RUNNING);
-        when(dockerManager.getContainerStatus("old-container-2")).thenReturn(ContainerStatus.STOPPED);
+        when(dockerManager.getContainerStatusAsync("old-container-1"))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.RUNNING));
+        when(dockerManager.getContainerStatusAsync("old-container-2"))
+                .thenReturn(CompletableFuture.completedFuture(ContainerStatus.STOPPED));
 
         Map<String, Optional<ContainerStatus>> result = serverManager.getStatusesAsync(captured).join();
 
         assertEquals(List.of("server1", "server2"), new java.util.ArrayList<>(result.keySet()));
         verifyNoInteractions(config);
-        verify(dockerManager).getContainerStatus("old-container-1");
-        verify(dockerManager).getContainerStatus("old-container-2");
+        verify(dockerManager).getContainerStatusAsync("old-container-1");
+        verify(dockerManager).getContainerStatusAsync("old-container-2");
+    }
+
+    private static ServerMapping checkpointMapping() {
+        return new ServerMapping("server1", "container1", ReadinessSettings.defaults(),
+                ServerMapping.DEFAULT_START_WEIGHT, List.of(),
+                new SleepSettings(SleepMode.CHECKPOINT, null, Duration.ofSeconds(60)));
     }
 
     private ConfigSnapshot snapshot(Map<String, String> mappings) {
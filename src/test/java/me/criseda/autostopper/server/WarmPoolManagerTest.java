@@ -0,0 +1,98 @@
+package me.criseda.autostopper.server;
+
+import me.criseda.autostopper.config.ServerMapping;
+import me.criseda.autostopper.config.ServerPool;
+import me.criseda.autostopper.lifecycle.ServerLifecycleCoordinator;
+import me.criseda.autostopper.lifecycle.ServerLifecycleState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmPoolManagerTest {
+    @Mock
+    private ServerManager serverManager;
+
+    @Mock
+    private ServerLifecycleCoordinator lifecycleCoordinator;
+
+    private final ServerMapping first = new ServerMapping("bedwars-1", "bedwars-1-container");
+    private final ServerMapping second = new ServerMapping("bedwars-2", "bedwars-2-container");
+    private final ServerMapping third = new ServerMapping("bedwars-3", "bedwars-3-container");
+    private final ServerPool pool = new ServerPool("bedwars",
+            List.of("bedwars-1", "bedwars-2", "bedwars-3"), 1);
+    private WarmPoolManager warmPools;
+
+    @BeforeEach
+    void setUp() {
+        warmPools = new WarmPoolManager(serverManager, lifecycleCoordinator);
+        for (ServerMapping mapping : List.of(first, second, third)) {
+            lenient().when(serverManager.getServerMapping(mapping.serverName())).thenReturn(Optional.of(mapping));
+        }
+    }
+
+    @Test
+    void routePrefersReadyThenStartingThenStartableMember() {
+        state(first, ServerLifecycleState.STOPPING);
+        state(second, ServerLifecycleState.STARTING);
+        state(third, ServerLifecycleState.READY);
+        assertEquals(Optional.of(third), warmPools.route(pool));
+
+        state(third, null);
+        assertEquals(Optional.of(second), warmPools.route(pool));
+
+        state(second, ServerLifecycleState.FAILED);
+        assertEquals(Optional.of(second), warmPools.route(pool));
+    }
+
+    @Test
+    void replenishStartsStoppedMembersUntilWarmTargetIsMet() {
+        ServerPool twoWarm = new ServerPool("bedwars", pool.members(), 2);
+        state(first, ServerLifecycleState.READY);
+        when(lifecycleCoordinator.connectedPlayerCount("bedwars-1")).thenReturn(4);
+        state(second, ServerLifecycleState.STOPPED);
+        state(third, ServerLifecycleState.STOPPED);
+
+        warmPools.replenish(twoWarm);
+
+        verify(lifecycleCoordinator).requestWarmStart(second);
+        verify(lifecycleCoordinator).requestWarmStart(third);
+    }
+
+    @Test
+    void idleAndWarmingMembersSatisfyTargetWithoutNewStarts() {
+        state(first, ServerLifecycleState.STARTING);
+        state(second, ServerLifecycleState.STOPPED);
+        state(third, ServerLifecycleState.STOPPED);
+
+        warmPools.replenish(pool);
+
+        verify(lifecycleCoordinator, never()).requestWarmStart(any());
+    }
+
+    @Test
+    void onlyFirstIdleMembersUpToTargetAreWarmReserve() {
+        state(first, ServerLifecycleState.READY);
+        state(second, ServerLifecycleState.READY);
+        state(third, ServerLifecycleState.STOPPED);
+
+        assertTrue(warmPools.isWarmReserve(pool, "bedwars-1"));
+        assertFalse(warmPools.isWarmReserve(pool, "bedwars-2"));
+        assertFalse(warmPools.isWarmReserve(pool, "lobby"));
+    }
+
+    private void state(ServerMapping mapping, ServerLifecycleState state) {
+        lenient().when(lifecycleCoordinator.state(mapping)).thenReturn(Optional.ofNullable(state));
+    }
+}
@@ -183,4 +183,43 @@ class LifecycleTelemetryServiceTest {
         assertEquals(expectedTotal / 2, service.outcomeCount(TelemetryOperationType.STARTUP, TelemetryOutcome.START_FAILED));
         assertEquals(expectedTotal, service.duration(TelemetryOperationType.STARTUP).count());
     }
+
+    @Test
+    @DisplayName("routes completions to the event log and demotes the proxy log line to DEBUG")
+    void routesCompletionsToTheEventLog() {
+        Logger logger = mock(Logger.class);
+        TelemetryEventLog eventLog = mock(TelemetryEventLog.class);
+        LifecycleTelemetryService service = new LifecycleTelemetryService(
+                logger, () -> 0L, Clock.fixed(Instant.ofEpochMilli(10000), ZoneId.of("UTC")));
+        service.configureEventLog(eventLog);
+
+        service.recordOperation(TelemetryOperationType.CONNECTION_WAIT, "hub", TelemetryOrigin.PLAYER_CONNECTION,
+                TelemetryOutcome.CONNECTED, Duration.ofMillis(40), 0);
+
+        verify(eventLog).offer(new TelemetryRecord(TelemetryOperationType.CONNECTION_WAIT, "hub",
+                TelemetryOrigin.PLAYER_CONNECTION, TelemetryOutcome.CONNECTED, Duration.ofMillis(40), 0,
+                Instant.ofEpochMilli(10000)));
+        verify(logger, never()).info(anyString(), any(Object[].class));
+        assertEquals(1, service.outcomeCount(TelemetryOperationType.CONNECTION_WAIT, TelemetryOutcome.CONNECTED));
+    }
+
+    @Test
+    void addsOperationsAndStagesToTheHistory() {
+        Logger logger = mock(Logger.class);
+        TelemetryHistoryStore history = mock(TelemetryHistoryStore.class);
+        Instant now = Instant.ofEpochMilli(10000);
+        LifecycleTelemetryService service = new LifecycleTelemetryService(
+                logger, () -> 0L, Clock.fixed(now, ZoneId.of("UTC")));
+        service.configureHistory(history);
+
+        service.recordOperation(TelemetryOperationType.STARTUP, "survival", TelemetryOrigin.PLAYER_CONNECTION,
+                TelemetryOutcome.READY, Duration.ofSeconds(4), 2);
+        service.recordStage(TelemetryOperationType.CONTAINER_START, "survival", TelemetryOutcome.RUNNING,
+                Duration.ofSeconds(1));
+
+        verify(history).record(TelemetryOperationType.STARTUP, "survival", TelemetryOutcome.READY,
+                Duration.ofSeconds(4), now);
+        verify(history).record(TelemetryOperationType.CONTAINER_START, "survival", TelemetryOutcome.RUNNING,
+                Duration.ofSeconds(1), now);
+    }
 }
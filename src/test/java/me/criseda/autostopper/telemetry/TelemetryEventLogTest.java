@@ -0,0 +1,127 @@
+package me.criseda.autostopper.telemetry;
+
+import me.criseda.autostopper.config.EventLogSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TelemetryEventLogTest {
+    private static final Instant COMPLETED_AT = Instant.parse("2026-10-19T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    void fastSuccessesAreSampledWhileFailuresAndSlowConnectsAreAlwaysWritten() throws IOException {
+        TelemetryEventLog eventLog = new TelemetryEventLog(logger, tempDir,
+                settings(1024 * 1024, 2, 16, Map.of("connected", 10)), () -> 50);
+
+        assertFalse(eventLog.offer(record("hub", TelemetryOutcome.CONNECTED, 20)));
+        assertTrue(eventLog.offer(record("hub", TelemetryOutcome.CONNECTED, 1_500)));
+        assertTrue(eventLog.offer(record("hub", TelemetryOutcome.CONNECTION_FAILED, 20)));
+        eventLog.drain();
+
+        assertEquals(List.of(
+                "{\"time\":\"2026-10-19T10:00:00Z\",\"op\":\"CONNECTION_WAIT\",\"server\":\"hub\","
+                        + "\"origin\":\"PLAYER_CONNECTION\",\"outcome\":\"CONNECTED\",\"elapsed_ms\":1500,"
+                        + "\"waiters\":0,\"sample_percent\":100}",
+                "{\"time\":\"2026-10-19T10:00:00Z\",\"op\":\"CONNECTION_WAIT\",\"server\":\"hub\","
+                        + "\"origin\":\"PLAYER_CONNECTION\",\"outcome\":\"CONNECTION_FAILED\",\"elapsed_ms\":20,"
+                        + "\"waiters\":0,\"sample_percent\":100}"),
+                Files.readAllLines(eventLog.file(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keptSamplesRecordTheirRateSoReadersCanReweight() throws IOException {
+        TelemetryEventLog eventLog = new TelemetryEventLog(logger, tempDir,
+                settings(1024 * 1024, 2, 16, Map.of("connected", 10)), () -> 3);
+
+        assertTrue(eventLog.offer(record("hub", TelemetryOutcome.CONNECTED, 20)));
+        eventLog.drain();
+
+        assertTrue(Files.readString(eventLog.file(), StandardCharsets.UTF_8).contains("\"sample_percent\":10}"));
+    }
+
+    @Test
+    void fullBufferDropsAndReportsInsteadOfBlocking() {
+        TelemetryEventLog eventLog = new TelemetryEventLog(logger, tempDir,
+                settings(1024 * 1024, 2, 2, Map.of()), () -> 0);
+
+        assertTrue(eventLog.offer(record("a", TelemetryOutcome.READY, 1)));
+        assertTrue(eventLog.offer(record("b", TelemetryOutcome.READY, 1)));
+        assertFalse(eventLog.offer(record("c", TelemetryOutcome.READY, 1)));
+        eventLog.drain();
+
+        verify(logger).warn(contains("buffer was full"), eq(1L));
+    }
+
+    @Test
+    void filesRotateBetweenBatchesAndOnlyMaxFilesAreKept() throws IOException {
+        TelemetryEventLog eventLog = new TelemetryEventLog(logger, tempDir,
+                settings(200, 3, 16, Map.of()), () -> 0);
+
+        for (String server : List.of("one", "two", "three", "four")) {
+            eventLog.offer(record(server, TelemetryOutcome.READY, 1));
+            eventLog.drain();
+        }
+
+        Path file = eventLog.file();
+        assertTrue(Files.readString(file, StandardCharsets.UTF_8).contains("\"server\":\"four\""));
+        assertTrue(Files.readString(file.resolveSibling(file.getFileName() + ".1"), StandardCharsets.UTF_8)
+                .contains("\"server\":\"three\""));
+        assertTrue(Files.readString(file.resolveSibling(file.getFileName() + ".2"), StandardCharsets.UTF_8)
+                .contains("\"server\":\"two\""));
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".3")));
+    }
+
+    @Test
+    void serverNamesAreEscapedAsJsonStrings() {
+        StringBuilder line = new StringBuilder();
+
+        TelemetryEventLog.appendJson(line, record("a\"b\\c\n\u0001", TelemetryOutcome.READY, 1), 100);
+
+        assertTrue(line.toString().contains("\"server\":\"a\\\"b\\\\c\\n\\u0001\""));
+    }
+
+    @Test
+    void closeWritesWhatIsStillBuffered() throws IOException {
+        TelemetryEventLog eventLog = TelemetryEventLog.start(logger, tempDir.resolve("logs"),
+                settings(1024 * 1024, 2, 16, Map.of()));
+
+        eventLog.offer(record("survival", TelemetryOutcome.READY, 1));
+        eventLog.close();
+
+        assertEquals(1, Files.readAllLines(eventLog.file(), StandardCharsets.UTF_8).size());
+        assertFalse(eventLog.offer(record("survival", TelemetryOutcome.READY, 1)));
+    }
+
+    private static EventLogSettings settings(long maxFileBytes, int maxFiles, int bufferCapacity,
+            Map<String, Integer> samplePercent) {
+        return new EventLogSettings(maxFileBytes, maxFiles, bufferCapacity, Duration.ofMinutes(1),
+                Duration.ofSeconds(1), samplePercent);
+    }
+
+    private static TelemetryRecord record(String serverName, TelemetryOutcome outcome, long elapsedMillis) {
+        return new TelemetryRecord(TelemetryOperationType.CONNECTION_WAIT, serverName,
+                TelemetryOrigin.PLAYER_CONNECTION, outcome, Duration.ofMillis(elapsedMillis), 0, COMPLETED_AT);
+    }
+}
@@ -0,0 +1,138 @@
+package me.criseda.autostopper.telemetry;
+
+import me.criseda.autostopper.config.TelemetryHistorySettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TelemetryHistoryStoreTest {
+    private static final Instant MONDAY = Instant.parse("2026-10-12T12:00:30Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = mock(Logger.class);
+    private final MutableClock clock = new MutableClock(MONDAY);
+
+    @Test
+    void closedMinutesSurviveReopeningAndAreReportedPerDay() throws IOException {
+        TelemetryHistoryStore store = open(new TelemetryHistorySettings(14, 1_000));
+        store.record(TelemetryOperationType.STARTUP, "modded-1", TelemetryOutcome.READY, Duration.ofSeconds(4), MONDAY);
+        store.record(TelemetryOperationType.STARTUP, "modded-1", TelemetryOutcome.START_FAILED, Duration.ofSeconds(1),
+                MONDAY);
+        store.record(TelemetryOperationType.CONNECTION_WAIT, "lobby", TelemetryOutcome.CONNECTED,
+                Duration.ofMillis(10), MONDAY);
+
+        assertEquals(0, store.flush(false));
+        clock.now = MONDAY.plusSeconds(60);
+        assertEquals(2, store.flush(false));
+        Instant tuesday = MONDAY.plus(Duration.ofDays(1));
+        clock.now = tuesday;
+        store.record(TelemetryOperationType.STARTUP, "modded-1", TelemetryOutcome.READY, Duration.ofSeconds(6),
+                tuesday);
+        store.close();
+
+        TelemetryHistoryStore reopened = open(new TelemetryHistorySettings(14, 1_000));
+        TelemetryHistoryReport report = reopened.query("modded-1", MONDAY.minus(Duration.ofDays(1)), tuesday);
+
+        assertEquals(List.of(new TelemetryHistoryStats(TelemetryOperationType.STARTUP, 3, 1, 11_000, 6_000)),
+                report.totals());
+        assertEquals(List.of(new TelemetryHistoryStats(TelemetryOperationType.STARTUP, 2, 1, 5_000, 4_000)),
+                report.days().get(LocalDate.of(2026, 10, 12)));
+        assertEquals(List.of(new TelemetryHistoryStats(TelemetryOperationType.STARTUP, 1, 0, 6_000, 6_000)),
+                report.days().get(LocalDate.of(2026, 10, 13)));
+        assertEquals(1, reopened.query("modded-1", tuesday.minusSeconds(3_600), tuesday).totals().get(0).count());
+        assertTrue(reopened.query("unknown", MONDAY, tuesday).isEmpty());
+    }
+
+    @Test
+    void queriesIncludeMinutesTheWriterHasNotAppendedYet() throws IOException {
+        TelemetryHistoryStore store = open(new TelemetryHistorySettings(14, 1_000));
+        store.record(TelemetryOperationType.READINESS_CHECK, "survival", TelemetryOutcome.READY,
+                Duration.ofMillis(800), MONDAY);
+
+        TelemetryHistoryReport report = store.query("survival", MONDAY.minusSeconds(60), MONDAY);
+
+        assertEquals(List.of(new TelemetryHistoryStats(TelemetryOperationType.READINESS_CHECK, 1, 0, 800, 800)),
+                report.totals());
+    }
+
+    @Test
+    void segmentsOlderThanRetentionAreDeleted() throws IOException {
+        TelemetryHistoryStore store = open(new TelemetryHistorySettings(2, 1_000));
+        store.record(TelemetryOperationType.STARTUP, "survival", TelemetryOutcome.READY, Duration.ofSeconds(1), MONDAY);
+        clock.now = MONDAY.plusSeconds(60);
+        store.flush(false);
+        Path mondaySegment = store.segmentFile(LocalDate.of(2026, 10, 12));
+        assertTrue(Files.exists(mondaySegment));
+
+        clock.now = MONDAY.plus(Duration.ofDays(2));
+        store.flush(false);
+
+        assertFalse(Files.exists(mondaySegment));
+        assertTrue(store.query("survival", MONDAY.minus(Duration.ofDays(1)), clock.now).isEmpty());
+    }
+
+    @Test
+    void aFullDayKeepsItsRecordsAndWarnsOnce() throws IOException {
+        TelemetryHistoryStore store = open(new TelemetryHistorySettings(14, 2));
+        for (String server : List.of("a", "b", "c")) {
+            store.record(TelemetryOperationType.STARTUP, server, TelemetryOutcome.READY, Duration.ofSeconds(1), MONDAY);
+        }
+        clock.now = MONDAY.plusSeconds(60);
+
+        assertEquals(2, store.flush(false));
+        verify(logger).warn(contains("reached {} records"), eq(LocalDate.of(2026, 10, 12)), any());
+        assertEquals(TelemetryHistoryStore.HEADER_BYTES + 2L * TelemetryHistoryStore.RECORD_BYTES,
+                Files.size(store.segmentFile(LocalDate.of(2026, 10, 12))));
+    }
+
+    private TelemetryHistoryStore open(TelemetryHistorySettings settings) throws IOException {
+        TelemetryHistoryStore store = new TelemetryHistoryStore(logger, tempDir, settings, clock);
+        store.open();
+        return store;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package me.criseda.autostopper.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelemetryRingBufferTest {
+
+    @Test
+    void fullBufferRejectsUntilDrainedAndKeepsOfferOrder() {
+        TelemetryRingBuffer<Integer> buffer = new TelemetryRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+        assertEquals(4, buffer.drainTo(drained, 10));
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertEquals(0, buffer.drainTo(drained, 10));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhileTheConsumerDrains() throws InterruptedException {
+        TelemetryRingBuffer<Integer> buffer = new TelemetryRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException error) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+
+            int[] lastSeen = new int[producers];
+            Arrays.fill(lastSeen, -1);
+            List<Integer> drained = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            int total = 0;
+            while (total < producers * perProducer && System.nanoTime() < deadline) {
+                drained.clear();
+                total += buffer.drainTo(drained, 32);
+                for (int value : drained) {
+                    int producer = value / perProducer;
+                    assertTrue(value > lastSeen[producer], "each producer's elements stay in order");
+                    lastSeen[producer] = value;
+                }
+            }
+            assertEquals(producers * perProducer, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package me.criseda.autostopper.testing;
+
+import me.criseda.autostopper.messages.AutoStopperMessages;
+import me.criseda.autostopper.messages.LifecycleMessageCache;
+import net.kyori.adventure.text.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the bytes allocated to notify a crowd of waiters through one wake when every waiter gets
+ * freshly built progress messages and when they share {@link LifecycleMessageCache} instances.
+ */
+public final class LifecycleMessageBenchmark {
+    private static final String SERVER_NAME = "survival";
+    private static final int WARMUP_WAKES = 2_000;
+    private static final int MEASURED_WAKES = 2_000;
+
+    private LifecycleMessageBenchmark() {
+    }
+
+    public static void main(String[] arguments) {
+        if (arguments.length > 1) {
+            throw new IllegalArgumentException("Expected arguments: [waiters-per-wake]");
+        }
+        int waiters = arguments.length == 1 ? Integer.parseInt(arguments[0]) : 80;
+        if (waiters <= 0) {
+            throw new IllegalArgumentException("waiters-per-wake must be positive");
+        }
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM cannot measure per-thread allocation");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long freshBytes = measure(threads, null, waiters);
+        long sharedBytes = measure(threads, new LifecycleMessageCache(), waiters);
+        System.out.printf("Waiters per wake: %d%n", waiters);
+        System.out.printf("Freshly built messages: %,d bytes per wake%n", freshBytes);
+        System.out.printf("Shared cached messages: %,d bytes per wake%n", sharedBytes);
+        System.out.printf("Allocation reduction: %.1f%%%n", 100.0 * (freshBytes - sharedBytes) / freshBytes);
+        if (sharedBytes >= freshBytes) {
+            throw new IllegalStateException("Cached lifecycle messages did not reduce allocation");
+        }
+    }
+
+    private static long measure(com.sun.management.ThreadMXBean threads, LifecycleMessageCache cache,
+            int waiters) {
+        long threadId = Thread.currentThread().threadId();
+        long sink = 0;
+        for (int i = 0; i < WARMUP_WAKES; i++) {
+            sink += wake(SERVER_NAME, waiters, cache).size();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_WAKES; i++) {
+            sink += wake(SERVER_NAME, waiters, cache).size();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        if (sink == 0) {
+            throw new IllegalStateException("Benchmark produced no messages");
+        }
+        return allocated / MEASURED_WAKES;
+    }
+
+    /** One wake as waiters see it: a waiting count per arrival, then every progress stage per waiter. */
+    private static List<Component> wake(String serverName, int waiters, LifecycleMessageCache cache) {
+        List<Component> delivered = new ArrayList<>(waiters * 5);
+        for (int count = 1; count <= waiters; count++) {
+            delivered.add(cache == null ? AutoStopperMessages.playersWaiting(count) : cache.playersWaiting(count));
+        }
+        for (int waiter = 0; waiter < waiters; waiter++) {
+            if (cache == null) {
+                delivered.add(AutoStopperMessages.lifecycleInspecting(serverName));
+                delivered.add(AutoStopperMessages.lifecycleStarting(serverName));
+                delivered.add(AutoStopperMessages.lifecycleWaitingForReadiness(serverName));
+                delivered.add(AutoStopperMessages.lifecycleConnecting(serverName));
+            } else {
+                delivered.add(cache.inspecting(serverName));
+                delivered.add(cache.starting(serverName));
+                delivered.add(cache.waitingForReadiness(serverName));
+                delivered.add(cache.connecting(serverName));
+            }
+        }
+        return delivered;
+    }
+}